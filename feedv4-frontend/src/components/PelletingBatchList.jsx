@@ -6,6 +6,7 @@ const API_BASE = process.env.REACT_APP_API_BASE_URL;
 const PelletingBatchList = () => {
   const navigate = useNavigate();
   const [batches, setBatches] = useState([]);
+  const [nextAfter, setNextAfter] = useState(null);
   const [showView, setShowView] = useState(false);
   const [viewRows, setViewRows] = useState([]);
   const [viewLoading, setViewLoading] = useState(false);
@@ -14,14 +15,23 @@ const PelletingBatchList = () => {
   const [statusFilter, setStatusFilter] = useState('');
   const [showArchived, setShowArchived] = useState(false);
 
-  const fetchBatches = useCallback(async () => {
+  // Slim board rows, newest first; `after` continues from the last page loaded.
+  const fetchBatches = useCallback(async (after) => {
     const params = new URLSearchParams();
     if (statusFilter) params.set('status', statusFilter);
     params.set('archived', String(showArchived));
-    fetch(`${API_BASE}/api/pelleting/batches?` + params.toString())
+    if (after) params.set('after', String(after));
+    fetch(`${API_BASE}/api/pelleting/board?` + params.toString())
       .then(res => res.json())
-      .then(data => setBatches(Array.isArray(data) ? data : []))
-      .catch(() => setBatches([]));
+      .then(data => {
+        const items = Array.isArray(data?.items) ? data.items : [];
+        setBatches(prev => (after ? [...prev, ...items] : items));
+        setNextAfter(data?.nextAfter ?? null);
+      })
+      .catch(() => {
+        if (!after) setBatches([]);
+        setNextAfter(null);
+      });
   }, [showArchived, statusFilter]);
 
   const handleView = async (batchId) => {
@@ -148,9 +158,9 @@ const PelletingBatchList = () => {
               {Array.isArray(batches) && batches.map(b => (
                 <tr key={b.id} className="border-t hover:bg-gray-50 whitespace-nowrap">
                   <td className="px-3 py-2">{b.id}</td>
-                  <td className="px-3 py-2">{b.formulation?.name || '-'}</td>
-                  <td className="px-3 py-2">{b.machine || '-'}</td>
-                  <td className="px-3 py-2">{b.operator?.fullName || b.operator?.name || '-'}</td>
+                  <td className="px-3 py-2">{b.formulationName || '-'}</td>
+                  <td className="px-3 py-2">{b.machineUsed || '-'}</td>
+                  <td className="px-3 py-2">{b.operatorName || '-'}</td>
                   <td className="px-3 py-2">{b.status}</td>
                   <td className="px-3 py-2">{b.targetQuantityKg}</td>
                   <td className="px-3 py-2">{b.actualYieldKg ?? '-'}</td>
@@ -204,6 +214,16 @@ const PelletingBatchList = () => {
             </tbody>
           </table>
         </div>
+        {nextAfter && (
+          <div className="mt-3 text-center">
+            <button
+              onClick={() => fetchBatches(nextAfter)}
+              className="text-indigo-600 hover:underline text-xs"
+            >
+              Load more
+            </button>
+          </div>
+        )}
       </div>
 
       {showView && (
@@ -0,0 +1,35 @@
+// Read-your-writes when the API reads from a replica: after a write the API
+// answers with X-Primary-Reads-Until, and sending it back keeps this client's
+// reads on the primary until then. The value is in server time, so it is not
+// compared with the browser clock; it is sent for a while after the last
+// write and the API ignores it once it has passed.
+const HEADER = 'X-Primary-Reads-Until';
+const HOLD_MS = 60000;
+const API_BASE = process.env.REACT_APP_API_BASE_URL || '';
+
+let until = null;
+let receivedAt = 0;
+
+const originalFetch = window.fetch.bind(window);
+
+const isApiRequest = (url) => (API_BASE ? url.startsWith(API_BASE) : url.startsWith('/api'));
+
+window.fetch = async (input, init) => {
+  const url = input instanceof Request ? input.url : String(input);
+  if (!isApiRequest(url)) return originalFetch(input, init);
+
+  let options = init;
+  if (until && Date.now() - receivedAt < HOLD_MS) {
+    const headers = new Headers(init?.headers || (input instanceof Request ? input.headers : undefined));
+    headers.set(HEADER, until);
+    options = { ...init, headers };
+  }
+
+  const res = await originalFetch(input, options);
+  const value = res.headers.get(HEADER);
+  if (value) {
+    until = value;
+    receivedAt = Date.now();
+  }
+  return res;
+};
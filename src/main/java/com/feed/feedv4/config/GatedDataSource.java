@@ -0,0 +1,89 @@
+package com.feed.feedv4.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out pooled connections only through the {@link JdbcAdmissionGate}.
+ * The permit is held until the connection is closed (returned to the pool),
+ * so the gate always matches what the pool actually has checked out.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    private final JdbcAdmissionGate gate;
+
+    public GatedDataSource(DataSource target, JdbcAdmissionGate gate) {
+        super(target);
+        this.gate = gate;
+    }
+
+    public JdbcAdmissionGate getGate() {
+        return gate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        JdbcAdmissionGate.Permit permit = gate.acquire();
+        try {
+            return gated(obtainTargetDataSource().getConnection(), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        JdbcAdmissionGate.Permit permit = gate.acquire();
+        try {
+            return gated(obtainTargetDataSource().getConnection(username, password), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    private static Connection gated(Connection target, JdbcAdmissionGate.Permit permit) {
+        return (Connection) Proxy.newProxyInstance(GatedDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new PermitReleasingHandler(target, permit));
+    }
+
+    /** Delegates everything; the first close() also returns the permit. */
+    private record PermitReleasingHandler(Connection target, JdbcAdmissionGate.Permit permit)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Gated[" + target + "]";
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        permit.close();
+                    }
+                    return null;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.feed.feedv4.config;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of the connection pool. With virtual threads
+ * there is no request-thread limit any more, so this is what keeps
+ * thousands of concurrent requests from piling onto a five-connection pool
+ * in arrival order.
+ *
+ * One permit per pooled connection. Interactive work is always admitted
+ * first; export work (PDF/Excel, reports, rebuilds) only gets a permit when
+ * no interactive caller is waiting and never holds more than
+ * {@code exportLimit} at once, so a burst of exports cannot take the pool.
+ * A thread that already holds a permit is admitted without waiting, so
+ * nested connections (e.g. REQUIRES_NEW in FinanceHandoffService) cannot
+ * deadlock on the gate. They are still counted: {@code inUse} may briefly
+ * exceed {@code permits}, and new callers wait until it drops back, so the
+ * gate always matches what the pool has checked out.
+ */
+public class JdbcAdmissionGate {
+
+    public enum Lane {
+        INTERACTIVE, EXPORT
+    }
+
+    private static final ThreadLocal<Lane> CURRENT_LANE = new ThreadLocal<>();
+    private final ThreadLocal<Hold> held = ThreadLocal.withInitial(Hold::new);
+
+    private final int permits;
+    private final int exportLimit;
+    private final long timeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition interactiveTurn = lock.newCondition();
+    private final Condition exportTurn = lock.newCondition();
+    private int inUse;
+    private int exportInUse;
+    private int nestedInUse;
+    private int interactiveWaiting;
+    private int exportWaiting;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public record Snapshot(int permits, int exportLimit, int inUse, int exportInUse, int nestedInUse,
+                           int interactiveWaiting, int exportWaiting, long admitted, long queued, long timedOut) {
+    }
+
+    public JdbcAdmissionGate(int permits, int exportLimit, long timeoutMillis) {
+        if (permits < 1) throw new IllegalArgumentException("Gate needs at least one permit");
+        this.permits = permits;
+        this.exportLimit = Math.max(1, Math.min(exportLimit, permits));
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    // ─── LANES ────────────────────────────────────────────────────────────────
+
+    /** Lane of the calling thread; interactive unless marked otherwise. */
+    public static Lane currentLane() {
+        Lane lane = CURRENT_LANE.get();
+        return lane != null ? lane : Lane.INTERACTIVE;
+    }
+
+    public static <T> T inLane(Lane lane, Supplier<T> work) {
+        Lane previous = enter(lane);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Marks the calling thread's lane and returns the previous one for {@link #restore}. */
+    public static Lane enter(Lane lane) {
+        Lane previous = CURRENT_LANE.get();
+        CURRENT_LANE.set(lane);
+        return previous;
+    }
+
+    public static void restore(Lane previous) {
+        if (previous == null) CURRENT_LANE.remove();
+        else CURRENT_LANE.set(previous);
+    }
+
+    // ─── PERMITS ──────────────────────────────────────────────────────────────
+
+    /** Connections the thread currently holds through the gate. */
+    private static final class Hold {
+        int count;
+    }
+
+    /** One admitted connection; {@link #close} gives the permit back. */
+    public final class Permit implements AutoCloseable {
+        private final Lane lane;
+        private final Hold hold;
+        private final boolean nested;
+        private boolean closed;
+
+        private Permit(Lane lane, Hold hold, boolean nested) {
+            this.lane = lane;
+            this.hold = hold;
+            this.nested = nested;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            hold.count--;
+            lock.lock();
+            try {
+                inUse--;
+                if (nested) nestedInUse--;
+                else if (lane == Lane.EXPORT) exportInUse--;
+                wakeNext();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Waits for a permit in the calling thread's lane, up to the configured timeout. */
+    public Permit acquire() throws SQLException {
+        Hold hold = held.get();
+        Lane lane = currentLane();
+        if (hold.count > 0) {
+            lock.lock();
+            try {
+                inUse++;
+                nestedInUse++;
+                admitted.incrementAndGet();
+            } finally {
+                lock.unlock();
+            }
+            hold.count++;
+            return new Permit(lane, hold, true);
+        }
+        try {
+            if (!admit(lane)) {
+                timedOut.incrementAndGet();
+                throw new SQLTransientConnectionException("No database capacity for " + lane + " work within "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for database capacity", e);
+        }
+        hold.count = 1;
+        return new Permit(lane, hold, false);
+    }
+
+    private boolean admit(Lane lane) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            boolean waited = false;
+            if (lane == Lane.INTERACTIVE) {
+                interactiveWaiting++;
+                try {
+                    while (inUse >= permits) {
+                        if (remaining <= 0) return false;
+                        waited = true;
+                        remaining = interactiveTurn.awaitNanos(remaining);
+                    }
+                } finally {
+                    interactiveWaiting--;
+                }
+            } else {
+                exportWaiting++;
+                try {
+                    while (inUse >= permits || exportInUse >= exportLimit || interactiveWaiting > 0) {
+                        if (remaining <= 0) return false;
+                        waited = true;
+                        remaining = exportTurn.awaitNanos(remaining);
+                    }
+                } finally {
+                    exportWaiting--;
+                }
+                exportInUse++;
+            }
+            inUse++;
+            admitted.incrementAndGet();
+            if (waited) queued.incrementAndGet();
+            // A free permit left behind (no interactive caller took it) goes to exports
+            wakeNext();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void wakeNext() {
+        if (inUse >= permits) return;
+        if (interactiveWaiting > 0) interactiveTurn.signal();
+        else if (exportWaiting > 0 && exportInUse < exportLimit) exportTurn.signal();
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            return new Snapshot(permits, exportLimit, inUse, exportInUse, nestedInUse, interactiveWaiting, exportWaiting,
+                admitted.get(), queued.get(), timedOut.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.feed.feedv4.config;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Puts a {@link JdbcAdmissionGate} in front of each connection pool and
+ * routes export-style requests into the export lane. With a read replica
+ * (ReadReplicaConfig) the primary and replica pools are gated separately, so
+ * reads queued for one pool never hold permits the other could use.
+ *
+ * jdbc.gate.permits               – defaults to the Hikari maximum-pool-size
+ * jdbc.gate.replica-permits        – the same for the replica pool
+ * jdbc.gate.export-max-connections – connections exports may hold at once (default 2)
+ * jdbc.gate.acquire-timeout-ms     – wait before a request fails (default 30000)
+ * jdbc.gate.export-paths           – comma-separated Ant patterns served in the export lane
+ */
+@Configuration
+public class JdbcGateConfig {
+
+    static final String DEFAULT_EXPORT_PATHS = "/api/formulations/*/export/**,/api/reports/**,"
+        + "/api/inventory/bulk-upload,/api/**/rebuild,/api/ledger/trial-balance";
+
+    /** Static so the DataSource is wrapped before anything (JPA, Flyway) asks for a connection. */
+    @Bean
+    static BeanPostProcessor jdbcGatePostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof GatedDataSource) return bean;
+                String permits = switch (beanName) {
+                    case "dataSource" -> routed(ds) ? null : "jdbc.gate.permits";
+                    case "primaryDataSource" -> "jdbc.gate.permits";
+                    case "replicaDataSource" -> "jdbc.gate.replica-permits";
+                    default -> null;
+                };
+                if (permits == null) return bean;
+                JdbcAdmissionGate gate = new JdbcAdmissionGate(
+                    env.getProperty(permits, Integer.class, poolSize(ds)),
+                    env.getProperty("jdbc.gate.export-max-connections", Integer.class, 2),
+                    env.getProperty("jdbc.gate.acquire-timeout-ms", Long.class, 30000L));
+                return new GatedDataSource(ds, gate);
+            }
+        };
+    }
+
+    static int poolSize(DataSource ds) {
+        return ds instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+    }
+
+    /** The routing dataSource is not gated itself; the pools behind it are. */
+    private static boolean routed(DataSource ds) {
+        try {
+            return ds.isWrapperFor(ReadWriteRoutingDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** The primary pool's gate (the only one without a replica). */
+    @Bean
+    @Primary
+    public JdbcAdmissionGate jdbcAdmissionGate(DataSource dataSource,
+                                               @Qualifier("primaryDataSource") ObjectProvider<DataSource> primary)
+            throws SQLException {
+        return primary.getIfAvailable(() -> dataSource).unwrap(GatedDataSource.class).getGate();
+    }
+
+    @Bean
+    public OncePerRequestFilter jdbcLaneFilter(Environment env) {
+        List<String> exportPaths = Arrays.stream(
+                env.getProperty("jdbc.gate.export-paths", DEFAULT_EXPORT_PATHS).split(","))
+            .map(String::trim)
+            .filter(p -> !p.isEmpty())
+            .toList();
+        AntPathMatcher matcher = new AntPathMatcher();
+
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                boolean export = exportPaths.stream().anyMatch(p -> matcher.match(p, path));
+                if (!export) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                JdbcAdmissionGate.Lane previous = JdbcAdmissionGate.enter(JdbcAdmissionGate.Lane.EXPORT);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    JdbcAdmissionGate.restore(previous);
+                }
+            }
+        };
+    }
+}
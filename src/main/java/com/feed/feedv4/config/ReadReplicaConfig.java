@@ -0,0 +1,166 @@
+package com.feed.feedv4.config;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read/write split, active only when app.datasource.replica.jdbc-url is set.
+ *
+ * spring.datasource.* stays the primary. The replica pool is bound from
+ * app.datasource.replica.* (any Hikari property). Read-only transactions go
+ * to the replica through {@link ReadWriteRoutingDataSource}; each pool has
+ * its own admission gate (JdbcGateConfig).
+ *
+ * app.datasource.routing.max-lag-ms          – replica lag above which reads use the primary (default 2000)
+ * app.datasource.routing.check-interval-ms   – lag poll interval (default 1000)
+ * app.datasource.routing.post-write-window-ms – how long a client reads from the primary after a write (default 5000)
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.jdbc-url:}'.isEmpty()")
+public class ReadReplicaConfig {
+
+    /** Exposed through CORS (WebConfig); the frontend echoes it back (src/primaryReads.js). */
+    static final String PRIMARY_READS_HEADER = "X-Primary-Reads-Until";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName("replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    /** The replica pool's gate; the primary's is {@code jdbcAdmissionGate}. */
+    @Bean
+    public JdbcAdmissionGate replicaAdmissionGate(@Qualifier("replicaDataSource") DataSource replica)
+            throws SQLException {
+        return replica.unwrap(GatedDataSource.class).getGate();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               Environment env) {
+        return new ReplicaLagMonitor(replica,
+            env.getProperty("app.datasource.routing.max-lag-ms", Long.class, 2000L),
+            env.getProperty("app.datasource.routing.check-interval-ms", Long.class, 1000L));
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                        @Qualifier("replicaDataSource") DataSource replica,
+                                                        ReplicaLagMonitor monitor) {
+        return new ReadWriteRoutingDataSource(primary, replica, monitor);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /** Spring Boot's adapter, with the dialect that routes each transaction and bypasses the caches on the replica. */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties, ReadWriteRoutingDataSource routingDataSource) {
+        ReplicaAwareJpaDialect dialect = new ReplicaAwareJpaDialect(routingDataSource);
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return dialect;
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) adapter.setDatabase(properties.getDatabase());
+        if (properties.getDatabasePlatform() != null) adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+
+    /**
+     * Hibernate otherwise holds the connection it took for the first
+     * transaction until the request ends (open-in-view), so a later write
+     * transaction in the same request would run on the replica connection
+     * of an earlier read. Releasing after each transaction lets every
+     * transaction be routed on its own. Only needed with a replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return props -> props.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Read-your-writes across requests: a mutating request answers with an
+     * X-Primary-Reads-Until header (epoch ms), and while a client sends it
+     * back that client's reads (and the mutating request itself) use the
+     * primary. The window never drops below the tolerated replica lag; a
+     * value further ahead than one window is ignored.
+     */
+    @Bean
+    public OncePerRequestFilter primaryReadsFilter(Environment env) {
+        long window = Math.max(
+            env.getProperty("app.datasource.routing.post-write-window-ms", Long.class, 5000L),
+            env.getProperty("app.datasource.routing.max-lag-ms", Long.class, 2000L));
+
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                long now = System.currentTimeMillis();
+                boolean mutating = !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())
+                    || "OPTIONS".equals(request.getMethod()));
+                if (mutating) response.setHeader(PRIMARY_READS_HEADER, Long.toString(now + window));
+                long until = primaryReadsUntil(request);
+                if (mutating || (until > now && until <= now + window)) ReadWriteRoutingDataSource.pinPrimary();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    ReadWriteRoutingDataSource.unpin();
+                }
+            }
+        };
+    }
+
+    private static long primaryReadsUntil(HttpServletRequest request) {
+        String value = request.getHeader(PRIMARY_READS_HEADER);
+        if (value == null) return 0;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.feed.feedv4.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. Used behind a LazyConnectionDataSourceProxy, so the connection is
+ * only taken at the first statement. The target itself is fixed when the
+ * transaction begins ({@link ReplicaAwareJpaDialect} binds it), so what the
+ * transaction decided about caching matches where it actually reads.
+ *
+ * Reads stay on the primary when the replica is lagging or unreachable, and
+ * for a thread that is pinned: one that already ran a write transaction, or
+ * a request the post-write filter marked (see ReadReplicaConfig), so a
+ * client always sees its own writes.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+    private static final ThreadLocal<Target> TRANSACTION_TARGET = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor monitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    // ─── PINNING ──────────────────────────────────────────────────────────────
+
+    /** Keeps the calling thread's reads on the primary until {@link #unpin}. */
+    public static void pinPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    // ─── ROUTING ──────────────────────────────────────────────────────────────
+
+    /**
+     * Where a transaction with this read-only flag goes if it starts now on
+     * the calling thread. A write transaction pins the thread to the primary.
+     */
+    public Target targetFor(boolean readOnly, boolean transactional) {
+        if (!readOnly) {
+            if (transactional) pinPrimary();
+            return Target.PRIMARY;
+        }
+        if (PRIMARY_PINNED.get() != null || !monitor.replicaUsable()) return Target.PRIMARY;
+        return Target.REPLICA;
+    }
+
+    /** Fixes the target of the transaction beginning on this thread; returns the previous one for {@link #restoreTarget}. */
+    static Target bindTarget(Target target) {
+        Target previous = TRANSACTION_TARGET.get();
+        TRANSACTION_TARGET.set(target);
+        return previous;
+    }
+
+    static void restoreTarget(Target previous) {
+        if (previous == null) TRANSACTION_TARGET.remove();
+        else TRANSACTION_TARGET.set(previous);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+        Target bound = TRANSACTION_TARGET.get();
+        if (bound != null && transactional) return bound;
+        return targetFor(TransactionSynchronizationManager.isCurrentTransactionReadOnly(), transactional);
+    }
+}
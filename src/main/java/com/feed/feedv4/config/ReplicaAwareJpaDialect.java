@@ -0,0 +1,87 @@
+package com.feed.feedv4.config;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import com.feed.feedv4.config.ReadWriteRoutingDataSource.Target;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Decides at begin where each transaction is routed and binds that target
+ * for its first statement. A transaction routed to the replica bypasses the
+ * second-level and query caches: what it loads can be up to max-lag-ms old,
+ * and a cached copy would outlive the lag (e.g. a User cached by findByEmail
+ * just after a password change). Reading the cache while skipping the put is
+ * not enough, since Hibernate still stores a query-cache miss in
+ * CacheMode.GET.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private final ReadWriteRoutingDataSource routing;
+
+    public ReplicaAwareJpaDialect(ReadWriteRoutingDataSource routing) {
+        this.routing = routing;
+    }
+
+    private record RoutedTransaction(Object delegate, EntityManager entityManager, CacheMode previousCacheMode,
+                                     Object previousRetrieveMode, Object previousStoreMode, Target previousTarget) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Target target = routing.targetFor(definition.isReadOnly(), true);
+        Target previousTarget = ReadWriteRoutingDataSource.bindTarget(target);
+        Object delegate;
+        try {
+            delegate = super.beginTransaction(entityManager, definition);
+        } catch (RuntimeException | SQLException e) {
+            ReadWriteRoutingDataSource.restoreTarget(previousTarget);
+            throw e;
+        }
+        if (target != Target.REPLICA) return new RoutedTransaction(delegate, null, null, null, null, previousTarget);
+
+        Map<String, Object> properties = entityManager.getProperties();
+        RoutedTransaction routed = new RoutedTransaction(delegate, entityManager,
+            entityManager.unwrap(Session.class).getCacheMode(),
+            properties.get(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE), properties.get(SpecHints.HINT_SPEC_CACHE_STORE_MODE),
+            previousTarget);
+        // Queries take their cache mode from these properties, not from the session
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return routed;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (!(transactionData instanceof RoutedTransaction routed)) {
+            super.cleanupTransaction(transactionData);
+            return;
+        }
+        try {
+            super.cleanupTransaction(routed.delegate());
+        } finally {
+            // The EntityManager outlives the transaction under open-in-view
+            EntityManager em = routed.entityManager();
+            if (em != null && em.isOpen()) {
+                em.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE,
+                    routed.previousRetrieveMode() != null ? routed.previousRetrieveMode() : CacheRetrieveMode.USE);
+                em.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE,
+                    routed.previousStoreMode() != null ? routed.previousStoreMode() : CacheStoreMode.USE);
+                em.unwrap(Session.class).setCacheMode(routed.previousCacheMode());
+            }
+            ReadWriteRoutingDataSource.restoreTarget(routed.previousTarget());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.feed.feedv4.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the read replica for its replay lag. The replica is only used while
+ * the last check succeeded, is recent, and reported a lag within
+ * {@code maxLagMs}; otherwise reads fall back to the primary until it
+ * recovers.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    /**
+     * Lag in ms. A standby that is streaming and has replayed everything it
+     * received reports 0 (on an idle primary the last replayed commit can be
+     * old without any lag). Without a streaming WAL receiver, "everything it
+     * received" says nothing about the primary, so the age of the last
+     * replayed commit is used instead. Reading the receiver status needs
+     * pg_monitor (or pg_read_all_stats) for the replica user. A server that
+     * is not in recovery, e.g. a second local instance, reports 0.
+     */
+    static final String LAG_SQL = """
+        SELECT CASE
+                 WHEN NOT pg_is_in_recovery() THEN 0
+                 WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                      AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+                 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 2147483647)
+               END::bigint""";
+
+    public record Status(boolean enabled, boolean usable, Long lagMs, Long maxLagMs, Instant checkedAt,
+                         String error) {
+        public static Status disabled() {
+            return new Status(false, false, null, null, null, null);
+        }
+    }
+
+    private final DataSource replica;
+    private final long maxLagMs;
+    private final long intervalMs;
+    private final ScheduledExecutorService scheduler;
+    private volatile Status status;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMs, long intervalMs) {
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.intervalMs = Math.max(100, intervalMs);
+        this.status = new Status(true, false, null, maxLagMs, null, "Not checked yet");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("replica-lag-monitor").factory());
+        scheduler.scheduleWithFixedDelay(this::check, 0, this.intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** True when read-only work may go to the replica right now. */
+    public boolean replicaUsable() {
+        Status s = status;
+        return s.usable() && s.checkedAt() != null
+            && Duration.between(s.checkedAt(), Instant.now()).toMillis() <= 3 * intervalMs;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    void check() {
+        try (Connection con = replica.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(LAG_SQL)) {
+            rs.next();
+            long lag = rs.getLong(1);
+            status = new Status(true, lag <= maxLagMs, lag, maxLagMs, Instant.now(),
+                lag <= maxLagMs ? null : "Replica is " + lag + " ms behind");
+        } catch (SQLException | RuntimeException e) {
+            status = new Status(true, false, null, maxLagMs, Instant.now(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
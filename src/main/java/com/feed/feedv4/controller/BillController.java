@@ -2,6 +2,7 @@ package com.feed.feedv4.controller;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.feed.feedv4.dto.BillDTO;
+import com.feed.feedv4.dto.BillRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.service.BillService;
 
 import jakarta.validation.Valid;
@@ -35,6 +38,12 @@ public class BillController {
         List<BillDTO> bills = billService.getAllBills();
         return ResponseEntity.ok(bills);
     }
+
+    /** Keyset-paged slim rows, e.g. ?sort=-billDate&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<BillRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(billService.getBillPage(params));
+    }
     
     @GetMapping("/{id}")
     public ResponseEntity<BillDTO> getBillById(@PathVariable Long id) {
@@ -0,0 +1,43 @@
+package com.feed.feedv4.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.CacheRegionStatsDTO;
+import com.feed.feedv4.service.CacheStatsService;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    public CacheController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    /** Hits, misses, puts, hit rate and size per second-level cache region. */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> stats() {
+        return ResponseEntity.ok(cacheStatsService.regions());
+    }
+
+    @PostMapping("/stats/reset")
+    public ResponseEntity<Void> resetStats() {
+        cacheStatsService.resetCounters();
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Empties every region; only needed after reference data was changed outside the application. */
+    @DeleteMapping
+    public ResponseEntity<Void> evictAll() {
+        cacheStatsService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
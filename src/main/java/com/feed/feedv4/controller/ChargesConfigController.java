@@ -2,6 +2,7 @@ package com.feed.feedv4.controller;
 
 import com.feed.feedv4.model.ChargesConfig;
 import com.feed.feedv4.service.ChargesConfigService;
+import com.feed.feedv4.service.FeeCalculator;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -113,6 +114,12 @@ public class ChargesConfigController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /** Prices a batch with the effective config; served from the compiled calculator. */
+    @GetMapping("/quote")
+    public FeeCalculator.BatchPrice quote(@RequestParam double kg, @RequestParam double costPerKg) {
+        return service.getCalculator().price(kg, costPerKg);
+    }
+
     /**
      * Lightweight options for dropdowns (id + name).
      * Supports filters similar to list.
@@ -1,6 +1,7 @@
 package com.feed.feedv4.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.feed.feedv4.dto.CustomerDTO;
+import com.feed.feedv4.dto.CustomerRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.service.CustomerService;
 
 import jakarta.validation.Valid;
@@ -34,6 +37,12 @@ public class CustomerController {
         List<CustomerDTO> customers = customerService.getAllCustomers();
         return ResponseEntity.ok(customers);
     }
+
+    /** Keyset-paged slim rows, e.g. ?sort=-customerName&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<CustomerRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(customerService.getCustomerPage(params));
+    }
     
     @GetMapping("/active")
     public ResponseEntity<List<CustomerDTO>> getAllActiveCustomers() {
@@ -2,8 +2,10 @@ package com.feed.feedv4.controller;
 
 import com.feed.feedv4.dto.DashboardSummaryDTO;
 import com.feed.feedv4.model.Role;
+import com.feed.feedv4.service.DailyRollupService;
 import com.feed.feedv4.service.DashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Arrays;
@@ -18,6 +20,9 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
     @GetMapping("/{roles}")
     public DashboardSummaryDTO getDashboard(@PathVariable String roles) {
         try {
@@ -35,4 +40,11 @@ public class DashboardController {
         }
     }
 
+    /** Re-seeds the daily rollups from source documents (one-off, e.g. after deploy). */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Void> rebuildRollups() {
+        dailyRollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
 }
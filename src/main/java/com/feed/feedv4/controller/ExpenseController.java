@@ -2,6 +2,7 @@ package com.feed.feedv4.controller;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.feed.feedv4.dto.ExpenseDTO;
+import com.feed.feedv4.dto.ExpenseRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.Expense;
 import com.feed.feedv4.service.ExpenseService;
 
@@ -37,6 +40,12 @@ public class ExpenseController {
         List<ExpenseDTO> expenses = expenseService.getAllExpenses();
         return ResponseEntity.ok(expenses);
     }
+
+    /** Keyset-paged slim rows, e.g. ?sort=-date&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ExpenseRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(expenseService.getExpensePage(params));
+    }
     
     @GetMapping("/{id}")
     public ResponseEntity<ExpenseDTO> getExpenseById(@PathVariable Long id) {
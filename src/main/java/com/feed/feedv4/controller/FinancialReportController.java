@@ -0,0 +1,75 @@
+package com.feed.feedv4.controller;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.feed.feedv4.dto.BalanceSheetDTO;
+import com.feed.feedv4.dto.FinanceReportDTO;
+import com.feed.feedv4.dto.ProfitAndLossDTO;
+import com.feed.feedv4.dto.TrialBalanceDTO;
+import com.feed.feedv4.model.AccountingPeriod;
+import com.feed.feedv4.service.FinancialReportService;
+
+@RestController
+@RequestMapping("/api/reports/financial")
+public class FinancialReportController {
+
+    private final FinancialReportService financialReportService;
+
+    public FinancialReportController(FinancialReportService financialReportService) {
+        this.financialReportService = financialReportService;
+    }
+
+    @GetMapping("/profit-and-loss")
+    public ResponseEntity<ProfitAndLossDTO> getProfitAndLoss(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.withDayOfYear(1);
+        return ResponseEntity.ok(financialReportService.getProfitAndLoss(start, end));
+    }
+
+    @GetMapping("/balance-sheet")
+    public ResponseEntity<BalanceSheetDTO> getBalanceSheet(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(financialReportService.getBalanceSheet(asOf != null ? asOf : LocalDate.now()));
+    }
+
+    @GetMapping("/trial-balance")
+    public ResponseEntity<TrialBalanceDTO> getTrialBalance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(financialReportService.getTrialBalance(asOf != null ? asOf : LocalDate.now()));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<FinanceReportDTO> getSummary(@RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(financialReportService.getFinanceSummary(year != null ? year : LocalDate.now().getYear()));
+    }
+
+    @GetMapping("/periods")
+    public ResponseEntity<List<AccountingPeriod>> getClosedPeriods() {
+        return ResponseEntity.ok(financialReportService.getClosedPeriods());
+    }
+
+    /** Closing is recorded against the authenticated user, never a name supplied by the client. */
+    @PostMapping("/periods/{month}/close")
+    public ResponseEntity<AccountingPeriod> closePeriod(@PathVariable String month, Principal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Closing a period requires an authenticated user");
+        }
+        return ResponseEntity.ok(financialReportService.closePeriod(YearMonth.parse(month), principal.getName()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.feed.feedv4.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.FormulationDiffDTO;
+import com.feed.feedv4.dto.FormulationRevisionDTO;
+import com.feed.feedv4.service.FormulationRevisionService;
+
+@RestController
+@RequestMapping("/api/formulations/{id}/revisions")
+public class FormulationRevisionController {
+
+    private final FormulationRevisionService revisionService;
+
+    public FormulationRevisionController(FormulationRevisionService revisionService) {
+        this.revisionService = revisionService;
+    }
+
+    /** Revision history, newest first. */
+    @GetMapping
+    public ResponseEntity<List<FormulationRevisionDTO>> list(@PathVariable Long id) {
+        return ResponseEntity.ok(revisionService.list(id));
+    }
+
+    /** The formulation as it was at one revision, with its full ingredient list. */
+    @GetMapping("/{revisionNo}")
+    public ResponseEntity<FormulationRevisionDTO> get(@PathVariable Long id, @PathVariable int revisionNo) {
+        return ResponseEntity.ok(revisionService.get(id, revisionNo));
+    }
+
+    /** Ingredient and cost changes between two revisions; defaults to previous vs latest. */
+    @GetMapping("/diff")
+    public ResponseEntity<FormulationDiffDTO> diff(@PathVariable Long id,
+                                                   @RequestParam(required = false) Integer from,
+                                                   @RequestParam(required = false) Integer to) {
+        return ResponseEntity.ok(revisionService.diff(id, from, to));
+    }
+}
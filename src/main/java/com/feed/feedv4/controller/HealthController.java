@@ -1,17 +1,54 @@
 package com.feed.feedv4.controller;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.feed.feedv4.config.JdbcAdmissionGate;
+import com.feed.feedv4.config.ReplicaLagMonitor;
+
 // In any controller (e.g., HealthController.java)
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+    private final JdbcAdmissionGate jdbcAdmissionGate;
+    private final ObjectProvider<JdbcAdmissionGate> replicaAdmissionGate;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    public HealthController(JdbcAdmissionGate jdbcAdmissionGate,
+                            @Qualifier("replicaAdmissionGate") ObjectProvider<JdbcAdmissionGate> replicaAdmissionGate,
+                            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.jdbcAdmissionGate = jdbcAdmissionGate;
+        this.replicaAdmissionGate = replicaAdmissionGate;
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
     @GetMapping("/ping")
     public ResponseEntity<String> ping() {
         return ResponseEntity.ok("pong");
     }
+
+    /** Permits in use and callers queued per lane at the JDBC admission gate. */
+    @GetMapping("/health/jdbc-gate")
+    public ResponseEntity<JdbcAdmissionGate.Snapshot> jdbcGate() {
+        return ResponseEntity.ok(jdbcAdmissionGate.snapshot());
+    }
+
+    /** The same for the read replica's pool; 404 when no replica is configured. */
+    @GetMapping("/health/jdbc-gate/replica")
+    public ResponseEntity<JdbcAdmissionGate.Snapshot> replicaJdbcGate() {
+        JdbcAdmissionGate gate = replicaAdmissionGate.getIfAvailable();
+        return gate == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(gate.snapshot());
+    }
+
+    /** Whether read-only transactions are currently served by the replica, and its last measured lag. */
+    @GetMapping("/health/datasource-routing")
+    public ResponseEntity<ReplicaLagMonitor.Status> datasourceRouting() {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        return ResponseEntity.ok(monitor == null ? ReplicaLagMonitor.Status.disabled() : monitor.status());
+    }
 }
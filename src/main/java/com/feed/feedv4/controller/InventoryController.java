@@ -9,7 +9,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -54,20 +53,15 @@ public class InventoryController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteRawMaterial(@PathVariable Long id) {
-        if (!rawMaterialRepository.existsById(id)) {
+        if (!service.delete(id)) {
             return ResponseEntity.notFound().build();
         }
-        rawMaterialRepository.deleteById(id);
         return ResponseEntity.ok().build();
     }
 
     @PutMapping("/{id}/toggle-archive")
     public ResponseEntity<?> toggleArchive(@PathVariable Long id) {
-        RawMaterial material = rawMaterialRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Raw material not found"));
-
-        material.setArchived(!material.isArchived());
-        rawMaterialRepository.save(material);
+        service.toggleArchive(id);
         return ResponseEntity.ok().build();
     }
 
@@ -86,11 +80,11 @@ public class InventoryController {
                 if (existing.isPresent()) {
                     if (overwrite) {
                         incoming.setId(existing.get().getId());
-                        rawMaterialRepository.save(incoming);
+                        service.save(incoming);
                     }
                     // Else skip duplicate
                 } else {
-                    rawMaterialRepository.save(incoming);
+                    service.save(incoming);
                 }
             }
 
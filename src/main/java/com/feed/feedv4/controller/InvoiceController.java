@@ -1,6 +1,8 @@
 package com.feed.feedv4.controller;
 
 import com.feed.feedv4.dto.InvoiceDTO;
+import com.feed.feedv4.dto.InvoiceRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.service.InvoiceService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -26,6 +28,12 @@ public class InvoiceController {
         return ResponseEntity.ok(invoiceService.getAllInvoices());
     }
 
+    /** Keyset-paged slim rows, e.g. ?sort=-invoiceDate&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<InvoiceRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(invoiceService.getInvoicePage(params));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InvoiceDTO> getById(@PathVariable Long id) {
         return ResponseEntity.ok(invoiceService.getInvoiceById(id));
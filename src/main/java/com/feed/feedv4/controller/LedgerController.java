@@ -0,0 +1,43 @@
+package com.feed.feedv4.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.JournalEntryDTO;
+import com.feed.feedv4.dto.TrialBalanceDTO;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount;
+import com.feed.feedv4.service.JournalService;
+
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+
+    private final JournalService journalService;
+
+    public LedgerController(JournalService journalService) {
+        this.journalService = journalService;
+    }
+
+    @GetMapping("/accounts")
+    public ResponseEntity<List<LedgerAccount>> getAccounts() {
+        return ResponseEntity.ok(journalService.getAccounts());
+    }
+
+    @GetMapping("/trial-balance")
+    public ResponseEntity<TrialBalanceDTO> getTrialBalance() {
+        return ResponseEntity.ok(journalService.getTrialBalance());
+    }
+
+    @GetMapping("/journal/{sourceType}/{sourceId}")
+    public ResponseEntity<List<JournalEntryDTO>> getJournal(@PathVariable String sourceType,
+                                                            @PathVariable Long sourceId) {
+        JournalEntry.SourceType type = JournalEntry.SourceType.valueOf(sourceType.toUpperCase());
+        return ResponseEntity.ok(journalService.getEntriesForSource(type, sourceId));
+    }
+}
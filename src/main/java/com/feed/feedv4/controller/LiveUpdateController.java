@@ -0,0 +1,47 @@
+package com.feed.feedv4.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.feed.feedv4.service.LiveUpdateHub;
+import com.feed.feedv4.service.LiveUpdateHub.Topic;
+
+@RestController
+@RequestMapping("/api/live")
+public class LiveUpdateController {
+
+    private final LiveUpdateHub hub;
+
+    public LiveUpdateController(LiveUpdateHub hub) {
+        this.hub = hub;
+    }
+
+    /** topics: any of batches, stock, dashboard (all when omitted). */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) List<String> topics) {
+        Set<Topic> wanted = EnumSet.noneOf(Topic.class);
+        if (topics != null) {
+            topics.forEach(t -> wanted.add(Topic.valueOf(t.trim().toUpperCase())));
+        }
+        try {
+            return ResponseEntity.ok(hub.subscribe(wanted));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).build();
+        }
+    }
+
+    @GetMapping("/subscribers")
+    public ResponseEntity<Map<Topic, Integer>> subscribers() {
+        return ResponseEntity.ok(hub.getSubscriberCounts());
+    }
+}
@@ -0,0 +1,57 @@
+package com.feed.feedv4.controller;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.feed.feedv4.dto.LookupHitDTO;
+import com.feed.feedv4.service.LookupIndex;
+
+@RestController
+@RequestMapping("/api/lookup")
+public class LookupController {
+
+    private final LookupIndex lookupIndex;
+
+    public LookupController(LookupIndex lookupIndex) {
+        this.lookupIndex = lookupIndex;
+    }
+
+    /**
+     * GET /api/lookup?q=acm&types=customer,vendor&limit=10
+     * types: customer, vendor, raw_material; all when omitted. Served from memory.
+     */
+    @GetMapping
+    public ResponseEntity<List<LookupHitDTO>> lookup(@RequestParam String q,
+                                                     @RequestParam(required = false) List<String> types,
+                                                     @RequestParam(required = false) Integer limit) {
+        Set<LookupIndex.Type> wanted = EnumSet.noneOf(LookupIndex.Type.class);
+        if (types != null) {
+            types.stream()
+                .filter(t -> !t.isBlank())
+                .forEach(t -> wanted.add(parseType(t.trim())));
+        }
+        return ResponseEntity.ok(lookupIndex.lookup(q, wanted, limit));
+    }
+
+    private static LookupIndex.Type parseType(String type) {
+        String name = type.toUpperCase().replace('-', '_');
+        return Arrays.stream(LookupIndex.Type.values())
+            .filter(t -> t.name().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Unknown lookup type '" + type + "'; allowed: " + Arrays.stream(LookupIndex.Type.values())
+                    .map(t -> t.name().toLowerCase())
+                    .collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,43 @@
+package com.feed.feedv4.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.CashRequirementDTO;
+import com.feed.feedv4.dto.PayablesAgingDTO;
+import com.feed.feedv4.service.PayablesProjectionService;
+
+@RestController
+@RequestMapping("/api/payables")
+public class PayablesController {
+
+    private final PayablesProjectionService payablesProjectionService;
+
+    public PayablesController(PayablesProjectionService payablesProjectionService) {
+        this.payablesProjectionService = payablesProjectionService;
+    }
+
+    @GetMapping("/aging")
+    public ResponseEntity<PayablesAgingDTO> getAging(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(payablesProjectionService.getAging(asOf != null ? asOf : LocalDate.now()));
+    }
+
+    @GetMapping("/cash-requirement")
+    public ResponseEntity<CashRequirementDTO> getCashRequirement(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(payablesProjectionService.getCashRequirement(LocalDate.now(), days));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        payablesProjectionService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
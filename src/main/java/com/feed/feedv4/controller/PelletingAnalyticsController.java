@@ -0,0 +1,47 @@
+package com.feed.feedv4.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.PelletingStatsDTO;
+import com.feed.feedv4.model.PelletingStat;
+import com.feed.feedv4.service.PelletingAnalyticsService;
+
+@RestController
+@RequestMapping("/api/pelleting/analytics")
+public class PelletingAnalyticsController {
+
+    private final PelletingAnalyticsService analyticsService;
+
+    public PelletingAnalyticsController(PelletingAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<PelletingStatsDTO> getOverall() {
+        return ResponseEntity.ok(analyticsService.getOverall());
+    }
+
+    /** scope: machine, operator or formulation. */
+    @GetMapping("/{scope}")
+    public ResponseEntity<List<PelletingStatsDTO>> getByScope(@PathVariable String scope) {
+        return ResponseEntity.ok(analyticsService.getByScope(PelletingStat.Scope.valueOf(scope.toUpperCase())));
+    }
+
+    @GetMapping("/{scope}/{key}")
+    public ResponseEntity<PelletingStatsDTO> get(@PathVariable String scope, @PathVariable String key) {
+        return ResponseEntity.ok(analyticsService.get(PelletingStat.Scope.valueOf(scope.toUpperCase()), key));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        analyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
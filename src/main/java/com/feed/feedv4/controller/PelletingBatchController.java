@@ -1,13 +1,19 @@
 package com.feed.feedv4.controller;
 
+import com.feed.feedv4.dto.BatchBoardPageDTO;
+import com.feed.feedv4.dto.BatchBoardRowDTO;
+import com.feed.feedv4.dto.FinanceHandoffDTO;
 import com.feed.feedv4.dto.IngredientViewDTO;
 import com.feed.feedv4.model.PelletingBatch;
 import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.service.FinanceHandoffService;
 import com.feed.feedv4.service.PelletingBatchService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -21,8 +27,11 @@ public class PelletingBatchController {
     @Autowired
     private PelletingBatchRepository pelletingRepo;
 
+    @Autowired
+    private FinanceHandoffService financeHandoffService;
+
     @GetMapping
-    public List<PelletingBatch> getAll() {
+    public List<BatchBoardRowDTO> getAll() {
         return service.getAll(null, null);
     }
 
@@ -87,25 +96,43 @@ public class PelletingBatchController {
     }
 
     @PostMapping("/{id}/send-to-finance")
-    public ResponseEntity<String> sendToFinance(@PathVariable Long id) {
-        // Placeholder logic – you can later redirect or generate invoice
-        PelletingBatch batch = service.get(id);
-        if (!"Completed".equals(batch.getStatus())) {
-            return ResponseEntity.badRequest().body("Only completed batches can be sent to finance");
+    public ResponseEntity<?> sendToFinance(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "false") boolean issue) {
+        try {
+            return ResponseEntity.ok(financeHandoffService.sendBatch(id, issue));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
+    }
 
-        // Simulate forwarding to finance module (to be implemented)
-        return ResponseEntity.ok("Batch " + id + " sent to finance module.");
+    /** Month-end run: invoices every completed, unbilled batch per customer. */
+    @PostMapping("/send-to-finance")
+    public ResponseEntity<FinanceHandoffDTO> sendCompletedToFinance(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime completedBefore,
+        @RequestParam(defaultValue = "false") boolean issue
+    ) {
+        return ResponseEntity.ok(financeHandoffService.sendCompleted(completedBefore, issue));
     }
 
     @GetMapping("/batches")
-    public List<PelletingBatch> listBatches(
+    public List<BatchBoardRowDTO> listBatches(
         @RequestParam(required = false) String status,
         @RequestParam(required = false) Boolean archived
     ) {
         return service.getAll(status, archived);
     }
 
+    /** Slim, paged view for the shop-floor boards that poll frequently. */
+    @GetMapping("/board")
+    public ResponseEntity<BatchBoardPageDTO> board(
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) Boolean archived,
+        @RequestParam(required = false) Long after,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(service.getBoard(status, archived, after, limit));
+    }
+
     @PatchMapping("/{id}/archive")
     public ResponseEntity<PelletingBatch> archive(@PathVariable Long id, @RequestParam boolean archived) {
         return ResponseEntity.ok(service.setArchived(id, archived));
@@ -0,0 +1,99 @@
+package com.feed.feedv4.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.PelletingScheduleDTO;
+import com.feed.feedv4.dto.SimulationRequestDTO;
+import com.feed.feedv4.dto.SimulationResultDTO;
+import com.feed.feedv4.model.ChangeoverRule;
+import com.feed.feedv4.model.PelletingMachine;
+import com.feed.feedv4.service.PelletingMachineService;
+import com.feed.feedv4.service.PelletingScheduleService;
+import com.feed.feedv4.service.ProductionSimulationService;
+
+@RestController
+@RequestMapping("/api/pelleting")
+public class PelletingScheduleController {
+
+    private final PelletingScheduleService scheduleService;
+    private final PelletingMachineService machineService;
+    private final ProductionSimulationService simulationService;
+
+    public PelletingScheduleController(PelletingScheduleService scheduleService,
+                                       PelletingMachineService machineService,
+                                       ProductionSimulationService simulationService) {
+        this.scheduleService = scheduleService;
+        this.machineService = machineService;
+        this.simulationService = simulationService;
+    }
+
+    // ─── SCHEDULE ─────────────────────────────────────────────────────────────
+
+    @GetMapping("/schedule")
+    public ResponseEntity<PelletingScheduleDTO> getSchedule() {
+        return ResponseEntity.ok(scheduleService.getSchedule());
+    }
+
+    @PostMapping("/schedule/replan")
+    public ResponseEntity<PelletingScheduleDTO> replan() {
+        return ResponseEntity.ok(scheduleService.replan());
+    }
+
+    @GetMapping("/schedule/next")
+    public ResponseEntity<PelletingScheduleDTO.Slot> getNext(@RequestParam String machine) {
+        PelletingScheduleDTO.Slot next = scheduleService.getNext(machine);
+        return next != null ? ResponseEntity.ok(next) : ResponseEntity.noContent().build();
+    }
+
+    /** What-if projection of the current queue; the request body may be empty. */
+    @PostMapping("/schedule/simulate")
+    public ResponseEntity<SimulationResultDTO> simulate(@RequestBody(required = false) SimulationRequestDTO request) {
+        return ResponseEntity.ok(simulationService.simulate(request != null ? request : new SimulationRequestDTO()));
+    }
+
+    // ─── MACHINES ─────────────────────────────────────────────────────────────
+
+    @GetMapping("/machines")
+    public ResponseEntity<List<PelletingMachine>> getMachines() {
+        return ResponseEntity.ok(machineService.getMachines());
+    }
+
+    @PostMapping("/machines")
+    public ResponseEntity<PelletingMachine> createMachine(@RequestBody PelletingMachine machine) {
+        return ResponseEntity.ok(machineService.createMachine(machine));
+    }
+
+    @PutMapping("/machines/{id}")
+    public ResponseEntity<PelletingMachine> updateMachine(@PathVariable Long id, @RequestBody PelletingMachine machine) {
+        return ResponseEntity.ok(machineService.updateMachine(id, machine));
+    }
+
+    // ─── CHANGEOVERS ──────────────────────────────────────────────────────────
+
+    @GetMapping("/changeovers")
+    public ResponseEntity<List<ChangeoverRule>> getChangeoverRules() {
+        return ResponseEntity.ok(machineService.getChangeoverRules());
+    }
+
+    @PostMapping("/changeovers")
+    public ResponseEntity<ChangeoverRule> saveChangeoverRule(@RequestBody ChangeoverRule rule) {
+        return ResponseEntity.ok(machineService.saveChangeoverRule(rule));
+    }
+
+    @DeleteMapping("/changeovers/{id}")
+    public ResponseEntity<Void> deleteChangeoverRule(@PathVariable Long id) {
+        machineService.deleteChangeoverRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
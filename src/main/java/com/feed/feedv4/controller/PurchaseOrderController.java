@@ -1,6 +1,7 @@
 package com.feed.feedv4.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.feed.feedv4.dto.PurchaseOrderDTO;
+import com.feed.feedv4.dto.PurchaseOrderRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.PurchaseOrder;
 import com.feed.feedv4.service.PurchaseOrderService;
 
@@ -36,6 +39,12 @@ public class PurchaseOrderController {
         List<PurchaseOrderDTO> purchaseOrders = purchaseOrderService.getAllPurchaseOrders();
         return ResponseEntity.ok(purchaseOrders);
     }
+
+    /** Keyset-paged slim rows, e.g. ?sort=-orderDate&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<PurchaseOrderRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(purchaseOrderService.getPurchaseOrderPage(params));
+    }
     
     @GetMapping("/{id}")
     public ResponseEntity<PurchaseOrderDTO> getPurchaseOrderById(@PathVariable Long id) {
@@ -1,6 +1,7 @@
 package com.feed.feedv4.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.feed.feedv4.dto.QuoteDTO;
+import com.feed.feedv4.dto.QuoteRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.service.QuoteService;
 
 import jakarta.validation.Valid;
@@ -35,6 +38,12 @@ public class QuoteController {
         List<QuoteDTO> quotes = quoteService.getAllQuotes();
         return ResponseEntity.ok(quotes);
     }
+
+    /** Keyset-paged slim rows, e.g. ?sort=-quoteDate&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<QuoteRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(quoteService.getQuotePage(params));
+    }
     
     @GetMapping("/{id}")
     public ResponseEntity<QuoteDTO> getQuoteById(@PathVariable Long id) {
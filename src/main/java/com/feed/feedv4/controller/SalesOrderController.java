@@ -1,6 +1,7 @@
 package com.feed.feedv4.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,8 +13,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.feed.feedv4.dto.SalesOrderDTO;
+import com.feed.feedv4.dto.SalesOrderRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.service.SalesOrderService;
 
 import jakarta.validation.Valid;
@@ -33,6 +37,12 @@ public class SalesOrderController {
         return ResponseEntity.ok(salesOrderService.getAllSalesOrders());
     }
 
+    /** Keyset-paged slim rows, e.g. ?sort=-salesOrderDate&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<SalesOrderRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(salesOrderService.getSalesOrderPage(params));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SalesOrderDTO> getById(@PathVariable Long id) {
         return ResponseEntity.ok(salesOrderService.getSalesOrderById(id));
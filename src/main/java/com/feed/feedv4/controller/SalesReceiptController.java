@@ -14,8 +14,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.feed.feedv4.dto.SalesReceiptDTO;
+import com.feed.feedv4.dto.SalesReceiptRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.service.SalesReceiptService;
 
 @RestController
@@ -34,6 +37,12 @@ public class SalesReceiptController {
         return ResponseEntity.ok(salesReceiptService.getAllSalesReceipts());
     }
 
+    /** Keyset-paged slim rows, e.g. ?sort=-receiptDate&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<SalesReceiptRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(salesReceiptService.getSalesReceiptPage(params));
+    }
+
     // GET /api/sales-receipts/{id}
     @GetMapping("/{id}")
     public ResponseEntity<SalesReceiptDTO> getSalesReceiptById(@PathVariable Long id) {
@@ -0,0 +1,33 @@
+package com.feed.feedv4.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.SearchResultDTO;
+import com.feed.feedv4.service.SearchService;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * GET /api/search?q=acme&types=customer,invoice&page=0&size=20
+     * types: customer, vendor, invoice, bill, raw_material, formulation; all when omitted.
+     */
+    @GetMapping
+    public ResponseEntity<SearchResultDTO> search(@RequestParam String q,
+                                                  @RequestParam(required = false) String types,
+                                                  @RequestParam(required = false) Integer page,
+                                                  @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(searchService.search(q, types, page, size));
+    }
+}
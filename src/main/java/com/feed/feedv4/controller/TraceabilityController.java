@@ -0,0 +1,47 @@
+package com.feed.feedv4.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feed.feedv4.dto.TraceGraphDTO;
+import com.feed.feedv4.model.TraceLink.NodeType;
+import com.feed.feedv4.service.TraceabilityService;
+
+@RestController
+@RequestMapping("/api/trace")
+public class TraceabilityController {
+
+    private final TraceabilityService traceabilityService;
+
+    public TraceabilityController(TraceabilityService traceabilityService) {
+        this.traceabilityService = traceabilityService;
+    }
+
+    /** Customers, invoices and batches reached by a supplier lot. */
+    @GetMapping("/recall")
+    public ResponseEntity<TraceGraphDTO> recall(@RequestParam String supplier, @RequestParam String lot) {
+        return ResponseEntity.ok(traceabilityService.recall(supplier, lot));
+    }
+
+    /** type: lot, formulation, batch, invoice or customer; key is the id (or lot key for lots). */
+    @GetMapping("/forward")
+    public ResponseEntity<TraceGraphDTO> forward(@RequestParam String type, @RequestParam String key) {
+        return ResponseEntity.ok(traceabilityService.forward(NodeType.valueOf(type.toUpperCase()), key));
+    }
+
+    @GetMapping("/backward")
+    public ResponseEntity<TraceGraphDTO> backward(@RequestParam String type, @RequestParam String key) {
+        return ResponseEntity.ok(traceabilityService.backward(NodeType.valueOf(type.toUpperCase()), key));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("links", traceabilityService.rebuild()));
+    }
+}
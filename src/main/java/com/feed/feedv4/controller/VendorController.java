@@ -1,6 +1,7 @@
 package com.feed.feedv4.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.feed.feedv4.dto.VendorDTO;
+import com.feed.feedv4.dto.VendorRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.service.VendorService;
 
 import jakarta.validation.Valid;
@@ -35,6 +38,12 @@ public class VendorController {
         List<VendorDTO> vendors = vendorService.getAllVendors();
         return ResponseEntity.ok(vendors);
     }
+
+    /** Keyset-paged slim rows, e.g. ?sort=-vendorDisplayName&limit=50&status=...; follow nextCursor for more. */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<VendorRowDTO>> getPage(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(vendorService.getVendorPage(params));
+    }
     
     @GetMapping("/active")
     public ResponseEntity<List<VendorDTO>> getAllActiveVendors() {
@@ -0,0 +1,16 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountAmountDTO {
+
+    private String accountName;
+    private BigDecimal amount;
+}
@@ -0,0 +1,26 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSheetDTO {
+
+    private LocalDate asOf;
+    private List<AccountAmountDTO> assets;
+    private List<AccountAmountDTO> liabilities;
+    private List<AccountAmountDTO> equity;
+    private BigDecimal totalAssets;
+    private BigDecimal totalLiabilities;
+    private BigDecimal totalEquity;
+    private Boolean balanced;
+}
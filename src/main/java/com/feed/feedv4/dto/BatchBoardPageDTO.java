@@ -0,0 +1,16 @@
+package com.feed.feedv4.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A page of the batch board, newest first. Pass {@code nextAfter} back as {@code after}; null on the last page. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBoardPageDTO {
+    private List<BatchBoardRowDTO> items;
+    private Long nextAfter;
+}
@@ -0,0 +1,37 @@
+package com.feed.feedv4.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One line of the pelleting batch board; built directly by a JPQL constructor query. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBoardRowDTO {
+    private Long id;
+    private String status;
+    private Long formulationId;
+    private String formulationName;
+    private double targetQuantityKg;
+    private double actualYieldKg;
+    private double totalWastageKg;
+    private String machineUsed;
+    private Long operatorId;
+    private String operatorName;
+    private Long customerId;
+    private boolean archived;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String operatorComments;
+    private LocalDateTime createdAt;
+    private Long invoiceId;
+
+    /** Run time in minutes once the batch has both a start and an end. */
+    public Long getTimeTakenMinutes() {
+        return startTime != null && endTime != null ? Duration.between(startTime, endTime).toMinutes() : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.Bill.BillStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the bill list; built by a constructor projection, so no line items are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillRowDTO {
+    private Long id;
+    private String billNumber;
+    private String orderNumber;
+    private String referenceNumber;
+    private Long vendorId;
+    private LocalDate billDate;
+    private LocalDate dueDate;
+    private BigDecimal total;
+    private BigDecimal balanceDue;
+    private BillStatus status;
+    private LocalDateTime createdAt;
+}
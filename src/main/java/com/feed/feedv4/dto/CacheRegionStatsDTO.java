@@ -0,0 +1,20 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Second-level cache counters for one region since startup (or the last reset). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    /** hits / (hits + misses); 0 when the region has not been read. */
+    private double hitRate;
+    /** Entries held; -1 when the provider does not report it. */
+    private long size;
+}
@@ -0,0 +1,35 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashRequirementDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal alreadyOverdue;
+    private BigDecimal dueInWindow;
+    private BigDecimal totalRequired;
+    @Builder.Default
+    private List<DueDay> schedule = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DueDay {
+        private LocalDate dueDate;
+        private BigDecimal amount;
+        private Integer billCount;
+    }
+}
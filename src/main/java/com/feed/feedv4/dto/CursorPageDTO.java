@@ -0,0 +1,21 @@
+package com.feed.feedv4.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of a list endpoint. Pass {@code nextCursor} back as
+ * {@code cursor} with the same sort and filters; null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+    private String sort;
+    private int limit;
+}
@@ -0,0 +1,33 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.Customer.CustomerStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the customer list; built by a constructor projection, so no contact persons are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerRowDTO {
+    private Long id;
+    private String customerName;
+    private String companyName;
+    private String email;
+    private String phone;
+    private String currency;
+    private Integer paymentTerms;
+    private CustomerStatus status;
+    private BigDecimal receivables;
+    private LocalDateTime createdAt;
+
+    /** Projection constructor; receivables is not a column and is filled in per page from open invoices. */
+    public CustomerRowDTO(Long id, String customerName, String companyName, String email, String phone,
+                          String currency, Integer paymentTerms, CustomerStatus status, LocalDateTime createdAt) {
+        this(id, customerName, companyName, email, phone, currency, paymentTerms, status, BigDecimal.ZERO, createdAt);
+    }
+}
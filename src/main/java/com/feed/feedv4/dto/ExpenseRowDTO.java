@@ -0,0 +1,31 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.Expense.ExpenseStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the expense list; built by a constructor projection, so no accounting entries are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRowDTO {
+    private Long id;
+    private LocalDate date;
+    private String expenseAccount;
+    private String referenceNumber;
+    private Long vendorId;
+    private String vendorName;
+    private Long customerId;
+    private String customerName;
+    private String paidThrough;
+    private BigDecimal amount;
+    private BigDecimal netAmount;
+    private ExpenseStatus status;
+    private LocalDateTime createdAt;
+}
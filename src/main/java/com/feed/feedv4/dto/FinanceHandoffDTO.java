@@ -0,0 +1,67 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of sending completed pelleting batches to finance. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceHandoffDTO {
+
+    private LocalDateTime runAt;
+    private int invoicesCreated;
+    private int batchesInvoiced;
+
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Builder.Default
+    private List<InvoiceRef> invoices = new ArrayList<>();
+
+    /** Batches left unbilled, e.g. without a customer; they are picked up by a later run once fixed. */
+    @Builder.Default
+    private List<Skipped> skipped = new ArrayList<>();
+
+    /** Invoice chunks that were rolled back; their batches stay unbilled. */
+    @Builder.Default
+    private List<Failure> failures = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InvoiceRef {
+        private Long invoiceId;
+        private String invoiceNumber;
+        private Long customerId;
+        private String customerName;
+        private int batchCount;
+        private BigDecimal total;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Skipped {
+        private Long batchId;
+        private String reason;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Failure {
+        private Long customerId;
+        private List<Long> batchIds;
+        private String message;
+    }
+}
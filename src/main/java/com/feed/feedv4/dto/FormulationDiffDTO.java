@@ -0,0 +1,50 @@
+package com.feed.feedv4.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Ingredient-level changes between two revisions of a formulation. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormulationDiffDTO {
+
+    private Long formulationId;
+    private int fromRevision;
+    private int toRevision;
+    private double fromBatchSize;
+    private double toBatchSize;
+    private double fromCostPerKg;
+    private double toCostPerKg;
+    private double costPerKgDelta;
+
+    /** Changed lines only. */
+    @Builder.Default
+    private List<LineChange> changes = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineChange {
+        private Long rawMaterialId;
+        private String rawMaterialName;
+        /** ADDED, REMOVED or CHANGED. */
+        private String change;
+        private Double fromPercentage;
+        private Double toPercentage;
+        private Double percentageDelta;
+        private Double fromCostPerKg;
+        private Double toCostPerKg;
+        /** Cost per kg of feed contributed by the line: percentage / 100 × ingredient cost per kg. */
+        private double fromCostContribution;
+        private double toCostContribution;
+        private double costContributionDelta;
+    }
+}
@@ -0,0 +1,45 @@
+package com.feed.feedv4.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormulationRevisionDTO {
+
+    private int revisionNo;
+    private String action;
+    private LocalDateTime createdAt;
+    private String name;
+    private String status;
+    private double batchSize;
+    private double costPerKg;
+    private boolean checkpoint;
+
+    /** Lines stored for this revision (all lines on a checkpoint). */
+    private long storedLines;
+
+    /** Full ingredient list as of this revision; only filled for single-revision reads. */
+    @Builder.Default
+    private List<Line> ingredients = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long rawMaterialId;
+        private String rawMaterialName;
+        private Double percentage;
+        private double quantityKg;
+        private double costPerKg;
+        private boolean locked;
+    }
+}
@@ -0,0 +1,31 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.InvoiceStatus;
+import com.feed.feedv4.model.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the invoice list; built by a constructor projection, so no line items are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceRowDTO {
+    private Long id;
+    private String invoiceNumber;
+    private Long customerId;
+    private String customerName;
+    private String orderNumber;
+    private LocalDate invoiceDate;
+    private LocalDate dueDate;
+    private BigDecimal total;
+    private BigDecimal balanceDue;
+    private InvoiceStatus status;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalEntryDTO {
+
+    private Long id;
+    private LocalDate entryDate;
+    private String sourceType;
+    private Long sourceId;
+    private String description;
+    private Long reversalOfId;
+    private LocalDateTime postedAt;
+    private List<Line> lines;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private String accountName;
+        private BigDecimal debit;
+        private BigDecimal credit;
+    }
+}
@@ -0,0 +1,20 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One type-ahead suggestion. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupHitDTO {
+    /** CUSTOMER, VENDOR or RAW_MATERIAL. */
+    private String type;
+    private Long id;
+    private String name;
+    /** Company name for parties, supplier for raw materials. */
+    private String detail;
+    private String gstNumber;
+    private boolean active;
+}
@@ -0,0 +1,53 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayablesAgingDTO {
+
+    private LocalDate asOf;
+    @Builder.Default
+    private AgingBuckets totals = new AgingBuckets();
+    @Builder.Default
+    private List<VendorAging> vendors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class AgingBuckets {
+        private BigDecimal current = BigDecimal.ZERO;
+        private BigDecimal days1To30 = BigDecimal.ZERO;
+        private BigDecimal days31To60 = BigDecimal.ZERO;
+        private BigDecimal days61To90 = BigDecimal.ZERO;
+        private BigDecimal over90 = BigDecimal.ZERO;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        public void add(long daysOverdue, BigDecimal amount) {
+            if (daysOverdue <= 0) current = current.add(amount);
+            else if (daysOverdue <= 30) days1To30 = days1To30.add(amount);
+            else if (daysOverdue <= 60) days31To60 = days31To60.add(amount);
+            else if (daysOverdue <= 90) days61To90 = days61To90.add(amount);
+            else over90 = over90.add(amount);
+            total = total.add(amount);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class VendorAging {
+        private Long vendorId;
+        private String vendorName;
+        private Integer openBills = 0;
+        private AgingBuckets buckets = new AgingBuckets();
+    }
+}
@@ -0,0 +1,56 @@
+package com.feed.feedv4.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PelletingScheduleDTO {
+
+    private LocalDateTime generatedAt;
+    private int totalChangeoverMinutes;
+    private double makespanMinutes;
+
+    @Builder.Default
+    private List<MachineQueue> machines = new ArrayList<>();
+
+    /** Pending batches that could not be placed, e.g. when no machine is registered. */
+    @Builder.Default
+    private List<Slot> unassigned = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MachineQueue {
+        private String machine;
+        private double throughputKgPerHour;
+        private Long runningBatchId;
+        private LocalDateTime availableAt;
+        @Builder.Default
+        private List<Slot> queue = new ArrayList<>();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Slot {
+        private Long batchId;
+        private String formulationName;
+        private String species;
+        private Long feedProfileId;
+        private double quantityKg;
+        private int changeoverMinutes;
+        private LocalDateTime plannedStart;
+        private LocalDateTime plannedEnd;
+    }
+}
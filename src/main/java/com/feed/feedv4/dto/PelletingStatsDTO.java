@@ -0,0 +1,48 @@
+package com.feed.feedv4.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PelletingStatsDTO {
+
+    private String scope;
+    private String key;
+    private String label;
+    private long batches;
+
+    private Double yieldPct;
+    private Double rollingYieldPct;
+    private Double kgPerHour;
+    private Double rollingKgPerHour;
+    private double avgWastageKg;
+
+    /** Bucket upper bound in minutes; null when the percentile falls in the open-ended bucket. */
+    private Integer p50CycleMinutes;
+    private Integer p95CycleMinutes;
+
+    @Builder.Default
+    private List<Bucket> cycleTimeDistribution = new ArrayList<>();
+
+    @Builder.Default
+    private List<Bucket> wastageDistribution = new ArrayList<>();
+
+    private LocalDateTime lastCompletedAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Bucket {
+        private String label;
+        private int count;
+    }
+}
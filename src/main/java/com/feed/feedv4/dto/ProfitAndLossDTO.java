@@ -0,0 +1,25 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProfitAndLossDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private List<AccountAmountDTO> income;
+    private List<AccountAmountDTO> expenses;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpenses;
+    private BigDecimal netProfit;
+}
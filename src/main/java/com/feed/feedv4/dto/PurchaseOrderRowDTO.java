@@ -0,0 +1,29 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.PurchaseOrder.BilledStatus;
+import com.feed.feedv4.model.PurchaseOrder.PurchaseOrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the purchase order list; built by a constructor projection, so no line items are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseOrderRowDTO {
+    private Long id;
+    private String purchaseOrderNumber;
+    private String referenceNumber;
+    private Long vendorId;
+    private LocalDate orderDate;
+    private LocalDate deliveryDate;
+    private BigDecimal total;
+    private PurchaseOrderStatus status;
+    private BilledStatus billedStatus;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.Quote.QuoteStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the quote list; built by a constructor projection, so no line items are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteRowDTO {
+    private Long id;
+    private String quoteNumber;
+    private String referenceNumber;
+    private Long customerId;
+    private LocalDate quoteDate;
+    private LocalDate expiryDate;
+    private BigDecimal total;
+    private QuoteStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.SalesOrder.InvoicedStatus;
+import com.feed.feedv4.model.SalesOrder.OrderStatus;
+import com.feed.feedv4.model.SalesOrder.PaymentStatus;
+import com.feed.feedv4.model.SalesOrder.SalesOrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the sales order list; built by a constructor projection, so no line items are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesOrderRowDTO {
+    private Long id;
+    private String salesOrderNumber;
+    private String referenceNumber;
+    private Long customerId;
+    private String customerName;
+    private LocalDate salesOrderDate;
+    private LocalDate expectedShipmentDate;
+    private BigDecimal total;
+    private SalesOrderStatus status;
+    private OrderStatus orderStatus;
+    private InvoicedStatus invoicedStatus;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.SalesReceipt.PaymentMode;
+import com.feed.feedv4.model.SalesReceipt.SalesReceiptStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the sales receipt list; built by a constructor projection, so no line items are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReceiptRowDTO {
+    private Long id;
+    private String salesReceiptNumber;
+    private String referenceNumber;
+    private Long customerId;
+    private LocalDate receiptDate;
+    private BigDecimal total;
+    private PaymentMode paymentMode;
+    private SalesReceiptStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package com.feed.feedv4.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One page of ranked hits from the unified search, best match first. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+
+    private String query;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    @Builder.Default
+    private List<Hit> hits = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        /** CUSTOMER, VENDOR, INVOICE, BILL, RAW_MATERIAL or FORMULATION. */
+        private String type;
+        private Long id;
+        private String title;
+        private String subtitle;
+        /** Higher is better; exact and prefix matches outrank fuzzy ones. */
+        private double score;
+    }
+}
@@ -0,0 +1,66 @@
+package com.feed.feedv4.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** What-if parameters for a production plan simulation; everything is optional. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationRequestDTO {
+
+    /** Defaults to one week. */
+    private Double horizonHours;
+
+    /** Shift window in hours of day (e.g. 6 and 22); omit both for round-the-clock. */
+    private Integer shiftStartHour;
+    private Integer shiftEndHour;
+
+    /** Machines that can be staffed at once; omit for no limit. */
+    private Integer operators;
+
+    @Builder.Default
+    private List<MachineOverride> machines = new ArrayList<>();
+
+    /** Hypothetical orders, run after the current queue and drawing raw material when they start. */
+    @Builder.Default
+    private List<Order> orders = new ArrayList<>();
+
+    @Builder.Default
+    private List<Receipt> receipts = new ArrayList<>();
+
+    /** Changes an existing mill or adds a new one by name. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MachineOverride {
+        private String machine;
+        private Double throughputKgPerHour;
+        private Boolean active;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Order {
+        private String label;
+        private Long formulationId;
+        private double quantityKg;
+    }
+
+    /** Expected raw-material delivery {@code afterHours} from now. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Receipt {
+        private Long rawMaterialId;
+        private double quantityKg;
+        private double afterHours;
+    }
+}
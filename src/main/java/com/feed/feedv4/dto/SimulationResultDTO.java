@@ -0,0 +1,77 @@
+package com.feed.feedv4.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationResultDTO {
+
+    private LocalDateTime startedAt;
+    private LocalDateTime horizonEnd;
+    private LocalDateTime projectedCompletion;
+    private long eventsProcessed;
+    private double elapsedMillis;
+
+    @Builder.Default
+    private List<BatchProjection> batches = new ArrayList<>();
+
+    @Builder.Default
+    private List<MachineLoad> machines = new ArrayList<>();
+
+    @Builder.Default
+    private List<StockProjection> stock = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchProjection {
+        /** Set for queued batches; hypothetical orders carry their label instead. */
+        private Long batchId;
+        private String label;
+        private String formulationName;
+        private double quantityKg;
+        private String machine;
+        private String status;
+        private int changeoverMinutes;
+        private LocalDateTime projectedStart;
+        private LocalDateTime projectedEnd;
+        private String blockedByMaterial;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MachineLoad {
+        private String machine;
+        private double throughputKgPerHour;
+        private double busyMinutes;
+        private double changeoverMinutes;
+        private double utilizationPct;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockProjection {
+        private Long rawMaterialId;
+        private String name;
+        private double startKg;
+        private double minKg;
+        private double endKg;
+        private LocalDateTime depletedAt;
+        /** First time a batch had to wait for this material. */
+        private LocalDateTime shortageAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.feed.feedv4.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Nodes reached from a root in one direction, with the edges walked. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceGraphDTO {
+
+    private String direction;
+
+    @Builder.Default
+    private List<Node> roots = new ArrayList<>();
+
+    @Builder.Default
+    private List<Node> nodes = new ArrayList<>();
+
+    @Builder.Default
+    private List<Edge> edges = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Node {
+        private String type;
+        private String key;
+        private String label;
+        /** Hops from the nearest root. */
+        private int depth;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Edge {
+        private String fromType;
+        private String fromKey;
+        private String toType;
+        private String toKey;
+        private Double quantityKg;
+        private LocalDateTime linkedAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.feed.feedv4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrialBalanceDTO {
+
+    private LocalDate asOf;
+    private BigDecimal totalDebit;
+    private BigDecimal totalCredit;
+    private Boolean balanced;
+    @Builder.Default
+    private List<Row> rows = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private String accountName;
+        private String accountType;
+        private BigDecimal debit;
+        private BigDecimal credit;
+    }
+}
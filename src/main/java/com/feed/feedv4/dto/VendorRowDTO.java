@@ -0,0 +1,34 @@
+package com.feed.feedv4.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.feed.feedv4.model.Vendor.VendorStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One row of the vendor list; built by a constructor projection, so no contact persons are loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorRowDTO {
+    private Long id;
+    private String vendorDisplayName;
+    private String companyName;
+    private String vendorEmail;
+    private String vendorPhone;
+    private String currency;
+    private String paymentTerms;
+    private VendorStatus status;
+    private BigDecimal payables;
+    private LocalDateTime createdAt;
+
+    /** Projection constructor; payables is not a column and is filled in per page from the payables projection. */
+    public VendorRowDTO(Long id, String vendorDisplayName, String companyName, String vendorEmail, String vendorPhone,
+                        String currency, String paymentTerms, VendorStatus status, LocalDateTime createdAt) {
+        this(id, vendorDisplayName, companyName, vendorEmail, vendorPhone, currency, paymentTerms, status,
+            BigDecimal.ZERO, createdAt);
+    }
+}
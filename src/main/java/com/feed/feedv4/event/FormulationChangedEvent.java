@@ -0,0 +1,8 @@
+package com.feed.feedv4.event;
+
+/**
+ * Published after a formulation is created, finalized or removed.
+ * {@code action} mirrors the FormulationLog action names (CREATED, FINALIZED, ...).
+ */
+public record FormulationChangedEvent(Long formulationId, String action) {
+}
@@ -0,0 +1,10 @@
+package com.feed.feedv4.event;
+
+import com.feed.feedv4.model.MovementType;
+
+/**
+ * Published when raw material stock changes. {@code movementType} is null for
+ * master-data edits that do not go through WACM (e.g. manual stock correction).
+ */
+public record InventoryChangedEvent(Long rawMaterialId, MovementType movementType, double quantityKg) {
+}
@@ -0,0 +1,13 @@
+package com.feed.feedv4.event;
+
+/**
+ * Published when a customer or vendor is created, edited, activated,
+ * deactivated or deleted. Raw materials announce the same through
+ * {@link InventoryChangedEvent} with no movement type.
+ */
+public record MasterDataChangedEvent(Kind kind, Long id) {
+
+    public enum Kind {
+        CUSTOMER, VENDOR
+    }
+}
@@ -0,0 +1,5 @@
+package com.feed.feedv4.event;
+
+/** Published whenever a pelleting batch is created or moves to a new status. */
+public record PelletingBatchChangedEvent(Long batchId, String previousStatus, String status) {
+}
@@ -0,0 +1,12 @@
+package com.feed.feedv4.event;
+
+/**
+ * Published when a pellet mill or a changeover rule is created, edited or
+ * deleted; the schedule re-plans once the change has committed.
+ */
+public record PelletingSetupChangedEvent(Kind kind, Long id) {
+
+    public enum Kind {
+        MACHINE, CHANGEOVER_RULE
+    }
+}
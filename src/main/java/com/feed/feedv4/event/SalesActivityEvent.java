@@ -0,0 +1,7 @@
+package com.feed.feedv4.event;
+
+import java.time.LocalDate;
+
+/** Published when revenue or customer receipts for a day change. */
+public record SalesActivityEvent(LocalDate date) {
+}
@@ -13,7 +13,8 @@ import java.math.BigDecimal;
 public class AccountingEntry {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounting_entries_seq")
+    @SequenceGenerator(name = "accounting_entries_seq", sequenceName = "accounting_entries_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,40 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A closed calendar month. Once a period exists here its balances are frozen
+ * in period_balances and no journal line may be dated inside it.
+ */
+@Entity
+@Table(name = "accounting_periods")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountingPeriod {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(length = 100)
+    private String closedBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime closedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        closedAt = LocalDateTime.now();
+    }
+}
@@ -13,7 +13,8 @@ import java.math.BigDecimal;
 public class BillItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bill_items_seq")
+    @SequenceGenerator(name = "bill_items_seq", sequenceName = "bill_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
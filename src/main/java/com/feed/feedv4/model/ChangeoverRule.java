@@ -0,0 +1,31 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+
+/**
+ * Die/conditioner changeover time when a mill switches from one species'
+ * feed to another's. Pairs without a rule fall back to the configured default.
+ */
+@Entity
+@Table(name = "changeover_rules",
+       uniqueConstraints = @UniqueConstraint(name = "uk_changeover_from_to", columnNames = {"fromSpecies", "toSpecies"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeoverRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String fromSpecies;
+
+    @Column(nullable = false, length = 50)
+    private String toSpecies;
+
+    @Column(nullable = false)
+    private Integer minutes;
+}
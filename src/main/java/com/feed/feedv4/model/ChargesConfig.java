@@ -3,8 +3,13 @@ package com.feed.feedv4.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
 @Table(name = "charges_config")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "charges-config")
 public class ChargesConfig {
 
     public enum FeeBasis { PER_KG, PER_BATCH }
@@ -0,0 +1,98 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated operational totals for one calendar day. Services add their
+ * deltas through DailyRollupService as documents change, so the dashboard
+ * reads a handful of rows instead of scanning transactional tables.
+ */
+@Entity
+@Table(name = "daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRollup {
+
+    @Id
+    private LocalDate rollupDate;
+
+    /** Invoiced plus cash-sale revenue recognised on this day. */
+    @Column(precision = 17, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    /** Cash received from customers on this day. */
+    @Column(precision = 17, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal receipts = BigDecimal.ZERO;
+
+    /**
+     * Balance still owed on invoices dated this day, net of payments applied
+     * to them since; summed over all days it is the open receivables.
+     */
+    @Column(precision = 17, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal openReceivables = BigDecimal.ZERO;
+
+    /** Kg and cost of formulations finalized on this day; cost/kg is their ratio. */
+    @Column(nullable = false)
+    @Builder.Default
+    private Double formulatedKg = 0.0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double formulatedCost = 0.0;
+
+    /** Raw material issued out of stock on this day. */
+    @Column(nullable = false)
+    @Builder.Default
+    private Double materialIssuedKg = 0.0;
+
+    /** Pelleting batches completed on this day. */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer batchesCompleted = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double pelletingTargetKg = 0.0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double pelletingYieldKg = 0.0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double pelletingWastageKg = 0.0;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public static DailyRollup empty(LocalDate date) {
+        return DailyRollup.builder()
+            .rollupDate(date)
+            .revenue(BigDecimal.ZERO)
+            .receipts(BigDecimal.ZERO)
+            .openReceivables(BigDecimal.ZERO)
+            .formulatedKg(0.0)
+            .formulatedCost(0.0)
+            .materialIssuedKg(0.0)
+            .batchesCompleted(0)
+            .pelletingTargetKg(0.0)
+            .pelletingYieldKg(0.0)
+            .pelletingWastageKg(0.0)
+            .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-day breakdown of a rollup figure by customer or raw material, used for
+ * "top N over the last 30 days" widgets without touching source tables.
+ */
+@Entity
+@Table(name = "daily_rollup_shares",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollup_share_date_kind_ref",
+                                             columnNames = {"rollupDate", "kind", "refId"}),
+       indexes = @Index(name = "idx_rollup_share_kind_date", columnList = "kind, rollupDate"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRollupShare {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Kind kind;
+
+    /** Customer id for CUSTOMER_RECEIPTS, raw material id for MATERIAL_ISSUED. */
+    @Column(nullable = false)
+    private Long refId;
+
+    @Column(precision = 17, scale = 3, nullable = false)
+    @Builder.Default
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    public enum Kind {
+        CUSTOMER_RECEIPTS, MATERIAL_ISSUED
+    }
+}
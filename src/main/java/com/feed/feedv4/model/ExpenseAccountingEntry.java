@@ -13,7 +13,8 @@ import java.math.BigDecimal;
 public class ExpenseAccountingEntry {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_accounting_entries_seq")
+    @SequenceGenerator(name = "expense_accounting_entries_seq", sequenceName = "expense_accounting_entries_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
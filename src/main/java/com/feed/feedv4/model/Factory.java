@@ -7,12 +7,17 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
 @Table(name = "factories",
        indexes = {
            @Index(name = "idx_factory_name", columnList = "name"),
            @Index(name = "idx_factory_registration", columnList = "registrationNumber", unique = true)
        })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "factory")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -5,8 +5,13 @@ import lombok.*;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
 @Table(name = "feed_profiles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "feed-profile")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,15 +43,18 @@ public class FeedProfile {
 
     // Ingredients
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "feed-profile")
     private List<String> mandatoryIngredients;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "feed-profile")
     private List<String> restrictedIngredients;
 
     // Preference Strategy: COST_EFFECTIVE, BALANCED, HIGH_QUALITY
     private String preferenceStrategy;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "feed-profile")
     private List<String> tags; // e.g., “Summer Poultry”, “For Organic Use”
 
     private boolean archived = false;
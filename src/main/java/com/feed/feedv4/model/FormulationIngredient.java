@@ -11,7 +11,8 @@ import lombok.*;
 public class FormulationIngredient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "formulation_ingredient_seq")
+    @SequenceGenerator(name = "formulation_ingredient_seq", sequenceName = "formulation_ingredient_seq", allocationSize = 50)
     private Long id;
 
     private String rawMaterialName;
@@ -0,0 +1,55 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable revision of a formulation. Lines hold only what changed since the
+ * previous revision, except on checkpoints, which carry the full ingredient
+ * list so rebuilding any revision replays a bounded number of deltas.
+ */
+@Entity
+@Table(name = "formulation_revisions",
+       uniqueConstraints = @UniqueConstraint(name = "uk_formulation_revision_no",
+                                             columnNames = {"formulationId", "revisionNo"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FormulationRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long formulationId;
+
+    @Column(nullable = false)
+    private int revisionNo;
+
+    private boolean checkpoint;
+
+    /** CREATED, UPDATED or FINALIZED. */
+    @Column(length = 20)
+    private String action;
+
+    private String name;
+    private String status;
+    private double batchSize;
+    private double costPerKg;
+    private LocalDateTime createdAt;
+
+    @OneToMany(mappedBy = "revision", cascade = CascadeType.ALL)
+    @Builder.Default
+    private List<FormulationRevisionLine> lines = new ArrayList<>();
+
+    public void addLine(FormulationRevisionLine line) {
+        line.setRevision(this);
+        lines.add(line);
+    }
+}
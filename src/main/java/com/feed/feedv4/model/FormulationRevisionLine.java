@@ -0,0 +1,46 @@
+package com.feed.feedv4.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import jakarta.persistence.*;
+
+/** One ingredient delta of a {@link FormulationRevision}: set the line to these values, or remove it. */
+@Entity
+@Table(name = "formulation_revision_lines",
+       indexes = @Index(name = "idx_formulation_revision_line_rev", columnList = "revision_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FormulationRevisionLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "formulation_revision_lines_seq")
+    @SequenceGenerator(name = "formulation_revision_lines_seq", sequenceName = "formulation_revision_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "revision_id", nullable = false)
+    @JsonIgnore
+    private FormulationRevision revision;
+
+    /** "rm:{rawMaterialId}", or "name:{name}" for lines without a bound material. */
+    @Column(nullable = false, length = 150)
+    private String lineKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Op op;
+
+    private Long rawMaterialId;
+    private String rawMaterialName;
+    private Double percentage;
+    private double quantityKg;
+    private double costPerKg;
+    private boolean locked;
+
+    public enum Op {
+        PUT, REMOVE
+    }
+}
@@ -2,6 +2,7 @@ package com.feed.feedv4.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -10,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -17,7 +19,8 @@ import jakarta.persistence.Table;
 public class InventoryMovement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_movement_seq")
+    @SequenceGenerator(name = "inventory_movement_seq", sequenceName = "inventory_movement_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -35,6 +38,10 @@ public class InventoryMovement {
 
     private String reference;       // Optional (e.g., "Formulation #12")
 
+    @Column(length = 200)
+    private String lotKey;          // Supplier lot the stock came from, as of the movement
+    private String lotLabel;
+
     // getters and setters
 
     public Long getId() {return id;}
@@ -61,4 +68,10 @@ public class InventoryMovement {
     public String getReference() {return reference;}
     public void setReference(String reference) {this.reference = reference;}    
 
+    public String getLotKey() {return lotKey;}
+    public void setLotKey(String lotKey) {this.lotKey = lotKey;}
+
+    public String getLotLabel() {return lotLabel;}
+    public void setLotLabel(String lotLabel) {this.lotLabel = lotLabel;}
+
 }
@@ -0,0 +1,64 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Header of an append-only journal posting. Corrections are made by posting a
+ * reversing entry (reversalOfId set) instead of editing or deleting lines.
+ */
+@Entity
+@Table(name = "journal_entries",
+       indexes = @Index(name = "idx_journal_entry_source", columnList = "sourceType, sourceId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate entryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private SourceType sourceType;
+
+    @Column(nullable = false)
+    private Long sourceId;
+
+    @Column(length = 300)
+    private String description;
+
+    @Column(unique = true)
+    private Long reversalOfId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime postedAt;
+
+    @OneToMany(mappedBy = "journalEntry", cascade = CascadeType.PERSIST)
+    @OrderBy("sequence ASC")
+    @Builder.Default
+    private List<JournalLine> lines = new ArrayList<>();
+
+    @PrePersist
+    protected void onCreate() {
+        postedAt = LocalDateTime.now();
+    }
+
+    public enum SourceType {
+        PAYMENT_MADE, EXPENSE, BILL, INVOICE, SALES_RECEIPT, PAYMENT_RECEIVED
+    }
+
+    public void addLine(JournalLine line) {
+        lines.add(line);
+        line.setJournalEntry(this);
+    }
+}
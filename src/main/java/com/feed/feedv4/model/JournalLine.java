@@ -0,0 +1,49 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "journal_lines",
+       indexes = {
+           @Index(name = "idx_journal_line_account_date", columnList = "accountName, entryDate"),
+           @Index(name = "idx_journal_line_date", columnList = "entryDate")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_lines_seq")
+    @SequenceGenerator(name = "journal_lines_seq", sequenceName = "journal_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "journal_entry_id", nullable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private JournalEntry journalEntry;
+
+    @Column(nullable = false, length = 200, updatable = false)
+    private String accountName;
+
+    // Denormalised from the header so per-account/date queries skip the join
+    @Column(nullable = false, updatable = false)
+    private LocalDate entryDate;
+
+    @Column(precision = 15, scale = 2, nullable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal debit = BigDecimal.ZERO;
+
+    @Column(precision = 15, scale = 2, nullable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal credit = BigDecimal.ZERO;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Integer sequence = 0;
+}
@@ -0,0 +1,59 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Chart-of-accounts row carrying running debit/credit totals. Totals are
+ * bumped on every posting so trial balance reads one row per account.
+ */
+@Entity
+@Table(name = "ledger_accounts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerAccount {
+
+    @Id
+    @Column(length = 200)
+    private String accountName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AccountType accountType;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum AccountType {
+        ASSET, LIABILITY, EQUITY, INCOME, EXPENSE;
+
+        public boolean isDebitNormal() {
+            return this == ASSET || this == EXPENSE;
+        }
+    }
+
+    /** Balance expressed on the account's normal side. */
+    public BigDecimal getBalance() {
+        return accountType.isDebitNormal()
+            ? debitTotal.subtract(creditTotal)
+            : creditTotal.subtract(debitTotal);
+    }
+}
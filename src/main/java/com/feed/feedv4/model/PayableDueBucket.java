@@ -0,0 +1,39 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Outstanding bill balance per (vendor, due date). Aging and cash-requirement
+ * reports read these rows instead of scanning the bills table.
+ */
+@Entity
+@Table(name = "payable_due_buckets",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payable_bucket_vendor_due", columnNames = {"vendorId", "dueDate"}),
+       indexes = @Index(name = "idx_payable_bucket_due", columnList = "dueDate"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayableDueBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long vendorId;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal outstanding = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer billCount = 0;
+}
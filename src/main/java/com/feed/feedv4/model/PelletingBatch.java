@@ -6,6 +6,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_pelleting_batch_board", columnList = "archived, status, id"),
+    @Index(name = "idx_pelleting_batch_uninvoiced", columnList = "status, invoiceId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -52,6 +56,11 @@ public class PelletingBatch {
 
     private LocalDateTime updatedAt;
 
+    /** Invoice this batch was billed on; null until sent to finance. */
+    private Long invoiceId;
+
+    private LocalDateTime invoicedAt;
+
     public Long getCustomerId() { 
         return customerId; 
     }
@@ -0,0 +1,48 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A pellet mill the scheduler can assign batches to. {@code name} is what
+ * operators enter as PelletingBatch.machineUsed.
+ */
+@Entity
+@Table(name = "pelleting_machines")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PelletingMachine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    /** Sustained throughput used to estimate run time. */
+    @Column(nullable = false)
+    private Double throughputKgPerHour;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
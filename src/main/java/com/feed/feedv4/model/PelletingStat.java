@@ -0,0 +1,75 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Running pelleting aggregates for one scope (a machine, an operator, a
+ * formulation or the whole plant). Updated once per completed batch; reads
+ * are a single row. Distributions are fixed-bucket histograms so percentiles
+ * need no per-batch history.
+ */
+@Entity
+@Table(name = "pelleting_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uk_pelleting_stat_scope_key", columnNames = {"scope", "scopeKey"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PelletingStat {
+
+    public enum Scope { ALL, MACHINE, OPERATOR, FORMULATION }
+
+    /** Upper bounds (minutes) of the cycle-time buckets; the last bucket is open-ended. */
+    public static final int[] CYCLE_BOUNDS_MIN = {15, 30, 45, 60, 90, 120, 180, 240, 360, 480, 720, 1440};
+
+    /** Upper bounds (% of target kg) of the wastage buckets; the last bucket is open-ended. */
+    public static final double[] WASTAGE_BOUNDS_PCT = {0.5, 1, 2, 3, 5, 10};
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Scope scope;
+
+    /** Machine name, operator id, formulation id, or "*" for ALL. */
+    @Column(nullable = false, length = 100)
+    private String scopeKey;
+
+    private String label;
+
+    private long batches;
+
+    /** Yield sums only cover batches where an actual yield was recorded. */
+    private long yieldBatches;
+    private double yieldTargetKg;
+    private double yieldKg;
+
+    private double wastageKg;
+
+    /** Run-time sums only cover batches with both start and end times. */
+    private long timedBatches;
+    private double runMinutes;
+    private double timedKg;
+
+    /** Exponentially weighted recent values, so drift shows before lifetime averages move. */
+    private Double rollingYieldPct;
+    private Double rollingKgPerHour;
+
+    private int[] cycleHistogram;
+
+    private int[] wastageHistogram;
+
+    private LocalDateTime lastCompletedAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
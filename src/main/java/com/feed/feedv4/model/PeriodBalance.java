@@ -0,0 +1,46 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Frozen per-account figures for a closed period: the movement within the
+ * month and the cumulative closing totals at its end.
+ */
+@Entity
+@Table(name = "period_balances",
+       uniqueConstraints = @UniqueConstraint(name = "uk_period_balance_account", columnNames = {"periodStart", "accountName"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PeriodBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, length = 200, updatable = false)
+    private String accountName;
+
+    @Column(precision = 17, scale = 2, nullable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal periodDebit = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal periodCredit = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal closingDebit = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal closingCredit = BigDecimal.ZERO;
+}
@@ -13,7 +13,8 @@ import java.math.BigDecimal;
 public class QuoteItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quote_items_seq")
+    @SequenceGenerator(name = "quote_items_seq", sequenceName = "quote_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,7 +3,12 @@ package com.feed.feedv4.model;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "raw-material")
 public class RawMaterial {
 
     @Id
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 public class SalesOrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_order_items_seq")
+    @SequenceGenerator(name = "sales_order_items_seq", sequenceName = "sales_order_items_seq", allocationSize = 50)
     private Long id;
 
     private String itemName;
@@ -13,7 +13,8 @@ import java.math.BigDecimal;
 public class SalesReceiptItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_receipt_items_seq")
+    @SequenceGenerator(name = "sales_receipt_items_seq", sequenceName = "sales_receipt_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
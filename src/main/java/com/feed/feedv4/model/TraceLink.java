@@ -0,0 +1,58 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One edge of the traceability graph: raw-material lot → formulation →
+ * pelleting batch → invoice → customer. Nodes are identified by type and
+ * key; both ends are indexed so recalls can walk forward and backward.
+ */
+@Entity
+@Table(name = "trace_links",
+       uniqueConstraints = @UniqueConstraint(name = "uk_trace_link_edge",
+                                             columnNames = {"fromType", "fromKey", "toType", "toKey"}),
+       indexes = {
+           @Index(name = "idx_trace_link_from", columnList = "fromType, fromKey"),
+           @Index(name = "idx_trace_link_to", columnList = "toType, toKey")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TraceLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NodeType fromType;
+
+    @Column(nullable = false, length = 200)
+    private String fromKey;
+
+    @Column(length = 255)
+    private String fromLabel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NodeType toType;
+
+    @Column(nullable = false, length = 200)
+    private String toKey;
+
+    @Column(length = 255)
+    private String toLabel;
+
+    /** Kg flowing along the edge where meaningful (lot issue, batch output). */
+    private Double quantityKg;
+
+    private LocalDateTime createdAt;
+
+    public enum NodeType {
+        LOT, FORMULATION, BATCH, INVOICE, CUSTOMER
+    }
+}
@@ -0,0 +1,43 @@
+package com.feed.feedv4.model;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running payables/credit position per vendor, maintained incrementally by
+ * PayablesProjectionService whenever a bill or payment made changes.
+ */
+@Entity
+@Table(name = "vendor_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendorBalance {
+
+    @Id
+    private Long vendorId;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal payables = BigDecimal.ZERO;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal unusedCredits = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer openBills = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.feed.feedv4.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.feed.feedv4.model.AccountingPeriod;
+
+@Repository
+public interface AccountingPeriodRepository extends JpaRepository<AccountingPeriod, Long> {
+
+    @Query("SELECT MAX(p.periodEnd) FROM AccountingPeriod p")
+    Optional<LocalDate> findClosedThrough();
+
+    @Query("SELECT MIN(p.periodStart) FROM AccountingPeriod p")
+    Optional<LocalDate> findClosedFrom();
+
+    Optional<AccountingPeriod> findTopByPeriodEndLessThanEqualOrderByPeriodEndDesc(LocalDate date);
+
+    boolean existsByPeriodStart(LocalDate periodStart);
+
+    List<AccountingPeriod> findAllByOrderByPeriodStartDesc();
+
+    /**
+     * Transaction-scoped lock between closing a period and posting into the
+     * ledger: a close takes it exclusively, each posting transaction shares it.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('accounting_periods'))", nativeQuery = true)
+    Integer lockForClose();
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(hashtext('accounting_periods'))", nativeQuery = true)
+    Integer lockForPosting();
+}
@@ -2,9 +2,11 @@ package com.feed.feedv4.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,18 @@ import com.feed.feedv4.model.Bill.BillStatus;
 
 @Repository
 public interface BillRepository extends JpaRepository<Bill, Long> {
+
+    /** Whole list with its items in a single query. */
+    @Query("select distinct b from Bill b left join fetch b.items order by b.id")
+    List<Bill> findAllWithItems();
+
+    /** Detail load: the bill and its items in one select. */
+    @EntityGraph(attributePaths = "items")
+    Optional<Bill> findWithItemsById(Long id);
+
+    /** Search hits with their items in one select. */
+    @EntityGraph(attributePaths = "items")
+    List<Bill> findWithItemsByIdIn(Collection<Long> ids);
     
     Optional<Bill> findByBillNumber(String billNumber);
     
@@ -25,11 +39,6 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     @Query("SELECT b FROM Bill b WHERE b.vendorId = :vendorId AND b.balanceDue > 0 AND b.status NOT IN ('VOID', 'PAID')")
     List<Bill> findOutstandingBillsByVendorId(@Param("vendorId") Long vendorId);
     
-    @Query("SELECT b FROM Bill b WHERE " +
-           "LOWER(b.billNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(b.referenceNumber) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Bill> searchBills(@Param("search") String search);
-    
     @Query("SELECT b FROM Bill b WHERE b.dueDate < :currentDate AND b.balanceDue > 0 AND b.status NOT IN ('VOID', 'PAID')")
     List<Bill> findOverdueBills(@Param("currentDate") LocalDate currentDate);
     
@@ -0,0 +1,14 @@
+package com.feed.feedv4.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.feed.feedv4.model.ChangeoverRule;
+
+@Repository
+public interface ChangeoverRuleRepository extends JpaRepository<ChangeoverRule, Long> {
+
+    Optional<ChangeoverRule> findByFromSpeciesIgnoreCaseAndToSpeciesIgnoreCase(String fromSpecies, String toSpecies);
+}
@@ -1,17 +1,41 @@
 package com.feed.feedv4.repository;
 
 import com.feed.feedv4.model.ChargesConfig;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ChargesConfigRepository extends JpaRepository<ChargesConfig, Long> {
 
-    // Latest active, non-archived by UPDATED time
-    Optional<ChargesConfig> findTopByActiveTrueAndArchivedFalseOrderByUpdatedAtDesc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ChargesConfig> findAll();
+
+    // Input for the compiled FeeCalculator
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ChargesConfig> findByActiveTrueAndArchivedFalse();
 
-    // Fallback if updatedAt is null on older rows → order by CREATED time
-    Optional<ChargesConfig> findTopByActiveTrueAndArchivedFalseOrderByCreatedAtDesc();
+    /**
+     * Filtered list: non-archived first, then active, then most recently changed.
+     * {@code pattern} is a lower-case LIKE pattern ("%" matches everything).
+     */
+    @Query("""
+      select c from ChargesConfig c
+      where (lower(c.name) like :pattern or lower(coalesce(c.description, '')) like :pattern)
+        and (:active is null or c.active = :active)
+        and (:archived is null or c.archived = :archived)
+      order by c.archived asc, c.active desc, coalesce(c.updatedAt, c.createdAt) desc
+    """)
+    List<ChargesConfig> search(@Param("pattern") String pattern,
+                               @Param("active") Boolean active,
+                               @Param("archived") Boolean archived);
 
     Optional<ChargesConfig> findByNameIgnoreCase(String name);
 }
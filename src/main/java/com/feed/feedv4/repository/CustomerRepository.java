@@ -1,8 +1,10 @@
 package com.feed.feedv4.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +15,22 @@ import com.feed.feedv4.model.Customer.CustomerStatus;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    /** Whole list with its contactPersons in a single query. */
+    @Query("select distinct c from Customer c left join fetch c.contactPersons order by c.id")
+    List<Customer> findAllWithContactPersons();
+
+    /** Detail load: the customer and its contactPersons in one select. */
+    @EntityGraph(attributePaths = "contactPersons")
+    Optional<Customer> findWithContactPersonsById(Long id);
+
+    /** Search hits with their contactPersons in one select. */
+    @EntityGraph(attributePaths = "contactPersons")
+    List<Customer> findWithContactPersonsByIdIn(Collection<Long> ids);
+    
+    /** id, name, company, GST number and status of every customer, for the type-ahead index. */
+    @Query("SELECT c.id, c.customerName, c.companyName, c.gstNumber, c.status FROM Customer c")
+    List<Object[]> findLookupRows();
     
     Optional<Customer> findByEmail(String email);
     
@@ -20,13 +38,6 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     List<Customer> findByStatus(CustomerStatus status);
     
-    @Query("SELECT c FROM Customer c WHERE " +
-           "LOWER(c.customerName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.companyName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Customer> searchCustomers(@Param("search") String search);
-    
     @Query("SELECT c FROM Customer c WHERE c.status = 'ACTIVE'")
     List<Customer> findAllActive();
     
@@ -0,0 +1,77 @@
+package com.feed.feedv4.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import com.feed.feedv4.model.DailyRollup;
+
+/**
+ * The add* methods are upserts: the first write of a day creates its row, so
+ * concurrent first writers cannot collide on the primary key.
+ */
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, LocalDate> {
+
+    String INSERT_DAY = "INSERT INTO daily_rollups (rollup_date, revenue, receipts, open_receivables, " +
+                        "formulated_kg, formulated_cost, material_issued_kg, batches_completed, " +
+                        "pelleting_target_kg, pelleting_yield_kg, pelleting_wastage_kg, updated_at) ";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_rollups"))
+    @Query(value = INSERT_DAY + "VALUES (:date, :revenue, :receipts, :receivables, 0, 0, 0, 0, 0, 0, 0, now()) " +
+                   "ON CONFLICT (rollup_date) DO UPDATE SET revenue = daily_rollups.revenue + EXCLUDED.revenue, " +
+                   "receipts = daily_rollups.receipts + EXCLUDED.receipts, " +
+                   "open_receivables = daily_rollups.open_receivables + EXCLUDED.open_receivables, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    void addSales(@Param("date") LocalDate date,
+                  @Param("revenue") BigDecimal revenue,
+                  @Param("receipts") BigDecimal receipts,
+                  @Param("receivables") BigDecimal receivables);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_rollups"))
+    @Query(value = INSERT_DAY + "VALUES (:date, 0, 0, 0, :kg, :cost, 0, 0, 0, 0, 0, now()) " +
+                   "ON CONFLICT (rollup_date) DO UPDATE SET formulated_kg = daily_rollups.formulated_kg + EXCLUDED.formulated_kg, " +
+                   "formulated_cost = daily_rollups.formulated_cost + EXCLUDED.formulated_cost, updated_at = now()",
+           nativeQuery = true)
+    void addFormulation(@Param("date") LocalDate date, @Param("kg") double kg, @Param("cost") double cost);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_rollups"))
+    @Query(value = INSERT_DAY + "VALUES (:date, 0, 0, 0, 0, 0, :kg, 0, 0, 0, 0, now()) " +
+                   "ON CONFLICT (rollup_date) DO UPDATE SET " +
+                   "material_issued_kg = daily_rollups.material_issued_kg + EXCLUDED.material_issued_kg, updated_at = now()",
+           nativeQuery = true)
+    void addMaterialIssued(@Param("date") LocalDate date, @Param("kg") double kg);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_rollups"))
+    @Query(value = INSERT_DAY + "VALUES (:date, 0, 0, 0, 0, 0, 0, 1, :targetKg, :yieldKg, :wastageKg, now()) " +
+                   "ON CONFLICT (rollup_date) DO UPDATE SET batches_completed = daily_rollups.batches_completed + 1, " +
+                   "pelleting_target_kg = daily_rollups.pelleting_target_kg + EXCLUDED.pelleting_target_kg, " +
+                   "pelleting_yield_kg = daily_rollups.pelleting_yield_kg + EXCLUDED.pelleting_yield_kg, " +
+                   "pelleting_wastage_kg = daily_rollups.pelleting_wastage_kg + EXCLUDED.pelleting_wastage_kg, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    void addCompletedBatch(@Param("date") LocalDate date,
+                           @Param("targetKg") double targetKg,
+                           @Param("yieldKg") double yieldKg,
+                           @Param("wastageKg") double wastageKg);
+
+    @Query("SELECT COALESCE(SUM(r.openReceivables), 0) FROM DailyRollup r")
+    BigDecimal sumOpenReceivables();
+
+    List<DailyRollup> findByRollupDateBetweenOrderByRollupDateAsc(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,44 @@
+package com.feed.feedv4.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import com.feed.feedv4.model.DailyRollupShare;
+
+@Repository
+public interface DailyRollupShareRepository extends JpaRepository<DailyRollupShare, Long> {
+
+    /** Adds to a share, creating it on the first write for that day, kind and ref. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_rollup_shares"))
+    @Query(value = "INSERT INTO daily_rollup_shares (rollup_date, kind, ref_id, amount) " +
+                   "VALUES (:date, :kind, :refId, :delta) " +
+                   "ON CONFLICT (rollup_date, kind, ref_id) DO UPDATE SET " +
+                   "amount = daily_rollup_shares.amount + EXCLUDED.amount",
+           nativeQuery = true)
+    void addAmount(@Param("date") LocalDate date,
+                   @Param("kind") String kind,
+                   @Param("refId") Long refId,
+                   @Param("delta") BigDecimal delta);
+
+    /** Returns Object[] {refId, SUM(amount)} ordered by the sum, largest first. */
+    @Query("SELECT s.refId, SUM(s.amount) FROM DailyRollupShare s " +
+           "WHERE s.kind = :kind AND s.rollupDate BETWEEN :from AND :to " +
+           "GROUP BY s.refId HAVING SUM(s.amount) > 0 ORDER BY SUM(s.amount) DESC")
+    List<Object[]> findTop(@Param("kind") DailyRollupShare.Kind kind,
+                           @Param("from") LocalDate from,
+                           @Param("to") LocalDate to,
+                           Pageable page);
+}
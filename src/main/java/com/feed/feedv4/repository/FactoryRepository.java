@@ -1,13 +1,22 @@
 package com.feed.feedv4.repository;
 
 import com.feed.feedv4.model.Factory;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface FactoryRepository extends JpaRepository<Factory, Long> {
 
+    // Full list served from the query cache until a factory changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Factory> findAll();
+
     // Lightweight search
     List<Factory> findByNameContainingIgnoreCase(String q);
 
@@ -4,8 +4,12 @@ import com.feed.feedv4.model.FeedProfile;
 
 import java.util.List;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,5 +22,6 @@ public interface FeedProfileRepository extends JpaRepository<FeedProfile, Long>
     @Query("SELECT fp.restrictedIngredients FROM FeedProfile fp WHERE fp.id = :profileId")
     List<String> findRestrictedIngredients(@Param("profileId") Long profileId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<FeedProfile> findByArchivedFalse();
 }
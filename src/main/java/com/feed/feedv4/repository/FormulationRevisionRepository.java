@@ -0,0 +1,45 @@
+package com.feed.feedv4.repository;
+
+import com.feed.feedv4.model.FormulationRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface FormulationRevisionRepository extends JpaRepository<FormulationRevision, Long> {
+
+    Optional<FormulationRevision> findTopByFormulationIdOrderByRevisionNoDesc(Long formulationId);
+
+    Optional<FormulationRevision> findTopByFormulationIdAndCheckpointTrueAndRevisionNoLessThanEqualOrderByRevisionNoDesc(
+            Long formulationId, int revisionNo);
+
+    /** Revisions in [from, to] with their delta lines, oldest first, for replay. */
+    @Query("""
+      select distinct r from FormulationRevision r
+      left join fetch r.lines
+      where r.formulationId = :formulationId and r.revisionNo between :from and :to
+      order by r.revisionNo asc
+    """)
+    List<FormulationRevision> findRangeWithLines(@Param("formulationId") Long formulationId,
+                                                 @Param("from") int from,
+                                                 @Param("to") int to);
+
+    /**
+     * History list without loading lines, as Object[] {revisionNo, action, createdAt,
+     * name, status, batchSize, costPerKg, checkpoint, lineCount}, newest first.
+     */
+    @Query("""
+      select r.revisionNo, r.action, r.createdAt, r.name, r.status, r.batchSize, r.costPerKg,
+             r.checkpoint, count(l)
+      from FormulationRevision r
+      left join r.lines l
+      where r.formulationId = :formulationId
+      group by r.id, r.revisionNo, r.action, r.createdAt, r.name, r.status, r.batchSize, r.costPerKg, r.checkpoint
+      order by r.revisionNo desc
+    """)
+    List<Object[]> findSummaries(@Param("formulationId") Long formulationId);
+
+    void deleteByFormulationId(Long formulationId);
+}
@@ -1,6 +1,7 @@
 package com.feed.feedv4.repository;
 
 import com.feed.feedv4.model.InventoryMovement;
+import com.feed.feedv4.model.MovementType;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDateTime;
@@ -12,4 +13,6 @@ public interface InventoryMovementRepository extends JpaRepository<InventoryMove
 
     List<InventoryMovement> findByRawMaterialIdAndMovementDateBetweenOrderByMovementDateDesc(
             Long rawMaterialId, LocalDateTime start, LocalDateTime end);
+
+    List<InventoryMovement> findByTypeAndReferenceStartingWith(MovementType type, String prefix);
 }
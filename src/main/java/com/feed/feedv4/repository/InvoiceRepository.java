@@ -2,6 +2,7 @@ package com.feed.feedv4.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,10 +38,15 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     """)
     BigDecimal sumOutstandingByCustomerId(@Param("customerId") Long customerId);
 
-    @Query("SELECT i FROM Invoice i WHERE " +
-           "LOWER(i.invoiceNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(i.orderNumber) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Invoice> searchInvoices(@Param("search") String search);
+    /** Returns Object[] {customerId, SUM(balanceDue)} for the customers that have open invoices. */
+    @Query("""
+        SELECT i.customerId, SUM(i.balanceDue)
+        FROM Invoice i
+        WHERE i.customerId IN :customerIds
+          AND i.balanceDue > 0
+        GROUP BY i.customerId
+    """)
+    List<Object[]> sumOutstandingByCustomerIds(@Param("customerIds") Collection<Long> customerIds);
 
     @Query("SELECT i FROM Invoice i WHERE i.invoiceDate BETWEEN :startDate AND :endDate")
     List<Invoice> findByInvoiceDateBetween(
@@ -48,6 +54,10 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
         @Param("endDate") LocalDate endDate
     );
 
+    /** Next invoice number suffix; a database sequence, so unique across instances. */
+    @Query(value = "SELECT nextval('invoice_number_seq')", nativeQuery = true)
+    long nextInvoiceNumber();
+
     @Query("SELECT COALESCE(SUM(i.total), 0) FROM Invoice i WHERE i.status != 'VOID'")
     BigDecimal sumTotalInvoices();
 
@@ -0,0 +1,24 @@
+package com.feed.feedv4.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.JournalEntry.SourceType;
+
+@Repository
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+
+    List<JournalEntry> findBySourceTypeAndSourceIdOrderByIdAsc(SourceType sourceType, Long sourceId);
+
+    /** Postings for a source that have not been reversed and are not reversals themselves. */
+    @Query("SELECT DISTINCT je FROM JournalEntry je LEFT JOIN FETCH je.lines " +
+           "WHERE je.sourceType = :sourceType AND je.sourceId = :sourceId AND je.reversalOfId IS NULL " +
+           "AND NOT EXISTS (SELECT r FROM JournalEntry r WHERE r.reversalOfId = je.id)")
+    List<JournalEntry> findLiveBySource(@Param("sourceType") SourceType sourceType,
+                                        @Param("sourceId") Long sourceId);
+}
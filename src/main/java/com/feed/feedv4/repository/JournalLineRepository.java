@@ -0,0 +1,26 @@
+package com.feed.feedv4.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.feed.feedv4.model.JournalLine;
+
+@Repository
+public interface JournalLineRepository extends JpaRepository<JournalLine, Long> {
+
+    List<JournalLine> findByAccountNameOrderByEntryDateAscIdAsc(String accountName);
+
+    @Query("SELECT l.accountName, SUM(l.debit), SUM(l.credit) FROM JournalLine l " +
+           "WHERE l.entryDate BETWEEN :from AND :to GROUP BY l.accountName")
+    List<Object[]> sumByAccountBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT l.accountName, SUM(l.debit), SUM(l.credit) FROM JournalLine l " +
+           "WHERE l.entryDate < :before GROUP BY l.accountName")
+    List<Object[]> sumByAccountBefore(@Param("before") LocalDate before);
+
+}
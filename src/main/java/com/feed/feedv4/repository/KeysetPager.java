@@ -0,0 +1,222 @@
+package com.feed.feedv4.repository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feed.feedv4.dto.CursorPageDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Runs keyset-paged list queries described by a {@link KeysetSpec}.
+ *
+ * Rows are ordered by (sort key, id) and each page continues strictly after
+ * the last row of the previous one, so a page costs the same on page 1 and
+ * page 1000 and never loads child collections. The cursor is opaque to
+ * clients and is bound to the sort and filters it was issued for.
+ *
+ * Request parameters: {@code sort} ({@code name} or {@code -name} for
+ * descending, default {@code -id}), {@code cursor}, {@code limit} (default
+ * {@value #DEFAULT_LIMIT}, at most {@value #MAX_LIMIT}) and any filter
+ * declared on the spec.
+ *
+ * A plain component rather than a repository: persistence exception
+ * translation would wrap {@link InvalidPageRequestException} and lose its
+ * 400 status.
+ */
+@Component
+public class KeysetPager {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidPageRequestException extends IllegalArgumentException {
+        public InvalidPageRequestException(String message) {
+            super(message);
+        }
+    }
+
+    /** Cursor payload: sort, direction, filter fingerprint, last sort value, last id. */
+    record Cursor(String s, boolean d, int f, String v, long i) {
+    }
+
+    public <E, D> CursorPageDTO<D> page(KeysetSpec<E, D> spec, Map<String, String> params) {
+        String sortParam = params.getOrDefault("sort", "-id").trim();
+        boolean desc = sortParam.startsWith("-");
+        String sortName = desc ? sortParam.substring(1) : sortParam;
+        KeysetSpec.SortKey<D> sortKey = spec.sorts().get(sortName);
+        if (sortKey == null) {
+            throw new InvalidPageRequestException("Cannot sort by '" + sortName + "'; allowed: " + spec.sorts().keySet());
+        }
+        int limit = parseLimit(params.get("limit"));
+
+        Map<String, String> applied = new TreeMap<>();
+        spec.filters().keySet().forEach(p -> {
+            String v = params.get(p);
+            if (v != null && !v.isBlank()) applied.put(p, v.trim());
+        });
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<D> q = cb.createQuery(spec.rowType());
+        Root<E> root = q.from(spec.entityType());
+        q.select(cb.construct(spec.rowType(),
+            spec.columns().stream().map(root::get).toArray(Selection<?>[]::new)));
+
+        List<Predicate> where = new ArrayList<>();
+        applied.forEach((p, v) -> where.add(filter(cb, root, spec.filters().get(p), v)));
+
+        Path<Object> sortPath = root.get(sortKey.attribute());
+        Path<Long> idPath = root.get("id");
+        String cursorParam = params.get("cursor");
+        if (cursorParam != null && !cursorParam.isBlank()) {
+            Cursor c = decode(cursorParam);
+            if (!c.s().equals(sortName) || c.d() != desc || c.f() != applied.hashCode()) {
+                throw new InvalidPageRequestException("Cursor was issued for a different sort or filter");
+            }
+            where.add(after(cb, sortPath, idPath, sortName.equals("id"), c.v(), c.i(), desc));
+        }
+        q.where(where.toArray(Predicate[]::new));
+
+        if (sortName.equals("id")) {
+            q.orderBy(desc ? cb.desc(idPath) : cb.asc(idPath));
+        } else {
+            q.orderBy(desc ? cb.desc(sortPath) : cb.asc(sortPath), desc ? cb.desc(idPath) : cb.asc(idPath));
+        }
+
+        List<D> rows = em.createQuery(q).setMaxResults(limit + 1).getResultList();
+        String next = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            D last = rows.get(limit - 1);
+            Object value = sortKey.value().apply(last);
+            next = encode(new Cursor(sortName, desc, applied.hashCode(),
+                value == null ? null : format(value), spec.id().apply(last)));
+        }
+        return new CursorPageDTO<>(rows, next, (desc ? "-" : "") + sortName, limit);
+    }
+
+    private int parseLimit(String raw) {
+        if (raw == null || raw.isBlank()) return DEFAULT_LIMIT;
+        try {
+            return Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(raw.trim())));
+        } catch (NumberFormatException e) {
+            throw new InvalidPageRequestException("Invalid limit: " + raw);
+        }
+    }
+
+    // ─── PREDICATES ───────────────────────────────────────────────────────────
+
+    /**
+     * Rows strictly after (lastValue, lastId) in the page order. PostgreSQL
+     * sorts nulls last ascending and first descending, which the null
+     * branches mirror.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Path<Object> sort, Path<Long> id, boolean idSort, String lastRaw,
+                            long lastId, boolean desc) {
+        Predicate idAfter = desc ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+        if (idSort) return idAfter;
+        if (lastRaw == null) {
+            Predicate sameNull = cb.and(cb.isNull(sort), idAfter);
+            return desc ? cb.or(sameNull, cb.isNotNull(sort)) : sameNull;
+        }
+        Expression<Comparable> key = (Expression<Comparable>) (Expression<?>) sort;
+        Comparable last = (Comparable) convert(lastRaw, sort.getJavaType());
+        Predicate beyond = desc ? cb.lessThan(key, last) : cb.greaterThan(key, last);
+        Predicate tie = cb.and(cb.equal(sort, last), idAfter);
+        return desc ? cb.or(beyond, tie) : cb.or(beyond, tie, cb.isNull(sort));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <E> Predicate filter(CriteriaBuilder cb, Root<E> root, KeysetSpec.Filter f, String raw) {
+        List<Predicate> any = new ArrayList<>();
+        for (String attribute : f.attributes()) {
+            Path<Object> path = root.get(attribute);
+            switch (f.op()) {
+                case EQ -> any.add(cb.equal(path, convert(raw, path.getJavaType())));
+                case CONTAINS -> any.add(cb.like(cb.lower(path.as(String.class)),
+                    "%" + escapeLike(raw.toLowerCase()) + "%", '\\'));
+                case GTE -> any.add(cb.greaterThanOrEqualTo((Expression<Comparable>) (Expression<?>) path,
+                    (Comparable) convert(raw, path.getJavaType())));
+                case LTE -> any.add(cb.lessThanOrEqualTo((Expression<Comparable>) (Expression<?>) path,
+                    (Comparable) convert(raw, path.getJavaType())));
+            }
+        }
+        return any.size() == 1 ? any.get(0) : cb.or(any.toArray(Predicate[]::new));
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // ─── VALUES ───────────────────────────────────────────────────────────────
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object convert(String raw, Class<?> type) {
+        try {
+            if (type == String.class) return raw;
+            if (type == Long.class || type == long.class) return Long.valueOf(raw);
+            if (type == Integer.class || type == int.class) return Integer.valueOf(raw);
+            if (type == Double.class || type == double.class) return Double.valueOf(raw);
+            if (type == BigDecimal.class) return new BigDecimal(raw);
+            if (type == Boolean.class || type == boolean.class) return Boolean.valueOf(raw);
+            if (type == LocalDate.class) return LocalDate.parse(raw);
+            if (type == LocalDateTime.class) {
+                return raw.length() == 10 ? LocalDate.parse(raw).atStartOfDay() : LocalDateTime.parse(raw);
+            }
+            if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, raw.toUpperCase());
+        } catch (RuntimeException e) {
+            throw new InvalidPageRequestException("Invalid value '" + raw + "' for " + type.getSimpleName());
+        }
+        throw new InvalidPageRequestException("Unsupported filter type " + type.getSimpleName());
+    }
+
+    private static String format(Object value) {
+        if (value instanceof BigDecimal bd) return bd.toPlainString();
+        if (value instanceof Enum<?> e) return e.name();
+        return value.toString();
+    }
+
+    private static String encode(Cursor c) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(JSON.writeValueAsBytes(c));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    private static Cursor decode(String raw) {
+        try {
+            return JSON.readValue(new String(Base64.getUrlDecoder().decode(raw), StandardCharsets.UTF_8), Cursor.class);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.feed.feedv4.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Whitelist for one keyset-paged list: the entity, the slim row it is
+ * projected into (by a constructor taking {@code columns} in order), the
+ * sortable attributes and the query parameters accepted as filters.
+ * Anything not declared here is ignored by {@link KeysetPager}.
+ */
+public final class KeysetSpec<E, D> {
+
+    public enum Op {
+        /** Attribute equals the value; several attributes are OR-ed. */
+        EQ,
+        /** Case-insensitive substring match; several attributes are OR-ed. */
+        CONTAINS,
+        GTE,
+        LTE
+    }
+
+    record SortKey<D>(String attribute, Function<D, ?> value) {
+    }
+
+    record Filter(Op op, List<String> attributes) {
+    }
+
+    private final Class<E> entityType;
+    private final Class<D> rowType;
+    private final Function<D, Long> id;
+    private final List<String> columns;
+    private final Map<String, SortKey<D>> sorts = new LinkedHashMap<>();
+    private final Map<String, Filter> filters = new LinkedHashMap<>();
+
+    private KeysetSpec(Class<E> entityType, Class<D> rowType, Function<D, Long> id, List<String> columns) {
+        this.entityType = entityType;
+        this.rowType = rowType;
+        this.id = id;
+        this.columns = columns;
+        sorts.put("id", new SortKey<>("id", id));
+    }
+
+    public static <E, D> KeysetSpec<E, D> of(Class<E> entityType, Class<D> rowType, Function<D, Long> id,
+                                             String... columns) {
+        return new KeysetSpec<>(entityType, rowType, id, List.of(columns));
+    }
+
+    /** Allows {@code sort=name} / {@code sort=-name}; {@code value} reads the key back off a row for the cursor. */
+    public KeysetSpec<E, D> sort(String attribute, Function<D, ?> value) {
+        sorts.put(attribute, new SortKey<>(attribute, value));
+        return this;
+    }
+
+    public KeysetSpec<E, D> filter(String param, Op op, String... attributes) {
+        filters.put(param, new Filter(op, List.of(attributes)));
+        return this;
+    }
+
+    Class<E> entityType() {
+        return entityType;
+    }
+
+    Class<D> rowType() {
+        return rowType;
+    }
+
+    Function<D, Long> id() {
+        return id;
+    }
+
+    List<String> columns() {
+        return columns;
+    }
+
+    Map<String, SortKey<D>> sorts() {
+        return sorts;
+    }
+
+    Map<String, Filter> filters() {
+        return filters;
+    }
+}
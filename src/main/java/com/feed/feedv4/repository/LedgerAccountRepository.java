@@ -0,0 +1,43 @@
+package com.feed.feedv4.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import com.feed.feedv4.model.LedgerAccount;
+
+@Repository
+public interface LedgerAccountRepository extends JpaRepository<LedgerAccount, String> {
+
+    @Modifying
+    @Query("UPDATE LedgerAccount a SET a.debitTotal = a.debitTotal + :debit, a.creditTotal = a.creditTotal + :credit, " +
+           "a.updatedAt = CURRENT_TIMESTAMP WHERE a.accountName = :accountName")
+    int addTotals(@Param("accountName") String accountName,
+                  @Param("debit") BigDecimal debit,
+                  @Param("credit") BigDecimal credit);
+
+    /** Adds to an account's totals, opening the account on its first posting. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ledger_accounts"))
+    @Query(value = "INSERT INTO ledger_accounts (account_name, account_type, debit_total, credit_total, updated_at) " +
+                   "VALUES (:accountName, :accountType, :debit, :credit, now()) " +
+                   "ON CONFLICT (account_name) DO UPDATE SET " +
+                   "debit_total = ledger_accounts.debit_total + EXCLUDED.debit_total, " +
+                   "credit_total = ledger_accounts.credit_total + EXCLUDED.credit_total, updated_at = now()",
+           nativeQuery = true)
+    void upsertTotals(@Param("accountName") String accountName,
+                      @Param("accountType") String accountType,
+                      @Param("debit") BigDecimal debit,
+                      @Param("credit") BigDecimal credit);
+
+    List<LedgerAccount> findAllByOrderByAccountTypeAscAccountNameAsc();
+}
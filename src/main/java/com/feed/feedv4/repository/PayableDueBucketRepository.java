@@ -0,0 +1,48 @@
+package com.feed.feedv4.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import com.feed.feedv4.model.PayableDueBucket;
+
+@Repository
+public interface PayableDueBucketRepository extends JpaRepository<PayableDueBucket, Long> {
+
+    /** Adds to the vendor's bucket for {@code dueDate}, creating it if this is the first bill due that day. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "payable_due_buckets"))
+    @Query(value = "INSERT INTO payable_due_buckets (vendor_id, due_date, outstanding, bill_count) " +
+                   "VALUES (:vendorId, :dueDate, :delta, :billDelta) " +
+                   "ON CONFLICT (vendor_id, due_date) DO UPDATE SET " +
+                   "outstanding = payable_due_buckets.outstanding + EXCLUDED.outstanding, " +
+                   "bill_count = payable_due_buckets.bill_count + EXCLUDED.bill_count",
+           nativeQuery = true)
+    void addOutstanding(@Param("vendorId") Long vendorId,
+                        @Param("dueDate") LocalDate dueDate,
+                        @Param("delta") BigDecimal delta,
+                        @Param("billDelta") int billDelta);
+
+    @Query("SELECT b FROM PayableDueBucket b WHERE b.outstanding > 0 ORDER BY b.dueDate")
+    List<PayableDueBucket> findOpen();
+
+    @Query("SELECT b FROM PayableDueBucket b WHERE b.outstanding > 0 AND b.dueDate BETWEEN :from AND :to ORDER BY b.dueDate")
+    List<PayableDueBucket> findOpenDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(b.outstanding), 0) FROM PayableDueBucket b WHERE b.outstanding > 0 AND b.dueDate < :date")
+    BigDecimal sumOpenDueBefore(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query("DELETE FROM PayableDueBucket b WHERE b.outstanding <= 0 AND b.billCount <= 0")
+    int deleteEmpty();
+}
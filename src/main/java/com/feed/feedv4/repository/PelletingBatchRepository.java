@@ -1,10 +1,15 @@
 package com.feed.feedv4.repository;
 
+import com.feed.feedv4.dto.BatchBoardRowDTO;
 import com.feed.feedv4.model.PelletingBatch;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +28,81 @@ public interface PelletingBatchRepository extends JpaRepository<PelletingBatch,
       where b.id = :id
     """)
     Optional<PelletingBatch> findWithFormulationById(@Param("id") Long id);
+
+    /**
+     * Batch board: narrow rows below {@code beforeId}, newest first. Null
+     * {@code status}/{@code archived} mean "any"; size the page with Pageable.
+     */
+    @Query("""
+      select new com.feed.feedv4.dto.BatchBoardRowDTO(
+             b.id, b.status, f.id, f.name, b.targetQuantityKg, b.actualYieldKg, b.totalWastageKg,
+             b.machineUsed, o.id, o.fullName, b.customerId, b.archived,
+             b.startTime, b.endTime, b.operatorComments, b.createdAt, b.invoiceId)
+      from PelletingBatch b
+      left join b.formulation f
+      left join b.operator o
+      where (:status is null or b.status = :status)
+        and (:archived is null or b.archived = :archived)
+        and b.id < :beforeId
+      order by b.id desc
+    """)
+    List<BatchBoardRowDTO> findBoard(@Param("status") String status,
+                                     @Param("archived") Boolean archived,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable page);
+
+    boolean existsByMachineUsedIgnoreCaseAndStatus(String machineUsed, String status);
+
+    /**
+     * Scheduler input: not-archived batches that are queued or running, as
+     * Object[] {id, status, machineUsed, targetQuantityKg, startTime, createdAt,
+     * formulationName, feedProfileId, species}.
+     */
+    @Query("""
+      select b.id, b.status, b.machineUsed, b.targetQuantityKg, b.startTime, b.createdAt,
+             f.name, fp.id, fp.species
+      from PelletingBatch b
+      join b.formulation f
+      left join f.feedProfile fp
+      where b.archived = false and b.status in ('Not Started', 'In Progress')
+    """)
+    List<Object[]> findSchedulable();
+
+    /**
+     * Finance handoff input: completed batches not yet invoiced, as Object[]
+     * {id, customerId, formulationName, costPerKg, targetQuantityKg,
+     * actualYieldKg, endTime}, ordered by customer. Batches created on
+     * finalize carry no customer of their own and fall back to the formulation's.
+     */
+    @Query("""
+      select b.id, coalesce(b.customerId, f.customerId), f.name, f.costPerKg,
+             b.targetQuantityKg, b.actualYieldKg, b.endTime
+      from PelletingBatch b
+      join b.formulation f
+      where b.status = 'Completed' and b.invoiceId is null
+        and (b.endTime is null or b.endTime < :completedBefore)
+      order by coalesce(b.customerId, f.customerId), b.id
+    """)
+    List<Object[]> findUninvoiced(@Param("completedBefore") LocalDateTime completedBefore);
+
+    /** Points batches recorded against a machine's old name at its new one. */
+    @Modifying
+    @Query("update PelletingBatch b set b.machineUsed = :newName where lower(trim(b.machineUsed)) = lower(:oldName)")
+    int renameMachine(@Param("oldName") String oldName, @Param("newName") String newName);
+
+    /** Marks batches as billed; only rows still unbilled are touched. */
+    @Modifying
+    @Query("""
+      update PelletingBatch b
+      set b.invoiceId = :invoiceId, b.invoicedAt = :invoicedAt
+      where b.id in :ids and b.invoiceId is null
+    """)
+    int claimForInvoice(@Param("ids") Collection<Long> ids,
+                        @Param("invoiceId") Long invoiceId,
+                        @Param("invoicedAt") LocalDateTime invoicedAt);
+
+    /** Returns an invoice's batches to the unbilled pool once it is voided or deleted. */
+    @Modifying
+    @Query("update PelletingBatch b set b.invoiceId = null, b.invoicedAt = null where b.invoiceId = :invoiceId")
+    int releaseFromInvoice(@Param("invoiceId") Long invoiceId);
 }
@@ -0,0 +1,21 @@
+package com.feed.feedv4.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.feed.feedv4.model.PelletingMachine;
+
+@Repository
+public interface PelletingMachineRepository extends JpaRepository<PelletingMachine, Long> {
+
+    Optional<PelletingMachine> findByNameIgnoreCase(String name);
+
+    List<PelletingMachine> findByActiveTrueOrderByNameAsc();
+
+    List<PelletingMachine> findAllByOrderByNameAsc();
+
+    boolean existsByNameIgnoreCase(String name);
+}
@@ -0,0 +1,48 @@
+package com.feed.feedv4.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.feed.feedv4.model.PelletingStat;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface PelletingStatRepository extends JpaRepository<PelletingStat, Long> {
+
+    Optional<PelletingStat> findByScopeAndScopeKey(PelletingStat.Scope scope, String scopeKey);
+
+    /**
+     * Creates the zeroed row for a scope unless it exists, so the first
+     * batches of a new machine, operator or formulation can all lock the same
+     * row instead of racing to insert it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pelleting_stats"))
+    @Query(value = "INSERT INTO pelleting_stats (scope, scope_key, batches, yield_batches, yield_target_kg, yield_kg, " +
+                   "wastage_kg, timed_batches, run_minutes, timed_kg, cycle_histogram, wastage_histogram, updated_at) " +
+                   "VALUES (:scope, :scopeKey, 0, 0, 0, 0, 0, 0, 0, 0, " +
+                   "array_fill(0, array[:cycleBuckets]), array_fill(0, array[:wastageBuckets]), now()) " +
+                   "ON CONFLICT (scope, scope_key) DO NOTHING",
+           nativeQuery = true)
+    void insertIfAbsent(@Param("scope") String scope,
+                        @Param("scopeKey") String scopeKey,
+                        @Param("cycleBuckets") int cycleBuckets,
+                        @Param("wastageBuckets") int wastageBuckets);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PelletingStat s WHERE s.scope = :scope AND s.scopeKey = :scopeKey")
+    Optional<PelletingStat> findForUpdate(@Param("scope") PelletingStat.Scope scope, @Param("scopeKey") String scopeKey);
+
+    List<PelletingStat> findByScopeOrderByLabelAsc(PelletingStat.Scope scope);
+}
@@ -0,0 +1,22 @@
+package com.feed.feedv4.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.feed.feedv4.model.PeriodBalance;
+
+@Repository
+public interface PeriodBalanceRepository extends JpaRepository<PeriodBalance, Long> {
+
+    List<PeriodBalance> findByPeriodStart(LocalDate periodStart);
+
+    @Query("SELECT pb.accountName, SUM(pb.periodDebit), SUM(pb.periodCredit) FROM PeriodBalance pb " +
+           "WHERE pb.periodStart BETWEEN :from AND :to GROUP BY pb.accountName")
+    List<Object[]> sumMovementBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+}
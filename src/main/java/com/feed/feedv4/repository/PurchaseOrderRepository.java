@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +16,14 @@ import com.feed.feedv4.model.PurchaseOrder.PurchaseOrderStatus;
 
 @Repository
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+
+    /** Whole list with its items in a single query. */
+    @Query("select distinct po from PurchaseOrder po left join fetch po.items order by po.id")
+    List<PurchaseOrder> findAllWithItems();
+
+    /** Detail load: the purchaseOrder and its items in one select. */
+    @EntityGraph(attributePaths = "items")
+    Optional<PurchaseOrder> findWithItemsById(Long id);
     
     Optional<PurchaseOrder> findByPurchaseOrderNumber(String purchaseOrderNumber);
     
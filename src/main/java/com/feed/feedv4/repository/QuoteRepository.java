@@ -2,6 +2,7 @@ package com.feed.feedv4.repository;
 
 import com.feed.feedv4.model.Quote;
 import com.feed.feedv4.model.Quote.QuoteStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +15,14 @@ import java.util.Optional;
 
 @Repository
 public interface QuoteRepository extends JpaRepository<Quote, Long> {
+
+    /** Whole list with its items in a single query. */
+    @Query("select distinct q from Quote q left join fetch q.items order by q.id")
+    List<Quote> findAllWithItems();
+
+    /** Detail load: the quote and its items in one select. */
+    @EntityGraph(attributePaths = "items")
+    Optional<Quote> findWithItemsById(Long id);
     
     Optional<Quote> findByQuoteNumber(String quoteNumber);
     
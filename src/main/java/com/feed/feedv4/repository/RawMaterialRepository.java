@@ -28,6 +28,11 @@ public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>
     List<RawMaterial> findByInStockKgGreaterThanAndArchivedFalse(double minStock);
 
     List<RawMaterial> findByNameContainingIgnoreCase(String q);
+
+    /** id, name, supplier and archived flag of every raw material, for the type-ahead index. */
+    @Query("SELECT r.id, r.name, r.supplier, r.archived FROM RawMaterial r")
+    List<Object[]> findLookupRows();
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT r FROM RawMaterial r WHERE r.id = :id")
     Optional<RawMaterial> findByIdForUpdate(@Param("id") Long id);
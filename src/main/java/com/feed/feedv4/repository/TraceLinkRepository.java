@@ -0,0 +1,19 @@
+package com.feed.feedv4.repository;
+
+import com.feed.feedv4.model.TraceLink;
+import com.feed.feedv4.model.TraceLink.NodeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TraceLinkRepository extends JpaRepository<TraceLink, Long> {
+
+    Optional<TraceLink> findByFromTypeAndFromKeyAndToTypeAndToKey(NodeType fromType, String fromKey,
+                                                                   NodeType toType, String toKey);
+
+    List<TraceLink> findByFromTypeAndFromKeyIn(NodeType fromType, Collection<String> fromKeys);
+
+    List<TraceLink> findByToTypeAndToKeyIn(NodeType toType, Collection<String> toKeys);
+}
@@ -1,8 +1,13 @@
 package com.feed.feedv4.repository;
 
 import com.feed.feedv4.model.User;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.feed.feedv4.model.Role;
@@ -11,6 +16,8 @@ import java.util.Optional;
 import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Login and role checks resolve the same few users over and over
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     @Query("SELECT u FROM User u WHERE :role MEMBER OF u.roles")
@@ -0,0 +1,41 @@
+package com.feed.feedv4.repository;
+
+import java.math.BigDecimal;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import com.feed.feedv4.model.VendorBalance;
+
+@Repository
+public interface VendorBalanceRepository extends JpaRepository<VendorBalance, Long> {
+
+    /** Adds to a vendor's payables, creating the row on the vendor's first bill. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "vendor_balances"))
+    @Query(value = "INSERT INTO vendor_balances (vendor_id, payables, unused_credits, open_bills, updated_at) " +
+                   "VALUES (:vendorId, :delta, 0, :billDelta, now()) " +
+                   "ON CONFLICT (vendor_id) DO UPDATE SET payables = vendor_balances.payables + EXCLUDED.payables, " +
+                   "open_bills = vendor_balances.open_bills + EXCLUDED.open_bills, updated_at = now()",
+           nativeQuery = true)
+    void addPayables(@Param("vendorId") Long vendorId,
+                     @Param("delta") BigDecimal delta,
+                     @Param("billDelta") int billDelta);
+
+    /** Adds to a vendor's unused credits, creating the row on the vendor's first payment. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "vendor_balances"))
+    @Query(value = "INSERT INTO vendor_balances (vendor_id, payables, unused_credits, open_bills, updated_at) " +
+                   "VALUES (:vendorId, 0, :delta, 0, now()) " +
+                   "ON CONFLICT (vendor_id) DO UPDATE SET unused_credits = vendor_balances.unused_credits + EXCLUDED.unused_credits, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    void addUnusedCredits(@Param("vendorId") Long vendorId, @Param("delta") BigDecimal delta);
+}
@@ -1,8 +1,10 @@
 package com.feed.feedv4.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,18 +15,27 @@ import com.feed.feedv4.model.Vendor.VendorStatus;
 
 @Repository
 public interface VendorRepository extends JpaRepository<Vendor, Long> {
+
+    /** Whole list with its contactPersons in a single query. */
+    @Query("select distinct v from Vendor v left join fetch v.contactPersons order by v.id")
+    List<Vendor> findAllWithContactPersons();
+
+    /** Detail load: the vendor and its contactPersons in one select. */
+    @EntityGraph(attributePaths = "contactPersons")
+    Optional<Vendor> findWithContactPersonsById(Long id);
+
+    /** Search hits with their contactPersons in one select. */
+    @EntityGraph(attributePaths = "contactPersons")
+    List<Vendor> findWithContactPersonsByIdIn(Collection<Long> ids);
+    
+    /** id, name, company, GST number and status of every vendor, for the type-ahead index. */
+    @Query("SELECT v.id, v.vendorDisplayName, v.companyName, v.gstNumber, v.status FROM Vendor v")
+    List<Object[]> findLookupRows();
     
     Optional<Vendor> findByVendorDisplayName(String vendorDisplayName);
     
     List<Vendor> findByStatus(VendorStatus status);
     
-    @Query("SELECT v FROM Vendor v WHERE " +
-           "LOWER(v.vendorDisplayName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(v.companyName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(v.vendorEmail) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(v.vendorPhone) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Vendor> searchVendors(@Param("search") String search);
-    
     @Query("SELECT v FROM Vendor v WHERE v.status = 'ACTIVE'")
     List<Vendor> findAllActive();
     
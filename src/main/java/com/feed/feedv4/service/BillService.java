@@ -2,7 +2,11 @@ package com.feed.feedv4.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -10,10 +14,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.feed.feedv4.dto.BillDTO;
 import com.feed.feedv4.dto.BillItemDTO;
+import com.feed.feedv4.dto.BillRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.Bill;
 import com.feed.feedv4.model.BillItem;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
 import com.feed.feedv4.repository.BillItemRepository;
 import com.feed.feedv4.repository.BillRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
+import com.feed.feedv4.service.JournalService.PostingLine;
+import com.feed.feedv4.service.PayablesProjectionService.BillContribution;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,17 +35,44 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class BillService {
     
+    private static final KeysetSpec<Bill, BillRowDTO> PAGE_SPEC = KeysetSpec
+            .of(Bill.class, BillRowDTO.class, BillRowDTO::getId,
+                "id", "billNumber", "orderNumber", "referenceNumber", "vendorId", "billDate", "dueDate",
+                "total", "balanceDue", "status", "createdAt")
+            .sort("billDate", BillRowDTO::getBillDate)
+            .sort("dueDate", BillRowDTO::getDueDate)
+            .sort("billNumber", BillRowDTO::getBillNumber)
+            .sort("total", BillRowDTO::getTotal)
+            .sort("createdAt", BillRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("vendorId", Op.EQ, "vendorId")
+            .filter("from", Op.GTE, "billDate")
+            .filter("to", Op.LTE, "billDate")
+            .filter("q", Op.CONTAINS, "billNumber", "referenceNumber", "orderNumber");
+
     private final BillRepository billRepository;
     private final BillItemRepository billItemRepository;
+    private final PayablesProjectionService payablesProjection;
+    private final JournalService journalService;
+    private final KeysetPager keysetPager;
+    private final SearchService searchService;
     
+    @Transactional(readOnly = true)
     public List<BillDTO> getAllBills() {
-        return billRepository.findAll().stream()
+        return billRepository.findAllWithItems().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
+
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BillRowDTO> getBillPage(Map<String, String> params) {
+        return keysetPager.page(PAGE_SPEC, params);
+    }
     
+    @Transactional(readOnly = true)
     public BillDTO getBillById(Long id) {
-        Bill bill = billRepository.findById(id)
+        Bill bill = billRepository.findWithItemsById(id)
             .orElseThrow(() -> new RuntimeException("Bill not found with id: " + id));
         return convertToDTO(bill);
     }
@@ -62,6 +102,8 @@ public class BillService {
         calculateTotals(bill);
         
         Bill savedBill = billRepository.save(bill);
+        payablesProjection.billChanged(null, BillContribution.of(savedBill));
+        postToLedger(savedBill);
         return convertToDTO(savedBill);
     }
     
@@ -69,10 +111,13 @@ public class BillService {
         Bill existingBill = billRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Bill not found with id: " + id));
         
+        BillContribution before = BillContribution.of(existingBill);
         updateBillFields(existingBill, dto);
         calculateTotals(existingBill);
         
         Bill updatedBill = billRepository.save(existingBill);
+        payablesProjection.billChanged(before, BillContribution.of(updatedBill));
+        postToLedger(updatedBill);
         return convertToDTO(updatedBill);
     }
     
@@ -84,6 +129,8 @@ public class BillService {
             throw new RuntimeException("Cannot delete bill with payments. Please void the bill instead.");
         }
         
+        payablesProjection.billChanged(BillContribution.of(bill), null);
+        journalService.reverse(JournalEntry.SourceType.BILL, bill.getId());
         billRepository.delete(bill);
     }
     
@@ -95,8 +142,11 @@ public class BillService {
             throw new RuntimeException("Cannot void bill with payments. Please reverse payments first.");
         }
         
+        BillContribution before = BillContribution.of(bill);
         bill.voidBill();
         Bill voidedBill = billRepository.save(bill);
+        payablesProjection.billChanged(before, BillContribution.of(voidedBill));
+        journalService.reverse(JournalEntry.SourceType.BILL, voidedBill.getId());
         
         return convertToDTO(voidedBill);
     }
@@ -137,6 +187,8 @@ public class BillService {
         
         calculateTotals(cloned);
         Bill savedBill = billRepository.save(cloned);
+        payablesProjection.billChanged(null, BillContribution.of(savedBill));
+        postToLedger(savedBill);
         
         return convertToDTO(savedBill);
     }
@@ -149,8 +201,10 @@ public class BillService {
             throw new RuntimeException("Payment amount cannot exceed balance due");
         }
         
+        BillContribution before = BillContribution.of(bill);
         bill.recordPayment(amount);
         Bill updatedBill = billRepository.save(bill);
+        payablesProjection.billChanged(before, BillContribution.of(updatedBill));
         
         return convertToDTO(updatedBill);
     }
@@ -159,8 +213,10 @@ public class BillService {
         Bill bill = billRepository.findById(billId)
             .orElseThrow(() -> new RuntimeException("Bill not found with id: " + billId));
         
+        BillContribution before = BillContribution.of(bill);
         bill.reversePayment(amount);
         Bill updatedBill = billRepository.save(bill);
+        payablesProjection.billChanged(before, BillContribution.of(updatedBill));
         
         return convertToDTO(updatedBill);
     }
@@ -171,8 +227,15 @@ public class BillService {
             .collect(Collectors.toList());
     }
     
+    /** Ranked and typo-tolerant; see {@link SearchService}. */
+    @Transactional(readOnly = true)
     public List<BillDTO> searchBills(String query) {
-        return billRepository.searchBills(query).stream()
+        List<Long> ids = searchService.rankedIds("BILL", query, SearchService.MODULE_SEARCH_LIMIT);
+        Map<Long, Bill> byId = billRepository.findWithItemsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Bill::getId, b -> b));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
@@ -223,6 +286,58 @@ public class BillService {
         bill.setTotal(afterDiscount.add(taxAmount));
     }
     
+    /**
+     * Recognises the bill in the general ledger: each item's account is debited,
+     * input tax is debited, and the total is credited to accounts payable.
+     * Drafts and void bills carry no live posting.
+     */
+    private void postToLedger(Bill bill) {
+        if (bill.getStatus() == Bill.BillStatus.DRAFT || bill.getStatus() == Bill.BillStatus.VOID) {
+            journalService.reverse(JournalEntry.SourceType.BILL, bill.getId());
+            return;
+        }
+        
+        Map<String, BigDecimal> byAccount = new LinkedHashMap<>();
+        for (BillItem item : bill.getItems()) {
+            String account = item.getAccount() != null && !item.getAccount().isBlank() ? item.getAccount() : "Purchases";
+            byAccount.merge(account, nz(item.getAmount()), BigDecimal::add);
+        }
+        
+        List<PostingLine> lines = new ArrayList<>();
+        byAccount.forEach((account, amount) -> lines.add(PostingLine.debit(account, AccountType.EXPENSE, amount)));
+        lines.add(PostingLine.debit("Input Tax", AccountType.ASSET, nz(bill.getTax())));
+        lines.add(PostingLine.credit(payableAccountName(bill.getAccountsPayable()), AccountType.LIABILITY, nz(bill.getTotal())));
+        
+        // Discount is whatever separates the gross lines from the bill total
+        BigDecimal discount = nz(bill.getSubtotal()).add(nz(bill.getTax())).subtract(nz(bill.getTotal()));
+        if (discount.signum() > 0) {
+            lines.add(PostingLine.credit("Purchase Discounts", AccountType.INCOME, discount));
+        } else if (discount.signum() < 0) {
+            lines.add(PostingLine.debit("Purchase Discounts", AccountType.INCOME, discount.negate()));
+        }
+        
+        journalService.repost(JournalEntry.SourceType.BILL, bill.getId(), bill.getBillDate(),
+            "Bill " + bill.getBillNumber(), lines);
+    }
+    
+    /** Posts every bill; a no-op for those already posted. Backfills bills entered before the ledger. */
+    public void repostLedger() {
+        billRepository.findAll().forEach(this::postToLedger);
+    }
+    
+    private BigDecimal nz(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+    
+    private String payableAccountName(Bill.AccountsPayable accountsPayable) {
+        if (accountsPayable == null) return "Accounts Payable";
+        switch (accountsPayable) {
+            case TRADE_PAYABLES: return "Trade Payables";
+            case OTHER_PAYABLES: return "Other Payables";
+            default: return "Accounts Payable";
+        }
+    }
+    
     private String generateBillNumber() {
         String year = String.valueOf(LocalDate.now().getYear());
         Long count = billRepository.count() + 1;
@@ -0,0 +1,57 @@
+package com.feed.feedv4.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import com.feed.feedv4.dto.CacheRegionStatsDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/** Hit rates of the second-level cache regions configured in hibernate-cache.conf. */
+@Service
+public class CacheStatsService {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    private final SessionFactory sessionFactory;
+
+    public CacheStatsService(EntityManagerFactory emf) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+    }
+
+    public List<CacheRegionStatsDTO> regions() {
+        Statistics stats = sessionFactory.getStatistics();
+        List<CacheRegionStatsDTO> regions = Arrays.stream(stats.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(name -> toDTO(name, stats.getDomainDataRegionStatistics(name)))
+            .collect(Collectors.toList());
+        if (sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+            regions.add(toDTO(QUERY_RESULTS_REGION, stats.getQueryRegionStatistics(QUERY_RESULTS_REGION)));
+        }
+        return regions;
+    }
+
+    /** Drops every cached entity, collection and query result, e.g. after editing reference data by hand in SQL. */
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    public void resetCounters() {
+        sessionFactory.getStatistics().clear();
+    }
+
+    private CacheRegionStatsDTO toDTO(String name, CacheRegionStatistics s) {
+        if (s == null) return new CacheRegionStatsDTO(name, 0, 0, 0, 0.0, -1);
+        long hits = s.getHitCount();
+        long misses = s.getMissCount();
+        return new CacheRegionStatsDTO(name, hits, misses, s.getPutCount(),
+            hits + misses == 0 ? 0.0 : (double) hits / (hits + misses),
+            s.getElementCountInMemory());
+    }
+}
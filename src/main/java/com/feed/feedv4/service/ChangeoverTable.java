@@ -0,0 +1,38 @@
+package com.feed.feedv4.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.feed.feedv4.model.ChangeoverRule;
+
+/**
+ * Changeover minutes between two consecutive batches on one pellet mill:
+ * none for the same feed profile, a flat time within a species, otherwise
+ * the configured species-pair rule or the default.
+ */
+public final class ChangeoverTable {
+
+    private final Map<String, Integer> rules;
+    private final int defaultMinutes;
+    private final int sameSpeciesMinutes;
+
+    public ChangeoverTable(Iterable<ChangeoverRule> rules, int defaultMinutes, int sameSpeciesMinutes) {
+        this.rules = new HashMap<>();
+        for (ChangeoverRule r : rules) {
+            this.rules.put(key(r.getFromSpecies(), r.getToSpecies()), r.getMinutes());
+        }
+        this.defaultMinutes = defaultMinutes;
+        this.sameSpeciesMinutes = sameSpeciesMinutes;
+    }
+
+    public int minutes(Long prevProfile, String prevSpecies, Long nextProfile, String nextSpecies) {
+        if (Objects.equals(prevProfile, nextProfile)) return 0;
+        if (prevSpecies != null && prevSpecies.equalsIgnoreCase(nextSpecies)) return sameSpeciesMinutes;
+        return rules.getOrDefault(key(prevSpecies, nextSpecies), defaultMinutes);
+    }
+
+    private static String key(String from, String to) {
+        return (from == null ? "" : from.toLowerCase()) + "|" + (to == null ? "" : to.toLowerCase());
+    }
+}
@@ -6,12 +6,16 @@ import com.feed.feedv4.repository.ChargesConfigRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
 public class ChargesConfigService {
 
     private final ChargesConfigRepository repo;
+    private final AtomicReference<FeeCalculator> calculator = new AtomicReference<>();
+    private final ReentrantLock recompileLock = new ReentrantLock();
 
     public ChargesConfigService(ChargesConfigRepository repo) {
         this.repo = repo;
@@ -20,30 +24,39 @@ public class ChargesConfigService {
     // ---------- Queries ----------
 
     public List<ChargesConfig> list(String q, Boolean active, Boolean archived) {
-        List<ChargesConfig> all = repo.findAll();
-
-        return all.stream()
-                .filter(c -> q == null || q.isBlank()
-                        || (c.getName() != null && c.getName().toLowerCase().contains(q.toLowerCase()))
-                        || (c.getDescription() != null && c.getDescription().toLowerCase().contains(q.toLowerCase())))
-                .filter(c -> active == null || Objects.equals(c.getActive(), active))
-                .filter(c -> archived == null || Objects.equals(c.getArchived(), archived))
-                .sorted(Comparator
-                        .comparing(ChargesConfig::getArchived) // non-archived first
-                        .thenComparing(ChargesConfig::getActive, Comparator.reverseOrder()) // active before inactive
-                        .thenComparing((ChargesConfig c) -> Optional.ofNullable(c.getUpdatedAt()).orElse(c.getCreatedAt()),
-                                Comparator.nullsFirst(Comparator.reverseOrder())))
-                .collect(Collectors.toList());
+        String pattern = (q == null || q.isBlank()) ? "%" : "%" + q.trim().toLowerCase() + "%";
+        return repo.search(pattern, active, archived);
     }
 
     public ChargesConfig getById(Long id) {
         return repo.findById(id).orElseThrow(() -> new NoSuchElementException("ChargesConfig not found: " + id));
     }
 
-    /** Latest active, non-archived config (useful if you still want an 'effective' default). */
+    /** Most recently changed active, non-archived config, served from the compiled calculator. */
     public Optional<ChargesConfig> getEffective() {
-        return repo.findTopByActiveTrueAndArchivedFalseOrderByUpdatedAtDesc()
-                .or(() -> repo.findTopByActiveTrueAndArchivedFalseOrderByCreatedAtDesc());
+        return getCalculator().effectiveConfig();
+    }
+
+    /** Current fee calculator; compiled on first use and replaced on every config change. */
+    public FeeCalculator getCalculator() {
+        FeeCalculator current = calculator.get();
+        return current != null ? current : recompile();
+    }
+
+    /**
+     * Rebuilds the calculator from the database and swaps it in. Serialized so
+     * the last swap always reflects every save that preceded it; a lock rather
+     * than a monitor, so a virtual thread waiting on the query stays unpinned.
+     */
+    public FeeCalculator recompile() {
+        recompileLock.lock();
+        try {
+            FeeCalculator compiled = FeeCalculator.compile(repo.findByActiveTrueAndArchivedFalse());
+            calculator.set(compiled);
+            return compiled;
+        } finally {
+            recompileLock.unlock();
+        }
     }
 
     // ---------- Mutations ----------
@@ -52,7 +65,7 @@ public class ChargesConfigService {
         sanitize(in);
         validate(in, false);
         in.setId(null);
-        return repo.save(in);
+        return saveAndRecompile(in);
     }
 
     public ChargesConfig update(Long id, ChargesConfig in) {
@@ -70,24 +83,27 @@ public class ChargesConfigService {
 
         sanitize(ex);
         validate(ex, true);
-        return repo.save(ex);
+        return saveAndRecompile(ex);
     }
 
     public ChargesConfig toggleActive(Long id, boolean active) {
         ChargesConfig cfg = getById(id);
         cfg.setActive(active);
-        return repo.save(cfg);
+        return saveAndRecompile(cfg);
     }
 
     public ChargesConfig setArchived(Long id, boolean archived) {
         ChargesConfig cfg = getById(id);
         cfg.setArchived(archived);
         if (archived) cfg.setActive(false); // archived implies inactive
-        return repo.save(cfg);
+        return saveAndRecompile(cfg);
     }
 
     public void delete(Long id) {
-        if (repo.existsById(id)) repo.deleteById(id);
+        if (repo.existsById(id)) {
+            repo.deleteById(id);
+            recompile();
+        }
     }
 
     public ChargesConfig duplicate(Long id) {
@@ -107,11 +123,17 @@ public class ChargesConfigService {
 
         sanitize(copy);
         validate(copy, false);
-        return repo.save(copy);
+        return saveAndRecompile(copy);
     }
 
     // ---------- Helpers ----------
 
+    private ChargesConfig saveAndRecompile(ChargesConfig c) {
+        ChargesConfig saved = repo.save(c);
+        recompile();
+        return saved;
+    }
+
     private void sanitize(ChargesConfig c) {
         c.setName(trim(c.getName()));
         if (c.getName() == null || c.getName().isBlank()) c.setName("Config");
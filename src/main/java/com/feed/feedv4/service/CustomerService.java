@@ -2,33 +2,73 @@ package com.feed.feedv4.service;
 
 import com.feed.feedv4.dto.CustomerDTO;
 import com.feed.feedv4.dto.CustomerContactPersonDTO;
+import com.feed.feedv4.dto.CustomerRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
+import com.feed.feedv4.event.MasterDataChangedEvent;
+import com.feed.feedv4.event.MasterDataChangedEvent.Kind;
 import com.feed.feedv4.model.Customer;
 import com.feed.feedv4.model.CustomerContactPerson;
 import com.feed.feedv4.repository.CustomerRepository;
 import com.feed.feedv4.repository.CustomerContactPersonRepository;
 import com.feed.feedv4.repository.InvoiceRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CustomerService {
     
+    private static final KeysetSpec<Customer, CustomerRowDTO> PAGE_SPEC = KeysetSpec
+            .of(Customer.class, CustomerRowDTO.class, CustomerRowDTO::getId,
+                "id", "customerName", "companyName", "email", "phone", "currency", "paymentTerms", "status",
+                "createdAt")
+            .sort("customerName", CustomerRowDTO::getCustomerName)
+            .sort("companyName", CustomerRowDTO::getCompanyName)
+            .sort("createdAt", CustomerRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("q", Op.CONTAINS, "customerName", "companyName", "email", "phone");
+
     private final CustomerRepository customerRepository;
     private final CustomerContactPersonRepository contactPersonRepository;
     private final InvoiceRepository invoiceRepository;
+    private final KeysetPager keysetPager;
+    private final ApplicationEventPublisher events;
+    private final SearchService searchService;
     
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getAllCustomers() {
-        return customerRepository.findAll().stream()
+        return customerRepository.findAllWithContactPersons().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
+
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CustomerRowDTO> getCustomerPage(Map<String, String> params) {
+        CursorPageDTO<CustomerRowDTO> page = keysetPager.page(PAGE_SPEC, params);
+        if (page.getItems().isEmpty()) return page;
+        // Receivables are derived, so one grouped query covers the whole page
+        Map<Long, BigDecimal> receivables = new HashMap<>();
+        for (Object[] row : invoiceRepository.sumOutstandingByCustomerIds(
+                page.getItems().stream().map(CustomerRowDTO::getId).toList())) {
+            receivables.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        page.getItems().forEach(r -> r.setReceivables(receivables.getOrDefault(r.getId(), BigDecimal.ZERO)));
+        return page;
+    }
     
     public List<CustomerDTO> getAllActiveCustomers() {
         return customerRepository.findAllActive().stream()
@@ -36,14 +76,16 @@ public class CustomerService {
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public CustomerDTO getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerRepository.findWithContactPersonsById(id)
             .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
         return convertToDTO(customer);
     }
     
+    @Transactional(readOnly = true)
     public CustomerDTO getCustomerWithFinancials(Long id) {
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerRepository.findWithContactPersonsById(id)
             .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
         
         CustomerDTO dto = convertToDTO(customer);
@@ -72,6 +114,7 @@ public class CustomerService {
         
         Customer customer = convertToEntity(customerDTO);
         Customer savedCustomer = customerRepository.save(customer);
+        events.publishEvent(new MasterDataChangedEvent(Kind.CUSTOMER, savedCustomer.getId()));
         
         return convertToDTO(savedCustomer);
     }
@@ -89,6 +132,7 @@ public class CustomerService {
         updateCustomerFields(existingCustomer, customerDTO);
         
         Customer updatedCustomer = customerRepository.save(existingCustomer);
+        events.publishEvent(new MasterDataChangedEvent(Kind.CUSTOMER, updatedCustomer.getId()));
         return convertToDTO(updatedCustomer);
     }
     
@@ -108,6 +152,7 @@ public class CustomerService {
         }
         
         customerRepository.delete(customer);
+        events.publishEvent(new MasterDataChangedEvent(Kind.CUSTOMER, id));
     }
     
     public CustomerDTO markCustomerInactive(Long id) {
@@ -116,6 +161,7 @@ public class CustomerService {
         
         customer.setStatus(Customer.CustomerStatus.INACTIVE);
         Customer updatedCustomer = customerRepository.save(customer);
+        events.publishEvent(new MasterDataChangedEvent(Kind.CUSTOMER, updatedCustomer.getId()));
         
         return convertToDTO(updatedCustomer);
     }
@@ -126,12 +172,20 @@ public class CustomerService {
         
         customer.setStatus(Customer.CustomerStatus.ACTIVE);
         Customer updatedCustomer = customerRepository.save(customer);
+        events.publishEvent(new MasterDataChangedEvent(Kind.CUSTOMER, updatedCustomer.getId()));
         
         return convertToDTO(updatedCustomer);
     }
     
+    /** Ranked and typo-tolerant; see {@link SearchService}. */
+    @Transactional(readOnly = true)
     public List<CustomerDTO> searchCustomers(String query) {
-        return customerRepository.searchCustomers(query).stream()
+        List<Long> ids = searchService.rankedIds("CUSTOMER", query, SearchService.MODULE_SEARCH_LIMIT);
+        Map<Long, Customer> byId = customerRepository.findWithContactPersonsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Customer::getId, c -> c));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
@@ -0,0 +1,273 @@
+package com.feed.feedv4.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.event.SalesActivityEvent;
+import com.feed.feedv4.model.DailyRollup;
+import com.feed.feedv4.model.DailyRollupShare;
+import com.feed.feedv4.model.Formulation;
+import com.feed.feedv4.model.InventoryMovement;
+import com.feed.feedv4.model.Invoice;
+import com.feed.feedv4.model.InvoiceStatus;
+import com.feed.feedv4.model.MovementType;
+import com.feed.feedv4.model.PaymentReceived;
+import com.feed.feedv4.model.PelletingBatch;
+import com.feed.feedv4.model.SalesReceipt;
+import com.feed.feedv4.repository.DailyRollupRepository;
+import com.feed.feedv4.repository.DailyRollupShareRepository;
+import com.feed.feedv4.repository.FormulationRepository;
+import com.feed.feedv4.repository.InventoryMovementRepository;
+import com.feed.feedv4.repository.InvoiceRepository;
+import com.feed.feedv4.repository.PaymentReceivedRepository;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.SalesReceiptRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintains daily_rollups and daily_rollup_shares. Sales documents use the
+ * same before/after contribution pattern as the payables projection; stock
+ * issues, finalizations and completed batches are append-only and just add.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class DailyRollupService {
+
+    private final DailyRollupRepository rollupRepository;
+    private final DailyRollupShareRepository shareRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final SalesReceiptRepository salesReceiptRepository;
+    private final PaymentReceivedRepository paymentReceivedRepository;
+    private final FormulationRepository formulationRepository;
+    private final InventoryMovementRepository movementRepository;
+    private final PelletingBatchRepository pelletingBatchRepository;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * What a single sales document contributes to its day's revenue, receipts
+     * and open receivables.
+     */
+    public record SalesContribution(LocalDate date, Long customerId, BigDecimal revenue, BigDecimal receipts,
+                                    BigDecimal receivable) {
+
+        /** Open receivables follow the invoice's balance due, so payments applied to it move its own day. */
+        public static SalesContribution of(Invoice invoice) {
+            if (invoice == null || invoice.getInvoiceDate() == null) return null;
+            InvoiceStatus status = invoice.getStatus();
+            boolean open = status != null && status != InvoiceStatus.DRAFT && status != InvoiceStatus.VOID;
+            BigDecimal revenue = open ? nz(invoice.getTotal()) : BigDecimal.ZERO;
+            BigDecimal receivable = open && nz(invoice.getBalanceDue()).signum() > 0
+                ? invoice.getBalanceDue() : BigDecimal.ZERO;
+            return new SalesContribution(invoice.getInvoiceDate(), invoice.getCustomerId(), revenue,
+                BigDecimal.ZERO, receivable);
+        }
+
+        /** A completed sales receipt is a cash sale: revenue and receipt on the same day. */
+        public static SalesContribution of(SalesReceipt receipt) {
+            if (receipt == null || receipt.getReceiptDate() == null) return null;
+            BigDecimal total = receipt.getStatus() == SalesReceipt.SalesReceiptStatus.COMPLETED
+                ? nz(receipt.getTotal()) : BigDecimal.ZERO;
+            return new SalesContribution(receipt.getReceiptDate(), receipt.getCustomerId(), total, total,
+                BigDecimal.ZERO);
+        }
+
+        public static SalesContribution of(PaymentReceived payment) {
+            if (payment == null || payment.getPaymentDate() == null) return null;
+            BigDecimal received = payment.getStatus() == PaymentReceived.PaymentStatus.VOID
+                ? BigDecimal.ZERO : nz(payment.getAmountReceived());
+            return new SalesContribution(payment.getPaymentDate(), payment.getCustomerId(), BigDecimal.ZERO,
+                received, BigDecimal.ZERO);
+        }
+
+        boolean isZero() {
+            return revenue.signum() == 0 && receipts.signum() == 0 && receivable.signum() == 0;
+        }
+
+        boolean sameDayAndCustomer(SalesContribution other) {
+            return date.equals(other.date) && Objects.equals(customerId, other.customerId);
+        }
+
+        SalesContribution minus(SalesContribution other) {
+            return new SalesContribution(date, customerId, revenue.subtract(other.revenue),
+                receipts.subtract(other.receipts), receivable.subtract(other.receivable));
+        }
+
+        SalesContribution negate() {
+            return new SalesContribution(date, customerId, revenue.negate(), receipts.negate(), receivable.negate());
+        }
+
+        private static BigDecimal nz(BigDecimal v) {
+            return v == null ? BigDecimal.ZERO : v;
+        }
+    }
+
+    // ─── INCREMENTAL UPDATES ──────────────────────────────────────────────────
+
+    public void salesChanged(SalesContribution before, SalesContribution after) {
+        if (Objects.equals(before, after)) return;
+        if (before != null && after != null && before.sameDayAndCustomer(after)) {
+            applySales(after.minus(before));
+            return;
+        }
+        if (before != null) applySales(before.negate());
+        if (after != null) applySales(after);
+    }
+
+    /** Quick payments recorded straight against an invoice; negative for a reversal. */
+    public void receiptRecorded(Long customerId, BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) return;
+        applySales(new SalesContribution(LocalDate.now(), customerId, BigDecimal.ZERO, amount, BigDecimal.ZERO));
+    }
+
+    public void formulationFinalized(double batchKg, double costPerKg) {
+        if (batchKg <= 0) return;
+        rollupRepository.addFormulation(LocalDate.now(), batchKg, batchKg * costPerKg);
+    }
+
+    public void materialIssued(Long rawMaterialId, double kg) {
+        if (kg <= 0) return;
+        LocalDate today = LocalDate.now();
+        rollupRepository.addMaterialIssued(today, kg);
+        applyShare(today, DailyRollupShare.Kind.MATERIAL_ISSUED, rawMaterialId, BigDecimal.valueOf(kg));
+    }
+
+    public void batchCompleted(PelletingBatch batch) {
+        LocalDate day = batch.getEndTime() != null ? batch.getEndTime().toLocalDate() : LocalDate.now();
+        rollupRepository.addCompletedBatch(day, batch.getTargetQuantityKg(),
+            batch.getActualYieldKg(), batch.getTotalWastageKg());
+    }
+
+    private void applySales(SalesContribution delta) {
+        if (delta.isZero()) return;
+        rollupRepository.addSales(delta.date(), delta.revenue(), delta.receipts(), delta.receivable());
+        if (delta.customerId() != null && delta.receipts().signum() != 0) {
+            applyShare(delta.date(), DailyRollupShare.Kind.CUSTOMER_RECEIPTS, delta.customerId(), delta.receipts());
+        }
+        events.publishEvent(new SalesActivityEvent(delta.date()));
+    }
+
+    private void applyShare(LocalDate date, DailyRollupShare.Kind kind, Long refId, BigDecimal delta) {
+        if (refId == null) return;
+        shareRepository.addAmount(date, kind.name(), refId, delta);
+    }
+
+    // ─── READS ────────────────────────────────────────────────────────────────
+
+    /** One row per day in [from, to], zero-filled where nothing happened. */
+    @Transactional(readOnly = true)
+    public List<DailyRollup> getDays(LocalDate from, LocalDate to) {
+        Map<LocalDate, DailyRollup> stored = rollupRepository.findByRollupDateBetweenOrderByRollupDateAsc(from, to)
+            .stream()
+            .collect(Collectors.toMap(DailyRollup::getRollupDate, Function.identity()));
+
+        List<DailyRollup> days = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            days.add(stored.getOrDefault(d, DailyRollup.empty(d)));
+        }
+        return days;
+    }
+
+    /** Largest refIds by summed share amount over [from, to]. */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getTop(DailyRollupShare.Kind kind, LocalDate from, LocalDate to, int limit) {
+        Map<Long, BigDecimal> top = new LinkedHashMap<>();
+        for (Object[] row : shareRepository.findTop(kind, from, to, PageRequest.of(0, limit))) {
+            top.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        return top;
+    }
+
+    /** Balance still owed on open invoices, summed from the rollups. */
+    @Transactional(readOnly = true)
+    public BigDecimal getOpenReceivables() {
+        return rollupRepository.sumOpenReceivables();
+    }
+
+    // ─── REBUILD ──────────────────────────────────────────────────────────────
+
+    /**
+     * Recomputes both tables from source documents; runs as the
+     * 'daily-rollups' data backfill. Quick payments recorded directly on
+     * invoices carry no date of their own, so their receipts are not
+     * recovered, though open receivables still reflect them.
+     */
+    public void rebuild() {
+        shareRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+
+        Map<LocalDate, DailyRollup> days = new LinkedHashMap<>();
+        Map<String, DailyRollupShare> shares = new LinkedHashMap<>();
+        Function<LocalDate, DailyRollup> dayFor = d -> days.computeIfAbsent(d, DailyRollup::empty);
+
+        List<SalesContribution> sales = new ArrayList<>();
+        invoiceRepository.findAll().forEach(i -> sales.add(SalesContribution.of(i)));
+        salesReceiptRepository.findAll().forEach(r -> sales.add(SalesContribution.of(r)));
+        paymentReceivedRepository.findAll().forEach(p -> sales.add(SalesContribution.of(p)));
+
+        for (SalesContribution c : sales) {
+            if (c == null || c.isZero()) continue;
+            DailyRollup day = dayFor.apply(c.date());
+            day.setRevenue(day.getRevenue().add(c.revenue()));
+            day.setReceipts(day.getReceipts().add(c.receipts()));
+            day.setOpenReceivables(day.getOpenReceivables().add(c.receivable()));
+            if (c.customerId() != null && c.receipts().signum() != 0) {
+                addShare(shares, c.date(), DailyRollupShare.Kind.CUSTOMER_RECEIPTS, c.customerId(), c.receipts());
+            }
+        }
+
+        for (Formulation f : formulationRepository.findAll()) {
+            if (!f.isFinalized() || f.getUpdatedAt() == null || f.getBatchSize() <= 0) continue;
+            DailyRollup day = dayFor.apply(f.getUpdatedAt().toLocalDate());
+            day.setFormulatedKg(day.getFormulatedKg() + f.getBatchSize());
+            day.setFormulatedCost(day.getFormulatedCost() + f.getBatchSize() * f.getCostPerKg());
+        }
+
+        for (InventoryMovement mv : movementRepository.findAll()) {
+            if (mv.getMovementType() != MovementType.ISSUE || mv.getMovementDate() == null
+                    || mv.getQuantity() == null || mv.getRawMaterial() == null) continue;
+            LocalDate d = mv.getMovementDate().toLocalDate();
+            DailyRollup day = dayFor.apply(d);
+            day.setMaterialIssuedKg(day.getMaterialIssuedKg() + mv.getQuantity());
+            addShare(shares, d, DailyRollupShare.Kind.MATERIAL_ISSUED, mv.getRawMaterial().getId(),
+                BigDecimal.valueOf(mv.getQuantity()));
+        }
+
+        for (PelletingBatch b : pelletingBatchRepository.findByStatus("Completed")) {
+            if (b.getEndTime() == null) continue;
+            DailyRollup day = dayFor.apply(b.getEndTime().toLocalDate());
+            day.setBatchesCompleted(day.getBatchesCompleted() + 1);
+            day.setPelletingTargetKg(day.getPelletingTargetKg() + b.getTargetQuantityKg());
+            day.setPelletingYieldKg(day.getPelletingYieldKg() + b.getActualYieldKg());
+            day.setPelletingWastageKg(day.getPelletingWastageKg() + b.getTotalWastageKg());
+        }
+
+        rollupRepository.saveAll(days.values());
+        shareRepository.saveAll(shares.values());
+    }
+
+    private void addShare(Map<String, DailyRollupShare> shares, LocalDate date,
+                          DailyRollupShare.Kind kind, Long refId, BigDecimal amount) {
+        DailyRollupShare share = shares.computeIfAbsent(date + "|" + kind + "|" + refId,
+            k -> DailyRollupShare.builder()
+                .rollupDate(date)
+                .kind(kind)
+                .refId(refId)
+                .amount(BigDecimal.ZERO)
+                .build());
+        share.setAmount(share.getAmount().add(amount));
+    }
+}
@@ -1,16 +1,26 @@
 package com.feed.feedv4.service;
 
 import com.feed.feedv4.dto.DashboardSummaryDTO;
+import com.feed.feedv4.dto.PelletingStatsDTO;
+import com.feed.feedv4.model.Customer;
+import com.feed.feedv4.model.DailyRollup;
+import com.feed.feedv4.model.DailyRollupShare;
 import com.feed.feedv4.model.RawMaterial;
 import com.feed.feedv4.model.Role;
 import com.feed.feedv4.repository.*;
+import com.feed.feedv4.service.DashboardSnapshotCache.Section;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Assembles the role dashboard from per-section fragments held in
+ * {@link DashboardSnapshotCache}; the builders below only run on a miss.
+ */
 @Service
 public class DashboardService {
 
@@ -24,83 +34,155 @@ public class DashboardService {
     private RawMaterialRepository rawMaterialRepo;
 
     @Autowired
-    private InvoiceRepository invoiceRepo;
+    private CustomerRepository customerRepo;
 
     @Autowired
-    private PaymentRepository paymentRepo;
+    private DailyRollupService dailyRollupService;
+
+    @Autowired
+    private PelletingAnalyticsService pelletingAnalyticsService;
+
+    @Autowired
+    private DashboardSnapshotCache snapshotCache;
+
+    private static final int TREND_DAYS = 30;
 
     public DashboardSummaryDTO getDashboardByRoles(Set<Role> roles) {
-        System.out.println("Dashboard requested for role: " + roles);
         DashboardSummaryDTO dto = new DashboardSummaryDTO();
         dto.setSnapshotDate(LocalDate.now());
 
         List<String> alerts = new ArrayList<>();
-        List<String> activityLog = new ArrayList<>();
 
-        // --- Shared Smart Alerts ---
-        if (formulationRepo.countByCreatedAtAfter(LocalDate.now().minusDays(3).atStartOfDay()) == 0) {
-            alerts.add("⚠️ No formulations in the last 3 days.");
-        }
+        DashboardSummaryDTO shared = snapshotCache.get(Section.SHARED, this::buildShared);
+        alerts.addAll(shared.getSmartAlerts());
 
-        // --- For Formulators / Admin ---
         if (roles.contains(Role.ADMIN) || roles.contains(Role.FORMULATOR)) {
-            int todayFormulations = formulationRepo.countByCreatedAtAfter(LocalDate.now().atStartOfDay());
-            dto.setTodaysFormulations(todayFormulations);
-
-            // Assume avg cost/kg stubbed at 102.3
-            dto.setAvgCostPerKgLast30Days(102.3);
-            dto.setTopUsedRawMaterial("Maize");
-
-            if (dto.getAvgCostPerKgLast30Days() > 110) {
-                alerts.add("⚠️ Average cost per kg exceeds threshold.");
-            }
+            DashboardSummaryDTO f = snapshotCache.get(Section.FORMULATION, this::buildFormulation);
+            dto.setTodaysFormulations(f.getTodaysFormulations());
+            dto.setAvgCostPerKgLast30Days(f.getAvgCostPerKgLast30Days());
+            dto.setTopUsedRawMaterial(f.getTopUsedRawMaterial());
+            alerts.addAll(f.getSmartAlerts());
         }
 
-        // --- For Pelleting Operators ---
         if (roles.contains(Role.ADMIN) || roles.contains(Role.OPERATOR)) {
-            int pendingJobs = pelletingRepo.countByStatus("Not Started");
-            dto.setPendingPelletingJobs(pendingJobs);
-
-            dto.setPelletingEfficiency(91.5); // dummy
-            dto.setAvgWastageKg(3.8); // dummy
+            DashboardSummaryDTO p = snapshotCache.get(Section.PELLETING, this::buildPelleting);
+            dto.setPendingPelletingJobs(p.getPendingPelletingJobs());
+            dto.setPelletingEfficiency(p.getPelletingEfficiency());
+            dto.setAvgWastageKg(p.getAvgWastageKg());
         }
 
-        // --- For Inventory Managers ---
         if (roles.contains(Role.ADMIN) || roles.contains(Role.INVENTORY_MANAGER)) {
-            List<RawMaterial> lowStock = rawMaterialRepo.findLowStock(50.0);
-            List<Map<String, Object>> lowStockMapped = lowStock.stream().map(rm -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("name", rm.getName());
-                map.put("inStockKg", rm.getInStockKg());
-                map.put("threshold", 50.0);
-                return map;
-            }).collect(Collectors.toList());
-            dto.setLowStockRMs(lowStockMapped);
-
-            LocalDate cutoff = LocalDate.now().plusDays(7);
-            List<RawMaterial> expiringSoon = rawMaterialRepo.findExpiringWithinDays(cutoff);
-            List<Map<String, Object>> expiringMapped = expiringSoon.stream().map(rm -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("name", rm.getName());
-                map.put("expiryDate", rm.getExpiryDate());
-                return map;
-            }).collect(Collectors.toList());
-            dto.setExpiringRMs(expiringMapped);
+            DashboardSummaryDTO i = snapshotCache.get(Section.INVENTORY, this::buildInventory);
+            dto.setLowStockRMs(i.getLowStockRMs());
+            dto.setExpiringRMs(i.getExpiringRMs());
         }
 
-        // --- For Finance ---
         if (roles.contains(Role.ADMIN) || roles.contains(Role.FINANCE_OFFICER)) {
-            List<Double> revenueTrend = new ArrayList<>();
-            for (int i = 0; i < 30; i++) revenueTrend.add(Math.random() * 5000);
-            dto.setRevenueTrendLast30Days(revenueTrend);
-
-            dto.setTopPayingClients(List.of("AquaTech Ltd.", "GreenFeeds", "FarmPro"));
-            dto.setReceivablesAmount(126500.00);
+            DashboardSummaryDTO fin = snapshotCache.get(Section.FINANCE, this::buildFinance);
+            dto.setRevenueTrendLast30Days(fin.getRevenueTrendLast30Days());
+            dto.setTopPayingClients(fin.getTopPayingClients());
+            dto.setReceivablesAmount(fin.getReceivablesAmount());
         }
 
         dto.setSmartAlerts(alerts);
-        dto.setRecentActivityLog(activityLog); // future: inject log repo
+        dto.setRecentActivityLog(List.of()); // future: inject log repo
 
         return dto;
     }
+
+    // ─── SECTION BUILDERS ─────────────────────────────────────────────────────
+    // Fragments are shared between requests, so collections are made immutable.
+
+    private DashboardSummaryDTO buildShared() {
+        DashboardSummaryDTO frag = new DashboardSummaryDTO();
+        List<String> alerts = new ArrayList<>();
+        if (formulationRepo.countByCreatedAtAfter(LocalDate.now().minusDays(3).atStartOfDay()) == 0) {
+            alerts.add("⚠️ No formulations in the last 3 days.");
+        }
+        frag.setSmartAlerts(List.copyOf(alerts));
+        return frag;
+    }
+
+    private DashboardSummaryDTO buildFormulation() {
+        DashboardSummaryDTO frag = new DashboardSummaryDTO();
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(TREND_DAYS - 1);
+        List<DailyRollup> days = dailyRollupService.getDays(from, to);
+
+        frag.setTodaysFormulations(formulationRepo.countByCreatedAtAfter(to.atStartOfDay()));
+
+        double kg = days.stream().mapToDouble(DailyRollup::getFormulatedKg).sum();
+        double cost = days.stream().mapToDouble(DailyRollup::getFormulatedCost).sum();
+        frag.setAvgCostPerKgLast30Days(kg > 0 ? cost / kg : 0.0);
+
+        frag.setTopUsedRawMaterial(dailyRollupService
+                .getTop(DailyRollupShare.Kind.MATERIAL_ISSUED, from, to, 1).keySet().stream()
+                .findFirst()
+                .flatMap(rawMaterialRepo::findById)
+                .map(RawMaterial::getName)
+                .orElse(null));
+
+        frag.setSmartAlerts(frag.getAvgCostPerKgLast30Days() > 110
+                ? List.of("⚠️ Average cost per kg exceeds threshold.")
+                : List.of());
+        return frag;
+    }
+
+    private DashboardSummaryDTO buildPelleting() {
+        DashboardSummaryDTO frag = new DashboardSummaryDTO();
+        frag.setPendingPelletingJobs(pelletingRepo.countByStatus("Not Started"));
+
+        // Plant-wide row of pelleting_stats; rolling yield reacts to recent batches first
+        PelletingStatsDTO overall = pelletingAnalyticsService.getOverall();
+        Double efficiency = overall.getRollingYieldPct() != null ? overall.getRollingYieldPct() : overall.getYieldPct();
+        frag.setPelletingEfficiency(efficiency != null ? efficiency : 0.0);
+        frag.setAvgWastageKg(overall.getAvgWastageKg());
+        return frag;
+    }
+
+    private DashboardSummaryDTO buildInventory() {
+        DashboardSummaryDTO frag = new DashboardSummaryDTO();
+
+        List<Map<String, Object>> lowStockMapped = rawMaterialRepo.findLowStock(50.0).stream().map(rm -> {
+            Map<String, Object> map = new HashMap<>();
+            map.put("name", rm.getName());
+            map.put("inStockKg", rm.getInStockKg());
+            map.put("threshold", 50.0);
+            return Collections.unmodifiableMap(map);
+        }).toList();
+        frag.setLowStockRMs(lowStockMapped);
+
+        LocalDate cutoff = LocalDate.now().plusDays(7);
+        List<Map<String, Object>> expiringMapped = rawMaterialRepo.findExpiringWithinDays(cutoff).stream().map(rm -> {
+            Map<String, Object> map = new HashMap<>();
+            map.put("name", rm.getName());
+            map.put("expiryDate", rm.getExpiryDate());
+            return Collections.unmodifiableMap(map);
+        }).toList();
+        frag.setExpiringRMs(expiringMapped);
+        return frag;
+    }
+
+    private DashboardSummaryDTO buildFinance() {
+        DashboardSummaryDTO frag = new DashboardSummaryDTO();
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(TREND_DAYS - 1);
+
+        frag.setRevenueTrendLast30Days(dailyRollupService.getDays(from, to).stream()
+                .map(d -> d.getRevenue().doubleValue())
+                .toList());
+
+        Set<Long> topIds = dailyRollupService
+                .getTop(DailyRollupShare.Kind.CUSTOMER_RECEIPTS, from, to, 3).keySet();
+        Map<Long, String> names = customerRepo.findAllById(topIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Customer::getCustomerName));
+        frag.setTopPayingClients(topIds.stream()
+                .map(names::get)
+                .filter(Objects::nonNull)
+                .toList());
+
+        BigDecimal receivables = dailyRollupService.getOpenReceivables();
+        frag.setReceivablesAmount(receivables != null ? receivables.doubleValue() : 0.0);
+        return frag;
+    }
 }
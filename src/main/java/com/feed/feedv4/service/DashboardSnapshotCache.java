@@ -0,0 +1,117 @@
+package com.feed.feedv4.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.feed.feedv4.dto.DashboardSummaryDTO;
+import com.feed.feedv4.event.FormulationChangedEvent;
+import com.feed.feedv4.event.InventoryChangedEvent;
+import com.feed.feedv4.event.PelletingBatchChangedEvent;
+import com.feed.feedv4.event.SalesActivityEvent;
+
+/**
+ * Holds one precomputed dashboard fragment per role section. Fragments are
+ * dropped when a domain event touches their data (after the publishing
+ * transaction commits) and are otherwise reused until {@code max-age}, which
+ * also covers day rollover and writes that publish no event.
+ */
+@Component
+public class DashboardSnapshotCache {
+
+    public enum Section {
+        SHARED, FORMULATION, PELLETING, INVENTORY, FINANCE
+    }
+
+    private record Entry(DashboardSummaryDTO fragment, long generation, long loadedAtNanos) {
+    }
+
+    private final Map<Section, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Section, AtomicLong> generations = new EnumMap<>(Section.class);
+    private final Map<Section, ReentrantLock> locks = new EnumMap<>(Section.class);
+    private final long maxAgeNanos;
+
+    public DashboardSnapshotCache(@Value("${dashboard.snapshot.max-age-seconds:60}") long maxAgeSeconds) {
+        this.maxAgeNanos = Duration.ofSeconds(maxAgeSeconds).toNanos();
+        for (Section s : Section.values()) {
+            generations.put(s, new AtomicLong());
+            locks.put(s, new ReentrantLock());
+        }
+    }
+
+    /**
+     * Returns the cached fragment for {@code section}, loading it at most once
+     * per invalidation even when many dashboards poll at the same time. The
+     * loader runs queries, so it is guarded by a ReentrantLock rather than a
+     * monitor, which would pin a virtual thread to its carrier for the whole load.
+     */
+    public DashboardSummaryDTO get(Section section, Supplier<DashboardSummaryDTO> loader) {
+        Entry entry = entries.get(section);
+        if (isFresh(section, entry)) return entry.fragment();
+
+        ReentrantLock lock = locks.get(section);
+        lock.lock();
+        try {
+            entry = entries.get(section);
+            if (isFresh(section, entry)) return entry.fragment();
+
+            // Read the generation first: an event arriving mid-load leaves the entry stale
+            long generation = generations.get(section).get();
+            DashboardSummaryDTO fragment = loader.get();
+            entries.put(section, new Entry(fragment, generation, System.nanoTime()));
+            return fragment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(Section... sections) {
+        for (Section s : sections) {
+            generations.get(s).incrementAndGet();
+        }
+    }
+
+    private boolean isFresh(Section section, Entry entry) {
+        return entry != null
+            && entry.generation() == generations.get(section).get()
+            && System.nanoTime() - entry.loadedAtNanos() < maxAgeNanos;
+    }
+
+    // ─── INVALIDATION ─────────────────────────────────────────────────────────
+    // Ordered ahead of LiveUpdateHub so pushed refresh notices never hit a stale fragment.
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(FormulationChangedEvent event) {
+        // Finalizing also issues stock and queues a pelleting batch
+        invalidate(Section.SHARED, Section.FORMULATION, Section.PELLETING);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PelletingBatchChangedEvent event) {
+        invalidate(Section.PELLETING);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(InventoryChangedEvent event) {
+        // Top-used raw material is part of the formulation section
+        invalidate(Section.INVENTORY, Section.FORMULATION);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(SalesActivityEvent event) {
+        invalidate(Section.FINANCE);
+    }
+}
@@ -0,0 +1,78 @@
+package com.feed.feedv4.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the data backfills that migrations request. A migration that adds a
+ * derived table (a projection, the ledger, rollups) also inserts a row into
+ * data_backfills; on the next start the matching rebuild runs once, after
+ * Flyway and before the web server accepts requests.
+ *
+ * Each backfill runs in one transaction holding its row lock, so with
+ * several instances starting at once exactly one does the work and the
+ * others wait, then see it completed.
+ */
+@Component
+public class DataBackfillRunner implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DataBackfillRunner.class);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Map<String, Runnable> backfills = new LinkedHashMap<>();
+
+    public DataBackfillRunner(JdbcTemplate jdbc, TransactionTemplate tx,
+                              PayablesProjectionService payablesProjectionService,
+                              ExpenseService expenseService,
+                              PaymentMadeService paymentMadeService,
+                              BillService billService,
+                              InvoiceService invoiceService,
+                              PaymentReceivedService paymentReceivedService,
+                              SalesReceiptService salesReceiptService,
+                              DailyRollupService dailyRollupService) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        backfills.put("payables-projection", payablesProjectionService::rebuild);
+        backfills.put("ledger-expenses", expenseService::repostLedger);
+        backfills.put("ledger-payments-made", paymentMadeService::repostLedger);
+        backfills.put("ledger-bills", billService::repostLedger);
+        backfills.put("ledger-invoices", invoiceService::repostLedger);
+        backfills.put("ledger-payments-received", paymentReceivedService::repostLedger);
+        backfills.put("ledger-sales-receipts", salesReceiptService::repostLedger);
+        backfills.put("daily-rollups", dailyRollupService::rebuild);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> pending = jdbc.queryForList(
+            "SELECT name FROM data_backfills WHERE completed_at IS NULL ORDER BY requested_at, name", String.class);
+        for (String name : pending) {
+            Runnable backfill = backfills.get(name);
+            if (backfill == null) {
+                log.warn("No backfill named '{}'; leaving it pending", name);
+                continue;
+            }
+            tx.executeWithoutResult(status -> run(name, backfill));
+        }
+    }
+
+    private void run(String name, Runnable backfill) {
+        List<Object> completed = jdbc.queryForList(
+            "SELECT completed_at FROM data_backfills WHERE name = ? FOR UPDATE", Object.class, name);
+        if (completed.isEmpty() || completed.get(0) != null) return;
+
+        long started = System.currentTimeMillis();
+        backfill.run();
+        jdbc.update("UPDATE data_backfills SET completed_at = now() WHERE name = ?", name);
+        log.info("Backfill '{}' completed in {} ms", name, System.currentTimeMillis() - started);
+    }
+}
@@ -2,10 +2,18 @@ package com.feed.feedv4.service;
 
 import com.feed.feedv4.dto.ExpenseDTO;
 import com.feed.feedv4.dto.ExpenseAccountingEntryDTO;
+import com.feed.feedv4.dto.ExpenseRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.Expense;
 import com.feed.feedv4.model.ExpenseAccountingEntry;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
 import com.feed.feedv4.repository.ExpenseRepository;
 import com.feed.feedv4.repository.ExpenseAccountingEntryRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
+import com.feed.feedv4.service.JournalService.PostingLine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,20 +22,45 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ExpenseService {
     
+    private static final KeysetSpec<Expense, ExpenseRowDTO> PAGE_SPEC = KeysetSpec
+            .of(Expense.class, ExpenseRowDTO.class, ExpenseRowDTO::getId,
+                "id", "date", "expenseAccount", "referenceNumber", "vendorId", "vendorName", "customerId",
+                "customerName", "paidThrough", "amount", "netAmount", "status", "createdAt")
+            .sort("date", ExpenseRowDTO::getDate)
+            .sort("amount", ExpenseRowDTO::getAmount)
+            .sort("expenseAccount", ExpenseRowDTO::getExpenseAccount)
+            .sort("createdAt", ExpenseRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("vendorId", Op.EQ, "vendorId")
+            .filter("customerId", Op.EQ, "customerId")
+            .filter("expenseAccount", Op.EQ, "expenseAccount")
+            .filter("from", Op.GTE, "date")
+            .filter("to", Op.LTE, "date")
+            .filter("q", Op.CONTAINS, "referenceNumber", "vendorName", "customerName", "expenseAccount");
+
     private final ExpenseRepository expenseRepository;
     private final ExpenseAccountingEntryRepository accountingEntryRepository;
+    private final JournalService journalService;
+    private final KeysetPager keysetPager;
     
     public List<ExpenseDTO> getAllExpenses() {
         return expenseRepository.findAll().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
+
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseRowDTO> getExpensePage(Map<String, String> params) {
+        return keysetPager.page(PAGE_SPEC, params);
+    }
     
     public ExpenseDTO getExpenseById(Long id) {
         Expense expense = expenseRepository.findById(id)
@@ -54,10 +87,10 @@ public class ExpenseService {
         }
         
         Expense expense = convertToEntity(expenseDTO);
+        List<PostingLine> lines = buildPostingLines(expense);
+        syncAccountingEntries(expense, lines);
         Expense savedExpense = expenseRepository.save(expense);
-        
-        // Generate accounting entries
-        generateAccountingEntries(savedExpense);
+        postToLedger(savedExpense, lines);
         
         return convertToDTO(savedExpense);
     }
@@ -75,10 +108,11 @@ public class ExpenseService {
         
         updateExpenseFields(existingExpense, expenseDTO);
         
-        // Clear and regenerate accounting entries
-        existingExpense.getAccountingEntries().clear();
+        // Only rewrite accounting entries when the amounts or accounts actually changed
+        List<PostingLine> lines = buildPostingLines(existingExpense);
+        syncAccountingEntries(existingExpense, lines);
         Expense updatedExpense = expenseRepository.save(existingExpense);
-        generateAccountingEntries(updatedExpense);
+        postToLedger(updatedExpense, lines);
         
         return convertToDTO(updatedExpense);
     }
@@ -87,6 +121,7 @@ public class ExpenseService {
         Expense expense = expenseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
         
+        journalService.reverse(JournalEntry.SourceType.EXPENSE, expense.getId());
         expenseRepository.delete(expense);
     }
     
@@ -108,26 +143,53 @@ public class ExpenseService {
             .collect(Collectors.toList());
     }
     
-    private void generateAccountingEntries(Expense expense) {
-        // Entry 1: Debit Expense Account
-        ExpenseAccountingEntry debitEntry = ExpenseAccountingEntry.builder()
-            .account(expense.getExpenseAccount())
-            .debit(expense.getNetAmount())
-            .credit(BigDecimal.ZERO)
-            .sequence(0)
-            .build();
-        expense.addAccountingEntry(debitEntry);
-        
-        // Entry 2: Credit Payment Account
-        ExpenseAccountingEntry creditEntry = ExpenseAccountingEntry.builder()
-            .account(expense.getPaidThrough())
-            .debit(BigDecimal.ZERO)
-            .credit(expense.getNetAmount())
-            .sequence(1)
-            .build();
-        expense.addAccountingEntry(creditEntry);
+    private List<PostingLine> buildPostingLines(Expense expense) {
+        // netAmount is normally derived in @PrePersist/@PreUpdate, which have not run yet on update
+        expense.calculateNetAmount();
+        return List.of(
+            // Entry 1: Debit Expense Account
+            PostingLine.debit(expense.getExpenseAccount(), AccountType.EXPENSE, expense.getNetAmount()),
+            // Entry 2: Credit Payment Account
+            PostingLine.credit(expense.getPaidThrough(), AccountType.ASSET, expense.getNetAmount())
+        );
+    }
+    
+    /** Keeps the per-expense entry view in step with the posting lines, touching rows only when they change. */
+    private void syncAccountingEntries(Expense expense, List<PostingLine> lines) {
+        List<ExpenseAccountingEntry> current = expense.getAccountingEntries();
+        boolean unchanged = current.size() == lines.size();
+        for (int i = 0; unchanged && i < lines.size(); i++) {
+            ExpenseAccountingEntry e = current.get(i);
+            PostingLine l = lines.get(i);
+            unchanged = e.getAccount().equals(l.account())
+                && e.getDebit().compareTo(l.debit()) == 0
+                && e.getCredit().compareTo(l.credit()) == 0;
+        }
+        if (unchanged) return;
         
-        expenseRepository.save(expense);
+        current.clear();
+        int seq = 0;
+        for (PostingLine l : lines) {
+            expense.addAccountingEntry(ExpenseAccountingEntry.builder()
+                .account(l.account())
+                .debit(l.debit())
+                .credit(l.credit())
+                .sequence(seq++)
+                .build());
+        }
+    }
+    
+    /** Posts every expense; a no-op for those already posted. Backfills expenses recorded before the ledger. */
+    public void repostLedger() {
+        for (Expense expense : expenseRepository.findAll()) {
+            postToLedger(expense, buildPostingLines(expense));
+        }
+    }
+    
+    private void postToLedger(Expense expense, List<PostingLine> lines) {
+        journalService.repost(JournalEntry.SourceType.EXPENSE, expense.getId(), expense.getDate(),
+            "Expense " + (expense.getReferenceNumber() != null ? expense.getReferenceNumber() : "#" + expense.getId()),
+            lines);
     }
     
     private ExpenseDTO convertToDTO(Expense expense) {
@@ -0,0 +1,152 @@
+package com.feed.feedv4.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.feed.feedv4.model.ChargesConfig;
+import com.feed.feedv4.model.ChargesConfig.FeeBasis;
+
+/**
+ * Immutable pricing view of the active, non-archived charges configs.
+ * {@link ChargesConfigService} compiles a new one whenever a config changes
+ * and swaps it in whole, so pricing is a pure in-memory function.
+ */
+public final class FeeCalculator {
+
+    public static final FeeCalculator EMPTY = new FeeCalculator(Map.of(), null, null);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /** Fee terms of one config with every null already resolved. */
+    public record Fees(Long configId, String configName,
+                       FeeBasis pelletingBasis, double pelletingFee,
+                       FeeBasis formulationBasis, double formulationFee,
+                       double systemFeePercent) {
+
+        public static final Fees NONE = new Fees(null, null, FeeBasis.PER_KG, 0.0, FeeBasis.PER_KG, 0.0, 0.0);
+
+        static Fees of(ChargesConfig c) {
+            return new Fees(c.getId(), c.getName(),
+                c.getPelletingFeeType() != null ? c.getPelletingFeeType() : FeeBasis.PER_KG,
+                c.getPelletingFee() != null ? c.getPelletingFee() : 0.0,
+                c.getFormulationFeeType() != null ? c.getFormulationFeeType() : FeeBasis.PER_KG,
+                c.getFormulationFee() != null ? c.getFormulationFee() : 0.0,
+                c.getSystemFeePercent() != null ? c.getSystemFeePercent() : 0.0);
+        }
+    }
+
+    /** One priced component: quantity (kg or 1 batch) × rate, rounded to cents. */
+    public record Charge(BigDecimal quantity, BigDecimal rate, BigDecimal amount) {
+
+        static final Charge NONE = new Charge(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO.setScale(2));
+
+        public boolean isZero() {
+            return amount.signum() == 0;
+        }
+    }
+
+    /** Price of one batch; the system fee is a percentage of material and both fees. */
+    public record BatchPrice(Fees fees, BigDecimal kg, Charge material, Charge pelleting, Charge formulation,
+                             BigDecimal systemFee, BigDecimal total) {
+    }
+
+    private final Map<Long, Fees> byId;
+    private final Fees effective;
+    private final ChargesConfig effectiveConfig;
+
+    private FeeCalculator(Map<Long, Fees> byId, Fees effective, ChargesConfig effectiveConfig) {
+        this.byId = byId;
+        this.effective = effective;
+        this.effectiveConfig = effectiveConfig;
+    }
+
+    /** The effective config is the most recently changed active one. */
+    public static FeeCalculator compile(Collection<ChargesConfig> active) {
+        if (active.isEmpty()) return EMPTY;
+        Map<Long, Fees> byId = active.stream()
+            .collect(Collectors.toUnmodifiableMap(ChargesConfig::getId, Fees::of));
+        ChargesConfig latest = active.stream()
+            .max(Comparator.comparing(FeeCalculator::lastChanged, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(ChargesConfig::getId))
+            .orElseThrow();
+        return new FeeCalculator(byId, byId.get(latest.getId()), copyOf(latest));
+    }
+
+    // ─── LOOKUPS ──────────────────────────────────────────────────────────────
+
+    public Optional<Fees> effective() {
+        return Optional.ofNullable(effective);
+    }
+
+    /** Fees of an active config; empty if it is inactive, archived or unknown. */
+    public Optional<Fees> get(Long configId) {
+        return Optional.ofNullable(byId.get(configId));
+    }
+
+    /** A fresh copy of the effective config, safe for callers to modify. */
+    public Optional<ChargesConfig> effectiveConfig() {
+        return Optional.ofNullable(effectiveConfig).map(FeeCalculator::copyOf);
+    }
+
+    // ─── PRICING ──────────────────────────────────────────────────────────────
+
+    /** Prices a batch with the effective config, or material only when none is active. */
+    public BatchPrice price(double kg, double costPerKg) {
+        return price(effective != null ? effective : Fees.NONE, kg, costPerKg);
+    }
+
+    public static BatchPrice price(Fees fees, double kg, double costPerKg) {
+        BigDecimal qty = money(BigDecimal.valueOf(Math.max(0.0, kg)));
+        Charge material = charge(qty, BigDecimal.valueOf(costPerKg));
+        Charge pelleting = fee(qty, fees.pelletingBasis(), fees.pelletingFee());
+        Charge formulation = fee(qty, fees.formulationBasis(), fees.formulationFee());
+
+        BigDecimal base = material.amount().add(pelleting.amount()).add(formulation.amount());
+        BigDecimal systemFee = fees.systemFeePercent() > 0
+            ? money(base.multiply(BigDecimal.valueOf(fees.systemFeePercent())).divide(HUNDRED))
+            : BigDecimal.ZERO.setScale(2);
+        return new BatchPrice(fees, qty, material, pelleting, formulation, systemFee, base.add(systemFee));
+    }
+
+    private static Charge fee(BigDecimal kg, FeeBasis basis, double rate) {
+        if (rate <= 0) return Charge.NONE;
+        return charge(basis == FeeBasis.PER_BATCH ? BigDecimal.ONE : kg, BigDecimal.valueOf(rate));
+    }
+
+    private static Charge charge(BigDecimal qty, BigDecimal rate) {
+        return new Charge(qty, rate, money(qty.multiply(rate)));
+    }
+
+    private static BigDecimal money(BigDecimal v) {
+        return v.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // ─── HELPERS ──────────────────────────────────────────────────────────────
+
+    private static LocalDateTime lastChanged(ChargesConfig c) {
+        return c.getUpdatedAt() != null ? c.getUpdatedAt() : c.getCreatedAt();
+    }
+
+    private static ChargesConfig copyOf(ChargesConfig src) {
+        ChargesConfig c = new ChargesConfig();
+        c.setId(src.getId());
+        c.setName(src.getName());
+        c.setDescription(src.getDescription());
+        c.setActive(src.getActive());
+        c.setArchived(src.getArchived());
+        c.setCreatedAt(src.getCreatedAt());
+        c.setUpdatedAt(src.getUpdatedAt());
+        c.setPelletingFeeType(src.getPelletingFeeType());
+        c.setPelletingFee(src.getPelletingFee());
+        c.setFormulationFeeType(src.getFormulationFeeType());
+        c.setFormulationFee(src.getFormulationFee());
+        c.setSystemFeePercent(src.getSystemFeePercent());
+        return c;
+    }
+}
@@ -0,0 +1,222 @@
+package com.feed.feedv4.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.feed.feedv4.dto.FinanceHandoffDTO;
+import com.feed.feedv4.dto.InvoiceDTO;
+import com.feed.feedv4.dto.InvoiceItemDTO;
+import com.feed.feedv4.model.Customer;
+import com.feed.feedv4.model.InvoiceStatus;
+import com.feed.feedv4.model.PelletingBatch;
+import com.feed.feedv4.repository.CustomerRepository;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+
+/**
+ * Turns completed pelleting batches into customer invoices. Batches are priced
+ * by the compiled {@link FeeCalculator} (formulation cost per kg plus the
+ * effective charges config), grouped per customer and written in chunks,
+ * each chunk in its own transaction together with the claim on its batches. A batch is billed at most once, so
+ * a failed or interrupted run can simply be repeated.
+ */
+@Service
+public class FinanceHandoffService {
+
+    private final PelletingBatchRepository batchRepository;
+    private final CustomerRepository customerRepository;
+    private final ChargesConfigService chargesConfigService;
+    private final InvoiceService invoiceService;
+    private final TraceabilityService traceabilityService;
+    private final TransactionTemplate chunkTx;
+    private final int maxBatchesPerInvoice;
+
+    public FinanceHandoffService(PelletingBatchRepository batchRepository,
+                                 CustomerRepository customerRepository,
+                                 ChargesConfigService chargesConfigService,
+                                 InvoiceService invoiceService,
+                                 TraceabilityService traceabilityService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${finance.handoff.max-batches-per-invoice:200}") int maxBatchesPerInvoice) {
+        this.batchRepository = batchRepository;
+        this.customerRepository = customerRepository;
+        this.chargesConfigService = chargesConfigService;
+        this.invoiceService = invoiceService;
+        this.traceabilityService = traceabilityService;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxBatchesPerInvoice = Math.max(1, maxBatchesPerInvoice);
+    }
+
+    /** A completed batch reduced to what pricing needs. */
+    private record Line(Long batchId, Long customerId, String formulationName, double costPerKg, double kg) {
+
+        static Line of(Object[] row) {
+            double target = row[4] != null ? ((Number) row[4]).doubleValue() : 0.0;
+            double yield = row[5] != null ? ((Number) row[5]).doubleValue() : 0.0;
+            return new Line((Long) row[0], (Long) row[1], (String) row[2],
+                    row[3] != null ? ((Number) row[3]).doubleValue() : 0.0,
+                    yield > 0 ? yield : target);
+        }
+
+        static Line of(PelletingBatch b) {
+            Long customerId = b.getCustomerId() != null ? b.getCustomerId() : b.getFormulation().getCustomerId();
+            return new Line(b.getId(), customerId, b.getFormulation().getName(), b.getFormulation().getCostPerKg(),
+                    b.getActualYieldKg() > 0 ? b.getActualYieldKg() : b.getTargetQuantityKg());
+        }
+    }
+
+    // ─── RUNS ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Bills every completed, unbilled batch finished before {@code completedBefore}
+     * (now when null). With {@code issue} the invoices are created as SENT and
+     * posted to the ledger; otherwise they are drafts for finance to review.
+     */
+    public FinanceHandoffDTO sendCompleted(LocalDateTime completedBefore, boolean issue) {
+        LocalDateTime cutoff = completedBefore != null ? completedBefore : LocalDateTime.now();
+        List<Line> lines = batchRepository.findUninvoiced(cutoff).stream().map(Line::of).toList();
+        return run(lines, issue);
+    }
+
+    /** Bills a single completed batch on its own invoice. */
+    public FinanceHandoffDTO sendBatch(Long batchId, boolean issue) {
+        PelletingBatch batch = batchRepository.findById(batchId)
+                .orElseThrow(() -> new RuntimeException("Batch not found with id: " + batchId));
+        if (!"Completed".equals(batch.getStatus())) {
+            throw new IllegalStateException("Only completed batches can be sent to finance");
+        }
+        if (batch.getInvoiceId() != null) {
+            throw new IllegalStateException("Batch " + batchId + " is already invoiced on invoice " + batch.getInvoiceId());
+        }
+        if (batch.getFormulation() == null) {
+            throw new IllegalStateException("Batch " + batchId + " has no formulation to price");
+        }
+        return run(List.of(Line.of(batch)), issue);
+    }
+
+    private FinanceHandoffDTO run(List<Line> lines, boolean issue) {
+        FinanceHandoffDTO result = FinanceHandoffDTO.builder().runAt(LocalDateTime.now()).build();
+        // One calculator for the whole run so every invoice is priced alike
+        FeeCalculator calculator = chargesConfigService.getCalculator();
+
+        Map<Long, Customer> customers = customerRepository.findAllById(lines.stream()
+                        .map(Line::customerId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        Map<Long, List<Line>> byCustomer = new LinkedHashMap<>();
+        for (Line line : lines) {
+            if (line.customerId() == null) {
+                result.getSkipped().add(new FinanceHandoffDTO.Skipped(line.batchId(), "No customer on batch or formulation"));
+            } else if (!customers.containsKey(line.customerId())) {
+                result.getSkipped().add(new FinanceHandoffDTO.Skipped(line.batchId(), "Customer not found with id: " + line.customerId()));
+            } else {
+                byCustomer.computeIfAbsent(line.customerId(), k -> new ArrayList<>()).add(line);
+            }
+        }
+
+        byCustomer.forEach((customerId, customerLines) -> {
+            Customer customer = customers.get(customerId);
+            for (int from = 0; from < customerLines.size(); from += maxBatchesPerInvoice) {
+                List<Line> chunk = customerLines.subList(from, Math.min(from + maxBatchesPerInvoice, customerLines.size()));
+                List<Long> batchIds = chunk.stream().map(Line::batchId).toList();
+                try {
+                    InvoiceDTO created = chunkTx.execute(status -> invoiceChunk(customer, chunk, batchIds, calculator, issue));
+                    result.getInvoices().add(FinanceHandoffDTO.InvoiceRef.builder()
+                            .invoiceId(created.getId())
+                            .invoiceNumber(created.getInvoiceNumber())
+                            .customerId(customerId)
+                            .customerName(customer.getCustomerName())
+                            .batchCount(chunk.size())
+                            .total(created.getTotal())
+                            .build());
+                    result.setInvoicesCreated(result.getInvoicesCreated() + 1);
+                    result.setBatchesInvoiced(result.getBatchesInvoiced() + chunk.size());
+                    result.setTotalAmount(result.getTotalAmount().add(created.getTotal()));
+                } catch (RuntimeException e) {
+                    result.getFailures().add(new FinanceHandoffDTO.Failure(customerId, batchIds, e.getMessage()));
+                }
+            }
+        });
+        return result;
+    }
+
+    private InvoiceDTO invoiceChunk(Customer customer, List<Line> chunk, List<Long> batchIds,
+                                    FeeCalculator calculator, boolean issue) {
+        List<InvoiceItemDTO> items = new ArrayList<>();
+        for (Line line : chunk) {
+            addItems(items, line, calculator.price(line.kg(), line.costPerKg()));
+        }
+        BigDecimal subtotal = items.stream().map(InvoiceItemDTO::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        int termDays = customer.getPaymentTerms() != null ? customer.getPaymentTerms() : 30;
+        LocalDate today = LocalDate.now();
+        InvoiceDTO dto = InvoiceDTO.builder()
+                .customerId(customer.getId())
+                .customerName(customer.getCustomerName())
+                .invoiceDate(today)
+                .terms("Net " + termDays)
+                .dueDate(today.plusDays(termDays))
+                .subject("Pelleting batches (" + chunk.size() + ")")
+                .shippingCharges(BigDecimal.ZERO)
+                .subtotal(subtotal)
+                .tax(BigDecimal.ZERO)
+                .total(subtotal)
+                .status(issue ? InvoiceStatus.SENT : InvoiceStatus.DRAFT)
+                .items(items)
+                .build();
+        InvoiceDTO created = invoiceService.createInvoice(dto);
+
+        // Claim after the insert: a concurrent run holding any of these rows makes the count fall short
+        int claimed = batchRepository.claimForInvoice(batchIds, created.getId(), LocalDateTime.now());
+        if (claimed != batchIds.size()) {
+            throw new IllegalStateException("Some batches were invoiced by another run; chunk rolled back");
+        }
+        for (Line line : chunk) {
+            traceabilityService.batchInvoiced(line.batchId(), line.kg(), created.getId(), created.getInvoiceNumber());
+        }
+        traceabilityService.invoiceIssued(created.getId(), created.getInvoiceNumber(), customer.getId(), customer.getCustomerName());
+        return created;
+    }
+
+    // ─── PRICING ──────────────────────────────────────────────────────────────
+
+    private void addItems(List<InvoiceItemDTO> items, Line line, FeeCalculator.BatchPrice price) {
+        String ref = " – Batch #" + line.batchId();
+        addItem(items, "Feed: " + line.formulationName() + ref, price.material());
+        if (!price.pelleting().isZero()) addItem(items, "Pelleting fee" + ref, price.pelleting());
+        if (!price.formulation().isZero()) addItem(items, "Formulation fee" + ref, price.formulation());
+        if (price.systemFee().signum() > 0) {
+            addItem(items, "System fee (" + price.fees().systemFeePercent() + "%)" + ref,
+                    new FeeCalculator.Charge(BigDecimal.ONE, price.systemFee(), price.systemFee()));
+        }
+    }
+
+    private void addItem(List<InvoiceItemDTO> items, String name, FeeCalculator.Charge charge) {
+        items.add(InvoiceItemDTO.builder()
+                .itemName(name)
+                .quantity(charge.quantity())
+                .rate(charge.rate())
+                .tax(BigDecimal.ZERO)
+                .amount(charge.amount())
+                .sequence(items.size() + 1)
+                .build());
+    }
+}
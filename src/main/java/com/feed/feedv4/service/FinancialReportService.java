@@ -0,0 +1,345 @@
+package com.feed.feedv4.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.dto.AccountAmountDTO;
+import com.feed.feedv4.dto.BalanceSheetDTO;
+import com.feed.feedv4.dto.FinanceReportDTO;
+import com.feed.feedv4.dto.ProfitAndLossDTO;
+import com.feed.feedv4.dto.TrialBalanceDTO;
+import com.feed.feedv4.model.AccountingPeriod;
+import com.feed.feedv4.model.Customer;
+import com.feed.feedv4.model.DailyRollupShare;
+import com.feed.feedv4.model.LedgerAccount;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
+import com.feed.feedv4.model.PeriodBalance;
+import com.feed.feedv4.repository.AccountingPeriodRepository;
+import com.feed.feedv4.repository.CustomerRepository;
+import com.feed.feedv4.repository.JournalLineRepository;
+import com.feed.feedv4.repository.LedgerAccountRepository;
+import com.feed.feedv4.repository.PeriodBalanceRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Financial statements over the general ledger. Closed months are read from
+ * their frozen period_balances snapshot; only the still-open tail (and any
+ * partial month at a range edge) is aggregated from journal_lines.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FinancialReportService {
+
+    private final AccountingPeriodRepository periodRepository;
+    private final PeriodBalanceRepository periodBalanceRepository;
+    private final JournalLineRepository journalLineRepository;
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final DailyRollupService dailyRollupService;
+    private final CustomerRepository customerRepository;
+
+    private static final int TOP_CLIENTS = 5;
+
+    /** Debit/credit pair accumulated per account. */
+    private static final class DrCr {
+        BigDecimal debit = BigDecimal.ZERO;
+        BigDecimal credit = BigDecimal.ZERO;
+
+        void add(BigDecimal d, BigDecimal c) {
+            debit = debit.add(d != null ? d : BigDecimal.ZERO);
+            credit = credit.add(c != null ? c : BigDecimal.ZERO);
+        }
+
+        BigDecimal net(AccountType type) {
+            return type.isDebitNormal() ? debit.subtract(credit) : credit.subtract(debit);
+        }
+    }
+
+    // ─── STATEMENTS ───────────────────────────────────────────────────────────
+
+    public ProfitAndLossDTO getProfitAndLoss(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) throw new IllegalArgumentException("'to' must not be before 'from'");
+
+        Map<String, AccountType> types = accountTypes();
+        Map<String, DrCr> movement = movementBetween(from, to);
+
+        List<AccountAmountDTO> income = linesOfType(movement, types, AccountType.INCOME);
+        List<AccountAmountDTO> expenses = linesOfType(movement, types, AccountType.EXPENSE);
+        BigDecimal totalIncome = sum(income);
+        BigDecimal totalExpenses = sum(expenses);
+
+        return ProfitAndLossDTO.builder()
+            .from(from)
+            .to(to)
+            .income(income)
+            .expenses(expenses)
+            .totalIncome(totalIncome)
+            .totalExpenses(totalExpenses)
+            .netProfit(totalIncome.subtract(totalExpenses))
+            .build();
+    }
+
+    public BalanceSheetDTO getBalanceSheet(LocalDate asOf) {
+        Map<String, AccountType> types = accountTypes();
+        Map<String, DrCr> cumulative = cumulativeAsOf(asOf);
+
+        List<AccountAmountDTO> assets = linesOfType(cumulative, types, AccountType.ASSET);
+        List<AccountAmountDTO> liabilities = linesOfType(cumulative, types, AccountType.LIABILITY);
+        List<AccountAmountDTO> equity = new ArrayList<>(linesOfType(cumulative, types, AccountType.EQUITY));
+
+        // Unclosed profit rolls into equity so the statement balances
+        BigDecimal earnings = sum(linesOfType(cumulative, types, AccountType.INCOME))
+            .subtract(sum(linesOfType(cumulative, types, AccountType.EXPENSE)));
+        if (earnings.signum() != 0) {
+            equity.add(new AccountAmountDTO("Retained Earnings", earnings));
+        }
+
+        BigDecimal totalAssets = sum(assets);
+        BigDecimal totalLiabilities = sum(liabilities);
+        BigDecimal totalEquity = sum(equity);
+
+        return BalanceSheetDTO.builder()
+            .asOf(asOf)
+            .assets(assets)
+            .liabilities(liabilities)
+            .equity(equity)
+            .totalAssets(totalAssets)
+            .totalLiabilities(totalLiabilities)
+            .totalEquity(totalEquity)
+            .balanced(totalAssets.compareTo(totalLiabilities.add(totalEquity)) == 0)
+            .build();
+    }
+
+    public TrialBalanceDTO getTrialBalance(LocalDate asOf) {
+        Map<String, AccountType> types = accountTypes();
+        List<TrialBalanceDTO.Row> rows = new ArrayList<>();
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+
+        for (Map.Entry<String, DrCr> e : sortedByName(cumulativeAsOf(asOf))) {
+            BigDecimal net = e.getValue().debit.subtract(e.getValue().credit);
+            if (net.signum() == 0) continue;
+            BigDecimal debit = net.signum() > 0 ? net : BigDecimal.ZERO;
+            BigDecimal credit = net.signum() < 0 ? net.negate() : BigDecimal.ZERO;
+            AccountType type = types.get(e.getKey());
+            rows.add(new TrialBalanceDTO.Row(e.getKey(), type != null ? type.name() : null, debit, credit));
+            totalDebit = totalDebit.add(debit);
+            totalCredit = totalCredit.add(credit);
+        }
+
+        return TrialBalanceDTO.builder()
+            .asOf(asOf)
+            .totalDebit(totalDebit)
+            .totalCredit(totalCredit)
+            .balanced(totalDebit.compareTo(totalCredit) == 0)
+            .rows(rows)
+            .build();
+    }
+
+    /** Fills the finance summary for a calendar year from ledger movements. */
+    public FinanceReportDTO getFinanceSummary(int year) {
+        Map<String, AccountType> types = accountTypes();
+        LocalDate today = LocalDate.now();
+        LocalDate yearStart = LocalDate.of(year, 1, 1);
+        LocalDate yearEnd = yearStart.withDayOfYear(yearStart.lengthOfYear());
+
+        FinanceReportDTO report = new FinanceReportDTO();
+        report.revenueByService = new LinkedHashMap<>();
+        for (AccountAmountDTO line : linesOfType(movementBetween(yearStart, yearEnd), types, AccountType.INCOME)) {
+            report.revenueByService.put(line.getAccountName(), line.getAmount().doubleValue());
+        }
+
+        report.monthlyProfitability = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            YearMonth ym = YearMonth.of(year, m);
+            if (ym.atDay(1).isAfter(today)) break;
+            Map<String, DrCr> movement = movementBetween(ym.atDay(1), ym.atEndOfMonth());
+            FinanceReportDTO.MonthlyProfitSnapshot snap = new FinanceReportDTO.MonthlyProfitSnapshot();
+            snap.month = ym.toString();
+            snap.revenue = sum(linesOfType(movement, types, AccountType.INCOME)).doubleValue();
+            snap.cost = sum(linesOfType(movement, types, AccountType.EXPENSE)).doubleValue();
+            snap.profit = snap.revenue - snap.cost;
+            report.monthlyProfitability.add(snap);
+        }
+
+        // Quick payments settle invoices without a journal entry, so the rollups are the source
+        report.totalReceivables = dailyRollupService.getOpenReceivables().doubleValue();
+
+        // Customers by cash received in the year (payments received and sales receipts)
+        Set<Long> topIds = dailyRollupService
+            .getTop(DailyRollupShare.Kind.CUSTOMER_RECEIPTS, yearStart, yearEnd, TOP_CLIENTS).keySet();
+        Map<Long, String> names = customerRepository.findAllById(topIds).stream()
+            .collect(Collectors.toMap(Customer::getId, Customer::getCustomerName));
+        report.topPayingClients = topIds.stream()
+            .map(names::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        return report;
+    }
+
+    // ─── PERIOD CLOSE ─────────────────────────────────────────────────────────
+
+    public List<AccountingPeriod> getClosedPeriods() {
+        return periodRepository.findAllByOrderByPeriodStartDesc();
+    }
+
+    /**
+     * Freezes a finished month: its movement and cumulative closing totals are
+     * written to period_balances and the journal refuses postings dated in it.
+     * Months must be closed in order so snapshots chain without gaps.
+     */
+    @Transactional
+    public AccountingPeriod closePeriod(YearMonth month, String closedBy) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        periodRepository.lockForClose();
+
+        if (!end.isBefore(LocalDate.now())) {
+            throw new IllegalStateException("Cannot close " + month + " before it has ended");
+        }
+        if (periodRepository.existsByPeriodStart(start)) {
+            throw new IllegalStateException("Period " + month + " is already closed");
+        }
+
+        Optional<LocalDate> closedThrough = periodRepository.findClosedThrough();
+        Map<String, DrCr> opening = new HashMap<>();
+        if (closedThrough.isPresent()) {
+            LocalDate expected = closedThrough.get().plusDays(1);
+            if (!expected.equals(start)) {
+                throw new IllegalStateException("Periods must be closed in order; next closable period is "
+                    + YearMonth.from(expected));
+            }
+            for (PeriodBalance pb : periodBalanceRepository.findByPeriodStart(YearMonth.from(closedThrough.get()).atDay(1))) {
+                opening.computeIfAbsent(pb.getAccountName(), k -> new DrCr()).add(pb.getClosingDebit(), pb.getClosingCredit());
+            }
+        } else {
+            addRows(opening, journalLineRepository.sumByAccountBefore(start));
+        }
+
+        Map<String, DrCr> movement = new HashMap<>();
+        addRows(movement, journalLineRepository.sumByAccountBetween(start, end));
+
+        List<PeriodBalance> snapshot = new ArrayList<>();
+        Set<String> accounts = new TreeSet<>(opening.keySet());
+        accounts.addAll(movement.keySet());
+        for (String account : accounts) {
+            DrCr open = opening.getOrDefault(account, new DrCr());
+            DrCr move = movement.getOrDefault(account, new DrCr());
+            snapshot.add(PeriodBalance.builder()
+                .periodStart(start)
+                .accountName(account)
+                .periodDebit(move.debit)
+                .periodCredit(move.credit)
+                .closingDebit(open.debit.add(move.debit))
+                .closingCredit(open.credit.add(move.credit))
+                .build());
+        }
+        periodBalanceRepository.saveAll(snapshot);
+
+        return periodRepository.save(AccountingPeriod.builder()
+            .periodStart(start)
+            .periodEnd(end)
+            .closedBy(closedBy)
+            .build());
+    }
+
+    // ─── AGGREGATION ──────────────────────────────────────────────────────────
+
+    /**
+     * Per-account movement over [from, to]. Whole closed months inside the
+     * range come from snapshots; the edges are aggregated from journal lines.
+     */
+    private Map<String, DrCr> movementBetween(LocalDate from, LocalDate to) {
+        Map<String, DrCr> result = new HashMap<>();
+        Optional<LocalDate> closedFrom = periodRepository.findClosedFrom();
+        Optional<LocalDate> closedThrough = periodRepository.findClosedThrough();
+
+        if (closedFrom.isEmpty() || closedThrough.isEmpty()) {
+            addRows(result, journalLineRepository.sumByAccountBetween(from, to));
+            return result;
+        }
+
+        LocalDate snapStart = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+        if (snapStart.isBefore(closedFrom.get())) snapStart = closedFrom.get();
+        LocalDate lastWholeMonthEnd = to.equals(YearMonth.from(to).atEndOfMonth()) ? to : to.withDayOfMonth(1).minusDays(1);
+        LocalDate snapEnd = lastWholeMonthEnd.isBefore(closedThrough.get()) ? lastWholeMonthEnd : closedThrough.get();
+
+        if (snapStart.isAfter(snapEnd)) {
+            addRows(result, journalLineRepository.sumByAccountBetween(from, to));
+            return result;
+        }
+
+        if (from.isBefore(snapStart)) {
+            addRows(result, journalLineRepository.sumByAccountBetween(from, snapStart.minusDays(1)));
+        }
+        addRows(result, periodBalanceRepository.sumMovementBetween(snapStart, snapEnd.withDayOfMonth(1)));
+        if (snapEnd.isBefore(to)) {
+            addRows(result, journalLineRepository.sumByAccountBetween(snapEnd.plusDays(1), to));
+        }
+        return result;
+    }
+
+    /** Per-account cumulative totals at the end of {@code asOf}. */
+    private Map<String, DrCr> cumulativeAsOf(LocalDate asOf) {
+        Map<String, DrCr> result = new HashMap<>();
+        Optional<AccountingPeriod> latest = periodRepository.findTopByPeriodEndLessThanEqualOrderByPeriodEndDesc(asOf);
+
+        if (latest.isEmpty()) {
+            addRows(result, journalLineRepository.sumByAccountBefore(asOf.plusDays(1)));
+            return result;
+        }
+
+        for (PeriodBalance pb : periodBalanceRepository.findByPeriodStart(latest.get().getPeriodStart())) {
+            result.computeIfAbsent(pb.getAccountName(), k -> new DrCr()).add(pb.getClosingDebit(), pb.getClosingCredit());
+        }
+        if (asOf.isAfter(latest.get().getPeriodEnd())) {
+            addRows(result, journalLineRepository.sumByAccountBetween(latest.get().getPeriodEnd().plusDays(1), asOf));
+        }
+        return result;
+    }
+
+    private void addRows(Map<String, DrCr> target, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            target.computeIfAbsent((String) row[0], k -> new DrCr()).add((BigDecimal) row[1], (BigDecimal) row[2]);
+        }
+    }
+
+    private Map<String, AccountType> accountTypes() {
+        return ledgerAccountRepository.findAll().stream()
+            .collect(Collectors.toMap(LedgerAccount::getAccountName, LedgerAccount::getAccountType));
+    }
+
+    private List<AccountAmountDTO> linesOfType(Map<String, DrCr> totals, Map<String, AccountType> types, AccountType type) {
+        return sortedByName(totals).stream()
+            .filter(e -> types.get(e.getKey()) == type)
+            .map(e -> new AccountAmountDTO(e.getKey(), e.getValue().net(type)))
+            .filter(a -> a.getAmount().signum() != 0)
+            .collect(Collectors.toList());
+    }
+
+    private List<Map.Entry<String, DrCr>> sortedByName(Map<String, DrCr> totals) {
+        return totals.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+            .collect(Collectors.toList());
+    }
+
+    private BigDecimal sum(List<AccountAmountDTO> lines) {
+        return lines.stream().map(AccountAmountDTO::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
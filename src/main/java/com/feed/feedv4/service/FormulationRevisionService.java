@@ -0,0 +1,257 @@
+package com.feed.feedv4.service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.dto.FormulationDiffDTO;
+import com.feed.feedv4.dto.FormulationRevisionDTO;
+import com.feed.feedv4.model.Formulation;
+import com.feed.feedv4.model.FormulationIngredient;
+import com.feed.feedv4.model.FormulationRevision;
+import com.feed.feedv4.model.FormulationRevisionLine;
+import com.feed.feedv4.model.FormulationRevisionLine.Op;
+import com.feed.feedv4.model.RawMaterial;
+import com.feed.feedv4.repository.FormulationRevisionRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps an append-only revision history per formulation. Each save writes a
+ * revision only when something changed, and only the changed ingredient
+ * lines; every {@value #CHECKPOINT_EVERY} revisions a full copy is stored so
+ * that rebuilding a revision never replays more than that many deltas.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class FormulationRevisionService {
+
+    static final int CHECKPOINT_EVERY = 20;
+
+    private final FormulationRevisionRepository revisionRepository;
+
+    /** An ingredient line reduced to what the history tracks. */
+    record Line(Long rawMaterialId, String name, Double percentage, double quantityKg, double costPerKg, boolean locked) {
+
+        static Line of(FormulationIngredient fi, double batchSize) {
+            RawMaterial rm = fi.getRawMaterial();
+            double kg = fi.getQuantityKg() != 0 ? fi.getQuantityKg()
+                : (fi.getPercentage() != null && batchSize > 0 ? fi.getPercentage() * batchSize / 100.0 : 0.0);
+            double cpk = fi.getCostPerKg() > 0 ? fi.getCostPerKg()
+                : (rm != null && rm.getCostPerKg() != null ? rm.getCostPerKg() : 0.0);
+            String name = rm != null && rm.getName() != null ? rm.getName() : fi.getRawMaterialName();
+            return new Line(rm != null ? rm.getId() : null, name, fi.getPercentage(), kg, cpk, fi.isLocked());
+        }
+
+        static Line of(FormulationRevisionLine l) {
+            return new Line(l.getRawMaterialId(), l.getRawMaterialName(), l.getPercentage(), l.getQuantityKg(),
+                l.getCostPerKg(), l.isLocked());
+        }
+
+        String key() {
+            return rawMaterialId != null ? "rm:" + rawMaterialId : "name:" + (name == null ? "" : name.trim().toLowerCase());
+        }
+
+        /** Share of the batch in percent, derived from kg when no percentage is set. */
+        double pct(double batchSize) {
+            if (percentage != null) return percentage;
+            return batchSize > 0 ? quantityKg / batchSize * 100.0 : 0.0;
+        }
+    }
+
+    /** A formulation as of one revision. */
+    record State(int revisionNo, String name, String status, double batchSize, double costPerKg,
+                 Map<String, Line> lines) {
+
+        boolean sameAs(State o) {
+            return Objects.equals(name, o.name) && Objects.equals(status, o.status)
+                && batchSize == o.batchSize && costPerKg == o.costPerKg && lines.equals(o.lines);
+        }
+    }
+
+    // ─── RECORDING ────────────────────────────────────────────────────────────
+
+    /** Appends a revision if the formulation differs from its latest one; returns its number or null. */
+    public Integer record(Formulation f, String action) {
+        State current = stateOf(f);
+        State previous = revisionRepository.findTopByFormulationIdOrderByRevisionNoDesc(f.getId())
+            .map(latest -> materialize(f.getId(), latest.getRevisionNo()))
+            .orElse(null);
+        if (previous != null && previous.sameAs(current)) return null;
+
+        int revisionNo = previous == null ? 1 : previous.revisionNo() + 1;
+        boolean checkpoint = previous == null || revisionNo % CHECKPOINT_EVERY == 1;
+        FormulationRevision rev = FormulationRevision.builder()
+            .formulationId(f.getId())
+            .revisionNo(revisionNo)
+            .checkpoint(checkpoint)
+            .action(action)
+            .name(current.name())
+            .status(current.status())
+            .batchSize(current.batchSize())
+            .costPerKg(current.costPerKg())
+            .createdAt(LocalDateTime.now())
+            .build();
+
+        if (checkpoint) {
+            current.lines().forEach((key, line) -> rev.addLine(put(key, line)));
+        } else {
+            current.lines().forEach((key, line) -> {
+                if (!line.equals(previous.lines().get(key))) rev.addLine(put(key, line));
+            });
+            previous.lines().keySet().stream()
+                .filter(key -> !current.lines().containsKey(key))
+                .forEach(key -> rev.addLine(FormulationRevisionLine.builder().lineKey(key).op(Op.REMOVE).build()));
+        }
+        revisionRepository.save(rev);
+        return revisionNo;
+    }
+
+    public void deleteHistory(Long formulationId) {
+        revisionRepository.deleteByFormulationId(formulationId);
+    }
+
+    private FormulationRevisionLine put(String key, Line line) {
+        return FormulationRevisionLine.builder()
+            .lineKey(key)
+            .op(Op.PUT)
+            .rawMaterialId(line.rawMaterialId())
+            .rawMaterialName(line.name())
+            .percentage(line.percentage())
+            .quantityKg(line.quantityKg())
+            .costPerKg(line.costPerKg())
+            .locked(line.locked())
+            .build();
+    }
+
+    private State stateOf(Formulation f) {
+        Map<String, Line> lines = new LinkedHashMap<>();
+        if (f.getIngredients() != null) {
+            for (FormulationIngredient fi : f.getIngredients()) {
+                if (fi == null) continue;
+                Line line = Line.of(fi, f.getBatchSize());
+                lines.put(line.key(), line);
+            }
+        }
+        return new State(0, f.getName(), f.getStatus(), f.getBatchSize(), f.getCostPerKg(), lines);
+    }
+
+    // ─── REPLAY ───────────────────────────────────────────────────────────────
+
+    private State materialize(Long formulationId, int revisionNo) {
+        FormulationRevision base = revisionRepository
+            .findTopByFormulationIdAndCheckpointTrueAndRevisionNoLessThanEqualOrderByRevisionNoDesc(formulationId, revisionNo)
+            .orElseThrow(() -> new RuntimeException("Revision not found: " + formulationId + " r" + revisionNo));
+
+        Map<String, Line> lines = new LinkedHashMap<>();
+        FormulationRevision last = null;
+        for (FormulationRevision rev : revisionRepository.findRangeWithLines(formulationId, base.getRevisionNo(), revisionNo)) {
+            if (rev.isCheckpoint()) lines.clear();
+            for (FormulationRevisionLine l : rev.getLines()) {
+                if (l.getOp() == Op.REMOVE) lines.remove(l.getLineKey());
+                else lines.put(l.getLineKey(), Line.of(l));
+            }
+            last = rev;
+        }
+        if (last == null || last.getRevisionNo() != revisionNo) {
+            throw new RuntimeException("Revision not found: " + formulationId + " r" + revisionNo);
+        }
+        return new State(revisionNo, last.getName(), last.getStatus(), last.getBatchSize(), last.getCostPerKg(), lines);
+    }
+
+    // ─── READS ────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<FormulationRevisionDTO> list(Long formulationId) {
+        return revisionRepository.findSummaries(formulationId).stream()
+            .map(row -> FormulationRevisionDTO.builder()
+                .revisionNo(((Number) row[0]).intValue())
+                .action((String) row[1])
+                .createdAt((LocalDateTime) row[2])
+                .name((String) row[3])
+                .status((String) row[4])
+                .batchSize(((Number) row[5]).doubleValue())
+                .costPerKg(((Number) row[6]).doubleValue())
+                .checkpoint((Boolean) row[7])
+                .storedLines(((Number) row[8]).longValue())
+                .build())
+            .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public FormulationRevisionDTO get(Long formulationId, int revisionNo) {
+        State s = materialize(formulationId, revisionNo);
+        FormulationRevisionDTO dto = FormulationRevisionDTO.builder()
+            .revisionNo(revisionNo)
+            .name(s.name())
+            .status(s.status())
+            .batchSize(s.batchSize())
+            .costPerKg(s.costPerKg())
+            .build();
+        s.lines().values().forEach(l -> dto.getIngredients().add(new FormulationRevisionDTO.Line(
+            l.rawMaterialId(), l.name(), l.percentage(), l.quantityKg(), l.costPerKg(), l.locked())));
+        return dto;
+    }
+
+    /**
+     * Changes from revision {@code from} to {@code to}. {@code to} defaults to
+     * the latest revision and {@code from} to the one before it.
+     */
+    @Transactional(readOnly = true)
+    public FormulationDiffDTO diff(Long formulationId, Integer fromRevision, Integer to) {
+        int target = to != null ? to : revisionRepository.findTopByFormulationIdOrderByRevisionNoDesc(formulationId)
+            .map(FormulationRevision::getRevisionNo)
+            .orElseThrow(() -> new RuntimeException("No revisions for formulation with id: " + formulationId));
+        int from = fromRevision != null ? fromRevision : Math.max(1, target - 1);
+        State a = materialize(formulationId, from);
+        State b = materialize(formulationId, target);
+
+        FormulationDiffDTO dto = FormulationDiffDTO.builder()
+            .formulationId(formulationId)
+            .fromRevision(from)
+            .toRevision(target)
+            .fromBatchSize(a.batchSize())
+            .toBatchSize(b.batchSize())
+            .fromCostPerKg(a.costPerKg())
+            .toCostPerKg(b.costPerKg())
+            .costPerKgDelta(b.costPerKg() - a.costPerKg())
+            .build();
+
+        Set<String> keys = new LinkedHashSet<>(a.lines().keySet());
+        keys.addAll(b.lines().keySet());
+        for (String key : keys) {
+            Line x = a.lines().get(key);
+            Line y = b.lines().get(key);
+            if (x != null && x.equals(y)) continue;
+
+            Double fromPct = x != null ? x.pct(a.batchSize()) : null;
+            Double toPct = y != null ? y.pct(b.batchSize()) : null;
+            double fromContribution = x != null ? fromPct / 100.0 * x.costPerKg() : 0.0;
+            double toContribution = y != null ? toPct / 100.0 * y.costPerKg() : 0.0;
+            Line any = y != null ? y : x;
+
+            dto.getChanges().add(FormulationDiffDTO.LineChange.builder()
+                .rawMaterialId(any.rawMaterialId())
+                .rawMaterialName(any.name())
+                .change(x == null ? "ADDED" : y == null ? "REMOVED" : "CHANGED")
+                .fromPercentage(fromPct)
+                .toPercentage(toPct)
+                .percentageDelta((toPct != null ? toPct : 0.0) - (fromPct != null ? fromPct : 0.0))
+                .fromCostPerKg(x != null ? x.costPerKg() : null)
+                .toCostPerKg(y != null ? y.costPerKg() : null)
+                .fromCostContribution(fromContribution)
+                .toCostContribution(toContribution)
+                .costContributionDelta(toContribution - fromContribution)
+                .build());
+        }
+        return dto;
+    }
+}
@@ -14,6 +14,7 @@ import com.feed.feedv4.repository.FormulationRepository;
 import com.feed.feedv4.repository.RawMaterialRepository;
 import com.feed.feedv4.repository.PelletingBatchRepository;
 import com.feed.feedv4.dto.FormulationSaveRequest;
+import com.feed.feedv4.event.FormulationChangedEvent;
 
 import com.lowagie.text.Chunk;
 import com.lowagie.text.Document;
@@ -28,9 +29,14 @@ import com.lowagie.text.FontFactory;
 import java.awt.Color;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
@@ -40,8 +46,10 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.io.ByteArrayOutputStream;
@@ -59,6 +67,37 @@ public class FormulationService {
     @Autowired
     private WacmService wacmService;
 
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private TraceabilityService traceabilityService;
+
+    @Autowired
+    private FormulationRevisionService revisionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Every material the lines reference, keyed by id, in one round trip.
+     * Ids already in the session or the second-level cache are not selected
+     * again; missing ids are simply absent from the map.
+     */
+    private Map<Long, RawMaterial> materialsById(List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) return Map.of();
+        return entityManager.unwrap(Session.class)
+            .byMultipleIds(RawMaterial.class)
+            .enableOrderedReturn(false)
+            .multiLoad(distinct).stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toMap(RawMaterial::getId, rm -> rm));
+    }
+
     private Formulation getFullById(Long id) {
         return repository.findFullById(id)
             .orElseThrow(() -> new RuntimeException("Formulation not found: " + id));
@@ -395,10 +434,17 @@ public class FormulationService {
         formulation.setFinalized(false);
         
         // Convert response ingredients to entity
+        Map<Long, RawMaterial> materials = materialsById(generated.getIngredients().stream()
+                .map(FormulationIngredientDTO::getMaterialId)
+                .toList());
         List<FormulationIngredient> ingredients = generated.getIngredients().stream()
                 .map(resp -> {
+                    RawMaterial rm = materials.get(resp.getMaterialId());
+                    if (rm == null) {
+                        throw new RuntimeException("Raw material not found with id: " + resp.getMaterialId());
+                    }
                     FormulationIngredient fi = new FormulationIngredient();
-                    fi.setRawMaterial(rawMaterialRepository.findById(resp.getMaterialId()).orElseThrow());
+                    fi.setRawMaterial(rm);
                     fi.setPercentage(resp.getPercentage());
                     fi.setQuantityKg(resp.getQuantityKg());
                     fi.setFormulation(formulation);
@@ -407,7 +453,10 @@ public class FormulationService {
                 .collect(Collectors.toList());
         
         formulation.setIngredients(ingredients);
-        return repository.save(formulation);
+        Formulation saved = repository.save(formulation);
+        revisionService.record(saved, "CREATED");
+        events.publishEvent(new FormulationChangedEvent(saved.getId(), "CREATED"));
+        return saved;
     }
 
     public List<Formulation> getAllActive() {
@@ -428,9 +477,13 @@ public class FormulationService {
         if (formulation.getIngredients() != null) {
             formulation.getIngredients().forEach(i -> i.setFormulation(formulation));
         }
-        return repository.save(formulation);
+        Formulation saved = repository.save(formulation);
+        revisionService.record(saved, "CREATED");
+        events.publishEvent(new FormulationChangedEvent(saved.getId(), "CREATED"));
+        return saved;
     }
 
+    @Transactional
     public Formulation update(Long id, Formulation updated) {
         return repository.findById(id).map(existing -> {
             existing.setName(updated.getName());
@@ -445,23 +498,68 @@ public class FormulationService {
             existing.setUpdatedAt(LocalDateTime.now());
             existing.setLocked(updated.isLocked());
 
-            existing.getIngredients().clear();
-            if (updated.getIngredients() != null) {
-                updated.getIngredients().forEach(i -> {
-                    i.setFormulation(existing);
-                    existing.getIngredients().add(i);
-                });
-            }
+            mergeIngredients(existing, updated.getIngredients());
 
-            return repository.save(existing);
+            Formulation saved = repository.save(existing);
+            revisionService.record(saved, "UPDATED");
+            return saved;
         }).orElseThrow();
     }
 
+    /**
+     * Applies incoming ingredient lines onto the managed ones, matched by raw
+     * material id (or name for unbound lines). Matched lines are updated in
+     * place so dirty checking only writes what changed; new lines are inserted
+     * and missing ones removed through orphan removal.
+     */
+    private void mergeIngredients(Formulation existing, List<FormulationIngredient> incoming) {
+        if (existing.getIngredients() == null) existing.setIngredients(new ArrayList<>());
+        Map<String, FormulationIngredient> current = new HashMap<>();
+        for (FormulationIngredient fi : existing.getIngredients()) {
+            current.putIfAbsent(ingredientKey(fi), fi);
+        }
+
+        Set<FormulationIngredient> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (incoming != null) {
+            for (FormulationIngredient in : incoming) {
+                if (in == null) continue;
+                RawMaterial rm = in.getRawMaterial() != null && in.getRawMaterial().getId() != null
+                    ? rawMaterialRepository.getReferenceById(in.getRawMaterial().getId())
+                    : null;
+                FormulationIngredient target = current.remove(ingredientKey(in));
+                if (target == null) {
+                    target = new FormulationIngredient();
+                    target.setFormulation(existing);
+                    existing.getIngredients().add(target);
+                }
+                Long currentId = target.getRawMaterial() != null ? target.getRawMaterial().getId() : null;
+                if (rm == null || !rm.getId().equals(currentId)) target.setRawMaterial(rm);
+                target.setRawMaterialName(in.getRawMaterialName());
+                target.setQuantityKg(in.getQuantityKg());
+                target.setContributionPercent(in.getContributionPercent());
+                target.setCostPerKg(in.getCostPerKg());
+                target.setPercentage(in.getPercentage());
+                target.setLocked(in.isLocked());
+                kept.add(target);
+            }
+        }
+        existing.getIngredients().removeIf(fi -> !kept.contains(fi));
+    }
+
+    private static String ingredientKey(FormulationIngredient fi) {
+        if (fi.getRawMaterial() != null && fi.getRawMaterial().getId() != null) {
+            return "rm:" + fi.getRawMaterial().getId();
+        }
+        return "name:" + (fi.getRawMaterialName() == null ? "" : fi.getRawMaterialName().trim().toLowerCase());
+    }
+
     public void delete(Long id) {
         if(pelletingBatchRepository.existsById(id)) {
             throw new IllegalStateException("Cannot delete formulation with active pelleting batches. Archive instead.");
         }
         repository.deleteById(id);
+        revisionService.deleteHistory(id);
+        events.publishEvent(new FormulationChangedEvent(id, "DELETED"));
     }
 
     public void archive(Long id) {
@@ -528,7 +626,7 @@ public class FormulationService {
             formulation.setStatus((String) body.get("status"));
     
         formulation.setUpdatedAt(LocalDateTime.now());
-        repository.save(formulation);
+        revisionService.record(repository.save(formulation), "UPDATED");
     }
 
     public Map<String, List<RawMaterial>> suggestAlternatives(Long formulationId) {
@@ -790,7 +888,7 @@ public class FormulationService {
         f.setUpdatedAt(LocalDateTime.now());
         double cpk = computeCostPerKg(f);
         f.setCostPerKg(cpk);
-        repository.save(f);
+        revisionService.record(repository.save(f), "FINALIZED");
     
         // === WACM auto-deduct for the FULL batch ===
         if (f.getIngredients() != null && !f.getIngredients().isEmpty()) {
@@ -819,12 +917,14 @@ public class FormulationService {
             
                 // Will throw if insufficient stock → transaction rolls back
                 String ref = "FORMULATION_FINALIZE #" + f.getId();
-                wacmService.issueStock(fi.getRawMaterial().getId(), issueKg, ref);
+                RawMaterial issued = wacmService.issueStock(fi.getRawMaterial().getId(), issueKg, ref);
+                traceabilityService.materialIssued(issued, f, issueKg);
             }
         }
     
         // Log AFTER successful deductions
         logAction(f, "FINALIZED", "Formulation marked as finalized and stock deducted");
+        dailyRollupService.formulationFinalized(f.getBatchSize(), cpk);
     
         // Auto-create PelletingBatch (Not Started)
         PelletingBatch pelletingBatch = PelletingBatch.builder()
@@ -835,7 +935,8 @@ public class FormulationService {
             .updatedAt(LocalDateTime.now())
             .build();
     
-        pelletingBatchRepository.save(pelletingBatch);
+        traceabilityService.batchCreated(pelletingBatchRepository.save(pelletingBatch));
+        events.publishEvent(new FormulationChangedEvent(f.getId(), "FINALIZED"));
     }
 
     @Transactional
@@ -862,6 +963,9 @@ public class FormulationService {
         double totalCost = 0.0;
 
         if (req.ingredients != null) {
+            Map<Long, RawMaterial> materials = materialsById(req.ingredients.stream()
+                    .map(in -> in.materialId)
+                    .toList());
             for (var in : req.ingredients) {
                 if ((in.percentage == null || in.percentage < 0) &&
                     (in.quantityKg == null || in.quantityKg < 0)) {
@@ -875,8 +979,7 @@ public class FormulationService {
                 // Resolve raw material (if provided)
                 RawMaterial rm = null;
                 if (in.materialId != null) {
-                    rm = rawMaterialRepository.findById(in.materialId)
-                            .orElse(null); // allow missing gracefully
+                    rm = materials.get(in.materialId); // allow missing gracefully
                 }
                 fi.setRawMaterial(rm);
                 fi.setRawMaterialName(in.name != null ? in.name
@@ -921,7 +1024,10 @@ public class FormulationService {
         f.setCostPerKg(costPerKg);
 
         // cascade saves ingredients
-        return repository.save(f);
+        Formulation saved = repository.save(f);
+        revisionService.record(saved, "CREATED");
+        events.publishEvent(new FormulationChangedEvent(saved.getId(), "CREATED"));
+        return saved;
     }
 
 }
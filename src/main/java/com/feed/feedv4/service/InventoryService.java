@@ -1,8 +1,10 @@
 package com.feed.feedv4.service;
 
+import com.feed.feedv4.event.InventoryChangedEvent;
 import com.feed.feedv4.model.RawMaterial;
 import com.feed.feedv4.repository.RawMaterialRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -14,9 +16,18 @@ import java.util.Optional;
 public class InventoryService {
 
     private final RawMaterialRepository repository;
+    private final ApplicationEventPublisher events;
 
-    public InventoryService(RawMaterialRepository repository) {
+    public InventoryService(RawMaterialRepository repository, ApplicationEventPublisher events) {
         this.repository = repository;
+        this.events = events;
+    }
+
+    private RawMaterial saveAndPublish(RawMaterial rm) {
+        RawMaterial saved = repository.save(rm);
+        events.publishEvent(new InventoryChangedEvent(saved.getId(), null,
+                saved.getInStockKg() != null ? saved.getInStockKg() : 0.0));
+        return saved;
     }
 
     public List<RawMaterial> getAllActive() {
@@ -28,7 +39,7 @@ public class InventoryService {
     }
 
     public RawMaterial save(RawMaterial rawMaterial) {
-        return repository.save(rawMaterial);
+        return saveAndPublish(rawMaterial);
     }
 
     public RawMaterial update(Long id, RawMaterial updated) {
@@ -48,7 +59,7 @@ public class InventoryService {
             existing.setFat(updated.getFat());
             existing.setFiber(updated.getFiber());
             existing.setAsh(updated.getAsh());
-            return repository.save(existing);
+            return saveAndPublish(existing);
         }).orElseThrow(() -> new RuntimeException("Material not found"));
     }
 
@@ -60,6 +71,22 @@ public class InventoryService {
         return repository.findByInStockKgLessThanEqual(50.0);
     }
 
+    /** Deleted materials publish too, so listeners can drop what they hold for them. */
+    public boolean delete(Long id) {
+        if (!repository.existsById(id)) return false;
+        repository.deleteById(id);
+        events.publishEvent(new InventoryChangedEvent(id, null, 0.0));
+        return true;
+    }
+
+    public void toggleArchive(Long id) {
+        RawMaterial rm = repository.findById(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Raw material not found"));
+
+        rm.setArchived(!rm.isArchived());
+        saveAndPublish(rm);
+    }
+
     public void toggleLock(Long id) {
         RawMaterial rm = repository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Raw material not found"));
@@ -4,22 +4,54 @@ import com.feed.feedv4.dto.InvoiceDTO;
 import com.feed.feedv4.model.InvoiceStatus;
 import com.feed.feedv4.model.PaymentStatus;
 import com.feed.feedv4.dto.InvoiceItemDTO;
+import com.feed.feedv4.dto.InvoiceRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.Invoice;
 import com.feed.feedv4.model.InvoiceItem;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
 import com.feed.feedv4.repository.InvoiceRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.service.DailyRollupService.SalesContribution;
+import com.feed.feedv4.service.JournalService.PostingLine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class InvoiceService {
 
+    private static final KeysetSpec<Invoice, InvoiceRowDTO> PAGE_SPEC = KeysetSpec
+            .of(Invoice.class, InvoiceRowDTO.class, InvoiceRowDTO::getId,
+                "id", "invoiceNumber", "customerId", "customerName", "orderNumber", "invoiceDate", "dueDate",
+                "total", "balanceDue", "status", "paymentStatus", "createdAt")
+            .sort("invoiceDate", InvoiceRowDTO::getInvoiceDate)
+            .sort("dueDate", InvoiceRowDTO::getDueDate)
+            .sort("invoiceNumber", InvoiceRowDTO::getInvoiceNumber)
+            .sort("total", InvoiceRowDTO::getTotal)
+            .sort("createdAt", InvoiceRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("paymentStatus", Op.EQ, "paymentStatus")
+            .filter("customerId", Op.EQ, "customerId")
+            .filter("from", Op.GTE, "invoiceDate")
+            .filter("to", Op.LTE, "invoiceDate")
+            .filter("q", Op.CONTAINS, "invoiceNumber", "customerName", "orderNumber");
+
     private final InvoiceRepository invoiceRepository;
+    private final JournalService journalService;
+    private final DailyRollupService dailyRollupService;
+    private final KeysetPager keysetPager;
+    private final PelletingBatchRepository pelletingBatchRepository;
 
     /* -------------------- CRUD -------------------- */
 
@@ -30,6 +62,12 @@ public class InvoiceService {
                 .toList();
     }
 
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<InvoiceRowDTO> getInvoicePage(Map<String, String> params) {
+        return keysetPager.page(PAGE_SPEC, params);
+    }
+
     public InvoiceDTO getInvoiceById(Long id) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Invoice not found: " + id));
@@ -43,17 +81,28 @@ public class InvoiceService {
         if (invoice.getBalanceDue() == null) {
             invoice.setBalanceDue(invoice.getTotal());
         }
-        return mapToDTO(invoiceRepository.save(invoice));
+        Invoice saved = invoiceRepository.save(invoice);
+        postToLedger(saved);
+        dailyRollupService.salesChanged(null, SalesContribution.of(saved));
+        return mapToDTO(saved);
     }
 
     public InvoiceDTO updateInvoice(Long id, InvoiceDTO dto) {
         Invoice existing = invoiceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Invoice not found: " + id));
+        SalesContribution before = SalesContribution.of(existing);
         updateFields(existing, dto);
-        return mapToDTO(invoiceRepository.save(existing));
+        Invoice saved = invoiceRepository.save(existing);
+        postToLedger(saved);
+        dailyRollupService.salesChanged(before, SalesContribution.of(saved));
+        return mapToDTO(saved);
     }
 
     public void deleteInvoice(Long id) {
+        journalService.reverse(JournalEntry.SourceType.INVOICE, id);
+        pelletingBatchRepository.releaseFromInvoice(id);
+        invoiceRepository.findById(id)
+                .ifPresent(invoice -> dailyRollupService.salesChanged(SalesContribution.of(invoice), null));
         invoiceRepository.deleteById(id);
     }
 
@@ -62,7 +111,11 @@ public class InvoiceService {
     public InvoiceDTO voidInvoice(Long id) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Invoice not found: " + id));
+        SalesContribution before = SalesContribution.of(invoice);
         invoice.setStatus(InvoiceStatus.VOID);
+        journalService.reverse(JournalEntry.SourceType.INVOICE, invoice.getId());
+        pelletingBatchRepository.releaseFromInvoice(invoice.getId());
+        dailyRollupService.salesChanged(before, SalesContribution.of(invoice));
         return mapToDTO(invoiceRepository.save(invoice));
     }
 
@@ -121,6 +174,7 @@ public class InvoiceService {
             throw new RuntimeException("Payment amount exceeds balance due");
         }
 
+        SalesContribution before = SalesContribution.of(invoice);
         BigDecimal newBalance = currentBalance.subtract(amount);
         invoice.setBalanceDue(newBalance);
 
@@ -130,9 +184,51 @@ public class InvoiceService {
             invoice.setPaymentStatus(PaymentStatus.PARTIALLY_PAID);
         }
 
+        dailyRollupService.receiptRecorded(invoice.getCustomerId(), amount);
+        dailyRollupService.salesChanged(before, SalesContribution.of(invoice));
         return mapToDTO(invoiceRepository.save(invoice));
     }
 
+    /* -------------------- LEDGER -------------------- */
+
+    /**
+     * Recognises the invoice in the general ledger: receivable for the total,
+     * split into sales, shipping income and tax payable. Drafts and voids are
+     * kept out of the ledger.
+     */
+    private void postToLedger(Invoice invoice) {
+        if (invoice.getStatus() == null || invoice.getStatus() == InvoiceStatus.DRAFT
+                || invoice.getStatus() == InvoiceStatus.VOID) {
+            journalService.reverse(JournalEntry.SourceType.INVOICE, invoice.getId());
+            return;
+        }
+
+        BigDecimal total = nz(invoice.getTotal());
+        BigDecimal shipping = nz(invoice.getShippingCharges());
+        BigDecimal tax = nz(invoice.getTax());
+        BigDecimal sales = total.subtract(shipping).subtract(tax);
+
+        journalService.repost(JournalEntry.SourceType.INVOICE, invoice.getId(),
+                invoice.getInvoiceDate() != null ? invoice.getInvoiceDate() : LocalDate.now(),
+                "Invoice " + invoice.getInvoiceNumber(),
+                List.of(
+                        PostingLine.debit("Accounts Receivable", AccountType.ASSET, total),
+                        sales.signum() >= 0
+                                ? PostingLine.credit("Sales", AccountType.INCOME, sales)
+                                : PostingLine.debit("Sales", AccountType.INCOME, sales.negate()),
+                        PostingLine.credit("Shipping Income", AccountType.INCOME, shipping),
+                        PostingLine.credit("Tax Payable", AccountType.LIABILITY, tax)));
+    }
+
+    /** Posts every invoice; a no-op for those already posted. Backfills invoices raised before the ledger. */
+    public void repostLedger() {
+        invoiceRepository.findAll().forEach(this::postToLedger);
+    }
+
+    private BigDecimal nz(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+
     /* -------------------- MAPPING -------------------- */
 
     private Invoice mapToEntity(InvoiceDTO dto) {
@@ -247,6 +343,7 @@ public class InvoiceService {
     }
 
     private String generateInvoiceNumber() {
-        return "INV-" + System.currentTimeMillis();
+        // Bulk invoicing creates many invoices per millisecond, possibly on several instances
+        return "INV-" + invoiceRepository.nextInvoiceNumber();
     }
 }
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.feed.feedv4.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.dto.JournalEntryDTO;
+import com.feed.feedv4.dto.TrialBalanceDTO;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.JournalLine;
+import com.feed.feedv4.model.LedgerAccount;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
+import com.feed.feedv4.repository.AccountingPeriodRepository;
+import com.feed.feedv4.repository.JournalEntryRepository;
+import com.feed.feedv4.repository.LedgerAccountRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Double-entry posting engine. Journal lines are append-only: a changed or
+ * removed source document is reversed with a mirror entry and, if still
+ * live, posted again. Every posting bumps the running totals on
+ * ledger_accounts, so balances never need a scan of journal_lines.
+ * Postings dated inside a closed period land on the first open day instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class JournalService {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final AccountingPeriodRepository accountingPeriodRepository;
+
+    /** One side of a posting as produced by a source document. */
+    public record PostingLine(String account, AccountType accountType, BigDecimal debit, BigDecimal credit) {
+
+        public static PostingLine debit(String account, AccountType type, BigDecimal amount) {
+            return new PostingLine(account, type, amount, BigDecimal.ZERO);
+        }
+
+        public static PostingLine credit(String account, AccountType type, BigDecimal amount) {
+            return new PostingLine(account, type, BigDecimal.ZERO, amount);
+        }
+
+        boolean isZero() {
+            return debit.signum() == 0 && credit.signum() == 0;
+        }
+
+        boolean sameAs(JournalLine line) {
+            return account.equals(line.getAccountName())
+                && debit.compareTo(line.getDebit()) == 0
+                && credit.compareTo(line.getCredit()) == 0;
+        }
+    }
+
+    // ─── POSTING ──────────────────────────────────────────────────────────────
+
+    /**
+     * Makes the ledger reflect {@code lines} for the given source. Existing
+     * live postings are reversed first; an identical re-post is a no-op.
+     */
+    public void repost(JournalEntry.SourceType sourceType, Long sourceId, LocalDate entryDate,
+                       String description, List<PostingLine> lines) {
+        List<PostingLine> effective = lines.stream().filter(l -> !l.isZero()).toList();
+        LocalDate postingDate = openDateFor(entryDate);
+        List<JournalEntry> live = journalEntryRepository.findLiveBySource(sourceType, sourceId);
+
+        if (live.size() == 1 && matches(live.get(0), postingDate, effective)) {
+            return;
+        }
+
+        live.forEach(this::postReversal);
+        if (!effective.isEmpty()) {
+            post(sourceType, sourceId, postingDate, description, effective);
+        }
+    }
+
+    /** Reverses every live posting for the source, e.g. on delete or void. */
+    public void reverse(JournalEntry.SourceType sourceType, Long sourceId) {
+        journalEntryRepository.findLiveBySource(sourceType, sourceId).forEach(this::postReversal);
+    }
+
+    private JournalEntry post(JournalEntry.SourceType sourceType, Long sourceId, LocalDate entryDate,
+                              String description, List<PostingLine> lines) {
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        for (PostingLine line : lines) {
+            if (line.debit().signum() < 0 || line.credit().signum() < 0) {
+                throw new IllegalArgumentException("Posting amounts must not be negative: " + line.account());
+            }
+            debits = debits.add(line.debit());
+            credits = credits.add(line.credit());
+        }
+        if (debits.compareTo(credits) != 0) {
+            throw new IllegalStateException("Unbalanced journal for " + sourceType + " #" + sourceId
+                + ": debits " + debits + " != credits " + credits);
+        }
+
+        JournalEntry entry = JournalEntry.builder()
+            .entryDate(entryDate)
+            .sourceType(sourceType)
+            .sourceId(sourceId)
+            .description(description)
+            .build();
+
+        int seq = 0;
+        for (PostingLine line : lines) {
+            entry.addLine(JournalLine.builder()
+                .accountName(line.account())
+                .entryDate(entryDate)
+                .debit(line.debit())
+                .credit(line.credit())
+                .sequence(seq++)
+                .build());
+            bumpAccount(line.account(), line.accountType(), line.debit(), line.credit());
+        }
+
+        return journalEntryRepository.save(entry);
+    }
+
+    private void postReversal(JournalEntry original) {
+        JournalEntry reversal = JournalEntry.builder()
+            .entryDate(openDateFor(original.getEntryDate()))
+            .sourceType(original.getSourceType())
+            .sourceId(original.getSourceId())
+            .description("Reversal of journal #" + original.getId())
+            .reversalOfId(original.getId())
+            .build();
+
+        for (JournalLine line : original.getLines()) {
+            reversal.addLine(JournalLine.builder()
+                .accountName(line.getAccountName())
+                .entryDate(reversal.getEntryDate())
+                .debit(line.getCredit())
+                .credit(line.getDebit())
+                .sequence(line.getSequence())
+                .build());
+            // Account already exists, since the original posting created it
+            ledgerAccountRepository.addTotals(line.getAccountName(), line.getCredit(), line.getDebit());
+        }
+
+        journalEntryRepository.save(reversal);
+    }
+
+    /**
+     * Closed periods are immutable, so anything dated inside one moves to the
+     * first open day. The shared period lock is held until commit, so a close
+     * waits for this posting and a posting waits for a close in progress.
+     */
+    private LocalDate openDateFor(LocalDate date) {
+        accountingPeriodRepository.lockForPosting();
+        return accountingPeriodRepository.findClosedThrough()
+            .filter(closedThrough -> !date.isAfter(closedThrough))
+            .map(closedThrough -> closedThrough.plusDays(1))
+            .orElse(date);
+    }
+
+    /** One upsert, so two transactions opening the same account cannot collide. */
+    private void bumpAccount(String accountName, AccountType type, BigDecimal debit, BigDecimal credit) {
+        ledgerAccountRepository.upsertTotals(accountName, type.name(), debit, credit);
+    }
+
+    private boolean matches(JournalEntry entry, LocalDate entryDate, List<PostingLine> lines) {
+        if (!entry.getEntryDate().equals(entryDate) || entry.getLines().size() != lines.size()) {
+            return false;
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            if (!lines.get(i).sameAs(entry.getLines().get(i))) return false;
+        }
+        return true;
+    }
+
+    // ─── READS ────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<LedgerAccount> getAccounts() {
+        return ledgerAccountRepository.findAllByOrderByAccountTypeAscAccountNameAsc();
+    }
+
+    @Transactional(readOnly = true)
+    public TrialBalanceDTO getTrialBalance() {
+        List<TrialBalanceDTO.Row> rows = new ArrayList<>();
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+
+        for (LedgerAccount account : getAccounts()) {
+            BigDecimal net = account.getDebitTotal().subtract(account.getCreditTotal());
+            if (net.signum() == 0) continue;
+            BigDecimal debit = net.signum() > 0 ? net : BigDecimal.ZERO;
+            BigDecimal credit = net.signum() < 0 ? net.negate() : BigDecimal.ZERO;
+            rows.add(new TrialBalanceDTO.Row(account.getAccountName(), account.getAccountType().name(), debit, credit));
+            totalDebit = totalDebit.add(debit);
+            totalCredit = totalCredit.add(credit);
+        }
+
+        return TrialBalanceDTO.builder()
+            .asOf(LocalDate.now())
+            .totalDebit(totalDebit)
+            .totalCredit(totalCredit)
+            .balanced(totalDebit.compareTo(totalCredit) == 0)
+            .rows(rows)
+            .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<JournalEntryDTO> getEntriesForSource(JournalEntry.SourceType sourceType, Long sourceId) {
+        return journalEntryRepository.findBySourceTypeAndSourceIdOrderByIdAsc(sourceType, sourceId).stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+
+    private JournalEntryDTO convertToDTO(JournalEntry entry) {
+        return JournalEntryDTO.builder()
+            .id(entry.getId())
+            .entryDate(entry.getEntryDate())
+            .sourceType(entry.getSourceType().name())
+            .sourceId(entry.getSourceId())
+            .description(entry.getDescription())
+            .reversalOfId(entry.getReversalOfId())
+            .postedAt(entry.getPostedAt())
+            .lines(entry.getLines().stream()
+                .map(l -> new JournalEntryDTO.Line(l.getAccountName(), l.getDebit(), l.getCredit()))
+                .collect(Collectors.toList()))
+            .build();
+    }
+}
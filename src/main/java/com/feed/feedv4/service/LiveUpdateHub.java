@@ -0,0 +1,246 @@
+package com.feed.feedv4.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.feed.feedv4.dto.BatchBoardRowDTO;
+import com.feed.feedv4.event.FormulationChangedEvent;
+import com.feed.feedv4.event.InventoryChangedEvent;
+import com.feed.feedv4.event.PelletingBatchChangedEvent;
+import com.feed.feedv4.event.SalesActivityEvent;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.RawMaterialRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events fan-out for shop-floor screens. Domain events are turned
+ * into one message per topic after commit and offered to each subscriber's
+ * bounded queue; a virtual thread per subscriber drains its queue into the
+ * emitter, so a slow tablet never holds up the publisher or other clients.
+ * When a queue overflows the oldest messages are dropped and the client is
+ * told to resync.
+ */
+@Component
+public class LiveUpdateHub {
+
+    public enum Topic {
+        BATCHES, STOCK, DASHBOARD
+    }
+
+    private record Message(String name, Object data) {
+    }
+
+    public record BatchUpdate(Long batchId, String previousStatus, String status, BatchBoardRowDTO row,
+                              LocalDateTime at) {
+    }
+
+    public record StockUpdate(Long rawMaterialId, String name, String movementType, double quantityKg,
+                              Double inStockKg, LocalDateTime at) {
+    }
+
+    public record DashboardUpdate(String reason, LocalDateTime at) {
+    }
+
+    private final class Client {
+        final SseEmitter emitter;
+        final Set<Topic> topics;
+        final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean lagged = new AtomicBoolean();
+        final AtomicInteger dropped = new AtomicInteger();
+        volatile boolean closed;
+
+        Client(SseEmitter emitter, Set<Topic> topics) {
+            this.emitter = emitter;
+            this.topics = topics;
+        }
+
+        void offer(Message m) {
+            while (!queue.offer(m)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                    lagged.set(true);
+                }
+            }
+        }
+
+        void run() {
+            try {
+                emitter.send(SseEmitter.event().name("ready").data(Map.of("topics", topics)));
+                while (!closed) {
+                    Message m = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (lagged.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().name("resync")
+                            .data(Map.of("dropped", dropped.getAndSet(0))));
+                    }
+                    if (m == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                            .id(Long.toString(sequence.incrementAndGet()))
+                            .name(m.name())
+                            .data(m.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                remove(this);
+            }
+        }
+    }
+
+    private final Map<Topic, Set<Client>> subscribers = new EnumMap<>(Topic.class);
+    private final AtomicInteger clientCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final PelletingBatchRepository batchRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final int bufferSize;
+    private final int maxClients;
+    private final Duration heartbeat;
+
+    public LiveUpdateHub(PelletingBatchRepository batchRepository,
+                         RawMaterialRepository rawMaterialRepository,
+                         @Value("${live.buffer-size:256}") int bufferSize,
+                         @Value("${live.max-clients:500}") int maxClients,
+                         @Value("${live.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.batchRepository = batchRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxClients = maxClients;
+        this.heartbeat = Duration.ofSeconds(Math.max(1, heartbeatSeconds));
+        for (Topic t : Topic.values()) {
+            subscribers.put(t, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    // ─── SUBSCRIPTIONS ────────────────────────────────────────────────────────
+
+    public SseEmitter subscribe(Set<Topic> topics) {
+        if (clientCount.incrementAndGet() > maxClients) {
+            clientCount.decrementAndGet();
+            throw new IllegalStateException("Too many live subscribers");
+        }
+        Set<Topic> wanted = topics == null || topics.isEmpty() ? EnumSet.allOf(Topic.class) : EnumSet.copyOf(topics);
+        SseEmitter emitter = new SseEmitter(0L);
+        Client client = new Client(emitter, wanted);
+        emitter.onCompletion(() -> client.closed = true);
+        emitter.onTimeout(() -> client.closed = true);
+        emitter.onError(e -> client.closed = true);
+
+        wanted.forEach(t -> subscribers.get(t).add(client));
+        Thread.ofVirtual().name("live-sse-", sequence.get()).start(client::run);
+        return emitter;
+    }
+
+    public Map<Topic, Integer> getSubscriberCounts() {
+        Map<Topic, Integer> counts = new EnumMap<>(Topic.class);
+        subscribers.forEach((t, clients) -> counts.put(t, clients.size()));
+        return counts;
+    }
+
+    private void remove(Client client) {
+        boolean removed = false;
+        for (Topic t : client.topics) {
+            removed |= subscribers.get(t).remove(client);
+        }
+        if (removed) clientCount.decrementAndGet();
+        client.closed = true;
+        try {
+            client.emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // already completed
+        }
+    }
+
+    private void publish(Topic topic, String name, Object data) {
+        Set<Client> clients = subscribers.get(topic);
+        if (clients.isEmpty()) return;
+        Message m = new Message(name, data);
+        for (Client c : clients) {
+            c.offer(m);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(clients -> clients.forEach(c -> {
+            c.closed = true;
+            try {
+                c.emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed
+            }
+        }));
+    }
+
+    // ─── DOMAIN EVENTS ────────────────────────────────────────────────────────
+    // Run after DashboardSnapshotCache has dropped the affected fragments.
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PelletingBatchChangedEvent event) {
+        if (!subscribers.get(Topic.BATCHES).isEmpty()) {
+            // One narrow row per event, shared by every subscriber
+            BatchBoardRowDTO row = batchRepository
+                .findBoard(null, null, event.batchId() + 1, PageRequest.of(0, 1)).stream()
+                .filter(r -> r.getId().equals(event.batchId()))
+                .findFirst()
+                .orElse(null);
+            publish(Topic.BATCHES, "batch",
+                new BatchUpdate(event.batchId(), event.previousStatus(), event.status(), row, LocalDateTime.now()));
+        }
+        publish(Topic.DASHBOARD, "refresh", new DashboardUpdate("pelleting", LocalDateTime.now()));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(InventoryChangedEvent event) {
+        if (!subscribers.get(Topic.STOCK).isEmpty()) {
+            var rm = rawMaterialRepository.findById(event.rawMaterialId()).orElse(null);
+            publish(Topic.STOCK, "stock", new StockUpdate(
+                event.rawMaterialId(),
+                rm != null ? rm.getName() : null,
+                event.movementType() != null ? event.movementType().name() : null,
+                event.quantityKg(),
+                rm != null ? rm.getInStockKg() : null,
+                LocalDateTime.now()));
+        }
+        publish(Topic.DASHBOARD, "refresh", new DashboardUpdate("inventory", LocalDateTime.now()));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(FormulationChangedEvent event) {
+        publish(Topic.DASHBOARD, "refresh", new DashboardUpdate("formulation", LocalDateTime.now()));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(SalesActivityEvent event) {
+        publish(Topic.DASHBOARD, "refresh", new DashboardUpdate("finance", LocalDateTime.now()));
+    }
+}
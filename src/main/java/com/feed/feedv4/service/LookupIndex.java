@@ -0,0 +1,243 @@
+package com.feed.feedv4.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.feed.feedv4.dto.LookupHitDTO;
+import com.feed.feedv4.event.InventoryChangedEvent;
+import com.feed.feedv4.event.MasterDataChangedEvent;
+import com.feed.feedv4.model.Customer;
+import com.feed.feedv4.model.RawMaterial;
+import com.feed.feedv4.model.Vendor;
+import com.feed.feedv4.repository.CustomerRepository;
+import com.feed.feedv4.repository.RawMaterialRepository;
+import com.feed.feedv4.repository.VendorRepository;
+
+/**
+ * In-memory type-ahead over customer, vendor and raw-material names and GST
+ * numbers, so form autocompletes never reach the database.
+ *
+ * Every name is indexed under its full text and under each later word, and
+ * the keys live in one sorted array: a lookup is a binary search for the
+ * first key at or after the prefix plus a short scan, a few microseconds for
+ * tens of thousands of keys. Change events update the entry table after
+ * commit; the sorted array is rebuilt off the request thread, with bursts
+ * (e.g. a bulk upload) coalesced into one rebuild.
+ */
+@Component
+public class LookupIndex {
+
+    public enum Type {
+        CUSTOMER, VENDOR, RAW_MATERIAL
+    }
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+    /** Keys examined per lookup; a very short prefix stops here rather than walking the index. */
+    private static final int SCAN_LIMIT = 400;
+
+    private record Entry(Type type, long id, String name, String detail, String gstNumber, boolean active) {
+    }
+
+    private record Key(String text, Entry entry, boolean whole) {
+    }
+
+    /** Sorted keys; {@code refs[i]} is the entry for {@code keys[i]} and {@code whole[i]} marks a field start. */
+    private record Snapshot(String[] keys, Entry[] refs, boolean[] whole) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new Entry[0], new boolean[0]);
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final CustomerRepository customerRepository;
+    private final VendorRepository vendorRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+
+    public LookupIndex(CustomerRepository customerRepository, VendorRepository vendorRepository,
+                       RawMaterialRepository rawMaterialRepository) {
+        this.customerRepository = customerRepository;
+        this.vendorRepository = vendorRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+    }
+
+    // ─── LOOKUP ───────────────────────────────────────────────────────────────
+
+    /**
+     * Entries with a name, company/supplier or GST number starting with
+     * {@code q}, or a word in them starting with it. Whole-field matches come
+     * first, then active before inactive, then shorter names.
+     */
+    public List<LookupHitDTO> lookup(String q, Set<Type> types, Integer limit) {
+        String prefix = normalize(q);
+        if (prefix.isEmpty()) return List.of();
+        int max = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+        Set<Type> wanted = types == null || types.isEmpty() ? EnumSet.allOf(Type.class) : types;
+
+        Snapshot s = snapshot;
+        Map<Entry, Boolean> found = new LinkedHashMap<>();
+        int scanned = 0;
+        for (int i = lowerBound(s.keys(), prefix); i < s.keys().length && scanned < SCAN_LIMIT; i++, scanned++) {
+            if (!s.keys()[i].startsWith(prefix)) break;
+            Entry e = s.refs()[i];
+            if (wanted.contains(e.type())) found.merge(e, s.whole()[i], Boolean::logicalOr);
+        }
+
+        return found.entrySet().stream()
+            .sorted(Comparator.<Map.Entry<Entry, Boolean>, Boolean>comparing(m -> !m.getValue())
+                .thenComparing(m -> !m.getKey().active())
+                .thenComparingInt(m -> m.getKey().name().length())
+                .thenComparing(m -> m.getKey().name(), String.CASE_INSENSITIVE_ORDER))
+            .limit(max)
+            .map(m -> {
+                Entry e = m.getKey();
+                return new LookupHitDTO(e.type().name(), e.id(), e.name(), e.detail(), e.gstNumber(), e.active());
+            })
+            .toList();
+    }
+
+    private static int lowerBound(String[] keys, String prefix) {
+        int i = Arrays.binarySearch(keys, prefix);
+        if (i >= 0) {
+            while (i > 0 && keys[i - 1].equals(prefix)) i--;
+            return i;
+        }
+        return -i - 1;
+    }
+
+    // ─── LOADING ──────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        entries.clear();
+        for (Object[] r : customerRepository.findLookupRows()) {
+            put(new Entry(Type.CUSTOMER, (Long) r[0], (String) r[1], (String) r[2], (String) r[3],
+                r[4] == Customer.CustomerStatus.ACTIVE));
+        }
+        for (Object[] r : vendorRepository.findLookupRows()) {
+            put(new Entry(Type.VENDOR, (Long) r[0], (String) r[1], (String) r[2], (String) r[3],
+                r[4] == Vendor.VendorStatus.ACTIVE));
+        }
+        for (Object[] r : rawMaterialRepository.findLookupRows()) {
+            put(new Entry(Type.RAW_MATERIAL, (Long) r[0], (String) r[1], (String) r[2], null,
+                !Boolean.TRUE.equals(r[3])));
+        }
+        rebuild();
+    }
+
+    private void put(Entry e) {
+        String key = e.type() + "/" + e.id();
+        if (e.name() == null) entries.remove(key);
+        else entries.put(key, e);
+    }
+
+    private void refresh(Type type, Long id, Entry current) {
+        if (current != null) put(current);
+        else entries.remove(type + "/" + id);
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("lookup-index-rebuild").start(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Serialized so a slow rebuild can never replace a newer snapshot. A lock
+     * rather than a monitor, so the virtual thread running it stays unpinned.
+     */
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            snapshot = build();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot build() {
+        List<Key> keyed = new ArrayList<>();
+        for (Entry e : entries.values()) {
+            addKeys(keyed, e, e.name());
+            addKeys(keyed, e, e.detail());
+            if (e.gstNumber() != null && !e.gstNumber().isBlank()) {
+                keyed.add(new Key(normalize(e.gstNumber()).replace(" ", ""), e, true));
+            }
+        }
+        keyed.sort(Comparator.comparing(Key::text));
+        String[] keys = new String[keyed.size()];
+        Entry[] refs = new Entry[keyed.size()];
+        boolean[] whole = new boolean[keyed.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Key k = keyed.get(i);
+            keys[i] = k.text();
+            refs[i] = k.entry();
+            whole[i] = k.whole();
+        }
+        return new Snapshot(keys, refs, whole);
+    }
+
+    /** The field itself plus the tail starting at each later word, so "feeds" finds "Acme Feeds Ltd". */
+    private static void addKeys(List<Key> keyed, Entry e, String field) {
+        String text = normalize(field);
+        if (text.isEmpty()) return;
+        keyed.add(new Key(text, e, true));
+        for (int i = 1; i < text.length(); i++) {
+            if (!Character.isLetterOrDigit(text.charAt(i - 1)) && Character.isLetterOrDigit(text.charAt(i))) {
+                keyed.add(new Key(text.substring(i), e, false));
+            }
+        }
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    // ─── CHANGE EVENTS ────────────────────────────────────────────────────────
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MasterDataChangedEvent event) {
+        switch (event.kind()) {
+            case CUSTOMER -> refresh(Type.CUSTOMER, event.id(), customerRepository.findById(event.id())
+                .map(c -> new Entry(Type.CUSTOMER, c.getId(), c.getCustomerName(), c.getCompanyName(),
+                    c.getGstNumber(), c.getStatus() == Customer.CustomerStatus.ACTIVE))
+                .orElse(null));
+            case VENDOR -> refresh(Type.VENDOR, event.id(), vendorRepository.findById(event.id())
+                .map(v -> new Entry(Type.VENDOR, v.getId(), v.getVendorDisplayName(), v.getCompanyName(),
+                    v.getGstNumber(), v.getStatus() == Vendor.VendorStatus.ACTIVE))
+                .orElse(null));
+        }
+    }
+
+    /** Only master-data edits carry no movement type; receipts and issues never rename anything. */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(InventoryChangedEvent event) {
+        if (event.movementType() != null || event.rawMaterialId() == null) return;
+        RawMaterial rm = rawMaterialRepository.findById(event.rawMaterialId()).orElse(null);
+        refresh(Type.RAW_MATERIAL, event.rawMaterialId(), rm == null ? null
+            : new Entry(Type.RAW_MATERIAL, rm.getId(), rm.getName(), rm.getSupplier(), null, !rm.isArchived()));
+    }
+}
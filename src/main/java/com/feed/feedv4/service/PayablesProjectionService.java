@@ -0,0 +1,248 @@
+package com.feed.feedv4.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.dto.CashRequirementDTO;
+import com.feed.feedv4.dto.PayablesAgingDTO;
+import com.feed.feedv4.model.Bill;
+import com.feed.feedv4.model.BillPayment;
+import com.feed.feedv4.model.PayableDueBucket;
+import com.feed.feedv4.model.PaymentMade;
+import com.feed.feedv4.model.Vendor;
+import com.feed.feedv4.model.VendorBalance;
+import com.feed.feedv4.repository.BillRepository;
+import com.feed.feedv4.repository.PayableDueBucketRepository;
+import com.feed.feedv4.repository.PaymentMadeRepository;
+import com.feed.feedv4.repository.VendorBalanceRepository;
+import com.feed.feedv4.repository.VendorRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Vendor-side balance projection. Callers snapshot a bill/payment contribution
+ * before and after a change and hand both here; the difference is applied to
+ * vendor_balances and payable_due_buckets so reads never aggregate over bills.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PayablesProjectionService {
+
+    private final VendorBalanceRepository vendorBalanceRepository;
+    private final PayableDueBucketRepository bucketRepository;
+    private final BillRepository billRepository;
+    private final PaymentMadeRepository paymentMadeRepository;
+    private final VendorRepository vendorRepository;
+
+    /** What a single bill contributes to its vendor's payables. */
+    public record BillContribution(Long vendorId, LocalDate dueDate, BigDecimal outstanding) {
+
+        public static BillContribution of(Bill bill) {
+            if (bill == null || bill.getVendorId() == null) return null;
+            BigDecimal outstanding = BigDecimal.ZERO;
+            if (bill.getStatus() != Bill.BillStatus.VOID && bill.getTotal() != null) {
+                BigDecimal paid = bill.getAmountPaid() != null ? bill.getAmountPaid() : BigDecimal.ZERO;
+                outstanding = bill.getTotal().subtract(paid).max(BigDecimal.ZERO);
+            }
+            return new BillContribution(bill.getVendorId(), bill.getDueDate(), outstanding);
+        }
+
+        boolean isOpen() {
+            return outstanding.signum() > 0;
+        }
+    }
+
+    /** What a single payment made contributes to its vendor's unused credits. */
+    public record CreditContribution(Long vendorId, BigDecimal excess) {
+
+        public static CreditContribution of(PaymentMade payment) {
+            if (payment == null || payment.getVendorId() == null) return null;
+            if (payment.getStatus() == PaymentMade.PaymentStatus.VOID) {
+                return new CreditContribution(payment.getVendorId(), BigDecimal.ZERO);
+            }
+            // same formula as PaymentMade.calculateAmounts(), without writing to the entity
+            BigDecimal used = payment.getBillPayments() == null ? BigDecimal.ZERO : payment.getBillPayments().stream()
+                .map(BillPayment::getPaymentAmount)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal excess = orZero(payment.getPaymentMade()).subtract(used)
+                .subtract(orZero(payment.getBankCharges()))
+                .max(BigDecimal.ZERO);
+            return new CreditContribution(payment.getVendorId(), excess);
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    // ─── INCREMENTAL UPDATES ──────────────────────────────────────────────────
+
+    public void billChanged(BillContribution before, BillContribution after) {
+        if (Objects.equals(before, after)) return;
+        if (before != null && before.isOpen()) {
+            applyBill(before.vendorId(), before.dueDate(), before.outstanding().negate(), -1);
+        }
+        if (after != null && after.isOpen()) {
+            applyBill(after.vendorId(), after.dueDate(), after.outstanding(), 1);
+        }
+    }
+
+    public void creditChanged(CreditContribution before, CreditContribution after) {
+        if (Objects.equals(before, after)) return;
+        if (before != null && before.excess().signum() != 0) {
+            applyCredit(before.vendorId(), before.excess().negate());
+        }
+        if (after != null && after.excess().signum() != 0) {
+            applyCredit(after.vendorId(), after.excess());
+        }
+    }
+
+    /** Single-statement upserts: concurrent first writes for a vendor cannot collide. */
+    private void applyBill(Long vendorId, LocalDate dueDate, BigDecimal delta, int billDelta) {
+        vendorBalanceRepository.addPayables(vendorId, delta, billDelta);
+        if (dueDate != null) bucketRepository.addOutstanding(vendorId, dueDate, delta, billDelta);
+    }
+
+    private void applyCredit(Long vendorId, BigDecimal delta) {
+        vendorBalanceRepository.addUnusedCredits(vendorId, delta);
+    }
+
+    // ─── READS ────────────────────────────────────────────────────────────────
+
+    /** Outstanding payables by vendor id; vendors without open bills are absent. */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getPayables(Collection<Long> vendorIds) {
+        if (vendorIds.isEmpty()) return Map.of();
+        return vendorBalanceRepository.findAllById(vendorIds).stream()
+            .collect(Collectors.toMap(VendorBalance::getVendorId, VendorBalance::getPayables));
+    }
+
+    @Transactional(readOnly = true)
+    public VendorBalance getVendorBalance(Long vendorId) {
+        return vendorBalanceRepository.findById(vendorId)
+            .orElseGet(() -> VendorBalance.builder()
+                .vendorId(vendorId)
+                .payables(BigDecimal.ZERO)
+                .unusedCredits(BigDecimal.ZERO)
+                .openBills(0)
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public PayablesAgingDTO getAging(LocalDate asOf) {
+        List<PayableDueBucket> open = bucketRepository.findOpen();
+
+        Map<Long, String> vendorNames = vendorRepository
+            .findAllById(open.stream().map(PayableDueBucket::getVendorId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(Vendor::getId, Vendor::getVendorDisplayName));
+
+        PayablesAgingDTO report = PayablesAgingDTO.builder().asOf(asOf).build();
+        Map<Long, PayablesAgingDTO.VendorAging> byVendor = new LinkedHashMap<>();
+
+        for (PayableDueBucket bucket : open) {
+            long daysOverdue = ChronoUnit.DAYS.between(bucket.getDueDate(), asOf);
+            PayablesAgingDTO.VendorAging row = byVendor.computeIfAbsent(bucket.getVendorId(), id -> {
+                PayablesAgingDTO.VendorAging v = new PayablesAgingDTO.VendorAging();
+                v.setVendorId(id);
+                v.setVendorName(vendorNames.get(id));
+                return v;
+            });
+            row.getBuckets().add(daysOverdue, bucket.getOutstanding());
+            row.setOpenBills(row.getOpenBills() + bucket.getBillCount());
+            report.getTotals().add(daysOverdue, bucket.getOutstanding());
+        }
+
+        report.getVendors().addAll(byVendor.values());
+        return report;
+    }
+
+    @Transactional(readOnly = true)
+    public CashRequirementDTO getCashRequirement(LocalDate from, int days) {
+        if (days < 0) throw new IllegalArgumentException("days must be >= 0");
+        LocalDate to = from.plusDays(days);
+
+        Map<LocalDate, CashRequirementDTO.DueDay> schedule = new LinkedHashMap<>();
+        for (PayableDueBucket bucket : bucketRepository.findOpenDueBetween(from, to)) {
+            schedule.merge(bucket.getDueDate(),
+                new CashRequirementDTO.DueDay(bucket.getDueDate(), bucket.getOutstanding(), bucket.getBillCount()),
+                (a, b) -> new CashRequirementDTO.DueDay(a.getDueDate(),
+                    a.getAmount().add(b.getAmount()), a.getBillCount() + b.getBillCount()));
+        }
+
+        BigDecimal overdue = bucketRepository.sumOpenDueBefore(from);
+        BigDecimal inWindow = schedule.values().stream()
+            .map(CashRequirementDTO.DueDay::getAmount)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return CashRequirementDTO.builder()
+            .from(from)
+            .to(to)
+            .alreadyOverdue(overdue)
+            .dueInWindow(inWindow)
+            .totalRequired(overdue.add(inWindow))
+            .schedule(List.copyOf(schedule.values()))
+            .build();
+    }
+
+    // ─── REBUILD ──────────────────────────────────────────────────────────────
+
+    /**
+     * Recomputes the projection from bills and payments made. Only needed to
+     * seed existing data or recover from drift; normal traffic is incremental.
+     */
+    public void rebuild() {
+        bucketRepository.deleteAllInBatch();
+        vendorBalanceRepository.deleteAllInBatch();
+
+        Map<Long, VendorBalance> balances = new LinkedHashMap<>();
+        Map<String, PayableDueBucket> buckets = new LinkedHashMap<>();
+        Function<Long, VendorBalance> balanceFor = id -> balances.computeIfAbsent(id, v -> VendorBalance.builder()
+            .vendorId(v)
+            .payables(BigDecimal.ZERO)
+            .unusedCredits(BigDecimal.ZERO)
+            .openBills(0)
+            .build());
+
+        for (Bill bill : billRepository.findAll()) {
+            BillContribution c = BillContribution.of(bill);
+            if (c == null || !c.isOpen()) continue;
+            VendorBalance vb = balanceFor.apply(c.vendorId());
+            vb.setPayables(vb.getPayables().add(c.outstanding()));
+            vb.setOpenBills(vb.getOpenBills() + 1);
+            if (c.dueDate() == null) continue;
+            PayableDueBucket bucket = buckets.computeIfAbsent(c.vendorId() + "|" + c.dueDate(),
+                k -> PayableDueBucket.builder()
+                    .vendorId(c.vendorId())
+                    .dueDate(c.dueDate())
+                    .outstanding(BigDecimal.ZERO)
+                    .billCount(0)
+                    .build());
+            bucket.setOutstanding(bucket.getOutstanding().add(c.outstanding()));
+            bucket.setBillCount(bucket.getBillCount() + 1);
+        }
+
+        for (PaymentMade payment : paymentMadeRepository.findAll()) {
+            CreditContribution c = CreditContribution.of(payment);
+            if (c == null || c.excess().signum() == 0) continue;
+            VendorBalance vb = balanceFor.apply(c.vendorId());
+            vb.setUnusedCredits(vb.getUnusedCredits().add(c.excess()));
+        }
+
+        vendorBalanceRepository.saveAll(balances.values());
+        bucketRepository.saveAll(buckets.values());
+    }
+}
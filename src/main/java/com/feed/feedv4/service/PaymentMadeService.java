@@ -5,15 +5,21 @@ import com.feed.feedv4.dto.BillPaymentDTO;
 import com.feed.feedv4.dto.PaymentMadeDTO;
 import com.feed.feedv4.model.AccountingEntry;
 import com.feed.feedv4.model.BillPayment;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
 import com.feed.feedv4.model.PaymentMade;
 import com.feed.feedv4.repository.BillRepository;
 import com.feed.feedv4.repository.PaymentMadeRepository;
+import com.feed.feedv4.service.PayablesProjectionService.BillContribution;
+import com.feed.feedv4.service.JournalService.PostingLine;
+import com.feed.feedv4.service.PayablesProjectionService.CreditContribution;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,6 +31,11 @@ public class PaymentMadeService {
 
     private final PaymentMadeRepository paymentMadeRepository;
     private final BillRepository billRepository;
+    private final PayablesProjectionService payablesProjection;
+    private final JournalService journalService;
+
+    /** Ledger-only balancing account for unallocated amounts; not shown in the payment's entry view. */
+    private static final String VENDOR_ADVANCES = "Vendor Advances";
 
     // Hardcoded account map — paidThroughAccountId -> accountName (no accounts table)
     private static final Map<Long, String> ACCOUNT_NAMES = Map.of(
@@ -71,9 +82,12 @@ public class PaymentMadeService {
         }
 
         PaymentMade payment = convertToEntity(dto);
-        generateAccountingEntries(payment);
+        List<PostingLine> lines = buildPostingLines(payment);
+        syncAccountingEntries(payment, lines);
 
         PaymentMade saved = paymentMadeRepository.save(payment);
+        postToLedger(saved, lines);
+        payablesProjection.creditChanged(null, CreditContribution.of(saved));
 
         if (saved.getStatus() == PaymentMade.PaymentStatus.PAID) {
             applyBillPayments(saved);
@@ -96,11 +110,14 @@ public class PaymentMadeService {
             reverseBillPayments(existing);
         }
 
+        CreditContribution before = CreditContribution.of(existing);
         updatePaymentFields(existing, dto);
-        existing.getAccountingEntries().clear();
-        generateAccountingEntries(existing);
+        List<PostingLine> lines = buildPostingLines(existing);
+        syncAccountingEntries(existing, lines);
 
         PaymentMade saved = paymentMadeRepository.save(existing);
+        postToLedger(saved, lines);
+        payablesProjection.creditChanged(before, CreditContribution.of(saved));
 
         if (saved.getStatus() == PaymentMade.PaymentStatus.PAID) {
             applyBillPayments(saved);
@@ -119,6 +136,7 @@ public class PaymentMadeService {
             throw new RuntimeException("Cannot delete a paid payment. Please void it first.");
         }
 
+        payablesProjection.creditChanged(CreditContribution.of(payment), null);
         paymentMadeRepository.delete(payment);
     }
 
@@ -136,8 +154,12 @@ public class PaymentMadeService {
             reverseBillPayments(payment);
         }
 
+        CreditContribution before = CreditContribution.of(payment);
         payment.voidPayment();
-        return convertToDTO(paymentMadeRepository.save(payment));
+        PaymentMade saved = paymentMadeRepository.save(payment);
+        journalService.reverse(JournalEntry.SourceType.PAYMENT_MADE, saved.getId());
+        payablesProjection.creditChanged(before, CreditContribution.of(saved));
+        return convertToDTO(saved);
     }
 
     // ─── BILL PAYMENT HELPERS ─────────────────────────────────────────────────
@@ -145,8 +167,10 @@ public class PaymentMadeService {
     private void applyBillPayments(PaymentMade payment) {
         for (BillPayment bp : payment.getBillPayments()) {
             billRepository.findById(bp.getBillId()).ifPresent(bill -> {
+                BillContribution before = BillContribution.of(bill);
                 bill.recordPayment(bp.getPaymentAmount());
                 billRepository.save(bill);
+                payablesProjection.billChanged(before, BillContribution.of(bill));
             });
         }
     }
@@ -154,17 +178,19 @@ public class PaymentMadeService {
     private void reverseBillPayments(PaymentMade payment) {
         for (BillPayment bp : payment.getBillPayments()) {
             billRepository.findById(bp.getBillId()).ifPresent(bill -> {
+                BillContribution before = BillContribution.of(bill);
                 bill.reversePayment(bp.getPaymentAmount());
                 billRepository.save(bill);
+                payablesProjection.billChanged(before, BillContribution.of(bill));
             });
         }
     }
 
     // ─── ACCOUNTING ENTRIES ───────────────────────────────────────────────────
 
-    private void generateAccountingEntries(PaymentMade payment) {
+    private List<PostingLine> buildPostingLines(PaymentMade payment) {
         String paidThroughName = ACCOUNT_NAMES.getOrDefault(payment.getPaidThroughAccountId(), "Bank Account");
-        int seq = 0;
+        List<PostingLine> lines = new ArrayList<>();
 
         BigDecimal totalBillPayments = payment.getBillPayments().stream()
             .map(BillPayment::getPaymentAmount)
@@ -172,36 +198,77 @@ public class PaymentMadeService {
 
         // Debit: Accounts Payable
         if (totalBillPayments.compareTo(BigDecimal.ZERO) > 0) {
-            payment.addAccountingEntry(AccountingEntry.builder()
-                .paymentMade(payment)
-                .accountName("Accounts Payable")
-                .debit(totalBillPayments)
-                .credit(BigDecimal.ZERO)
-                .sequence(seq++)
-                .build());
+            lines.add(PostingLine.debit("Accounts Payable", AccountType.LIABILITY, totalBillPayments));
         }
 
         // Credit: Paid Through Account
-        payment.addAccountingEntry(AccountingEntry.builder()
-            .paymentMade(payment)
-            .accountName(paidThroughName)
-            .debit(BigDecimal.ZERO)
-            .credit(payment.getPaymentMade())
-            .sequence(seq++)
-            .build());
+        lines.add(PostingLine.credit(paidThroughName, AccountType.ASSET, payment.getPaymentMade()));
 
         // Debit: Bank Charges
         if (payment.getBankCharges().compareTo(BigDecimal.ZERO) > 0) {
+            lines.add(PostingLine.debit("Bank Charges", AccountType.EXPENSE, payment.getBankCharges()));
+        }
+
+        // Balance any excess (or shortfall) against vendor advances so the journal always balances
+        BigDecimal difference = payment.getPaymentMade().subtract(totalBillPayments).subtract(payment.getBankCharges());
+        if (difference.signum() > 0) {
+            lines.add(PostingLine.debit(VENDOR_ADVANCES, AccountType.ASSET, difference));
+        } else if (difference.signum() < 0) {
+            lines.add(PostingLine.credit(VENDOR_ADVANCES, AccountType.ASSET, difference.negate()));
+        }
+
+        return lines;
+    }
+
+    /**
+     * Keeps the per-payment entry view in step with the posting lines, touching rows only when they change.
+     * The Vendor Advances balancing line is left out: it belongs to the ledger, not to the payment's own view.
+     */
+    private void syncAccountingEntries(PaymentMade payment, List<PostingLine> postingLines) {
+        List<PostingLine> lines = postingLines.stream()
+            .filter(l -> !VENDOR_ADVANCES.equals(l.account()))
+            .toList();
+        List<AccountingEntry> current = payment.getAccountingEntries();
+        boolean unchanged = current.size() == lines.size();
+        for (int i = 0; unchanged && i < lines.size(); i++) {
+            AccountingEntry e = current.get(i);
+            PostingLine l = lines.get(i);
+            unchanged = e.getAccountName().equals(l.account())
+                && e.getDebit().compareTo(l.debit()) == 0
+                && e.getCredit().compareTo(l.credit()) == 0;
+        }
+        if (unchanged) return;
+
+        current.clear();
+        int seq = 0;
+        for (PostingLine l : lines) {
             payment.addAccountingEntry(AccountingEntry.builder()
                 .paymentMade(payment)
-                .accountName("Bank Charges")
-                .debit(payment.getBankCharges())
-                .credit(BigDecimal.ZERO)
-                .sequence(seq)
+                .accountName(l.account())
+                .debit(l.debit())
+                .credit(l.credit())
+                .sequence(seq++)
                 .build());
         }
     }
 
+    /** Posts every payment; a no-op for those already posted. Backfills payments made before the ledger. */
+    public void repostLedger() {
+        for (PaymentMade payment : paymentMadeRepository.findAll()) {
+            postToLedger(payment, buildPostingLines(payment));
+        }
+    }
+
+    /** Only PAID payments reach the general ledger; drafts and voids have no live posting. */
+    private void postToLedger(PaymentMade payment, List<PostingLine> lines) {
+        if (payment.getStatus() == PaymentMade.PaymentStatus.PAID) {
+            journalService.repost(JournalEntry.SourceType.PAYMENT_MADE, payment.getId(), payment.getPaymentDate(),
+                "Payment made " + payment.getPaymentNumber(), lines);
+        } else {
+            journalService.reverse(JournalEntry.SourceType.PAYMENT_MADE, payment.getId());
+        }
+    }
+
     // ─── NUMBER GENERATION ────────────────────────────────────────────────────
 
     private String generatePaymentNumber() {
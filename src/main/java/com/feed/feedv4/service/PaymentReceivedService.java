@@ -2,6 +2,7 @@ package com.feed.feedv4.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -12,10 +13,14 @@ import com.feed.feedv4.dto.InvoicePaymentDTO;
 import com.feed.feedv4.dto.PaymentReceivedDTO;
 import com.feed.feedv4.model.Invoice;
 import com.feed.feedv4.model.InvoicePayment;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
 import com.feed.feedv4.model.PaymentReceived;
 import com.feed.feedv4.repository.InvoicePaymentRepository;
 import com.feed.feedv4.repository.InvoiceRepository;
 import com.feed.feedv4.repository.PaymentReceivedRepository;
+import com.feed.feedv4.service.DailyRollupService.SalesContribution;
+import com.feed.feedv4.service.JournalService.PostingLine;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,6 +32,8 @@ public class PaymentReceivedService {
     private final PaymentReceivedRepository paymentReceivedRepository;
     private final InvoicePaymentRepository invoicePaymentRepository;
     private final InvoiceRepository invoiceRepository;
+    private final JournalService journalService;
+    private final DailyRollupService dailyRollupService;
 
     // ─── READ ────────────────────────────────────────────────────────────────
 
@@ -109,12 +116,18 @@ public class PaymentReceivedService {
 
                 payment.addInvoicePayment(invoicePayment);
 
+                SalesContribution invoiceBefore = SalesContribution.of(invoice);
+
                 invoice.recordPayment(ipDTO.getPaymentAmount());
                 invoiceRepository.save(invoice);
+                dailyRollupService.salesChanged(invoiceBefore, SalesContribution.of(invoice));
             }
         }
 
-        return convertToDTO(paymentReceivedRepository.save(payment));
+        PaymentReceived saved = paymentReceivedRepository.save(payment);
+        postToLedger(saved);
+        dailyRollupService.salesChanged(null, SalesContribution.of(saved));
+        return convertToDTO(saved);
     }
 
     // ─── UPDATE ──────────────────────────────────────────────────────────────
@@ -125,13 +138,16 @@ public class PaymentReceivedService {
         if (existing.getStatus() == PaymentReceived.PaymentStatus.VOID) {
             throw new RuntimeException("Cannot update a voided payment");
         }
+        SalesContribution before = SalesContribution.of(existing);
 
         // Reverse old invoice payments
         for (InvoicePayment ip : existing.getInvoicePayments()) {
             Invoice invoice = invoiceRepository.findById(ip.getInvoiceId())
                     .orElseThrow(() -> new RuntimeException("Invoice not found with id: " + ip.getInvoiceId()));
+            SalesContribution invoiceBefore = SalesContribution.of(invoice);
             invoice.reversePayment(ip.getPaymentAmount());
             invoiceRepository.save(invoice);
+            dailyRollupService.salesChanged(invoiceBefore, SalesContribution.of(invoice));
         }
 
         // orphanRemoval handles DB deletion of old InvoicePayment rows
@@ -158,12 +174,18 @@ public class PaymentReceivedService {
 
                 existing.addInvoicePayment(invoicePayment);
 
+                SalesContribution invoiceBefore = SalesContribution.of(invoice);
+
                 invoice.recordPayment(ipDTO.getPaymentAmount());
                 invoiceRepository.save(invoice);
+                dailyRollupService.salesChanged(invoiceBefore, SalesContribution.of(invoice));
             }
         }
 
-        return convertToDTO(paymentReceivedRepository.save(existing));
+        PaymentReceived saved = paymentReceivedRepository.save(existing);
+        postToLedger(saved);
+        dailyRollupService.salesChanged(before, SalesContribution.of(saved));
+        return convertToDTO(saved);
     }
 
     // ─── VOID ────────────────────────────────────────────────────────────────
@@ -178,11 +200,16 @@ public class PaymentReceivedService {
         for (InvoicePayment ip : payment.getInvoicePayments()) {
             Invoice invoice = invoiceRepository.findById(ip.getInvoiceId())
                     .orElseThrow(() -> new RuntimeException("Invoice not found with id: " + ip.getInvoiceId()));
+            SalesContribution invoiceBefore = SalesContribution.of(invoice);
             invoice.reversePayment(ip.getPaymentAmount());
             invoiceRepository.save(invoice);
+            dailyRollupService.salesChanged(invoiceBefore, SalesContribution.of(invoice));
         }
 
+        SalesContribution before = SalesContribution.of(payment);
         payment.voidPayment();
+        journalService.reverse(JournalEntry.SourceType.PAYMENT_RECEIVED, payment.getId());
+        dailyRollupService.salesChanged(before, SalesContribution.of(payment));
         return convertToDTO(paymentReceivedRepository.save(payment));
     }
 
@@ -196,6 +223,8 @@ public class PaymentReceivedService {
                     "Cannot delete a payment that has been applied to invoices. Please void it first.");
         }
 
+        journalService.reverse(JournalEntry.SourceType.PAYMENT_RECEIVED, payment.getId());
+        dailyRollupService.salesChanged(SalesContribution.of(payment), null);
         paymentReceivedRepository.delete(payment);
     }
 
@@ -206,6 +235,49 @@ public class PaymentReceivedService {
                 .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
     }
 
+    // ─── LEDGER ──────────────────────────────────────────────────────────────
+
+    /** Posts every payment; a no-op for those already posted. Backfills payments received before the ledger. */
+    public void repostLedger() {
+        paymentReceivedRepository.findAll().forEach(this::postToLedger);
+    }
+
+    /**
+     * Cash in against receivables: the deposit account (net of bank charges)
+     * and bank charges are debited, applied amounts clear receivables and any
+     * remainder is held as a customer advance. Voided payments carry no live
+     * posting.
+     */
+    private void postToLedger(PaymentReceived payment) {
+        if (payment.getStatus() == PaymentReceived.PaymentStatus.VOID) {
+            journalService.reverse(JournalEntry.SourceType.PAYMENT_RECEIVED, payment.getId());
+            return;
+        }
+
+        BigDecimal received = payment.getAmountReceived() != null ? payment.getAmountReceived() : BigDecimal.ZERO;
+        BigDecimal charges = payment.getBankCharges() != null ? payment.getBankCharges() : BigDecimal.ZERO;
+        BigDecimal applied = payment.getInvoicePayments().stream()
+                .map(InvoicePayment::getPaymentAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal advance = received.subtract(applied);
+        String depositTo = payment.getDepositTo() != null && !payment.getDepositTo().isBlank()
+                ? payment.getDepositTo() : "Undeposited Funds";
+
+        List<PostingLine> lines = new ArrayList<>();
+        lines.add(PostingLine.debit(depositTo, AccountType.ASSET, received.subtract(charges).max(BigDecimal.ZERO)));
+        lines.add(PostingLine.debit("Bank Charges", AccountType.EXPENSE, charges.min(received)));
+        lines.add(PostingLine.credit("Accounts Receivable", AccountType.ASSET, applied));
+        if (advance.signum() >= 0) {
+            lines.add(PostingLine.credit("Customer Advances", AccountType.LIABILITY, advance));
+        } else {
+            lines.add(PostingLine.debit("Customer Advances", AccountType.LIABILITY, advance.negate()));
+        }
+
+        journalService.repost(JournalEntry.SourceType.PAYMENT_RECEIVED, payment.getId(),
+                payment.getPaymentDate() != null ? payment.getPaymentDate() : LocalDate.now(),
+                "Payment received " + payment.getPaymentNumber(), lines);
+    }
+
     // ─── MAPPING ─────────────────────────────────────────────────────────────
 
     private PaymentReceivedDTO convertToDTO(PaymentReceived payment) {
@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.feed.feedv4.model.Invoice;
 import com.feed.feedv4.repository.InvoiceRepository;
 import com.feed.feedv4.model.InvoiceStatus;
+import com.feed.feedv4.service.DailyRollupService.SalesContribution;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 public class PaymentService {
     
     private final InvoiceRepository invoiceRepository;
+    private final DailyRollupService dailyRollupService;
     
     public Map<String, Object> processPayment(Long invoiceId, BigDecimal paymentAmount) {
         Invoice invoice = invoiceRepository.findById(invoiceId)
@@ -38,10 +40,13 @@ public class PaymentService {
         }
         
         // Record payment using the Invoice entity method
+        SalesContribution before = SalesContribution.of(invoice);
         invoice.recordPayment(paymentAmount);
         
         // Save updated invoice
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        dailyRollupService.receiptRecorded(invoice.getCustomerId(), paymentAmount);
+        dailyRollupService.salesChanged(before, SalesContribution.of(updatedInvoice));
         
         result.put("success", true);
         result.put("invoiceId", invoiceId);
@@ -97,9 +102,12 @@ public class PaymentService {
         }
         
         // Reverse payment using Invoice entity method
+        SalesContribution before = SalesContribution.of(invoice);
         invoice.reversePayment(amount);
         
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        dailyRollupService.receiptRecorded(invoice.getCustomerId(), amount.negate());
+        dailyRollupService.salesChanged(before, SalesContribution.of(updatedInvoice));
         
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
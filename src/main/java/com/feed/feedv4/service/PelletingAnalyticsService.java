@@ -0,0 +1,266 @@
+package com.feed.feedv4.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.dto.PelletingStatsDTO;
+import com.feed.feedv4.model.PelletingBatch;
+import com.feed.feedv4.model.PelletingStat;
+import com.feed.feedv4.model.PelletingStat.Scope;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.PelletingStatRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Folds each completed pelleting batch into the ALL, machine, operator and
+ * formulation rows of pelleting_stats. Rows are locked while updated since
+ * the histograms cannot be bumped with a single UPDATE; a missing row is
+ * inserted first (ON CONFLICT DO NOTHING) so there is always one to lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PelletingAnalyticsService {
+
+    /** Weight of the newest batch in the rolling yield and throughput figures. */
+    private static final double ALPHA = 0.2;
+    private static final String ALL_KEY = "*";
+
+    private final PelletingStatRepository statRepository;
+    private final PelletingBatchRepository batchRepository;
+
+    /** A completed batch reduced to what the aggregates need. */
+    private record Sample(double targetKg, Double yieldKg, double wastageKg, Double runMinutes) {
+
+        static Sample of(PelletingBatch b) {
+            Double yield = b.getActualYieldKg() > 0 ? b.getActualYieldKg() : null;
+            Double minutes = null;
+            if (b.getStartTime() != null && b.getEndTime() != null && b.getEndTime().isAfter(b.getStartTime())) {
+                minutes = Duration.between(b.getStartTime(), b.getEndTime()).toSeconds() / 60.0;
+            }
+            return new Sample(b.getTargetQuantityKg(), yield, Math.max(0.0, b.getTotalWastageKg()), minutes);
+        }
+
+        double producedKg() {
+            return yieldKg != null ? yieldKg : targetKg;
+        }
+    }
+
+    // ─── INCREMENTAL UPDATES ──────────────────────────────────────────────────
+
+    public void batchCompleted(PelletingBatch batch) {
+        Sample sample = Sample.of(batch);
+        apply(Scope.ALL, ALL_KEY, "All machines", sample, batch);
+        if (batch.getMachineUsed() != null && !batch.getMachineUsed().isBlank()) {
+            String machine = batch.getMachineUsed().trim();
+            apply(Scope.MACHINE, machine.toLowerCase(), machine, sample, batch);
+        }
+        if (batch.getOperator() != null) {
+            apply(Scope.OPERATOR, batch.getOperator().getId().toString(), batch.getOperator().getFullName(), sample, batch);
+        }
+        if (batch.getFormulation() != null) {
+            apply(Scope.FORMULATION, batch.getFormulation().getId().toString(), batch.getFormulation().getName(), sample, batch);
+        }
+    }
+
+    /**
+     * Moves a machine's row to its new name. If the new name already has a
+     * row of its own (batches typed in before the machine was registered),
+     * the two cannot be merged field by field and every scope is recomputed.
+     */
+    public void machineRenamed(String previousName, String name) {
+        String from = previousName.trim().toLowerCase();
+        String to = name.trim().toLowerCase();
+        Optional<PelletingStat> stat = statRepository.findForUpdate(Scope.MACHINE, from);
+        if (stat.isEmpty()) return;
+        if (!from.equals(to) && statRepository.findForUpdate(Scope.MACHINE, to).isPresent()) {
+            rebuild();
+            return;
+        }
+        stat.get().setScopeKey(to);
+        stat.get().setLabel(name.trim());
+    }
+
+    private void apply(Scope scope, String key, String label, Sample sample, PelletingBatch batch) {
+        statRepository.insertIfAbsent(scope.name(), key,
+            PelletingStat.CYCLE_BOUNDS_MIN.length + 1, PelletingStat.WASTAGE_BOUNDS_PCT.length + 1);
+        PelletingStat stat = statRepository.findForUpdate(scope, key)
+            .orElseThrow(() -> new IllegalStateException("Pelleting stats row missing for " + scope + " " + key));
+        stat.setLabel(label);
+        fold(stat, sample);
+        if (batch.getEndTime() != null) stat.setLastCompletedAt(batch.getEndTime());
+        statRepository.save(stat);
+    }
+
+    private PelletingStat emptyStat(Scope scope, String key) {
+        return PelletingStat.builder()
+            .scope(scope)
+            .scopeKey(key)
+            .cycleHistogram(new int[PelletingStat.CYCLE_BOUNDS_MIN.length + 1])
+            .wastageHistogram(new int[PelletingStat.WASTAGE_BOUNDS_PCT.length + 1])
+            .build();
+    }
+
+    private void fold(PelletingStat stat, Sample s) {
+        stat.setBatches(stat.getBatches() + 1);
+        stat.setWastageKg(stat.getWastageKg() + s.wastageKg());
+
+        if (s.yieldKg() != null && s.targetKg() > 0) {
+            stat.setYieldBatches(stat.getYieldBatches() + 1);
+            stat.setYieldTargetKg(stat.getYieldTargetKg() + s.targetKg());
+            stat.setYieldKg(stat.getYieldKg() + s.yieldKg());
+            stat.setRollingYieldPct(ewma(stat.getRollingYieldPct(), s.yieldKg() / s.targetKg() * 100.0));
+        }
+
+        if (s.runMinutes() != null) {
+            stat.setTimedBatches(stat.getTimedBatches() + 1);
+            stat.setRunMinutes(stat.getRunMinutes() + s.runMinutes());
+            stat.setTimedKg(stat.getTimedKg() + s.producedKg());
+            stat.setRollingKgPerHour(ewma(stat.getRollingKgPerHour(), s.producedKg() / (s.runMinutes() / 60.0)));
+            stat.getCycleHistogram()[bucketOf(s.runMinutes(), PelletingStat.CYCLE_BOUNDS_MIN)]++;
+        }
+
+        if (s.targetKg() > 0) {
+            double pct = s.wastageKg() / s.targetKg() * 100.0;
+            stat.getWastageHistogram()[bucketOf(pct, PelletingStat.WASTAGE_BOUNDS_PCT)]++;
+        }
+    }
+
+    private Double ewma(Double previous, double value) {
+        return previous == null ? value : previous + ALPHA * (value - previous);
+    }
+
+    private int bucketOf(double value, int[] bounds) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) return i;
+        }
+        return bounds.length;
+    }
+
+    private int bucketOf(double value, double[] bounds) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) return i;
+        }
+        return bounds.length;
+    }
+
+    // ─── READS ────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public PelletingStatsDTO getOverall() {
+        return statRepository.findByScopeAndScopeKey(Scope.ALL, ALL_KEY)
+            .map(this::toDTO)
+            .orElseGet(() -> toDTO(emptyStat(Scope.ALL, ALL_KEY)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PelletingStatsDTO> getByScope(Scope scope) {
+        return statRepository.findByScopeOrderByLabelAsc(scope).stream().map(this::toDTO).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public PelletingStatsDTO get(Scope scope, String key) {
+        String normalized = scope == Scope.MACHINE ? key.trim().toLowerCase() : key;
+        return statRepository.findByScopeAndScopeKey(scope, normalized)
+            .map(this::toDTO)
+            .orElseThrow(() -> new RuntimeException("No pelleting stats for " + scope + " " + key));
+    }
+
+    private PelletingStatsDTO toDTO(PelletingStat s) {
+        PelletingStatsDTO dto = PelletingStatsDTO.builder()
+            .scope(s.getScope().name())
+            .key(s.getScopeKey())
+            .label(s.getLabel())
+            .batches(s.getBatches())
+            .yieldPct(s.getYieldTargetKg() > 0 ? s.getYieldKg() / s.getYieldTargetKg() * 100.0 : null)
+            .rollingYieldPct(s.getRollingYieldPct())
+            .kgPerHour(s.getRunMinutes() > 0 ? s.getTimedKg() / (s.getRunMinutes() / 60.0) : null)
+            .rollingKgPerHour(s.getRollingKgPerHour())
+            .avgWastageKg(s.getBatches() > 0 ? s.getWastageKg() / s.getBatches() : 0.0)
+            .p50CycleMinutes(percentile(s.getCycleHistogram(), 0.50))
+            .p95CycleMinutes(percentile(s.getCycleHistogram(), 0.95))
+            .lastCompletedAt(s.getLastCompletedAt())
+            .build();
+
+        int[] cycles = s.getCycleHistogram();
+        int[] cycleBounds = PelletingStat.CYCLE_BOUNDS_MIN;
+        for (int i = 0; i < cycles.length; i++) {
+            String label = i < cycleBounds.length
+                ? "≤" + cycleBounds[i] + " min"
+                : ">" + cycleBounds[cycleBounds.length - 1] + " min";
+            dto.getCycleTimeDistribution().add(new PelletingStatsDTO.Bucket(label, cycles[i]));
+        }
+
+        int[] wastage = s.getWastageHistogram();
+        double[] wastageBounds = PelletingStat.WASTAGE_BOUNDS_PCT;
+        for (int i = 0; i < wastage.length; i++) {
+            String label = i < wastageBounds.length
+                ? "≤" + wastageBounds[i] + "%"
+                : ">" + wastageBounds[wastageBounds.length - 1] + "%";
+            dto.getWastageDistribution().add(new PelletingStatsDTO.Bucket(label, wastage[i]));
+        }
+        return dto;
+    }
+
+    /** Upper bound of the bucket holding the q-th observation; null if none or open-ended. */
+    private Integer percentile(int[] histogram, double q) {
+        long total = 0;
+        for (int c : histogram) total += c;
+        if (total == 0) return null;
+
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i < PelletingStat.CYCLE_BOUNDS_MIN.length ? PelletingStat.CYCLE_BOUNDS_MIN[i] : null;
+            }
+        }
+        return null;
+    }
+
+    // ─── REBUILD ──────────────────────────────────────────────────────────────
+
+    /** Recomputes every scope from completed batches, oldest first so rolling values end current. */
+    public void rebuild() {
+        statRepository.deleteAllInBatch();
+        Map<String, PelletingStat> stats = new LinkedHashMap<>();
+
+        List<PelletingBatch> completed = new ArrayList<>(batchRepository.findByStatus("Completed"));
+        completed.sort((a, b) -> {
+            if (a.getEndTime() == null) return b.getEndTime() == null ? 0 : -1;
+            return b.getEndTime() == null ? 1 : a.getEndTime().compareTo(b.getEndTime());
+        });
+
+        for (PelletingBatch b : completed) {
+            Sample sample = Sample.of(b);
+            foldInto(stats, Scope.ALL, ALL_KEY, "All machines", sample, b);
+            if (b.getMachineUsed() != null && !b.getMachineUsed().isBlank()) {
+                foldInto(stats, Scope.MACHINE, b.getMachineUsed().trim().toLowerCase(), b.getMachineUsed().trim(), sample, b);
+            }
+            if (b.getOperator() != null) {
+                foldInto(stats, Scope.OPERATOR, b.getOperator().getId().toString(), b.getOperator().getFullName(), sample, b);
+            }
+            if (b.getFormulation() != null) {
+                foldInto(stats, Scope.FORMULATION, b.getFormulation().getId().toString(), b.getFormulation().getName(), sample, b);
+            }
+        }
+        statRepository.saveAll(stats.values());
+    }
+
+    private void foldInto(Map<String, PelletingStat> stats, Scope scope, String key, String label,
+                          Sample sample, PelletingBatch batch) {
+        PelletingStat stat = stats.computeIfAbsent(scope + "|" + key, k -> emptyStat(scope, key));
+        stat.setLabel(label);
+        fold(stat, sample);
+        if (batch.getEndTime() != null) stat.setLastCompletedAt(batch.getEndTime());
+    }
+}
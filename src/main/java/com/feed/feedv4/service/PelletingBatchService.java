@@ -1,15 +1,24 @@
 package com.feed.feedv4.service;
 
+import com.feed.feedv4.event.PelletingBatchChangedEvent;
 import com.feed.feedv4.model.PelletingBatch;
+import com.feed.feedv4.model.PelletingMachine;
 import com.feed.feedv4.model.Formulation;
 import com.feed.feedv4.model.FormulationIngredient;
 import com.feed.feedv4.model.User;
 import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.PelletingMachineRepository;
 import com.feed.feedv4.repository.FormulationRepository;
 import com.feed.feedv4.repository.UserRepository;
+import com.feed.feedv4.dto.BatchBoardPageDTO;
+import com.feed.feedv4.dto.BatchBoardRowDTO;
 import com.feed.feedv4.dto.IngredientViewDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +36,23 @@ public class PelletingBatchService {
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private PelletingMachineRepository machineRepo;
+
+    @Autowired
+    private PelletingAnalyticsService analyticsService;
+
+    @Autowired
+    private TraceabilityService traceabilityService;
+
+    private static final int MAX_BOARD_PAGE = 200;
+
     /* ---------- helpers ---------- */
 
     private void calculateTimeTaken(PelletingBatch b) {
@@ -49,6 +75,7 @@ public class PelletingBatchService {
 
     /* ---------- create / read ---------- */
 
+    @Transactional
     public PelletingBatch create(Long formulationId, double targetKg, String machine, Long operatorId) {
         Formulation f = formulationRepo.findById(formulationId)
                 .orElseThrow(() -> new RuntimeException("Formulation not found"));
@@ -69,22 +96,35 @@ public class PelletingBatchService {
 
         PelletingBatch saved = pelletingRepo.save(batch);
         calculateTimeTaken(saved);
+        traceabilityService.batchCreated(saved);
+        events.publishEvent(new PelletingBatchChangedEvent(saved.getId(), null, saved.getStatus()));
         return saved;
     }
 
-    public List<PelletingBatch> getAll(String status, Boolean archived) {
-        if (archived != null) {
-            if (status != null && !status.isBlank()) {
-                return pelletingRepo.findByStatus(status)
-                        .stream().filter(b -> b.isArchived() == archived).toList();
-            }
-            return pelletingRepo.findAll()
-                    .stream().filter(b -> b.isArchived() == archived).toList();
-        }
-        if (status != null && !status.isBlank()) {
-            return pelletingRepo.findByStatusAndArchivedFalse(status);
+    /** Every matching batch as board rows, newest first; prefer {@link #getBoard} for paging. */
+    public List<BatchBoardRowDTO> getAll(String status, Boolean archived) {
+        String s = (status == null || status.isBlank()) ? null : status;
+        boolean arch = archived != null && archived;
+        return pelletingRepo.findBoard(s, arch, Long.MAX_VALUE, Pageable.unpaged());
+    }
+
+    /**
+     * Batch board page, newest first. {@code archived} defaults to false like
+     * {@link #getAll}; {@code after} is the {@code nextAfter} of the previous page.
+     */
+    public BatchBoardPageDTO getBoard(String status, Boolean archived, Long after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_BOARD_PAGE));
+        String s = (status == null || status.isBlank()) ? null : status;
+        boolean arch = archived != null && archived;
+        List<BatchBoardRowDTO> rows = pelletingRepo.findBoard(s, arch,
+                after != null ? after : Long.MAX_VALUE, PageRequest.of(0, size + 1));
+
+        Long next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = rows.get(size - 1).getId();
         }
-        return pelletingRepo.findByArchivedFalse();
+        return new BatchBoardPageDTO(rows, next);
     }
 
     public PelletingBatch setArchived(Long id, boolean archived) {
@@ -108,6 +148,7 @@ public class PelletingBatchService {
 
     /* ---------- status update (legacy) ---------- */
 
+    @Transactional
     public PelletingBatch updateStatus(Long id, String status) {
         PelletingBatch batch = pelletingRepo.findById(id).orElseThrow();
         // guard: cannot change once in progress or completed
@@ -115,6 +156,7 @@ public class PelletingBatchService {
             throw new RuntimeException("Cannot change status from " + batch.getStatus());
         }
 
+        String previous = batch.getStatus();
         if ("In Progress".equals(status)) {
             batch.setStartTime(LocalDateTime.now());
         } else if ("Completed".equals(status)) {
@@ -126,6 +168,11 @@ public class PelletingBatchService {
 
         PelletingBatch saved = pelletingRepo.save(batch);
         calculateTimeTaken(saved);
+        if ("Completed".equals(status)) {
+            dailyRollupService.batchCompleted(saved);
+            analyticsService.batchCompleted(saved);
+        }
+        events.publishEvent(new PelletingBatchChangedEvent(saved.getId(), previous, status));
         return saved;
     }
 
@@ -149,6 +196,20 @@ public class PelletingBatchService {
             throw new IllegalStateException("Can only start a 'Not Started' batch");
         }
 
+        // Once machines are registered, machineUsed must name a free, active one
+        if (machineRepo.count() > 0) {
+            String requested = machineUsed.trim();
+            PelletingMachine machine = machineRepo.findByNameIgnoreCase(requested)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown machine: " + requested));
+            if (!Boolean.TRUE.equals(machine.getActive())) {
+                throw new IllegalStateException("Machine " + machine.getName() + " is inactive");
+            }
+            if (pelletingRepo.existsByMachineUsedIgnoreCaseAndStatus(machine.getName(), "In Progress")) {
+                throw new IllegalStateException("Machine " + machine.getName() + " is already running a batch");
+            }
+            machineUsed = machine.getName();
+        }
+
         batch.setMachineUsed(machineUsed);
         batch.setOperator(operator);
         batch.setStartTime(LocalDateTime.now());
@@ -157,9 +218,11 @@ public class PelletingBatchService {
 
         PelletingBatch saved = pelletingRepo.save(batch);
         calculateTimeTaken(saved);
+        events.publishEvent(new PelletingBatchChangedEvent(saved.getId(), "Not Started", "In Progress"));
         return saved;
     }
 
+    @Transactional
     public PelletingBatch completeBatch(Long id, String comments, Double actualYield, List<String> leftovers, Double wastage) {
         if (comments == null || comments.isBlank()) {
             throw new IllegalArgumentException("Comments are required");
@@ -185,6 +248,9 @@ public class PelletingBatchService {
         PelletingBatch saved = pelletingRepo.save(batch);
         // recalc not strictly needed after save, but harmless
         calculateTimeTaken(saved);
+        dailyRollupService.batchCompleted(saved);
+        analyticsService.batchCompleted(saved);
+        events.publishEvent(new PelletingBatchChangedEvent(saved.getId(), "In Progress", "Completed"));
         return saved;
     }
 
@@ -0,0 +1,123 @@
+package com.feed.feedv4.service;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.event.PelletingSetupChangedEvent;
+import com.feed.feedv4.event.PelletingSetupChangedEvent.Kind;
+import com.feed.feedv4.model.ChangeoverRule;
+import com.feed.feedv4.model.PelletingMachine;
+import com.feed.feedv4.repository.ChangeoverRuleRepository;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.PelletingMachineRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/** Machine and changeover master data for the pelleting scheduler. */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PelletingMachineService {
+
+    private final PelletingMachineRepository machineRepository;
+    private final ChangeoverRuleRepository changeoverRuleRepository;
+    private final PelletingBatchRepository batchRepository;
+    private final PelletingAnalyticsService analyticsService;
+    private final ApplicationEventPublisher events;
+
+    // ─── MACHINES ─────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<PelletingMachine> getMachines() {
+        return machineRepository.findAllByOrderByNameAsc();
+    }
+
+    public PelletingMachine createMachine(PelletingMachine machine) {
+        validate(machine);
+        if (machineRepository.existsByNameIgnoreCase(machine.getName().trim())) {
+            throw new IllegalStateException("Machine already exists: " + machine.getName());
+        }
+        machine.setId(null);
+        machine.setName(machine.getName().trim());
+        if (machine.getActive() == null) machine.setActive(true);
+        PelletingMachine saved = machineRepository.save(machine);
+        events.publishEvent(new PelletingSetupChangedEvent(Kind.MACHINE, saved.getId()));
+        return saved;
+    }
+
+    public PelletingMachine updateMachine(Long id, PelletingMachine updated) {
+        validate(updated);
+        PelletingMachine existing = machineRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Machine not found with id: " + id));
+
+        String name = updated.getName().trim();
+        machineRepository.findByNameIgnoreCase(name)
+            .filter(other -> !other.getId().equals(id))
+            .ifPresent(other -> {
+                throw new IllegalStateException("Machine already exists: " + name);
+            });
+
+        // Batches name their machine; carry a rename over to them and to its stats
+        String previousName = existing.getName();
+        if (!previousName.equals(name)) {
+            batchRepository.renameMachine(previousName, name);
+            analyticsService.machineRenamed(previousName, name);
+        }
+
+        existing.setName(name);
+        existing.setThroughputKgPerHour(updated.getThroughputKgPerHour());
+        if (updated.getActive() != null) existing.setActive(updated.getActive());
+        PelletingMachine saved = machineRepository.save(existing);
+        events.publishEvent(new PelletingSetupChangedEvent(Kind.MACHINE, saved.getId()));
+        return saved;
+    }
+
+    private void validate(PelletingMachine machine) {
+        if (machine.getName() == null || machine.getName().isBlank()) {
+            throw new IllegalArgumentException("Machine name is required");
+        }
+        if (machine.getThroughputKgPerHour() == null || machine.getThroughputKgPerHour() <= 0) {
+            throw new IllegalArgumentException("Throughput must be > 0 kg/h");
+        }
+    }
+
+    // ─── CHANGEOVER RULES ─────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<ChangeoverRule> getChangeoverRules() {
+        return changeoverRuleRepository.findAll();
+    }
+
+    /** Creates or replaces the rule for the (from, to) species pair. */
+    public ChangeoverRule saveChangeoverRule(ChangeoverRule rule) {
+        if (rule.getFromSpecies() == null || rule.getFromSpecies().isBlank()
+                || rule.getToSpecies() == null || rule.getToSpecies().isBlank()) {
+            throw new IllegalArgumentException("fromSpecies and toSpecies are required");
+        }
+        if (rule.getMinutes() == null || rule.getMinutes() < 0) {
+            throw new IllegalArgumentException("Changeover minutes must be >= 0");
+        }
+
+        ChangeoverRule target = changeoverRuleRepository
+            .findByFromSpeciesIgnoreCaseAndToSpeciesIgnoreCase(rule.getFromSpecies().trim(), rule.getToSpecies().trim())
+            .orElseGet(() -> ChangeoverRule.builder()
+                .fromSpecies(rule.getFromSpecies().trim())
+                .toSpecies(rule.getToSpecies().trim())
+                .build());
+        target.setMinutes(rule.getMinutes());
+        ChangeoverRule saved = changeoverRuleRepository.save(target);
+        events.publishEvent(new PelletingSetupChangedEvent(Kind.CHANGEOVER_RULE, saved.getId()));
+        return saved;
+    }
+
+    public void deleteChangeoverRule(Long id) {
+        if (!changeoverRuleRepository.existsById(id)) {
+            throw new RuntimeException("Changeover rule not found with id: " + id);
+        }
+        changeoverRuleRepository.deleteById(id);
+        events.publishEvent(new PelletingSetupChangedEvent(Kind.CHANGEOVER_RULE, id));
+    }
+}
@@ -0,0 +1,375 @@
+package com.feed.feedv4.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.feed.feedv4.dto.PelletingScheduleDTO;
+import com.feed.feedv4.event.FormulationChangedEvent;
+import com.feed.feedv4.event.PelletingBatchChangedEvent;
+import com.feed.feedv4.event.PelletingSetupChangedEvent;
+import com.feed.feedv4.model.PelletingMachine;
+import com.feed.feedv4.repository.ChangeoverRuleRepository;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.PelletingMachineRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sequences "Not Started" batches onto the active pellet mills.
+ *
+ * The objective is total completion time plus a weighted changeover penalty:
+ * a queue is seeded by cheapest insertion and then improved by relocating
+ * single batches between positions and machines until no move helps. Batch
+ * events only mark the plan stale; the next read re-plans warm, keeping the
+ * previous queue order for batches that are still pending, so operators do
+ * not see the whole board reshuffle on every insert.
+ */
+@Service
+@RequiredArgsConstructor
+public class PelletingScheduleService {
+
+    private static final int MAX_PASSES = 25;
+    private static final double EPS = 1e-6;
+
+    private final PelletingBatchRepository batchRepository;
+    private final PelletingMachineRepository machineRepository;
+    private final ChangeoverRuleRepository changeoverRuleRepository;
+
+    @Value("${pelleting.changeover.default-minutes:60}")
+    private int defaultChangeoverMinutes;
+
+    @Value("${pelleting.changeover.same-species-minutes:15}")
+    private int sameSpeciesChangeoverMinutes;
+
+    /** How many minutes of flow time one changeover minute is worth. */
+    @Value("${pelleting.changeover.cost-weight:3}")
+    private double changeoverWeight;
+
+    private record Job(Long batchId, String formulationName, Long profileId, String species,
+                       double kg, LocalDateTime createdAt) {
+    }
+
+    /** One machine's state while planning; {@code readyAt} is minutes from now. */
+    private static final class Lane {
+        final String machine;
+        final double kgPerHour;
+        double readyAt;
+        Long runningBatchId;
+        boolean hasLast;
+        Long lastProfileId;
+        String lastSpecies;
+        final List<Job> queue = new ArrayList<>();
+        double cost;
+
+        Lane(String machine, double kgPerHour) {
+            this.machine = machine;
+            this.kgPerHour = kgPerHour;
+        }
+    }
+
+    private record Plan(Map<String, List<Long>> order, PelletingScheduleDTO view) {
+    }
+
+    // Planning queries the database, so it is serialized with a lock rather than
+    // a monitor (which would pin virtual threads). markStale only bumps the
+    // generation and never waits; a plan built from an older generation is stale.
+    private final ReentrantLock planLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private Plan plan;
+    private long planGeneration = -1;
+
+    // ─── READS ────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public PelletingScheduleDTO getSchedule() {
+        planLock.lock();
+        try {
+            if (plan == null || planGeneration != generation.get()) {
+                long current = generation.get();
+                plan = build(plan != null ? plan.order() : Map.of());
+                planGeneration = current;
+            }
+            return plan.view();
+        } finally {
+            planLock.unlock();
+        }
+    }
+
+    /** Next queued batch for a machine, or null when its queue is empty. */
+    @Transactional(readOnly = true)
+    public PelletingScheduleDTO.Slot getNext(String machine) {
+        return getSchedule().getMachines().stream()
+            .filter(m -> m.getMachine().equalsIgnoreCase(machine))
+            .findFirst()
+            .filter(m -> !m.getQueue().isEmpty())
+            .map(m -> m.getQueue().get(0))
+            .orElse(null);
+    }
+
+    /** Discards the current order and plans from scratch. */
+    @Transactional(readOnly = true)
+    public PelletingScheduleDTO replan() {
+        planLock.lock();
+        try {
+            long current = generation.get();
+            plan = build(Map.of());
+            planGeneration = current;
+            return plan.view();
+        } finally {
+            planLock.unlock();
+        }
+    }
+
+    public void markStale() {
+        generation.incrementAndGet();
+    }
+
+    /** Current changeover rules with the configured defaults; shared with the plan simulator. */
+    @Transactional(readOnly = true)
+    public ChangeoverTable loadChangeovers() {
+        return new ChangeoverTable(changeoverRuleRepository.findAll(), defaultChangeoverMinutes, sameSpeciesChangeoverMinutes);
+    }
+
+    // ─── EVENTS ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PelletingBatchChangedEvent event) {
+        markStale();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(FormulationChangedEvent event) {
+        // Finalizing a formulation queues a new batch
+        if ("FINALIZED".equals(event.action())) markStale();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PelletingSetupChangedEvent event) {
+        markStale();
+    }
+
+    // ─── PLANNING ─────────────────────────────────────────────────────────────
+
+    private Plan build(Map<String, List<Long>> previousOrder) {
+        LocalDateTime now = LocalDateTime.now();
+        ChangeoverTable rules = loadChangeovers();
+
+        Map<String, Lane> lanes = new LinkedHashMap<>();
+        for (PelletingMachine m : machineRepository.findByActiveTrueOrderByNameAsc()) {
+            if (m.getThroughputKgPerHour() == null || m.getThroughputKgPerHour() <= 0) continue;
+            lanes.put(m.getName().toLowerCase(), new Lane(m.getName(), m.getThroughputKgPerHour()));
+        }
+
+        Map<Long, Job> pending = new LinkedHashMap<>();
+        for (Object[] row : batchRepository.findSchedulable()) {
+            Job job = new Job((Long) row[0], (String) row[6], (Long) row[7], (String) row[8],
+                row[3] != null ? ((Number) row[3]).doubleValue() : 0.0, (LocalDateTime) row[5]);
+            if ("Not Started".equals(row[1])) {
+                pending.put(job.batchId(), job);
+                continue;
+            }
+            Lane lane = row[2] != null ? lanes.get(row[2].toString().toLowerCase()) : null;
+            if (lane == null) continue;
+            LocalDateTime started = row[4] != null ? (LocalDateTime) row[4] : now;
+            double remaining = Math.max(0.0,
+                runMinutes(lane, job) - Duration.between(started, now).toMinutes());
+            lane.readyAt = Math.max(lane.readyAt, remaining);
+            lane.runningBatchId = job.batchId();
+            lane.hasLast = true;
+            lane.lastProfileId = job.profileId();
+            lane.lastSpecies = job.species();
+        }
+
+        List<Lane> laneList = new ArrayList<>(lanes.values());
+        List<Job> unassigned = new ArrayList<>();
+
+        if (laneList.isEmpty()) {
+            unassigned.addAll(pending.values());
+        } else {
+            // Keep the previous relative order of batches that are still pending
+            Set<Long> seeded = new HashSet<>();
+            previousOrder.forEach((machineKey, ids) -> {
+                Lane lane = lanes.get(machineKey);
+                if (lane == null) return;
+                for (Long id : ids) {
+                    Job job = pending.get(id);
+                    if (job != null && seeded.add(id)) lane.queue.add(job);
+                }
+            });
+            laneList.forEach(l -> l.cost = cost(l, rules));
+
+            pending.values().stream()
+                .filter(j -> !seeded.contains(j.batchId()))
+                .sorted(Comparator.comparing(Job::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Job::batchId))
+                .forEach(job -> insertCheapest(laneList, job, rules));
+
+            improve(laneList, rules);
+        }
+
+        return toPlan(laneList, unassigned, now, rules);
+    }
+
+    private void insertCheapest(List<Lane> lanes, Job job, ChangeoverTable rules) {
+        Lane bestLane = null;
+        int bestPos = -1;
+        double bestDelta = Double.MAX_VALUE;
+        double bestCost = 0;
+
+        for (Lane lane : lanes) {
+            for (int pos = 0; pos <= lane.queue.size(); pos++) {
+                lane.queue.add(pos, job);
+                double c = cost(lane, rules);
+                lane.queue.remove(pos);
+                if (c - lane.cost < bestDelta) {
+                    bestDelta = c - lane.cost;
+                    bestLane = lane;
+                    bestPos = pos;
+                    bestCost = c;
+                }
+            }
+        }
+        bestLane.queue.add(bestPos, job);
+        bestLane.cost = bestCost;
+    }
+
+    /** Relocate local search: move one batch anywhere else while that lowers the total. */
+    private void improve(List<Lane> lanes, ChangeoverTable rules) {
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_PASSES; pass++) {
+            improved = false;
+            for (Lane from : lanes) {
+                for (int i = 0; i < from.queue.size(); i++) {
+                    Job job = from.queue.remove(i);
+                    double fromWithout = cost(from, rules);
+
+                    Lane bestLane = null;
+                    int bestPos = -1;
+                    double bestDelta = -EPS;
+                    double bestCost = 0;
+
+                    for (Lane to : lanes) {
+                        for (int pos = 0; pos <= to.queue.size(); pos++) {
+                            if (to == from && pos == i) continue;
+                            to.queue.add(pos, job);
+                            double c = cost(to, rules);
+                            to.queue.remove(pos);
+                            double delta = to == from
+                                ? c - from.cost
+                                : (fromWithout - from.cost) + (c - to.cost);
+                            if (delta < bestDelta) {
+                                bestDelta = delta;
+                                bestLane = to;
+                                bestPos = pos;
+                                bestCost = c;
+                            }
+                        }
+                    }
+
+                    if (bestLane == null) {
+                        from.queue.add(i, job);
+                        continue;
+                    }
+                    bestLane.queue.add(bestPos, job);
+                    if (bestLane != from) from.cost = fromWithout;
+                    bestLane.cost = bestCost;
+                    improved = true;
+                }
+            }
+        }
+    }
+
+    /** Sum of completion times plus weighted changeover minutes for one machine's queue. */
+    private double cost(Lane lane, ChangeoverTable rules) {
+        double t = lane.readyAt;
+        double total = 0;
+        boolean hasPrev = lane.hasLast;
+        Long prevProfile = lane.lastProfileId;
+        String prevSpecies = lane.lastSpecies;
+        for (Job job : lane.queue) {
+            int changeover = hasPrev ? changeoverMinutes(prevProfile, prevSpecies, job, rules) : 0;
+            t += changeover + runMinutes(lane, job);
+            total += t + changeoverWeight * changeover;
+            hasPrev = true;
+            prevProfile = job.profileId();
+            prevSpecies = job.species();
+        }
+        return total;
+    }
+
+    private int changeoverMinutes(Long prevProfile, String prevSpecies, Job next, ChangeoverTable rules) {
+        return rules.minutes(prevProfile, prevSpecies, next.profileId(), next.species());
+    }
+
+    private double runMinutes(Lane lane, Job job) {
+        return job.kg() / lane.kgPerHour * 60.0;
+    }
+
+    private Plan toPlan(List<Lane> lanes, List<Job> unassigned, LocalDateTime now, ChangeoverTable rules) {
+        PelletingScheduleDTO view = PelletingScheduleDTO.builder().generatedAt(now).build();
+        Map<String, List<Long>> order = new LinkedHashMap<>();
+        int totalChangeover = 0;
+        double makespan = 0;
+
+        for (Lane lane : lanes) {
+            PelletingScheduleDTO.MachineQueue mq = PelletingScheduleDTO.MachineQueue.builder()
+                .machine(lane.machine)
+                .throughputKgPerHour(lane.kgPerHour)
+                .runningBatchId(lane.runningBatchId)
+                .availableAt(now.plusSeconds(Math.round(lane.readyAt * 60)))
+                .build();
+
+            double t = lane.readyAt;
+            boolean hasPrev = lane.hasLast;
+            Long prevProfile = lane.lastProfileId;
+            String prevSpecies = lane.lastSpecies;
+            for (Job job : lane.queue) {
+                int changeover = hasPrev ? changeoverMinutes(prevProfile, prevSpecies, job, rules) : 0;
+                double start = t + changeover;
+                t = start + runMinutes(lane, job);
+                totalChangeover += changeover;
+                mq.getQueue().add(toSlot(job, changeover,
+                    now.plusSeconds(Math.round(start * 60)), now.plusSeconds(Math.round(t * 60))));
+                hasPrev = true;
+                prevProfile = job.profileId();
+                prevSpecies = job.species();
+            }
+            makespan = Math.max(makespan, t);
+
+            view.getMachines().add(mq);
+            order.put(lane.machine.toLowerCase(), lane.queue.stream().map(Job::batchId).toList());
+        }
+
+        unassigned.forEach(job -> view.getUnassigned().add(toSlot(job, 0, null, null)));
+        view.setTotalChangeoverMinutes(totalChangeover);
+        view.setMakespanMinutes(makespan);
+        return new Plan(order, view);
+    }
+
+    private PelletingScheduleDTO.Slot toSlot(Job job, int changeover, LocalDateTime start, LocalDateTime end) {
+        return PelletingScheduleDTO.Slot.builder()
+            .batchId(job.batchId())
+            .formulationName(job.formulationName())
+            .species(job.species())
+            .feedProfileId(job.profileId())
+            .quantityKg(job.kg())
+            .changeoverMinutes(changeover)
+            .plannedStart(start)
+            .plannedEnd(end)
+            .build();
+    }
+}
@@ -0,0 +1,257 @@
+package com.feed.feedv4.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.dto.PelletingScheduleDTO;
+import com.feed.feedv4.dto.SimulationRequestDTO;
+import com.feed.feedv4.dto.SimulationResultDTO;
+import com.feed.feedv4.model.FeedProfile;
+import com.feed.feedv4.model.Formulation;
+import com.feed.feedv4.model.FormulationIngredient;
+import com.feed.feedv4.model.RawMaterial;
+import com.feed.feedv4.repository.FormulationRepository;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.RawMaterialRepository;
+import com.feed.feedv4.service.ProductionSimulator.Status;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * What-if runs of {@link ProductionSimulator} over the current pelleting plan.
+ * Queued batches start from the scheduler's machine queues; their stock was
+ * issued when the formulation was finalized, so only hypothetical orders draw
+ * raw material. Nothing is written.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductionSimulationService {
+
+    private static final double DEFAULT_HORIZON_HOURS = 7 * 24;
+    private static final double MAX_HORIZON_HOURS = 90 * 24;
+
+    private final PelletingScheduleService scheduleService;
+    private final PelletingBatchRepository batchRepository;
+    private final FormulationRepository formulationRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+
+    /** Per-job labels kept alongside the engine input for the response. */
+    private record JobInfo(Long batchId, String label, String formulationName, double kg) {
+    }
+
+    public SimulationResultDTO simulate(SimulationRequestDTO req) {
+        LocalDateTime now = LocalDateTime.now();
+        PelletingScheduleDTO schedule = scheduleService.getSchedule();
+        double horizonHours = req.getHorizonHours() != null && req.getHorizonHours() > 0
+            ? Math.min(req.getHorizonHours(), MAX_HORIZON_HOURS)
+            : DEFAULT_HORIZON_HOURS;
+
+        // ─── Machines: current plan plus overrides ───
+        Map<String, SimulationRequestDTO.MachineOverride> overrides = new LinkedHashMap<>();
+        for (SimulationRequestDTO.MachineOverride o : req.getMachines()) {
+            if (o.getMachine() != null && !o.getMachine().isBlank()) overrides.put(o.getMachine().trim().toLowerCase(), o);
+        }
+
+        List<ProductionSimulator.Machine> machines = new ArrayList<>();
+        List<ProductionSimulator.Job> jobs = new ArrayList<>();
+        List<JobInfo> infos = new ArrayList<>();
+        Map<Long, FeedProfile> runningProfiles = runningProfiles(schedule);
+
+        for (PelletingScheduleDTO.MachineQueue mq : schedule.getMachines()) {
+            SimulationRequestDTO.MachineOverride o = overrides.remove(mq.getMachine().toLowerCase());
+            boolean active = o == null || o.getActive() == null || o.getActive();
+            int index = -1;
+            if (active) {
+                double rate = o != null && o.getThroughputKgPerHour() != null ? o.getThroughputKgPerHour() : mq.getThroughputKgPerHour();
+                if (rate <= 0) throw new IllegalArgumentException("Throughput must be positive for " + mq.getMachine());
+                index = machines.size();
+                machines.add(runningMachine(mq, rate, now, runningProfiles));
+            }
+            // A deactivated mill's queue falls back to the shared pool
+            for (PelletingScheduleDTO.Slot slot : mq.getQueue()) {
+                addQueued(jobs, infos, slot, index);
+            }
+        }
+        for (SimulationRequestDTO.MachineOverride o : overrides.values()) {
+            if (Boolean.FALSE.equals(o.getActive())) continue;
+            if (o.getThroughputKgPerHour() == null || o.getThroughputKgPerHour() <= 0) {
+                throw new IllegalArgumentException("New machine " + o.getMachine() + " needs a positive throughput");
+            }
+            machines.add(new ProductionSimulator.Machine(o.getMachine().trim(), o.getThroughputKgPerHour(), 0.0,
+                false, null, null));
+        }
+        schedule.getUnassigned().forEach(slot -> addQueued(jobs, infos, slot, -1));
+
+        // ─── Hypothetical orders and material stock ───
+        Map<Long, Integer> materialIndex = new LinkedHashMap<>();
+        List<RawMaterial> materials = new ArrayList<>();
+        Map<Long, Formulation> formulations = byId(formulationRepository.findAllById(
+            idsOf(req.getOrders(), SimulationRequestDTO.Order::getFormulationId)), Formulation::getId);
+        for (SimulationRequestDTO.Order order : req.getOrders()) {
+            Formulation f = formulations.get(order.getFormulationId());
+            if (f == null) throw new RuntimeException("Formulation not found with id: " + order.getFormulationId());
+            if (order.getQuantityKg() <= 0) throw new IllegalArgumentException("Order quantity must be positive");
+
+            List<FormulationIngredient> ingredients = f.getIngredients() != null ? f.getIngredients() : List.of();
+            double totalKg = ingredients.stream().mapToDouble(FormulationIngredient::getQuantityKg).sum();
+            int[] mats = new int[totalKg > 0 ? ingredients.size() : 0];
+            double[] perKg = new double[mats.length];
+            for (int i = 0; i < mats.length; i++) {
+                FormulationIngredient ing = ingredients.get(i);
+                mats[i] = indexOf(ing.getRawMaterial(), materialIndex, materials);
+                perKg[i] = ing.getQuantityKg() / totalKg;
+            }
+            FeedProfile fp = f.getFeedProfile();
+            jobs.add(new ProductionSimulator.Job(fp != null ? fp.getId() : null, fp != null ? fp.getSpecies() : null,
+                order.getQuantityKg(), -1, mats, perKg));
+            infos.add(new JobInfo(null, order.getLabel() != null ? order.getLabel() : "Order " + (infos.size() + 1),
+                f.getName(), order.getQuantityKg()));
+        }
+
+        List<ProductionSimulator.Receipt> receipts = new ArrayList<>();
+        Map<Long, RawMaterial> received = byId(rawMaterialRepository.findAllById(
+            idsOf(req.getReceipts(), SimulationRequestDTO.Receipt::getRawMaterialId)), RawMaterial::getId);
+        for (SimulationRequestDTO.Receipt r : req.getReceipts()) {
+            RawMaterial rm = received.get(r.getRawMaterialId());
+            if (rm == null) throw new RuntimeException("Raw material not found with id: " + r.getRawMaterialId());
+            receipts.add(new ProductionSimulator.Receipt(indexOf(rm, materialIndex, materials),
+                r.getQuantityKg(), r.getAfterHours() * 60.0));
+        }
+        double[] stock = materials.stream()
+            .mapToDouble(rm -> rm.getInStockKg() != null ? rm.getInStockKg() : 0.0)
+            .toArray();
+
+        // ─── Run ───
+        ProductionSimulator.Input input = new ProductionSimulator.Input(machines, jobs, stock, receipts,
+            scheduleService.loadChangeovers(), horizonHours * 60.0,
+            now.getHour() * 60 + now.getMinute() + now.getSecond() / 60.0,
+            req.getShiftStartHour() != null ? req.getShiftStartHour() * 60 : null,
+            req.getShiftEndHour() != null ? req.getShiftEndHour() * 60 : null,
+            req.getOperators() != null ? req.getOperators() : 0);
+
+        long t0 = System.nanoTime();
+        ProductionSimulator.Result result = ProductionSimulator.run(input);
+        double elapsedMillis = (System.nanoTime() - t0) / 1e6;
+
+        return toDTO(result, input, infos, materials, now, elapsedMillis);
+    }
+
+    /** Feed profile of each machine's running batch, loaded in one query. */
+    private Map<Long, FeedProfile> runningProfiles(PelletingScheduleDTO schedule) {
+        List<Long> ids = idsOf(schedule.getMachines(), PelletingScheduleDTO.MachineQueue::getRunningBatchId);
+        Map<Long, FeedProfile> profiles = new HashMap<>();
+        batchRepository.findAllById(ids).forEach(b -> {
+            if (b.getFormulation() != null) profiles.put(b.getId(), b.getFormulation().getFeedProfile());
+        });
+        return profiles;
+    }
+
+    private ProductionSimulator.Machine runningMachine(PelletingScheduleDTO.MachineQueue mq, double rate, LocalDateTime now,
+                                                       Map<Long, FeedProfile> runningProfiles) {
+        double availableAt = mq.getAvailableAt() != null
+            ? Math.max(0.0, Duration.between(now, mq.getAvailableAt()).toSeconds() / 60.0)
+            : 0.0;
+        if (mq.getRunningBatchId() == null) {
+            return new ProductionSimulator.Machine(mq.getMachine(), rate, availableAt, false, null, null);
+        }
+        FeedProfile fp = runningProfiles.get(mq.getRunningBatchId());
+        return new ProductionSimulator.Machine(mq.getMachine(), rate, availableAt, true,
+            fp != null ? fp.getId() : null, fp != null ? fp.getSpecies() : null);
+    }
+
+    private void addQueued(List<ProductionSimulator.Job> jobs, List<JobInfo> infos, PelletingScheduleDTO.Slot slot, int machine) {
+        jobs.add(new ProductionSimulator.Job(slot.getFeedProfileId(), slot.getSpecies(), slot.getQuantityKg(), machine,
+            new int[0], new double[0]));
+        infos.add(new JobInfo(slot.getBatchId(), null, slot.getFormulationName(), slot.getQuantityKg()));
+    }
+
+    private static <T> List<Long> idsOf(List<T> items, Function<T, Long> id) {
+        return items.stream().map(id).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private int indexOf(RawMaterial rm, Map<Long, Integer> index, List<RawMaterial> materials) {
+        return index.computeIfAbsent(rm.getId(), id -> {
+            materials.add(rm);
+            return materials.size() - 1;
+        });
+    }
+
+    // ─── MAPPING ──────────────────────────────────────────────────────────────
+
+    private SimulationResultDTO toDTO(ProductionSimulator.Result r, ProductionSimulator.Input in, List<JobInfo> infos,
+                                      List<RawMaterial> materials, LocalDateTime now, double elapsedMillis) {
+        boolean allDone = true;
+        for (Status s : r.status()) allDone &= s == Status.COMPLETED;
+
+        SimulationResultDTO dto = SimulationResultDTO.builder()
+            .startedAt(now)
+            .horizonEnd(at(now, in.horizon()))
+            .projectedCompletion(allDone ? at(now, r.makespan()) : null)
+            .eventsProcessed(r.events())
+            .elapsedMillis(elapsedMillis)
+            .build();
+
+        for (int j = 0; j < infos.size(); j++) {
+            JobInfo info = infos.get(j);
+            boolean started = r.machine()[j] >= 0;
+            dto.getBatches().add(SimulationResultDTO.BatchProjection.builder()
+                .batchId(info.batchId())
+                .label(info.label())
+                .formulationName(info.formulationName())
+                .quantityKg(info.kg())
+                .machine(started ? in.machines().get(r.machine()[j]).name() : null)
+                .status(r.status()[j].name())
+                .changeoverMinutes(r.changeover()[j])
+                .projectedStart(started ? at(now, r.start()[j]) : null)
+                .projectedEnd(started ? at(now, r.end()[j]) : null)
+                .blockedByMaterial(r.blockedBy()[j] >= 0 ? materials.get(r.blockedBy()[j]).getName() : null)
+                .build());
+        }
+
+        double window = Math.min(in.horizon(), Math.max(r.makespan(), 1.0));
+        for (int m = 0; m < in.machines().size(); m++) {
+            ProductionSimulator.Machine machine = in.machines().get(m);
+            dto.getMachines().add(SimulationResultDTO.MachineLoad.builder()
+                .machine(machine.name())
+                .throughputKgPerHour(machine.kgPerHour())
+                .busyMinutes(r.busyMinutes()[m])
+                .changeoverMinutes(r.changeoverMinutes()[m])
+                .utilizationPct(r.busyMinutes()[m] / window * 100.0)
+                .build());
+        }
+
+        for (int i = 0; i < materials.size(); i++) {
+            RawMaterial rm = materials.get(i);
+            dto.getStock().add(SimulationResultDTO.StockProjection.builder()
+                .rawMaterialId(rm.getId())
+                .name(rm.getName())
+                .startKg(in.stockKg()[i])
+                .minKg(r.stockMin()[i])
+                .endKg(r.stockEnd()[i])
+                .depletedAt(Double.isNaN(r.depletedAt()[i]) ? null : at(now, r.depletedAt()[i]))
+                .shortageAt(Double.isNaN(r.shortageAt()[i]) ? null : at(now, r.shortageAt()[i]))
+                .build());
+        }
+        return dto;
+    }
+
+    private LocalDateTime at(LocalDateTime now, double minutes) {
+        return now.plusSeconds(Math.round(minutes * 60));
+    }
+}
@@ -0,0 +1,388 @@
+package com.feed.feedv4.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Discrete-event simulation of the pellet mills over a planning horizon.
+ *
+ * Machines pull batches from their own queue first and then from a shared
+ * pool, subject to operator shifts, a limit on concurrently staffed machines
+ * and raw-material stock (consumed when a batch starts, topped up by
+ * receipts). Time is in minutes from the start of the run. The engine is
+ * pure and single-threaded, and keeps its state in primitive arrays and an
+ * array-backed event heap so interactive what-if runs stay cheap.
+ */
+public final class ProductionSimulator {
+
+    public enum Status {
+        COMPLETED, RUNNING_AT_HORIZON, NOT_STARTED, BLOCKED_BY_MATERIAL
+    }
+
+    /** {@code availableAt} &gt; 0 means a batch is running until then with the given profile. */
+    public record Machine(String name, double kgPerHour, double availableAt,
+                          boolean hasLast, Long lastProfileId, String lastSpecies) {
+    }
+
+    /**
+     * A batch to run. {@code machine} is an index into the machine list, or -1
+     * for the shared pool; {@code materials}/{@code kgPerKg} give stock drawn
+     * per kg produced (empty when stock was already issued at finalize).
+     */
+    public record Job(Long profileId, String species, double kg, int machine, int[] materials, double[] kgPerKg) {
+    }
+
+    public record Receipt(int material, double kg, double at) {
+    }
+
+    /**
+     * Shift window as minutes of day (null bounds mean round the clock);
+     * {@code operators} &le; 0 means unlimited.
+     */
+    public record Input(List<Machine> machines, List<Job> jobs, double[] stockKg, List<Receipt> receipts,
+                        ChangeoverTable changeovers, double horizon, double startMinuteOfDay,
+                        Integer shiftStart, Integer shiftEnd, int operators) {
+    }
+
+    public record Result(Status[] status, int[] machine, double[] start, double[] end, int[] changeover,
+                         int[] blockedBy, double[] busyMinutes, double[] changeoverMinutes,
+                         double[] stockEnd, double[] stockMin, double[] depletedAt, double[] shortageAt,
+                         long events, double makespan) {
+    }
+
+    private static final int FREE = 0;
+    private static final int ARRIVAL = 1;
+    private static final int SHIFT = 2;
+    private static final double EPS = 1e-9;
+    private static final int DAY = 24 * 60;
+
+    private final Input in;
+    private final EventHeap heap = new EventHeap();
+
+    // Machine state
+    private final boolean[] busy;
+    private final boolean[] staffed;
+    private final boolean[] hasLast;
+    private final Long[] lastProfile;
+    private final String[] lastSpecies;
+    private final int[][] queues;
+    private final int[] queueHead;
+
+    // Shared pool, in arrival order; taken entries are set to -1
+    private final int[] pool;
+    private int poolHead;
+
+    private final double[] stock;
+    private int operatorsFree;
+    private boolean onShift;
+
+    // Outputs
+    private final Status[] status;
+    private final int[] jobMachine;
+    private final double[] start;
+    private final double[] end;
+    private final int[] changeover;
+    private final int[] blockedBy;
+    private final double[] busyMinutes;
+    private final double[] changeoverMinutes;
+    private final double[] stockMin;
+    private final double[] depletedAt;
+    private final double[] shortageAt;
+    private long events;
+    private double makespan;
+
+    private ProductionSimulator(Input in) {
+        this.in = in;
+        int m = in.machines().size();
+        int n = in.jobs().size();
+        busy = new boolean[m];
+        staffed = new boolean[m];
+        hasLast = new boolean[m];
+        lastProfile = new Long[m];
+        lastSpecies = new String[m];
+        busyMinutes = new double[m];
+        changeoverMinutes = new double[m];
+
+        int[] queueSizes = new int[m];
+        int poolSize = 0;
+        for (Job j : in.jobs()) {
+            if (j.machine() >= 0) queueSizes[j.machine()]++;
+            else poolSize++;
+        }
+        queues = new int[m][];
+        for (int i = 0; i < m; i++) queues[i] = new int[queueSizes[i]];
+        queueHead = new int[m];
+        pool = new int[poolSize];
+        int[] fill = new int[m];
+        int p = 0;
+        for (int j = 0; j < n; j++) {
+            int mi = in.jobs().get(j).machine();
+            if (mi >= 0) queues[mi][fill[mi]++] = j;
+            else pool[p++] = j;
+        }
+
+        stock = in.stockKg().clone();
+        stockMin = stock.clone();
+        depletedAt = new double[stock.length];
+        shortageAt = new double[stock.length];
+        Arrays.fill(depletedAt, Double.NaN);
+        Arrays.fill(shortageAt, Double.NaN);
+
+        status = new Status[n];
+        Arrays.fill(status, Status.NOT_STARTED);
+        jobMachine = new int[n];
+        Arrays.fill(jobMachine, -1);
+        start = new double[n];
+        end = new double[n];
+        changeover = new int[n];
+        blockedBy = new int[n];
+        Arrays.fill(blockedBy, -1);
+    }
+
+    public static Result run(Input in) {
+        return new ProductionSimulator(in).simulate();
+    }
+
+    // ─── ENGINE ───────────────────────────────────────────────────────────────
+
+    private Result simulate() {
+        operatorsFree = in.operators() > 0 ? in.operators() : Integer.MAX_VALUE;
+        for (int m = 0; m < in.machines().size(); m++) {
+            Machine machine = in.machines().get(m);
+            hasLast[m] = machine.hasLast();
+            lastProfile[m] = machine.lastProfileId();
+            lastSpecies[m] = machine.lastSpecies();
+            if (machine.availableAt() > 0) {
+                // Batch already running: it keeps its machine and operator until done
+                busy[m] = true;
+                if (operatorsFree > 0) {
+                    staffed[m] = true;
+                    operatorsFree--;
+                }
+                heap.push(machine.availableAt(), FREE, m);
+                makespan = Math.max(makespan, machine.availableAt());
+            }
+        }
+        for (int r = 0; r < in.receipts().size(); r++) {
+            heap.push(Math.max(0.0, in.receipts().get(r).at()), ARRIVAL, r);
+        }
+        onShift = isOnShift(0.0);
+        scheduleNextShiftChange(0.0);
+
+        dispatch(0.0);
+        while (heap.size > 0) {
+            double t = heap.peekTime();
+            if (t > in.horizon()) break;
+            int type = heap.peekType();
+            int arg = heap.peekArg();
+            heap.pop();
+            events++;
+
+            switch (type) {
+                case FREE -> {
+                    busy[arg] = false;
+                    if (staffed[arg]) {
+                        staffed[arg] = false;
+                        operatorsFree++;
+                    }
+                }
+                case ARRIVAL -> {
+                    Receipt r = in.receipts().get(arg);
+                    stock[r.material()] += r.kg();
+                }
+                case SHIFT -> {
+                    onShift = isOnShift(t);
+                    scheduleNextShiftChange(t);
+                }
+                default -> throw new IllegalStateException("Unknown event type " + type);
+            }
+            dispatch(t);
+        }
+
+        for (int j = 0; j < status.length; j++) {
+            if (status[j] == Status.NOT_STARTED && blockedBy[j] >= 0) status[j] = Status.BLOCKED_BY_MATERIAL;
+        }
+        return new Result(status, jobMachine, start, end, changeover, blockedBy, busyMinutes, changeoverMinutes,
+            stock, stockMin, depletedAt, shortageAt, events, makespan);
+    }
+
+    private void dispatch(double t) {
+        if (!onShift) return;
+        for (int m = 0; m < busy.length && operatorsFree > 0; m++) {
+            if (busy[m]) continue;
+            int job = nextJob(m, t);
+            if (job >= 0) startJob(m, job, t);
+        }
+    }
+
+    /** Head of the machine's own queue, or else the first feasible pool entry; -1 if none can start. */
+    private int nextJob(int m, double t) {
+        int[] queue = queues[m];
+        if (queueHead[m] < queue.length) {
+            int job = queue[queueHead[m]];
+            if (!feasible(job, t)) return -1; // keep queue order: wait for material
+            queueHead[m]++;
+            return job;
+        }
+        while (poolHead < pool.length && pool[poolHead] < 0) poolHead++;
+        for (int i = poolHead; i < pool.length; i++) {
+            int job = pool[i];
+            if (job >= 0 && feasible(job, t)) {
+                pool[i] = -1;
+                return job;
+            }
+        }
+        return -1;
+    }
+
+    private boolean feasible(int job, double t) {
+        Job j = in.jobs().get(job);
+        for (int i = 0; i < j.materials().length; i++) {
+            int mat = j.materials()[i];
+            if (stock[mat] + EPS < j.kg() * j.kgPerKg()[i]) {
+                blockedBy[job] = mat;
+                if (Double.isNaN(shortageAt[mat])) shortageAt[mat] = t;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startJob(int m, int job, double t) {
+        Job j = in.jobs().get(job);
+        Machine machine = in.machines().get(m);
+
+        for (int i = 0; i < j.materials().length; i++) {
+            int mat = j.materials()[i];
+            stock[mat] -= j.kg() * j.kgPerKg()[i];
+            if (stock[mat] < stockMin[mat]) stockMin[mat] = stock[mat];
+            if (stock[mat] <= EPS && Double.isNaN(depletedAt[mat])) depletedAt[mat] = t;
+        }
+
+        int co = hasLast[m] ? in.changeovers().minutes(lastProfile[m], lastSpecies[m], j.profileId(), j.species()) : 0;
+        double runStart = t + co;
+        double done = runStart + j.kg() / machine.kgPerHour() * 60.0;
+
+        busy[m] = true;
+        staffed[m] = true;
+        operatorsFree--;
+        hasLast[m] = true;
+        lastProfile[m] = j.profileId();
+        lastSpecies[m] = j.species();
+
+        status[job] = done <= in.horizon() ? Status.COMPLETED : Status.RUNNING_AT_HORIZON;
+        blockedBy[job] = -1;
+        jobMachine[job] = m;
+        start[job] = t;
+        end[job] = done;
+        changeover[job] = co;
+        changeoverMinutes[m] += overlap(t, runStart, in.horizon());
+        busyMinutes[m] += overlap(runStart, done, in.horizon());
+        makespan = Math.max(makespan, done);
+
+        heap.push(done, FREE, m);
+    }
+
+    private double overlap(double from, double to, double horizon) {
+        return Math.max(0.0, Math.min(to, horizon) - from);
+    }
+
+    // ─── SHIFTS ───────────────────────────────────────────────────────────────
+
+    private boolean shifted() {
+        return in.shiftStart() != null && in.shiftEnd() != null && !in.shiftStart().equals(in.shiftEnd());
+    }
+
+    private boolean isOnShift(double t) {
+        if (!shifted()) return true;
+        double tod = (in.startMinuteOfDay() + t) % DAY;
+        int s = in.shiftStart();
+        int e = in.shiftEnd();
+        return s < e ? tod >= s && tod < e : tod >= s || tod < e;
+    }
+
+    private void scheduleNextShiftChange(double t) {
+        if (!shifted()) return;
+        double tod = (in.startMinuteOfDay() + t) % DAY;
+        double next = Double.MAX_VALUE;
+        for (int boundary : new int[] { in.shiftStart(), in.shiftEnd() }) {
+            double wait = boundary - tod;
+            if (wait <= EPS) wait += DAY;
+            next = Math.min(next, wait);
+        }
+        if (t + next <= in.horizon()) heap.push(t + next, SHIFT, 0);
+    }
+
+    // ─── EVENT HEAP ───────────────────────────────────────────────────────────
+
+    /** Binary min-heap on (time, insertion order) over parallel primitive arrays. */
+    private static final class EventHeap {
+        double[] time = new double[64];
+        long[] seq = new long[64];
+        int[] type = new int[64];
+        int[] arg = new int[64];
+        int size;
+        long counter;
+
+        void push(double t, int ty, int a) {
+            if (size == time.length) grow();
+            int i = size++;
+            long s = counter++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(t, s, time[parent], seq[parent])) break;
+                move(parent, i);
+                i = parent;
+            }
+            set(i, t, s, ty, a);
+        }
+
+        double peekTime() { return time[0]; }
+
+        int peekType() { return type[0]; }
+
+        int peekArg() { return arg[0]; }
+
+        void pop() {
+            int last = --size;
+            if (last == 0) return;
+            double t = time[last];
+            long s = seq[last];
+            int ty = type[last];
+            int a = arg[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && less(time[child + 1], seq[child + 1], time[child], seq[child])) child++;
+                if (!less(time[child], seq[child], t, s)) break;
+                move(child, i);
+                i = child;
+            }
+            set(i, t, s, ty, a);
+        }
+
+        private static boolean less(double t1, long s1, double t2, long s2) {
+            return t1 < t2 || (t1 == t2 && s1 < s2);
+        }
+
+        private void move(int from, int to) {
+            set(to, time[from], seq[from], type[from], arg[from]);
+        }
+
+        private void set(int i, double t, long s, int ty, int a) {
+            time[i] = t;
+            seq[i] = s;
+            type[i] = ty;
+            arg[i] = a;
+        }
+
+        private void grow() {
+            int n = time.length * 2;
+            time = Arrays.copyOf(time, n);
+            seq = Arrays.copyOf(seq, n);
+            type = Arrays.copyOf(type, n);
+            arg = Arrays.copyOf(arg, n);
+        }
+    }
+}
@@ -2,10 +2,15 @@ package com.feed.feedv4.service;
 
 import com.feed.feedv4.dto.PurchaseOrderDTO;
 import com.feed.feedv4.dto.PurchaseOrderItemDTO;
+import com.feed.feedv4.dto.PurchaseOrderRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.PurchaseOrder;
 import com.feed.feedv4.model.PurchaseOrderItem;
 import com.feed.feedv4.repository.PurchaseOrderRepository;
 import com.feed.feedv4.repository.PurchaseOrderItemRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,23 +19,49 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PurchaseOrderService {
     
+    private static final KeysetSpec<PurchaseOrder, PurchaseOrderRowDTO> PAGE_SPEC = KeysetSpec
+            .of(PurchaseOrder.class, PurchaseOrderRowDTO.class, PurchaseOrderRowDTO::getId,
+                "id", "purchaseOrderNumber", "referenceNumber", "vendorId", "orderDate", "deliveryDate",
+                "total", "status", "billedStatus", "createdAt")
+            .sort("orderDate", PurchaseOrderRowDTO::getOrderDate)
+            .sort("deliveryDate", PurchaseOrderRowDTO::getDeliveryDate)
+            .sort("purchaseOrderNumber", PurchaseOrderRowDTO::getPurchaseOrderNumber)
+            .sort("total", PurchaseOrderRowDTO::getTotal)
+            .sort("createdAt", PurchaseOrderRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("billedStatus", Op.EQ, "billedStatus")
+            .filter("vendorId", Op.EQ, "vendorId")
+            .filter("from", Op.GTE, "orderDate")
+            .filter("to", Op.LTE, "orderDate")
+            .filter("q", Op.CONTAINS, "purchaseOrderNumber", "referenceNumber");
+
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final KeysetPager keysetPager;
     
+    @Transactional(readOnly = true)
     public List<PurchaseOrderDTO> getAllPurchaseOrders() {
-        return purchaseOrderRepository.findAll().stream()
+        return purchaseOrderRepository.findAllWithItems().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
+
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PurchaseOrderRowDTO> getPurchaseOrderPage(Map<String, String> params) {
+        return keysetPager.page(PAGE_SPEC, params);
+    }
     
+    @Transactional(readOnly = true)
     public PurchaseOrderDTO getPurchaseOrderById(Long id) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findWithItemsById(id)
             .orElseThrow(() -> new RuntimeException("Purchase Order not found with id: " + id));
         return convertToDTO(po);
     }
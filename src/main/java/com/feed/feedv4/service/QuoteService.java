@@ -4,16 +4,22 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.feed.feedv4.dto.QuoteDTO;
 import com.feed.feedv4.dto.QuoteItemDTO;
+import com.feed.feedv4.dto.QuoteRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.Quote;
 import com.feed.feedv4.model.QuoteItem;
 import com.feed.feedv4.repository.QuoteItemRepository;
 import com.feed.feedv4.repository.QuoteRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,17 +28,41 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class QuoteService {
     
+    private static final KeysetSpec<Quote, QuoteRowDTO> PAGE_SPEC = KeysetSpec
+            .of(Quote.class, QuoteRowDTO.class, QuoteRowDTO::getId,
+                "id", "quoteNumber", "referenceNumber", "customerId", "quoteDate", "expiryDate", "total",
+                "status", "createdAt")
+            .sort("quoteDate", QuoteRowDTO::getQuoteDate)
+            .sort("expiryDate", QuoteRowDTO::getExpiryDate)
+            .sort("quoteNumber", QuoteRowDTO::getQuoteNumber)
+            .sort("total", QuoteRowDTO::getTotal)
+            .sort("createdAt", QuoteRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("customerId", Op.EQ, "customerId")
+            .filter("from", Op.GTE, "quoteDate")
+            .filter("to", Op.LTE, "quoteDate")
+            .filter("q", Op.CONTAINS, "quoteNumber", "referenceNumber");
+
     private final QuoteRepository quoteRepository;
     private final QuoteItemRepository quoteItemRepository;
+    private final KeysetPager keysetPager;
     
+    @Transactional(readOnly = true)
     public List<QuoteDTO> getAllQuotes() {
-        return quoteRepository.findAll().stream()
+        return quoteRepository.findAllWithItems().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
+
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuoteRowDTO> getQuotePage(Map<String, String> params) {
+        return keysetPager.page(PAGE_SPEC, params);
+    }
     
+    @Transactional(readOnly = true)
     public QuoteDTO getQuoteById(Long id) {
-        Quote quote = quoteRepository.findById(id)
+        Quote quote = quoteRepository.findWithItemsById(id)
             .orElseThrow(() -> new RuntimeException("Quote not found with id: " + id));
         return convertToDTO(quote);
     }
@@ -4,16 +4,22 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.feed.feedv4.dto.SalesOrderDTO;
 import com.feed.feedv4.dto.SalesOrderItemDTO;
+import com.feed.feedv4.dto.SalesOrderRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.model.SalesOrder;
 import com.feed.feedv4.model.SalesOrderItem;
 import com.feed.feedv4.repository.SalesOrderItemRepository;
 import com.feed.feedv4.repository.SalesOrderRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,7 +28,27 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class SalesOrderService {
 
+    private static final KeysetSpec<SalesOrder, SalesOrderRowDTO> PAGE_SPEC = KeysetSpec
+            .of(SalesOrder.class, SalesOrderRowDTO.class, SalesOrderRowDTO::getId,
+                "id", "salesOrderNumber", "referenceNumber", "customerId", "customerName", "salesOrderDate",
+                "expectedShipmentDate", "total", "status", "orderStatus", "invoicedStatus", "paymentStatus",
+                "createdAt")
+            .sort("salesOrderDate", SalesOrderRowDTO::getSalesOrderDate)
+            .sort("expectedShipmentDate", SalesOrderRowDTO::getExpectedShipmentDate)
+            .sort("salesOrderNumber", SalesOrderRowDTO::getSalesOrderNumber)
+            .sort("total", SalesOrderRowDTO::getTotal)
+            .sort("createdAt", SalesOrderRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("orderStatus", Op.EQ, "orderStatus")
+            .filter("invoicedStatus", Op.EQ, "invoicedStatus")
+            .filter("paymentStatus", Op.EQ, "paymentStatus")
+            .filter("customerId", Op.EQ, "customerId")
+            .filter("from", Op.GTE, "salesOrderDate")
+            .filter("to", Op.LTE, "salesOrderDate")
+            .filter("q", Op.CONTAINS, "salesOrderNumber", "referenceNumber", "customerName");
+
     private final SalesOrderRepository salesOrderRepository;
+    private final KeysetPager keysetPager;
 
     /* -------------------- CRUD -------------------- */
 
@@ -33,6 +59,12 @@ public class SalesOrderService {
                 .toList();
     }
 
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SalesOrderRowDTO> getSalesOrderPage(Map<String, String> params) {
+        return keysetPager.page(PAGE_SPEC, params);
+    }
+
     public SalesOrderDTO getSalesOrderById(Long id) {
         SalesOrder order = salesOrderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Sales order not found: " + id));
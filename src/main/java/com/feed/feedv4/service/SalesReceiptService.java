@@ -2,26 +2,55 @@ package com.feed.feedv4.service;
 
 import com.feed.feedv4.dto.SalesReceiptDTO;
 import com.feed.feedv4.dto.SalesReceiptItemDTO;
+import com.feed.feedv4.dto.SalesReceiptRowDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
 import com.feed.feedv4.model.SalesReceipt;
 import com.feed.feedv4.model.SalesReceiptItem;
 import com.feed.feedv4.repository.SalesReceiptRepository;
 import com.feed.feedv4.repository.SalesReceiptItemRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
+import com.feed.feedv4.service.DailyRollupService.SalesContribution;
+import com.feed.feedv4.service.JournalService.PostingLine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.Year;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class SalesReceiptService {
 
+    private static final KeysetSpec<SalesReceipt, SalesReceiptRowDTO> PAGE_SPEC = KeysetSpec
+            .of(SalesReceipt.class, SalesReceiptRowDTO.class, SalesReceiptRowDTO::getId,
+                "id", "salesReceiptNumber", "referenceNumber", "customerId", "receiptDate", "total",
+                "paymentMode", "status", "createdAt")
+            .sort("receiptDate", SalesReceiptRowDTO::getReceiptDate)
+            .sort("salesReceiptNumber", SalesReceiptRowDTO::getSalesReceiptNumber)
+            .sort("total", SalesReceiptRowDTO::getTotal)
+            .sort("createdAt", SalesReceiptRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("paymentMode", Op.EQ, "paymentMode")
+            .filter("customerId", Op.EQ, "customerId")
+            .filter("from", Op.GTE, "receiptDate")
+            .filter("to", Op.LTE, "receiptDate")
+            .filter("q", Op.CONTAINS, "salesReceiptNumber", "referenceNumber");
+
     private final SalesReceiptRepository salesReceiptRepository;
     private final SalesReceiptItemRepository salesReceiptItemRepository;
+    private final JournalService journalService;
+    private final DailyRollupService dailyRollupService;
+    private final KeysetPager keysetPager;
 
     // ─── READ ────────────────────────────────────────────────────────────────
 
@@ -33,6 +62,12 @@ public class SalesReceiptService {
                 .collect(Collectors.toList());
     }
 
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SalesReceiptRowDTO> getSalesReceiptPage(Map<String, String> params) {
+        return keysetPager.page(PAGE_SPEC, params);
+    }
+
     @Transactional(readOnly = true)
     public SalesReceiptDTO getSalesReceiptById(Long id) {
         SalesReceipt receipt = findById(id);
@@ -56,6 +91,8 @@ public class SalesReceiptService {
         SalesReceipt receipt = toEntity(dto);
         setTotals(receipt, dto);
         SalesReceipt saved = salesReceiptRepository.save(receipt);
+        postToLedger(saved);
+        dailyRollupService.salesChanged(null, SalesContribution.of(saved));
         return toDTO(saved);
     }
 
@@ -67,6 +104,7 @@ public class SalesReceiptService {
         if (existing.getStatus() == SalesReceipt.SalesReceiptStatus.VOID) {
             throw new IllegalStateException("Cannot update a voided sales receipt.");
         }
+        SalesContribution before = SalesContribution.of(existing);
 
         existing.setCustomerId(dto.getCustomerId());
         existing.setReceiptDate(dto.getReceiptDate());
@@ -97,14 +135,20 @@ public class SalesReceiptService {
         }
 
         setTotals(existing, dto);
-        return toDTO(salesReceiptRepository.save(existing));
+        SalesReceipt saved = salesReceiptRepository.save(existing);
+        postToLedger(saved);
+        dailyRollupService.salesChanged(before, SalesContribution.of(saved));
+        return toDTO(saved);
     }
 
     // ─── VOID ────────────────────────────────────────────────────────────────
 
     public SalesReceiptDTO voidSalesReceipt(Long id) {
         SalesReceipt receipt = findById(id);
+        SalesContribution before = SalesContribution.of(receipt);
         receipt.voidReceipt();
+        journalService.reverse(JournalEntry.SourceType.SALES_RECEIPT, receipt.getId());
+        dailyRollupService.salesChanged(before, SalesContribution.of(receipt));
         return toDTO(salesReceiptRepository.save(receipt));
     }
 
@@ -115,6 +159,8 @@ public class SalesReceiptService {
         if (receipt.getStatus() == SalesReceipt.SalesReceiptStatus.COMPLETED) {
             throw new IllegalStateException("Cannot delete a completed sales receipt. Void it first.");
         }
+        journalService.reverse(JournalEntry.SourceType.SALES_RECEIPT, receipt.getId());
+        dailyRollupService.salesChanged(SalesContribution.of(receipt), null);
         salesReceiptRepository.delete(receipt);
     }
 
@@ -143,6 +189,42 @@ public class SalesReceiptService {
         receipt.setTotal(totalWithTax.add(shipping));
     }
 
+    /** Posts every receipt; a no-op for those already posted. Backfills receipts issued before the ledger. */
+    public void repostLedger() {
+        salesReceiptRepository.findAll().forEach(this::postToLedger);
+    }
+
+    /**
+     * A completed receipt is a cash sale: the deposit account is debited and
+     * sales, shipping income and tax payable are credited. Drafts and voids
+     * carry no live posting.
+     */
+    private void postToLedger(SalesReceipt receipt) {
+        if (receipt.getStatus() != SalesReceipt.SalesReceiptStatus.COMPLETED) {
+            journalService.reverse(JournalEntry.SourceType.SALES_RECEIPT, receipt.getId());
+            return;
+        }
+
+        BigDecimal total = receipt.getTotal() != null ? receipt.getTotal() : BigDecimal.ZERO;
+        BigDecimal shipping = receipt.getShippingCharges() != null ? receipt.getShippingCharges() : BigDecimal.ZERO;
+        BigDecimal subtotal = receipt.getSubtotal() != null ? receipt.getSubtotal() : BigDecimal.ZERO;
+        BigDecimal tax = total.subtract(shipping).subtract(subtotal).max(BigDecimal.ZERO);
+        BigDecimal sales = total.subtract(shipping).subtract(tax);
+        String depositTo = receipt.getDepositTo() != null && !receipt.getDepositTo().isBlank()
+                ? receipt.getDepositTo() : "Undeposited Funds";
+
+        journalService.repost(JournalEntry.SourceType.SALES_RECEIPT, receipt.getId(),
+                receipt.getReceiptDate() != null ? receipt.getReceiptDate() : LocalDate.now(),
+                "Sales receipt " + receipt.getSalesReceiptNumber(),
+                List.of(
+                        PostingLine.debit(depositTo, AccountType.ASSET, total),
+                        sales.signum() >= 0
+                                ? PostingLine.credit("Sales", AccountType.INCOME, sales)
+                                : PostingLine.debit("Sales", AccountType.INCOME, sales.negate()),
+                        PostingLine.credit("Shipping Income", AccountType.INCOME, shipping),
+                        PostingLine.credit("Tax Payable", AccountType.LIABILITY, tax)));
+    }
+
     // ─── MAPPING ─────────────────────────────────────────────────────────────
 
     private SalesReceiptDTO toDTO(SalesReceipt receipt) {
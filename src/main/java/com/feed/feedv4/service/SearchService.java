@@ -0,0 +1,174 @@
+package com.feed.feedv4.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.feed.feedv4.dto.SearchResultDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Ranked, typo-tolerant search across customers, vendors, invoices, bills,
+ * raw materials and formulations.
+ *
+ * Every searched column has a {@code lower(col) gin_trgm_ops} index (V3, V4),
+ * which answers both the substring test and the pg_trgm word-similarity test
+ * ({@code q <% col}), so a search never scans a table. Each source returns at
+ * most as many rows as the requested page needs; the union is ranked by score:
+ * exact beats prefix beats substring, and fuzzy matches rank by similarity.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+    /** Deepest row a caller may page to; ranked search is not a listing. */
+    static final int MAX_DEPTH = 500;
+    /** pg_trgm word similarity needed for a fuzzy hit (extension default is 0.6). */
+    static final String SIMILARITY_THRESHOLD = "0.4";
+    /** Rows returned by the per-module /search endpoints, which are not paged. */
+    public static final int MODULE_SEARCH_LIMIT = 200;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidSearchException extends IllegalArgumentException {
+        public InvalidSearchException(String message) {
+            super(message);
+        }
+    }
+
+    /** A searchable table; the first column is the title and weighs most. */
+    record Source(String type, String from, String title, String subtitle, List<String> columns) {
+    }
+
+    private static final Map<String, Source> SOURCES = new LinkedHashMap<>();
+
+    static {
+        add(new Source("CUSTOMER", "customers t", "t.customer_name", "t.company_name",
+            List.of("t.customer_name", "t.company_name", "t.email", "t.phone", "t.gst_number")));
+        add(new Source("VENDOR", "vendors t", "t.vendor_display_name", "t.company_name",
+            List.of("t.vendor_display_name", "t.company_name", "t.vendor_email", "t.vendor_phone", "t.gst_number")));
+        add(new Source("INVOICE", "invoices t", "t.invoice_number", "t.customer_name",
+            List.of("t.invoice_number", "t.customer_name", "t.order_number")));
+        add(new Source("BILL", "bills t LEFT JOIN vendors v ON v.id = t.vendor_id", "t.bill_number",
+            "v.vendor_display_name", List.of("t.bill_number", "t.reference_number", "t.order_number")));
+        add(new Source("RAW_MATERIAL", "raw_material t", "t.name", "t.supplier",
+            List.of("t.name", "t.supplier")));
+        add(new Source("FORMULATION", "formulation t", "t.name", "t.status",
+            List.of("t.name")));
+    }
+
+    private static void add(Source s) {
+        SOURCES.put(s.type(), s);
+    }
+
+    // ─── SEARCH ───────────────────────────────────────────────────────────────
+
+    /**
+     * @param types comma-separated source types, blank for all
+     * @param page  zero-based page number
+     */
+    public SearchResultDTO search(String query, String types, Integer page, Integer size) {
+        String q = normalize(query);
+        int pageSize = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(MAX_SIZE, size));
+        int pageNo = page == null ? 0 : Math.max(0, page);
+        int offset = pageNo * pageSize;
+        if (offset + pageSize > MAX_DEPTH) {
+            throw new InvalidSearchException("Search results are limited to the first " + MAX_DEPTH + " hits");
+        }
+        SearchResultDTO result = SearchResultDTO.builder().query(q).page(pageNo).size(pageSize).build();
+        if (q.isEmpty()) return result;
+
+        List<Object[]> rows = run(q, sources(types), offset, pageSize + 1);
+        result.setHasMore(rows.size() > pageSize);
+        rows.stream().limit(pageSize).forEach(r -> result.getHits().add(new SearchResultDTO.Hit(
+            (String) r[0], ((Number) r[1]).longValue(), (String) r[2], (String) r[3], ((Number) r[4]).doubleValue())));
+        return result;
+    }
+
+    /** Ids of the best {@code limit} matches of one type, best first; backs the per-module /search endpoints. */
+    public List<Long> rankedIds(String type, String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) return List.of();
+        return run(q, sources(type), 0, limit).stream()
+            .map(r -> ((Number) r[1]).longValue())
+            .toList();
+    }
+
+    private List<Source> sources(String types) {
+        if (types == null || types.isBlank()) return new ArrayList<>(SOURCES.values());
+        List<Source> selected = new ArrayList<>();
+        for (String t : types.split(",")) {
+            String key = t.trim().toUpperCase().replace('-', '_');
+            if (key.isEmpty()) continue;
+            Source s = SOURCES.get(key);
+            if (s == null) throw new InvalidSearchException("Unknown search type '" + t.trim() + "'; allowed: " + SOURCES.keySet());
+            if (!selected.contains(s)) selected.add(s);
+        }
+        return selected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> run(String q, List<Source> sources, int offset, int limit) {
+        em.createNativeQuery("SELECT set_config('pg_trgm.word_similarity_threshold', :t, true)")
+            .setParameter("t", SIMILARITY_THRESHOLD)
+            .getSingleResult();
+
+        String sql = sources.stream()
+            .map(SearchService::branch)
+            .collect(Collectors.joining(" UNION ALL ",
+                "SELECT type, id, title, subtitle, score FROM (", ") hits ORDER BY score DESC, type, id"));
+        Query query = em.createNativeQuery(sql)
+            .setParameter("q", q)
+            .setParameter("prefix", escapeLike(q) + "%")
+            .setParameter("contains", "%" + escapeLike(q) + "%")
+            .setParameter("cap", offset + limit)
+            .setFirstResult(offset)
+            .setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    // ─── SQL ──────────────────────────────────────────────────────────────────
+
+    /** One source's best {@code :cap} rows. Match predicates keep the bare lower(col) the indexes are built on. */
+    private static String branch(Source s) {
+        List<String> scores = new ArrayList<>();
+        List<String> matches = new ArrayList<>();
+        for (int i = 0; i < s.columns().size(); i++) {
+            String col = "lower(" + s.columns().get(i) + ")";
+            String score = "(CASE WHEN " + col + " = :q THEN 3 WHEN " + col + " LIKE :prefix ESCAPE '\\' THEN 2"
+                + " WHEN " + col + " LIKE :contains ESCAPE '\\' THEN 1 ELSE 0 END"
+                + " + word_similarity(:q, coalesce(" + col + ", '')))";
+            scores.add(i == 0 ? score : "0.8 * " + score);
+            matches.add(col + " LIKE :contains ESCAPE '\\'");
+            matches.add(":q <% " + col);
+        }
+        return "(SELECT '" + s.type() + "' AS type, t.id AS id, CAST(" + s.title() + " AS varchar) AS title, "
+            + "CAST(" + s.subtitle() + " AS varchar) AS subtitle, "
+            + (scores.size() == 1 ? scores.get(0) : "GREATEST(" + String.join(", ", scores) + ")") + " AS score"
+            + " FROM " + s.from()
+            + " WHERE " + String.join(" OR ", matches)
+            + " ORDER BY score DESC, t.id LIMIT :cap)";
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
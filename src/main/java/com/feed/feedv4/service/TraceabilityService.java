@@ -0,0 +1,255 @@
+package com.feed.feedv4.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feed.feedv4.dto.TraceGraphDTO;
+import com.feed.feedv4.model.Formulation;
+import com.feed.feedv4.model.Invoice;
+import com.feed.feedv4.model.InventoryMovement;
+import com.feed.feedv4.model.MovementType;
+import com.feed.feedv4.model.PelletingBatch;
+import com.feed.feedv4.model.RawMaterial;
+import com.feed.feedv4.model.TraceLink;
+import com.feed.feedv4.model.TraceLink.NodeType;
+import com.feed.feedv4.repository.InventoryMovementRepository;
+import com.feed.feedv4.repository.InvoiceRepository;
+import com.feed.feedv4.repository.PelletingBatchRepository;
+import com.feed.feedv4.repository.TraceLinkRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records lot → formulation → batch → invoice → customer edges as they happen
+ * (finalize, batch creation, send-to-finance) and walks them for recalls.
+ *
+ * Stock is pooled under weighted average cost, so the lot of an issue is the
+ * supplier lot on the raw material at the time it was issued.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TraceabilityService {
+
+    private static final int MAX_DEPTH = 4;
+    private static final String FINALIZE_REF = "FORMULATION_FINALIZE #";
+
+    private final TraceLinkRepository linkRepository;
+    private final InventoryMovementRepository movementRepository;
+    private final PelletingBatchRepository batchRepository;
+    private final InvoiceRepository invoiceRepository;
+
+    // ─── KEYS ─────────────────────────────────────────────────────────────────
+
+    /** Supplier lot key, e.g. "acme mills|l-2291"; materials without a lot fall back to "rm:{id}". */
+    public static String lotKey(RawMaterial rm) {
+        if (rm.getBatchId() == null || rm.getBatchId().isBlank()) return "rm:" + rm.getId();
+        return lotKey(rm.getSupplier(), rm.getBatchId());
+    }
+
+    public static String lotKey(String supplier, String lot) {
+        return normalize(supplier) + "|" + normalize(lot);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
+
+    public static String lotLabel(RawMaterial rm) {
+        StringBuilder sb = new StringBuilder(rm.getName() != null ? rm.getName() : "Raw material #" + rm.getId());
+        if (rm.getSupplier() != null && !rm.getSupplier().isBlank()) sb.append(" — ").append(rm.getSupplier());
+        if (rm.getBatchId() != null && !rm.getBatchId().isBlank()) sb.append(" lot ").append(rm.getBatchId());
+        return sb.toString();
+    }
+
+    // ─── RECORDING ────────────────────────────────────────────────────────────
+
+    public void materialIssued(RawMaterial rm, Formulation f, double kg) {
+        link(NodeType.LOT, lotKey(rm), lotLabel(rm), NodeType.FORMULATION, f.getId().toString(), f.getName(), kg);
+    }
+
+    public void batchCreated(PelletingBatch b) {
+        Formulation f = b.getFormulation();
+        link(NodeType.FORMULATION, f.getId().toString(), f.getName(),
+            NodeType.BATCH, b.getId().toString(), "Batch #" + b.getId(), b.getTargetQuantityKg());
+    }
+
+    public void batchInvoiced(Long batchId, double kg, Long invoiceId, String invoiceNumber) {
+        link(NodeType.BATCH, batchId.toString(), "Batch #" + batchId,
+            NodeType.INVOICE, invoiceId.toString(), invoiceNumber, kg);
+    }
+
+    public void invoiceIssued(Long invoiceId, String invoiceNumber, Long customerId, String customerName) {
+        link(NodeType.INVOICE, invoiceId.toString(), invoiceNumber,
+            NodeType.CUSTOMER, customerId.toString(), customerName, null);
+    }
+
+    private void link(NodeType fromType, String fromKey, String fromLabel,
+                      NodeType toType, String toKey, String toLabel, Double kg) {
+        TraceLink link = linkRepository.findByFromTypeAndFromKeyAndToTypeAndToKey(fromType, fromKey, toType, toKey)
+            .orElseGet(() -> TraceLink.builder()
+                .fromType(fromType).fromKey(fromKey)
+                .toType(toType).toKey(toKey)
+                .createdAt(LocalDateTime.now())
+                .build());
+        link.setFromLabel(fromLabel);
+        link.setToLabel(toLabel);
+        if (kg != null) link.setQuantityKg((link.getQuantityKg() != null ? link.getQuantityKg() : 0.0) + kg);
+        linkRepository.save(link);
+    }
+
+    // ─── TRAVERSAL ────────────────────────────────────────────────────────────
+
+    /** Everything downstream of a node, e.g. the customers a lot reached. */
+    @Transactional(readOnly = true)
+    public TraceGraphDTO forward(NodeType type, String key) {
+        return walk(Map.of(type, Set.of(key)), true);
+    }
+
+    /** Everything upstream of a node, e.g. the lots that went into an invoice. */
+    @Transactional(readOnly = true)
+    public TraceGraphDTO backward(NodeType type, String key) {
+        return walk(Map.of(type, Set.of(key)), false);
+    }
+
+    /** Forward trace of a supplier lot: which batches, invoices and customers it reached. */
+    @Transactional(readOnly = true)
+    public TraceGraphDTO recall(String supplier, String lot) {
+        return forward(NodeType.LOT, lotKey(supplier, lot));
+    }
+
+    /** Breadth-first, one indexed query per node type and level. */
+    private TraceGraphDTO walk(Map<NodeType, Set<String>> roots, boolean forward) {
+        TraceGraphDTO graph = TraceGraphDTO.builder().direction(forward ? "FORWARD" : "BACKWARD").build();
+        Map<String, TraceGraphDTO.Node> seen = new LinkedHashMap<>();
+        roots.forEach((type, keys) -> keys.forEach(k -> {
+            TraceGraphDTO.Node root = new TraceGraphDTO.Node(type.name(), k, null, 0);
+            seen.put(type + "/" + k, root);
+            graph.getRoots().add(root);
+        }));
+
+        Map<NodeType, Set<String>> frontier = roots;
+        for (int depth = 1; depth <= MAX_DEPTH && !frontier.isEmpty(); depth++) {
+            Map<NodeType, Set<String>> next = new EnumMap<>(NodeType.class);
+            for (Map.Entry<NodeType, Set<String>> level : frontier.entrySet()) {
+                List<TraceLink> links = forward
+                    ? linkRepository.findByFromTypeAndFromKeyIn(level.getKey(), level.getValue())
+                    : linkRepository.findByToTypeAndToKeyIn(level.getKey(), level.getValue());
+                for (TraceLink l : links) {
+                    graph.getEdges().add(new TraceGraphDTO.Edge(l.getFromType().name(), l.getFromKey(),
+                        l.getToType().name(), l.getToKey(), l.getQuantityKg(), l.getCreatedAt()));
+
+                    label(seen, l.getFromType(), l.getFromKey(), l.getFromLabel());
+                    label(seen, l.getToType(), l.getToKey(), l.getToLabel());
+
+                    NodeType otherType = forward ? l.getToType() : l.getFromType();
+                    String otherKey = forward ? l.getToKey() : l.getFromKey();
+                    String id = otherType + "/" + otherKey;
+                    if (!seen.containsKey(id)) {
+                        TraceGraphDTO.Node node = new TraceGraphDTO.Node(otherType.name(), otherKey,
+                            forward ? l.getToLabel() : l.getFromLabel(), depth);
+                        seen.put(id, node);
+                        graph.getNodes().add(node);
+                        next.computeIfAbsent(otherType, t -> new HashSet<>()).add(otherKey);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return graph;
+    }
+
+    private void label(Map<String, TraceGraphDTO.Node> seen, NodeType type, String key, String label) {
+        TraceGraphDTO.Node node = seen.get(type + "/" + key);
+        if (node != null && node.getLabel() == null) node.setLabel(label);
+    }
+
+    // ─── REBUILD ──────────────────────────────────────────────────────────────
+
+    /**
+     * Recreates all edges from finalize stock issues, pelleting batches and
+     * billed batches. Each issue is traced to the lot recorded on its
+     * movement; issues from before lots were recorded cannot be placed in a
+     * lot and link from the material ("rm:{id}") instead.
+     */
+    public int rebuild() {
+        linkRepository.deleteAllInBatch();
+        Map<String, TraceLink> links = new LinkedHashMap<>();
+
+        for (InventoryMovement mv : movementRepository.findByTypeAndReferenceStartingWith(MovementType.ISSUE, FINALIZE_REF)) {
+            Long formulationId = parseId(mv.getReference().substring(FINALIZE_REF.length()));
+            if (formulationId == null || mv.getRawMaterial() == null) continue;
+            RawMaterial rm = mv.getRawMaterial();
+            String lotKey = mv.getLotKey() != null ? mv.getLotKey() : "rm:" + rm.getId();
+            String lotLabel = mv.getLotKey() != null ? mv.getLotLabel()
+                : (rm.getName() != null ? rm.getName() : "Raw material #" + rm.getId()) + " (lot not recorded)";
+            collect(links, NodeType.LOT, lotKey, lotLabel, NodeType.FORMULATION, formulationId.toString(),
+                null, mv.getQuantity(), mv.getMovementDate());
+        }
+
+        Map<Long, Double> billedKg = new LinkedHashMap<>();
+        Map<Long, Long> billedOn = new LinkedHashMap<>();
+        for (PelletingBatch b : batchRepository.findAll()) {
+            if (b.getFormulation() == null) continue;
+            Formulation f = b.getFormulation();
+            collect(links, NodeType.FORMULATION, f.getId().toString(), f.getName(), NodeType.BATCH,
+                b.getId().toString(), "Batch #" + b.getId(), b.getTargetQuantityKg(), b.getCreatedAt());
+            if (b.getInvoiceId() != null) {
+                billedOn.put(b.getId(), b.getInvoiceId());
+                billedKg.put(b.getId(), b.getActualYieldKg() > 0 ? b.getActualYieldKg() : b.getTargetQuantityKg());
+            }
+        }
+
+        Map<Long, Invoice> invoices = new LinkedHashMap<>();
+        invoiceRepository.findAllById(new HashSet<>(billedOn.values())).forEach(inv -> invoices.put(inv.getId(), inv));
+        billedOn.forEach((batchId, invoiceId) -> {
+            Invoice inv = invoices.get(invoiceId);
+            if (inv == null) return;
+            collect(links, NodeType.BATCH, batchId.toString(), "Batch #" + batchId, NodeType.INVOICE,
+                invoiceId.toString(), inv.getInvoiceNumber(), billedKg.get(batchId), inv.getCreatedAt());
+            if (inv.getCustomerId() != null) {
+                collect(links, NodeType.INVOICE, invoiceId.toString(), inv.getInvoiceNumber(), NodeType.CUSTOMER,
+                    inv.getCustomerId().toString(), inv.getCustomerName(), null, inv.getCreatedAt());
+            }
+        });
+
+        // Formulation labels are only known from the batch side; fill them in for lot edges
+        Map<String, String> formulationNames = new LinkedHashMap<>();
+        links.values().stream()
+            .filter(l -> l.getFromType() == NodeType.FORMULATION)
+            .forEach(l -> formulationNames.putIfAbsent(l.getFromKey(), l.getFromLabel()));
+        links.values().stream()
+            .filter(l -> l.getToType() == NodeType.FORMULATION && l.getToLabel() == null)
+            .forEach(l -> l.setToLabel(formulationNames.get(l.getToKey())));
+
+        linkRepository.saveAll(links.values());
+        return links.size();
+    }
+
+    private void collect(Map<String, TraceLink> links, NodeType fromType, String fromKey, String fromLabel,
+                         NodeType toType, String toKey, String toLabel, Double kg, LocalDateTime at) {
+        TraceLink link = links.computeIfAbsent(fromType + "/" + fromKey + ">" + toType + "/" + toKey,
+            k -> TraceLink.builder()
+                .fromType(fromType).fromKey(fromKey).fromLabel(fromLabel)
+                .toType(toType).toKey(toKey).toLabel(toLabel)
+                .createdAt(at != null ? at : LocalDateTime.now())
+                .build());
+        if (kg != null) link.setQuantityKg((link.getQuantityKg() != null ? link.getQuantityKg() : 0.0) + kg);
+    }
+
+    private Long parseId(String s) {
+        try {
+            return Long.valueOf(s.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
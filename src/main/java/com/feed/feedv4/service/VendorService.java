@@ -2,18 +2,28 @@ package com.feed.feedv4.service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.feed.feedv4.dto.ContactPersonDTO;
+import com.feed.feedv4.dto.CursorPageDTO;
 import com.feed.feedv4.dto.VendorDTO;
+import com.feed.feedv4.dto.VendorRowDTO;
+import com.feed.feedv4.event.MasterDataChangedEvent;
+import com.feed.feedv4.event.MasterDataChangedEvent.Kind;
 import com.feed.feedv4.model.ContactPerson;
 import com.feed.feedv4.model.Vendor;
+import com.feed.feedv4.model.VendorBalance;
 import com.feed.feedv4.repository.BillRepository;
 import com.feed.feedv4.repository.ContactPersonRepository;
-import com.feed.feedv4.repository.PaymentMadeRepository;
+import com.feed.feedv4.repository.KeysetPager;
+import com.feed.feedv4.repository.KeysetSpec;
+import com.feed.feedv4.repository.KeysetSpec.Op;
 import com.feed.feedv4.repository.PurchaseOrderRepository;
 import com.feed.feedv4.repository.VendorRepository;
 
@@ -24,17 +34,41 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class VendorService {
     
+    private static final KeysetSpec<Vendor, VendorRowDTO> PAGE_SPEC = KeysetSpec
+            .of(Vendor.class, VendorRowDTO.class, VendorRowDTO::getId,
+                "id", "vendorDisplayName", "companyName", "vendorEmail", "vendorPhone", "currency",
+                "paymentTerms", "status", "createdAt")
+            .sort("vendorDisplayName", VendorRowDTO::getVendorDisplayName)
+            .sort("companyName", VendorRowDTO::getCompanyName)
+            .sort("createdAt", VendorRowDTO::getCreatedAt)
+            .filter("status", Op.EQ, "status")
+            .filter("q", Op.CONTAINS, "vendorDisplayName", "companyName", "vendorEmail", "vendorPhone");
+
     private final VendorRepository vendorRepository;
     private final ContactPersonRepository contactPersonRepository;
     private final BillRepository billRepository;
     private final PurchaseOrderRepository purchaseOrderRepository;
-    private final PaymentMadeRepository paymentMadeRepository;
+    private final PayablesProjectionService payablesProjection;
+    private final KeysetPager keysetPager;
+    private final ApplicationEventPublisher events;
+    private final SearchService searchService;
     
+    @Transactional(readOnly = true)
     public List<VendorDTO> getAllVendors() {
-        return vendorRepository.findAll().stream()
+        return vendorRepository.findAllWithContactPersons().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
+
+    /** Keyset-paged list of slim rows; see {@link KeysetPager} for the parameters. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VendorRowDTO> getVendorPage(Map<String, String> params) {
+        CursorPageDTO<VendorRowDTO> page = keysetPager.page(PAGE_SPEC, params);
+        Map<Long, BigDecimal> payables = payablesProjection.getPayables(
+            page.getItems().stream().map(VendorRowDTO::getId).toList());
+        page.getItems().forEach(r -> r.setPayables(payables.getOrDefault(r.getId(), BigDecimal.ZERO)));
+        return page;
+    }
     
     public List<VendorDTO> getAllActiveVendors() {
         return vendorRepository.findAllActive().stream()
@@ -42,23 +76,24 @@ public class VendorService {
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public VendorDTO getVendorById(Long id) {
-        Vendor vendor = vendorRepository.findById(id)
+        Vendor vendor = vendorRepository.findWithContactPersonsById(id)
             .orElseThrow(() -> new RuntimeException("Vendor not found with id: " + id));
         return convertToDTO(vendor);
     }
     
+    @Transactional(readOnly = true)
     public VendorDTO getVendorWithFinancials(Long id) {
-        Vendor vendor = vendorRepository.findById(id)
+        Vendor vendor = vendorRepository.findWithContactPersonsById(id)
             .orElseThrow(() -> new RuntimeException("Vendor not found with id: " + id));
         
         VendorDTO dto = convertToDTO(vendor);
         
-        // Calculate payables from outstanding bills
-        dto.setPayables(calculatePayables(id));
-        
-        // Calculate unused credits from excess payments
-        dto.setUnusedCredits(calculateUnusedCredits(id));
+        // Payables and unused credits come from the incrementally maintained projection
+        VendorBalance balance = payablesProjection.getVendorBalance(id);
+        dto.setPayables(balance.getPayables());
+        dto.setUnusedCredits(balance.getUnusedCredits());
         
         return dto;
     }
@@ -78,6 +113,7 @@ public class VendorService {
         
         Vendor vendor = convertToEntity(vendorDTO);
         Vendor savedVendor = vendorRepository.save(vendor);
+        events.publishEvent(new MasterDataChangedEvent(Kind.VENDOR, savedVendor.getId()));
         
         return convertToDTO(savedVendor);
     }
@@ -96,6 +132,7 @@ public class VendorService {
         updateVendorFields(existingVendor, vendorDTO);
         
         Vendor updatedVendor = vendorRepository.save(existingVendor);
+        events.publishEvent(new MasterDataChangedEvent(Kind.VENDOR, updatedVendor.getId()));
         return convertToDTO(updatedVendor);
     }
     
@@ -104,7 +141,7 @@ public class VendorService {
             .orElseThrow(() -> new RuntimeException("Vendor not found with id: " + id));
         
         // Check if vendor has outstanding payables
-        BigDecimal payables = calculatePayables(id);
+        BigDecimal payables = payablesProjection.getVendorBalance(id).getPayables();
         if (payables.compareTo(BigDecimal.ZERO) > 0) {
             throw new RuntimeException("Cannot delete vendor with outstanding payables. Please clear all bills first.");
         }
@@ -120,6 +157,7 @@ public class VendorService {
         }
         
         vendorRepository.delete(vendor);
+        events.publishEvent(new MasterDataChangedEvent(Kind.VENDOR, id));
     }
     
     public VendorDTO markVendorInactive(Long id) {
@@ -128,6 +166,7 @@ public class VendorService {
         
         vendor.setStatus(Vendor.VendorStatus.INACTIVE);
         Vendor updatedVendor = vendorRepository.save(vendor);
+        events.publishEvent(new MasterDataChangedEvent(Kind.VENDOR, updatedVendor.getId()));
         
         return convertToDTO(updatedVendor);
     }
@@ -138,26 +177,24 @@ public class VendorService {
         
         vendor.setStatus(Vendor.VendorStatus.ACTIVE);
         Vendor updatedVendor = vendorRepository.save(vendor);
+        events.publishEvent(new MasterDataChangedEvent(Kind.VENDOR, updatedVendor.getId()));
         
         return convertToDTO(updatedVendor);
     }
     
+    /** Ranked and typo-tolerant; see {@link SearchService}. */
+    @Transactional(readOnly = true)
     public List<VendorDTO> searchVendors(String query) {
-        return vendorRepository.searchVendors(query).stream()
+        List<Long> ids = searchService.rankedIds("VENDOR", query, SearchService.MODULE_SEARCH_LIMIT);
+        Map<Long, Vendor> byId = vendorRepository.findWithContactPersonsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Vendor::getId, v -> v));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
     
-    private BigDecimal calculatePayables(Long vendorId) {
-        // Sum all outstanding bills for this vendor
-        return billRepository.sumOutstandingByVendorId(vendorId);
-    }
-    
-    private BigDecimal calculateUnusedCredits(Long vendorId) {
-        // Sum all excess payments for this vendor
-        return paymentMadeRepository.sumExcessByVendorId(vendorId);
-    }
-    
     private VendorDTO convertToDTO(Vendor vendor) {
         List<ContactPersonDTO> contactPersonDTOs = vendor.getContactPersons().stream()
             .map(this::convertContactPersonToDTO)
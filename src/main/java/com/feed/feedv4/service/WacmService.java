@@ -1,10 +1,12 @@
 package com.feed.feedv4.service;
 
+import com.feed.feedv4.event.InventoryChangedEvent;
 import com.feed.feedv4.model.InventoryMovement;
 import com.feed.feedv4.model.MovementType;
 import com.feed.feedv4.model.RawMaterial;
 import com.feed.feedv4.repository.InventoryMovementRepository;
 import com.feed.feedv4.repository.RawMaterialRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,11 +15,17 @@ public class WacmService {
 
     private final RawMaterialRepository rawMaterialRepo;
     private final InventoryMovementRepository movementRepo;
+    private final DailyRollupService dailyRollupService;
+    private final ApplicationEventPublisher events;
 
     public WacmService(RawMaterialRepository rawMaterialRepo,
-                       InventoryMovementRepository movementRepo) {
+                       InventoryMovementRepository movementRepo,
+                       DailyRollupService dailyRollupService,
+                       ApplicationEventPublisher events) {
         this.rawMaterialRepo = rawMaterialRepo;
         this.movementRepo = movementRepo;
+        this.dailyRollupService = dailyRollupService;
+        this.events = events;
     }
 
     private double nz(Double v) { return v == null ? 0.0 : v; }
@@ -62,7 +70,10 @@ public class WacmService {
         mv.setUnitCost(newWac);          // WAC at time of movement
         mv.setTotalCost(quantity * newWac);
         mv.setReference(reference);
+        mv.setLotKey(TraceabilityService.lotKey(rm));
+        mv.setLotLabel(TraceabilityService.lotLabel(rm));
         movementRepo.save(mv);
+        events.publishEvent(new InventoryChangedEvent(rm.getId(), MovementType.RECEIVE, quantity));
     
         return rm;
     }
@@ -99,7 +110,12 @@ public class WacmService {
         mv.setUnitCost(wac);
         mv.setTotalCost(outValue);
         mv.setReference(reference);
+        // Lots change when stock is relabelled; keep the one this issue came from
+        mv.setLotKey(TraceabilityService.lotKey(rm));
+        mv.setLotLabel(TraceabilityService.lotLabel(rm));
         movementRepo.save(mv);
+        dailyRollupService.materialIssued(rm.getId(), quantity);
+        events.publishEvent(new InventoryChangedEvent(rm.getId(), MovementType.ISSUE, quantity));
     
         return rm;
     }
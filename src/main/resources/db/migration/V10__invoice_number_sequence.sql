@@ -0,0 +1,9 @@
+-- Invoice numbers were INV-<epoch millis> from an in-process counter, which
+-- collides across instances. Numbers now come from a sequence that starts
+-- past both the clock and every existing number, so they keep the same
+-- shape and stay increasing.
+create sequence invoice_number_seq;
+
+select setval('invoice_number_seq', greatest(
+    (extract(epoch from clock_timestamp()) * 1000)::bigint,
+    coalesce((select max(substring(invoice_number from '^INV-([0-9]{1,18})$')::bigint) from invoices), 0)));
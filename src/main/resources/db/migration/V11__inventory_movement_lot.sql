@@ -0,0 +1,6 @@
+-- Stock movements record the supplier lot they came from, so traceability
+-- can be rebuilt without guessing from a material's current lot. Earlier
+-- movements keep null: their lot was never recorded.
+alter table inventory_movement
+    add column lot_key varchar(200),
+    add column lot_label varchar(255);
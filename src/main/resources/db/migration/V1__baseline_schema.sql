@@ -0,0 +1,785 @@
+-- Schema as the JPA entities mapped it while ddl-auto=update managed the
+-- database. Existing databases are baselined at this version and skip it;
+-- new databases start here. Everything added since lives in V2 onwards.
+
+create table accounting_entries (
+    credit numeric(15,2) not null,
+    debit numeric(15,2) not null,
+    sequence integer not null,
+    id bigint generated by default as identity,
+    payment_made_id bigint not null,
+    account_name varchar(200) not null,
+    primary key (id)
+);
+
+create table app_user (
+    active boolean not null,
+    id bigint generated by default as identity,
+    email varchar(255),
+    full_name varchar(255),
+    password varchar(255),
+    primary key (id)
+);
+
+create table bill_items (
+    amount numeric(15,2) not null,
+    quantity numeric(15,2) not null,
+    rate numeric(15,2) not null,
+    sequence integer not null,
+    tax_rate numeric(5,2) not null,
+    bill_id bigint not null,
+    id bigint generated by default as identity,
+    account varchar(100) not null,
+    customer_details varchar(500),
+    item_details varchar(500) not null,
+    primary key (id)
+);
+
+create table bill_payments (
+    payment_amount numeric(15,2) not null,
+    payment_date date not null,
+    bill_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    payment_made_id bigint not null,
+    primary key (id)
+);
+
+create table bills (
+    amount_paid numeric(15,2) not null,
+    balance_due numeric(15,2) not null,
+    bill_date date not null,
+    discount numeric(15,2) not null,
+    due_date date not null,
+    outstanding_amount numeric(38,2),
+    subtotal numeric(15,2) not null,
+    tax numeric(15,2) not null,
+    tax_inclusive boolean not null,
+    total numeric(15,2) not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    vendor_id bigint not null,
+    bill_number varchar(50) not null unique,
+    created_by varchar(100),
+    order_number varchar(100),
+    reference_number varchar(100),
+    attachments varchar(500),
+    subject varchar(500),
+    accounts_payable varchar(255) not null check (accounts_payable in ('ACCOUNTS_PAYABLE','TRADE_PAYABLES','OTHER_PAYABLES')),
+    discount_type varchar(255) not null check (discount_type in ('PERCENTAGE','AMOUNT')),
+    notes TEXT,
+    payment_terms varchar(255) not null check (payment_terms in ('DUE_ON_RECEIPT','NET_15','NET_30','NET_45','NET_60','NET_90')),
+    status varchar(255) not null check (status in ('DRAFT','OPEN','PARTIALLY_PAID','PAID','OVERDUE','VOID')),
+    primary key (id)
+);
+
+create table charges_config (
+    active boolean not null,
+    archived boolean not null,
+    formulation_fee float(53) not null,
+    pelleting_fee float(53) not null,
+    system_fee_percent float(53) not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    formulation_fee_type varchar(20) not null check (formulation_fee_type in ('PER_KG','PER_BATCH')),
+    pelleting_fee_type varchar(20) not null check (pelleting_fee_type in ('PER_KG','PER_BATCH')),
+    name varchar(100) not null,
+    description varchar(255),
+    primary key (id)
+);
+
+create table contact_persons (
+    sequence integer not null,
+    id bigint generated by default as identity,
+    vendor_id bigint not null,
+    mobile varchar(50),
+    phone varchar(50),
+    designation varchar(100),
+    email varchar(100),
+    first_name varchar(100),
+    last_name varchar(100),
+    primary key (id)
+);
+
+create table customer_contact_persons (
+    sequence integer not null,
+    customer_id bigint not null,
+    id bigint generated by default as identity,
+    mobile varchar(50),
+    phone varchar(50),
+    designation varchar(100),
+    first_name varchar(100) not null,
+    last_name varchar(100),
+    email varchar(200),
+    primary key (id)
+);
+
+create table customers (
+    payment_terms integer not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    currency varchar(10) not null,
+    billing_zip varchar(20),
+    gst_treatment varchar(20) check (gst_treatment in ('REGISTERED','UNREGISTERED','EXEMPT')),
+    shipping_zip varchar(20),
+    status varchar(20) not null check (status in ('ACTIVE','INACTIVE')),
+    gst_number varchar(50),
+    mobile varchar(50),
+    pan_number varchar(50),
+    phone varchar(50),
+    billing_city varchar(100),
+    billing_country varchar(100),
+    billing_state varchar(100),
+    created_by varchar(100),
+    department varchar(100),
+    location varchar(100),
+    shipping_city varchar(100),
+    shipping_country varchar(100),
+    shipping_state varchar(100),
+    company_name varchar(200),
+    custom_field1 varchar(200),
+    custom_field2 varchar(200),
+    customer_name varchar(200) not null,
+    email varchar(200) not null unique,
+    website varchar(200),
+    billing_street varchar(500),
+    shipping_street varchar(500),
+    notes TEXT,
+    primary key (id)
+);
+
+create table expense_accounting_entries (
+    credit numeric(15,2) not null,
+    debit numeric(15,2) not null,
+    sequence integer not null,
+    expense_id bigint not null,
+    id bigint generated by default as identity,
+    account varchar(200) not null,
+    primary key (id)
+);
+
+create table expenses (
+    amount numeric(15,2) not null,
+    date date not null,
+    net_amount numeric(15,2) not null,
+    tax numeric(15,2) not null,
+    tax_inclusive boolean not null,
+    created_at timestamp(6) not null,
+    customer_id bigint,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    vendor_id bigint,
+    status varchar(30) not null check (status in ('PAID','UNPAID','PARTIALLY_PAID')),
+    reference_number varchar(50) unique,
+    created_by varchar(100),
+    department varchar(100),
+    location varchar(100),
+    customer_name varchar(200),
+    expense_account varchar(200) not null,
+    paid_through varchar(200) not null,
+    vendor_name varchar(200),
+    attachments varchar(500),
+    notes TEXT,
+    primary key (id)
+);
+
+create table factories (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    contact_number varchar(50),
+    registration_number varchar(100),
+    email varchar(160),
+    name varchar(160) not null,
+    address varchar(500),
+    logo_url varchar(500),
+    primary key (id),
+    constraint idx_factory_registration unique (registration_number)
+);
+
+create table feed_profiles (
+    archived boolean not null,
+    calcium float(53),
+    energy float(53),
+    fat float(53),
+    fiber float(53),
+    locked boolean not null,
+    lysine float(53),
+    max_fiber float(53),
+    max_salt float(53),
+    methionine float(53),
+    phosphorus float(53),
+    protein float(53),
+    id bigint generated by default as identity,
+    feed_name varchar(255),
+    preference_strategy varchar(255),
+    species varchar(255),
+    stage varchar(255),
+    primary key (id)
+);
+
+create table feed_profile_mandatory_ingredients (
+    feed_profile_id bigint not null,
+    mandatory_ingredients varchar(255)
+);
+
+create table feed_profile_restricted_ingredients (
+    feed_profile_id bigint not null,
+    restricted_ingredients varchar(255)
+);
+
+create table feed_profile_tags (
+    feed_profile_id bigint not null,
+    tags varchar(255)
+);
+
+create table formulation (
+    batch_size float(53) not null,
+    cost_per_kg float(53) not null,
+    finalized boolean not null,
+    locked boolean not null,
+    created_at timestamp(6),
+    customer_id bigint,
+    feed_profile_id bigint,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    factory varchar(255),
+    name varchar(255),
+    notes varchar(255),
+    status varchar(255),
+    strategy varchar(255),
+    version varchar(255),
+    primary key (id)
+);
+
+create table formulation_tags (
+    formulation_id bigint not null,
+    tags varchar(255)
+);
+
+create table formulation_ingredient (
+    contribution_percent float(53) not null,
+    cost_per_kg float(53) not null,
+    locked boolean not null,
+    percentage float(53),
+    quantity_kg float(53) not null,
+    formulation_id bigint,
+    id bigint generated by default as identity,
+    raw_material_id bigint,
+    raw_material_name varchar(255),
+    primary key (id)
+);
+
+create table formulation_log (
+    formulation_id bigint,
+    id bigint generated by default as identity,
+    timestamp timestamp(6),
+    action varchar(255),
+    message varchar(255),
+    primary key (id)
+);
+
+create table inventory_movement (
+    quantity float(53),
+    total_cost float(53),
+    unit_cost float(53),
+    id bigint generated by default as identity,
+    movement_date timestamp(6),
+    raw_material_id bigint not null,
+    reference varchar(255),
+    type varchar(255) check (type in ('RECEIVE','ISSUE')),
+    primary key (id)
+);
+
+create table invoice_items (
+    amount numeric(38,2),
+    quantity numeric(38,2),
+    rate numeric(38,2),
+    sequence integer,
+    tax numeric(38,2),
+    id bigint generated by default as identity,
+    invoice_id bigint,
+    item_name varchar(255),
+    primary key (id)
+);
+
+create table invoice_payments (
+    invoice_balance_due numeric(15,2) not null,
+    payment_amount numeric(15,2) not null,
+    payment_date date not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    invoice_id bigint not null,
+    payment_received_id bigint not null,
+    primary key (id)
+);
+
+create table invoices (
+    amount_paid numeric(38,2),
+    balance_due numeric(38,2),
+    due_date date,
+    invoice_date date,
+    shipping_charges numeric(38,2),
+    subtotal numeric(38,2),
+    tax numeric(38,2),
+    total numeric(38,2),
+    created_at timestamp(6) not null,
+    customer_id bigint,
+    id bigint generated by default as identity,
+    attachments varchar(255),
+    customer_name varchar(255),
+    customer_notes TEXT,
+    invoice_number varchar(255) not null unique,
+    order_number varchar(255),
+    payment_status varchar(255) check (payment_status in ('UNPAID','PARTIALLY_PAID','PAID')),
+    sales_person varchar(255),
+    status varchar(255) check (status in ('DRAFT','SENT','VOID','PAID','PARTIALLY_PAID')),
+    subject varchar(255),
+    terms varchar(255),
+    terms_and_conditions TEXT,
+    primary key (id)
+);
+
+create table payment (
+    amount_paid float(53) not null,
+    discount_amount float(53),
+    tax_rate float(53),
+    id bigint generated by default as identity,
+    invoice_id bigint,
+    paid_at timestamp(6),
+    payment_date timestamp(6),
+    notes varchar(255),
+    payment_method varchar(255),
+    primary key (id)
+);
+
+create table payments_made (
+    amount_in_excess numeric(15,2) not null,
+    amount_paid numeric(15,2) not null,
+    amount_refunded numeric(15,2) not null,
+    amount_used numeric(15,2) not null,
+    bank_charges numeric(15,2) not null,
+    excess_amount numeric(38,2),
+    payment_date date not null,
+    payment_made numeric(15,2) not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    paid_through_account_id bigint not null,
+    updated_at timestamp(6) not null,
+    vendor_id bigint not null,
+    payment_number varchar(50) not null unique,
+    created_by varchar(100),
+    order_number varchar(100),
+    reference_number varchar(100),
+    vendor_name varchar(200),
+    attachments varchar(500),
+    notes TEXT,
+    payment_mode varchar(255) not null check (payment_mode in ('BANK_TRANSFER','CHEQUE','CASH','ONLINE_PAYMENT','CREDIT_CARD')),
+    status varchar(255) not null check (status in ('DRAFT','PAID','VOID')),
+    primary key (id)
+);
+
+create table payments_received (
+    amount_received numeric(15,2) not null,
+    amount_used numeric(15,2) not null,
+    bank_charges numeric(15,2) not null,
+    payment_date date not null,
+    tax_amount numeric(15,2) not null,
+    tax_deducted boolean not null,
+    unused_amount numeric(15,2) not null,
+    created_at timestamp(6) not null,
+    customer_id bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    status varchar(20) not null check (status in ('COMPLETED','PARTIALLY_USED','VOID')),
+    payment_mode varchar(30) not null check (payment_mode in ('CASH','BANK_TRANSFER','CHEQUE','CREDIT_CARD','DEBIT_CARD','ONLINE_PAYMENT')),
+    type varchar(30) not null check (type in ('INVOICE_PAYMENT','PARTIAL_PAYMENT','ADVANCE_PAYMENT')),
+    payment_number varchar(50) not null unique,
+    created_by varchar(100),
+    reference_number varchar(100),
+    deposit_to varchar(200) not null,
+    attachments varchar(500),
+    notes TEXT,
+    primary key (id)
+);
+
+create table pelleting_batch (
+    actual_yield_kg float(53) not null,
+    archived boolean not null,
+    target_quantity_kg float(53) not null,
+    total_wastage_kg float(53) not null,
+    created_at timestamp(6),
+    customer_id bigint,
+    end_time timestamp(6),
+    formulation_id bigint,
+    id bigint generated by default as identity,
+    operator_id bigint,
+    start_time timestamp(6),
+    updated_at timestamp(6),
+    machine_used varchar(255),
+    operator_comments varchar(255),
+    status varchar(255),
+    primary key (id)
+);
+
+create table pelleting_batch_leftover_raw_materials (
+    pelleting_batch_id bigint not null,
+    leftover_raw_materials varchar(255)
+);
+
+create table purchase_order_items (
+    amount numeric(15,2) not null,
+    quantity numeric(15,2) not null,
+    rate numeric(15,2) not null,
+    sequence integer not null,
+    tax_rate numeric(5,2) not null,
+    id bigint generated by default as identity,
+    purchase_order_id bigint not null,
+    account varchar(100) not null,
+    item_details varchar(500) not null,
+    primary key (id)
+);
+
+create table purchase_orders (
+    delivery_date date not null,
+    discount numeric(15,2) not null,
+    order_date date not null,
+    subtotal numeric(15,2) not null,
+    tax numeric(15,2) not null,
+    tax_inclusive boolean not null,
+    total numeric(15,2) not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    vendor_id bigint not null,
+    purchase_order_number varchar(50) not null unique,
+    created_by varchar(100),
+    reference_number varchar(100),
+    attachments varchar(500),
+    billed_status varchar(255) not null check (billed_status in ('NOT_BILLED','PARTIALLY_BILLED','FULLY_BILLED')),
+    delivery_address TEXT,
+    discount_type varchar(255) not null check (discount_type in ('PERCENTAGE','AMOUNT')),
+    notes TEXT,
+    payment_terms varchar(255) not null check (payment_terms in ('DUE_ON_RECEIPT','NET_15','NET_30','NET_45','NET_60','NET_90')),
+    shipment_preference varchar(255) not null check (shipment_preference in ('ROAD','AIR','SEA','RAIL')),
+    status varchar(255) not null check (status in ('DRAFT','SENT','CONFIRMED','CANCELLED')),
+    terms_and_conditions TEXT,
+    primary key (id)
+);
+
+create table quote_items (
+    amount numeric(15,2) not null,
+    quantity numeric(15,2) not null,
+    rate numeric(15,2) not null,
+    sequence integer not null,
+    tax_rate numeric(5,2) not null,
+    id bigint generated by default as identity,
+    quote_id bigint not null,
+    item_name varchar(500) not null,
+    description TEXT,
+    primary key (id)
+);
+
+create table quotes (
+    adjustment numeric(15,2) not null,
+    discount numeric(15,2) not null,
+    expiry_date date not null,
+    quote_date date not null,
+    subtotal numeric(15,2) not null,
+    tax numeric(15,2) not null,
+    tax_inclusive boolean not null,
+    total numeric(15,2) not null,
+    created_at timestamp(6) not null,
+    customer_id bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    discount_type varchar(20) not null check (discount_type in ('PERCENTAGE','AMOUNT')),
+    status varchar(20) not null check (status in ('DRAFT','SENT','ACCEPTED','DECLINED','EXPIRED')),
+    quote_number varchar(50) not null unique,
+    created_by varchar(100),
+    reference_number varchar(100),
+    sales_person varchar(100),
+    attachments varchar(500),
+    subject varchar(500),
+    customer_notes TEXT,
+    terms_and_conditions TEXT,
+    primary key (id)
+);
+
+create table raw_material (
+    archived boolean not null,
+    ash float(53),
+    calcium float(53),
+    cost_per_kg float(53),
+    cp float(53),
+    expiry_date date,
+    fat float(53),
+    fiber float(53),
+    in_stock_kg float(53),
+    locked boolean not null,
+    me float(53),
+    total_value float(53),
+    weighted_avg_cost float(53),
+    id bigint generated by default as identity,
+    batch_id varchar(255),
+    name varchar(255),
+    quality_grade varchar(255),
+    supplier varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create table sales_order_items (
+    amount numeric(38,2),
+    quantity numeric(38,2),
+    rate numeric(38,2),
+    sequence integer,
+    tax numeric(38,2),
+    id bigint generated by default as identity,
+    sales_order_id bigint,
+    item_name varchar(255),
+    primary key (id)
+);
+
+create table sales_orders (
+    discount numeric(38,2),
+    expected_shipment_date date,
+    sales_order_date date,
+    shipping_charges numeric(38,2),
+    subtotal numeric(38,2),
+    tax numeric(38,2),
+    total numeric(38,2),
+    created_at timestamp(6) not null,
+    customer_id bigint,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    attachments varchar(255),
+    customer_name varchar(255),
+    customer_notes TEXT,
+    delivery_method varchar(255),
+    invoiced_status varchar(255) check (invoiced_status in ('NOT_INVOICED','PARTIALLY_INVOICED','FULLY_INVOICED')),
+    order_status varchar(255) check (order_status in ('OPEN','CLOSED','CANCELLED')),
+    payment_status varchar(255) check (payment_status in ('UNPAID','PARTIALLY_PAID','PAID')),
+    payment_terms varchar(255),
+    reference_number varchar(255),
+    sales_order_number varchar(255) not null unique,
+    sales_person varchar(255),
+    status varchar(255) check (status in ('DRAFT','CONFIRMED','VOID')),
+    terms_and_conditions TEXT,
+    primary key (id)
+);
+
+create table sales_receipt_items (
+    amount numeric(15,2) not null,
+    quantity numeric(15,2) not null,
+    rate numeric(15,2) not null,
+    sequence integer not null,
+    tax numeric(5,2) not null,
+    id bigint generated by default as identity,
+    sales_receipt_id bigint not null,
+    item_name varchar(500) not null,
+    primary key (id)
+);
+
+create table sales_receipts (
+    receipt_date date not null,
+    shipping_charges numeric(15,2) not null,
+    subtotal numeric(15,2) not null,
+    total numeric(15,2) not null,
+    created_at timestamp(6) not null,
+    customer_id bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    status varchar(20) not null check (status in ('DRAFT','COMPLETED','VOID')),
+    payment_mode varchar(30) not null check (payment_mode in ('CASH','BANK_TRANSFER','CHEQUE','CREDIT_CARD','DEBIT_CARD')),
+    sales_receipt_number varchar(50) not null unique,
+    created_by varchar(100),
+    reference_number varchar(100),
+    sales_person varchar(100),
+    deposit_to varchar(200),
+    attachments varchar(500),
+    notes TEXT,
+    terms_and_conditions TEXT,
+    primary key (id)
+);
+
+create table test_entity (
+    id bigint generated by default as identity,
+    message varchar(255),
+    primary key (id)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role varchar(255) check (role in ('ADMIN','FORMULATOR','INVENTORY_MANAGER','FINANCE_OFFICER','OPERATOR'))
+);
+
+create table vendors (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    currency varchar(10) not null,
+    billing_zip varchar(20),
+    payment_terms varchar(20) not null,
+    shipping_zip varchar(20),
+    status varchar(20) not null check (status in ('ACTIVE','INACTIVE')),
+    gst_treatment varchar(30) not null check (gst_treatment in ('REGISTERED','UNREGISTERED','EXEMPT')),
+    gst_number varchar(50),
+    pan_number varchar(50),
+    vendor_phone varchar(50) not null,
+    billing_city varchar(100),
+    billing_country varchar(100),
+    billing_state varchar(100),
+    created_by varchar(100),
+    department varchar(100),
+    location varchar(100),
+    shipping_city varchar(100),
+    shipping_country varchar(100),
+    shipping_state varchar(100),
+    vendor_email varchar(100) not null,
+    company_name varchar(200) not null,
+    vendor_display_name varchar(200) not null,
+    website varchar(200),
+    billing_street varchar(500),
+    custom_field1 varchar(500),
+    custom_field2 varchar(500),
+    shipping_street varchar(500),
+    notes TEXT,
+    primary key (id)
+);
+
+create index idx_factory_name
+   on factories (name);
+
+alter table if exists accounting_entries
+   add constraint FK5wpa4gqcv78wpgq6l60qafo4m
+   foreign key (payment_made_id)
+   references payments_made;
+
+alter table if exists bill_items
+   add constraint FKj9o7g8krc56gf6t6f0sy4ic5p
+   foreign key (bill_id)
+   references bills;
+
+alter table if exists bill_payments
+   add constraint FKj786nas9nweg400jt2389icke
+   foreign key (payment_made_id)
+   references payments_made;
+
+alter table if exists contact_persons
+   add constraint FKbfjugaug5kpjuf9a07fwn8bat
+   foreign key (vendor_id)
+   references vendors;
+
+alter table if exists customer_contact_persons
+   add constraint FKknl1g8h938wdtg1t8mm98fhr2
+   foreign key (customer_id)
+   references customers;
+
+alter table if exists expense_accounting_entries
+   add constraint FKh55q0cskn0nyb6hlo7g1pc40p
+   foreign key (expense_id)
+   references expenses;
+
+alter table if exists feed_profile_mandatory_ingredients
+   add constraint FKhgigi5sf9rajeu64thhb4evka
+   foreign key (feed_profile_id)
+   references feed_profiles;
+
+alter table if exists feed_profile_restricted_ingredients
+   add constraint FKsfqek67r44h6a1go22yx3f2i6
+   foreign key (feed_profile_id)
+   references feed_profiles;
+
+alter table if exists feed_profile_tags
+   add constraint FKgkv6g8uyuu2yxir364frtburo
+   foreign key (feed_profile_id)
+   references feed_profiles;
+
+alter table if exists formulation
+   add constraint FKfocb3cgcpc6movl3dwg49yg3n
+   foreign key (feed_profile_id)
+   references feed_profiles;
+
+alter table if exists formulation_tags
+   add constraint FKtgjfffr6do8lle9q4gdc3ob2s
+   foreign key (formulation_id)
+   references formulation;
+
+alter table if exists formulation_ingredient
+   add constraint FKbgc4qe8nbmcxc22bt84596evq
+   foreign key (formulation_id)
+   references formulation;
+
+alter table if exists formulation_ingredient
+   add constraint FK7va75tc3f85m7fccvw5q13he6
+   foreign key (raw_material_id)
+   references raw_material;
+
+alter table if exists formulation_log
+   add constraint FK9fsyjnmitvknqrj6kijhgjep
+   foreign key (formulation_id)
+   references formulation;
+
+alter table if exists inventory_movement
+   add constraint FKn4ny8b2acjal4wsco70u2cynd
+   foreign key (raw_material_id)
+   references raw_material;
+
+alter table if exists invoice_items
+   add constraint FK46ae0lhu1oqs7cv91fn6y9n7w
+   foreign key (invoice_id)
+   references invoices;
+
+alter table if exists invoice_payments
+   add constraint FK9q31slr4dnqexrq3s23qune1k
+   foreign key (payment_received_id)
+   references payments_received;
+
+alter table if exists payment
+   add constraint FK4s0p6ustx9auvp1hjs814p2iy
+   foreign key (invoice_id)
+   references invoices;
+
+alter table if exists pelleting_batch
+   add constraint FK4xh895ij09mx34ru9snvbg9el
+   foreign key (formulation_id)
+   references formulation;
+
+alter table if exists pelleting_batch
+   add constraint FKgibs28jgb80k007nb704gl7vl
+   foreign key (operator_id)
+   references app_user;
+
+alter table if exists pelleting_batch_leftover_raw_materials
+   add constraint FK2i4pbvyc5kmqtg9l4ga27cc3w
+   foreign key (pelleting_batch_id)
+   references pelleting_batch;
+
+alter table if exists purchase_order_items
+   add constraint FKo3yj8ocbw2kav38548t22hgh8
+   foreign key (purchase_order_id)
+   references purchase_orders;
+
+alter table if exists quote_items
+   add constraint FKrvsmoef7yontnlu1lwxrb0g3g
+   foreign key (quote_id)
+   references quotes;
+
+alter table if exists sales_order_items
+   add constraint FKtrge001xfy0fc9961g11411re
+   foreign key (sales_order_id)
+   references sales_orders;
+
+alter table if exists sales_receipt_items
+   add constraint FK40js2387comcqoyiyt1x04fps
+   foreign key (sales_receipt_id)
+   references sales_receipts;
+
+alter table if exists user_roles
+   add constraint FK6fql8djp64yp4q9b3qeyhr82b
+   foreign key (user_id)
+   references app_user;
@@ -0,0 +1,241 @@
+-- Tables and columns added after the baseline: read-side projections, the
+-- general ledger, production planning and traceability. Databases baselined
+-- at V1 (built by ddl-auto=update) get them here like new ones do.
+
+-- ─── Payables projection ─────────────────────────────────────────────────────
+
+create table vendor_balances (
+    open_bills integer not null,
+    payables numeric(15,2) not null,
+    unused_credits numeric(15,2) not null,
+    updated_at timestamp(6) not null,
+    vendor_id bigint not null,
+    primary key (vendor_id)
+);
+
+create table payable_due_buckets (
+    bill_count integer not null,
+    due_date date not null,
+    outstanding numeric(15,2) not null,
+    id bigint generated by default as identity,
+    vendor_id bigint not null,
+    primary key (id),
+    constraint uk_payable_bucket_vendor_due unique (vendor_id, due_date)
+);
+
+create index idx_payable_bucket_due
+   on payable_due_buckets (due_date);
+
+-- ─── General ledger ──────────────────────────────────────────────────────────
+
+create table journal_entries (
+    entry_date date not null,
+    id bigint generated by default as identity,
+    posted_at timestamp(6) not null,
+    reversal_of_id bigint unique,
+    source_id bigint not null,
+    source_type varchar(30) not null check (source_type in ('PAYMENT_MADE','EXPENSE','BILL','INVOICE','SALES_RECEIPT','PAYMENT_RECEIVED')),
+    description varchar(300),
+    primary key (id)
+);
+
+create table journal_lines (
+    credit numeric(15,2) not null,
+    debit numeric(15,2) not null,
+    entry_date date not null,
+    sequence integer not null,
+    id bigint not null,
+    journal_entry_id bigint not null,
+    account_name varchar(200) not null,
+    primary key (id)
+);
+
+create table ledger_accounts (
+    credit_total numeric(17,2) not null,
+    debit_total numeric(17,2) not null,
+    updated_at timestamp(6) not null,
+    account_type varchar(20) not null check (account_type in ('ASSET','LIABILITY','EQUITY','INCOME','EXPENSE')),
+    account_name varchar(200) not null,
+    primary key (account_name)
+);
+
+create table accounting_periods (
+    period_end date not null,
+    period_start date not null unique,
+    closed_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    closed_by varchar(100),
+    primary key (id)
+);
+
+create table period_balances (
+    closing_credit numeric(17,2) not null,
+    closing_debit numeric(17,2) not null,
+    period_credit numeric(17,2) not null,
+    period_debit numeric(17,2) not null,
+    period_start date not null,
+    id bigint generated by default as identity,
+    account_name varchar(200) not null,
+    primary key (id),
+    constraint uk_period_balance_account unique (period_start, account_name)
+);
+
+create index idx_journal_entry_source
+   on journal_entries (source_type, source_id);
+
+create index idx_journal_line_account_date
+   on journal_lines (account_name, entry_date);
+
+create index idx_journal_line_date
+   on journal_lines (entry_date);
+
+alter table if exists journal_lines
+   add constraint FK1mucajfkxo6i8ldmy61xsaf85
+   foreign key (journal_entry_id)
+   references journal_entries;
+
+-- ─── Dashboard rollups ───────────────────────────────────────────────────────
+
+create table daily_rollups (
+    batches_completed integer not null,
+    formulated_cost float(53) not null,
+    formulated_kg float(53) not null,
+    material_issued_kg float(53) not null,
+    pelleting_target_kg float(53) not null,
+    pelleting_wastage_kg float(53) not null,
+    pelleting_yield_kg float(53) not null,
+    receipts numeric(17,2) not null,
+    revenue numeric(17,2) not null,
+    rollup_date date not null,
+    updated_at timestamp(6) not null,
+    primary key (rollup_date)
+);
+
+create table daily_rollup_shares (
+    amount numeric(17,3) not null,
+    rollup_date date not null,
+    id bigint generated by default as identity,
+    ref_id bigint not null,
+    kind varchar(30) not null check (kind in ('CUSTOMER_RECEIPTS','MATERIAL_ISSUED')),
+    primary key (id),
+    constraint uk_rollup_share_date_kind_ref unique (rollup_date, kind, ref_id)
+);
+
+create index idx_rollup_share_kind_date
+   on daily_rollup_shares (kind, rollup_date);
+
+-- ─── Formulation revisions ───────────────────────────────────────────────────
+
+create table formulation_revisions (
+    batch_size float(53) not null,
+    checkpoint boolean not null,
+    cost_per_kg float(53) not null,
+    revision_no integer not null,
+    created_at timestamp(6),
+    formulation_id bigint not null,
+    id bigint generated by default as identity,
+    action varchar(20),
+    name varchar(255),
+    status varchar(255),
+    primary key (id),
+    constraint uk_formulation_revision_no unique (formulation_id, revision_no)
+);
+
+create table formulation_revision_lines (
+    cost_per_kg float(53) not null,
+    locked boolean not null,
+    percentage float(53),
+    quantity_kg float(53) not null,
+    id bigint not null,
+    raw_material_id bigint,
+    revision_id bigint not null,
+    op varchar(10) not null check (op in ('PUT','REMOVE')),
+    line_key varchar(150) not null,
+    raw_material_name varchar(255),
+    primary key (id)
+);
+
+create index idx_formulation_revision_line_rev
+   on formulation_revision_lines (revision_id);
+
+alter table if exists formulation_revision_lines
+   add constraint FK1u4hjodu4iqan9704rmyxau3f
+   foreign key (revision_id)
+   references formulation_revisions;
+
+-- ─── Pelleting ───────────────────────────────────────────────────────────────
+
+create table pelleting_machines (
+    active boolean not null,
+    throughput_kg_per_hour float(53) not null,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    name varchar(100) not null unique,
+    primary key (id)
+);
+
+create table changeover_rules (
+    minutes integer not null,
+    id bigint generated by default as identity,
+    from_species varchar(50) not null,
+    to_species varchar(50) not null,
+    primary key (id),
+    constraint uk_changeover_from_to unique (from_species, to_species)
+);
+
+create table pelleting_stats (
+    rolling_kg_per_hour float(53),
+    rolling_yield_pct float(53),
+    run_minutes float(53) not null,
+    timed_kg float(53) not null,
+    wastage_kg float(53) not null,
+    yield_kg float(53) not null,
+    yield_target_kg float(53) not null,
+    batches bigint not null,
+    id bigint generated by default as identity,
+    last_completed_at timestamp(6),
+    timed_batches bigint not null,
+    updated_at timestamp(6),
+    yield_batches bigint not null,
+    scope varchar(20) not null check (scope in ('ALL','MACHINE','OPERATOR','FORMULATION')),
+    scope_key varchar(100) not null,
+    label varchar(255),
+    cycle_histogram integer array,
+    wastage_histogram integer array,
+    primary key (id),
+    constraint uk_pelleting_stat_scope_key unique (scope, scope_key)
+);
+
+-- Set when an invoice claims the batch
+alter table pelleting_batch
+    add column invoice_id bigint,
+    add column invoiced_at timestamp(6);
+
+create index idx_pelleting_batch_board
+   on pelleting_batch (archived, status, id);
+
+create index idx_pelleting_batch_uninvoiced
+   on pelleting_batch (status, invoice_id);
+
+-- ─── Traceability ────────────────────────────────────────────────────────────
+
+create table trace_links (
+    quantity_kg float(53),
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    from_type varchar(20) not null check (from_type in ('LOT','FORMULATION','BATCH','INVOICE','CUSTOMER')),
+    to_type varchar(20) not null check (to_type in ('LOT','FORMULATION','BATCH','INVOICE','CUSTOMER')),
+    from_key varchar(200) not null,
+    to_key varchar(200) not null,
+    from_label varchar(255),
+    to_label varchar(255),
+    primary key (id),
+    constraint uk_trace_link_edge unique (from_type, from_key, to_type, to_key)
+);
+
+create index idx_trace_link_from
+   on trace_links (from_type, from_key);
+
+create index idx_trace_link_to
+   on trace_links (to_type, to_key);
@@ -0,0 +1,52 @@
+-- Pooled id sequences for line-level tables, so Hibernate can batch their
+-- inserts. Rows written before the switch were numbered by IDENTITY columns,
+-- so each sequence starts one allocation block past the table's highest id.
+
+CREATE SEQUENCE IF NOT EXISTS accounting_entries_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('accounting_entries_seq', GREATEST((SELECT last_value FROM accounting_entries_seq), (SELECT COALESCE(MAX(id), 0) FROM accounting_entries) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS bill_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('bill_items_seq', GREATEST((SELECT last_value FROM bill_items_seq), (SELECT COALESCE(MAX(id), 0) FROM bill_items) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS expense_accounting_entries_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('expense_accounting_entries_seq', GREATEST((SELECT last_value FROM expense_accounting_entries_seq), (SELECT COALESCE(MAX(id), 0) FROM expense_accounting_entries) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS formulation_ingredient_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('formulation_ingredient_seq', GREATEST((SELECT last_value FROM formulation_ingredient_seq), (SELECT COALESCE(MAX(id), 0) FROM formulation_ingredient) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS formulation_revision_lines_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('formulation_revision_lines_seq', GREATEST((SELECT last_value FROM formulation_revision_lines_seq), (SELECT COALESCE(MAX(id), 0) FROM formulation_revision_lines) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS inventory_movement_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('inventory_movement_seq', GREATEST((SELECT last_value FROM inventory_movement_seq), (SELECT COALESCE(MAX(id), 0) FROM inventory_movement) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS invoice_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('invoice_items_seq', GREATEST((SELECT last_value FROM invoice_items_seq), (SELECT COALESCE(MAX(id), 0) FROM invoice_items) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS journal_lines_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('journal_lines_seq', GREATEST((SELECT last_value FROM journal_lines_seq), (SELECT COALESCE(MAX(id), 0) FROM journal_lines) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS purchase_order_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('purchase_order_items_seq', GREATEST((SELECT last_value FROM purchase_order_items_seq), (SELECT COALESCE(MAX(id), 0) FROM purchase_order_items) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS quote_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('quote_items_seq', GREATEST((SELECT last_value FROM quote_items_seq), (SELECT COALESCE(MAX(id), 0) FROM quote_items) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS sales_order_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('sales_order_items_seq', GREATEST((SELECT last_value FROM sales_order_items_seq), (SELECT COALESCE(MAX(id), 0) FROM sales_order_items) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS sales_receipt_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('sales_receipt_items_seq', GREATEST((SELECT last_value FROM sales_receipt_items_seq), (SELECT COALESCE(MAX(id), 0) FROM sales_receipt_items) + 50));
+
+-- The sequences number these rows from now on; drop the IDENTITY defaults so
+-- nothing can hand out ids that collide with theirs.
+ALTER TABLE accounting_entries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bill_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE expense_accounting_entries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE formulation_ingredient ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE inventory_movement ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE invoice_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE purchase_order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE quote_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE sales_order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE sales_receipt_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,70 @@
+-- Indexes for the hot filters, joins and list orderings. PostgreSQL does not
+-- index foreign keys on its own, so every child-collection join used to scan.
+
+-- ─── Child collections (join fetch / batch fetch) ───────────────────────────
+CREATE INDEX IF NOT EXISTS idx_invoice_items_invoice ON invoice_items (invoice_id);
+CREATE INDEX IF NOT EXISTS idx_bill_items_bill ON bill_items (bill_id);
+CREATE INDEX IF NOT EXISTS idx_quote_items_quote ON quote_items (quote_id);
+CREATE INDEX IF NOT EXISTS idx_purchase_order_items_po ON purchase_order_items (purchase_order_id);
+CREATE INDEX IF NOT EXISTS idx_sales_order_items_so ON sales_order_items (sales_order_id);
+CREATE INDEX IF NOT EXISTS idx_sales_receipt_items_sr ON sales_receipt_items (sales_receipt_id);
+CREATE INDEX IF NOT EXISTS idx_customer_contact_persons_customer ON customer_contact_persons (customer_id);
+CREATE INDEX IF NOT EXISTS idx_contact_persons_vendor ON contact_persons (vendor_id);
+CREATE INDEX IF NOT EXISTS idx_expense_entries_expense ON expense_accounting_entries (expense_id);
+CREATE INDEX IF NOT EXISTS idx_accounting_entries_payment ON accounting_entries (payment_made_id);
+CREATE INDEX IF NOT EXISTS idx_invoice_payments_invoice ON invoice_payments (invoice_id);
+CREATE INDEX IF NOT EXISTS idx_bill_payments_bill ON bill_payments (bill_id);
+CREATE INDEX IF NOT EXISTS idx_formulation_ingredient_formulation ON formulation_ingredient (formulation_id);
+CREATE INDEX IF NOT EXISTS idx_formulation_ingredient_material ON formulation_ingredient (raw_material_id);
+
+-- ─── Invoices ────────────────────────────────────────────────────────────────
+CREATE INDEX IF NOT EXISTS idx_invoices_customer_date ON invoices (customer_id, invoice_date);
+CREATE INDEX IF NOT EXISTS idx_invoices_date_id ON invoices (invoice_date, id);
+CREATE INDEX IF NOT EXISTS idx_invoices_due_date ON invoices (due_date);
+-- Receivables: only open invoices carry a balance
+CREATE INDEX IF NOT EXISTS idx_invoices_open ON invoices (customer_id, due_date)
+    WHERE balance_due > 0 AND status NOT IN ('DRAFT', 'VOID');
+
+-- ─── Bills ───────────────────────────────────────────────────────────────────
+CREATE INDEX IF NOT EXISTS idx_bills_vendor_date ON bills (vendor_id, bill_date);
+CREATE INDEX IF NOT EXISTS idx_bills_date_id ON bills (bill_date, id);
+-- Payables and overdue lists
+CREATE INDEX IF NOT EXISTS idx_bills_open_vendor ON bills (vendor_id, due_date)
+    WHERE balance_due > 0 AND status NOT IN ('VOID', 'PAID');
+CREATE INDEX IF NOT EXISTS idx_bills_open_due ON bills (due_date)
+    WHERE balance_due > 0 AND status NOT IN ('VOID', 'PAID');
+
+-- ─── Other documents ─────────────────────────────────────────────────────────
+CREATE INDEX IF NOT EXISTS idx_quotes_customer ON quotes (customer_id);
+CREATE INDEX IF NOT EXISTS idx_quotes_date_id ON quotes (quote_date, id);
+CREATE INDEX IF NOT EXISTS idx_sales_orders_customer ON sales_orders (customer_id);
+CREATE INDEX IF NOT EXISTS idx_sales_orders_date_id ON sales_orders (sales_order_date, id);
+CREATE INDEX IF NOT EXISTS idx_sales_receipts_customer ON sales_receipts (customer_id);
+CREATE INDEX IF NOT EXISTS idx_sales_receipts_date_id ON sales_receipts (receipt_date, id);
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_vendor ON purchase_orders (vendor_id);
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_date_id ON purchase_orders (order_date, id);
+CREATE INDEX IF NOT EXISTS idx_expenses_date_id ON expenses (date, id);
+CREATE INDEX IF NOT EXISTS idx_expenses_vendor ON expenses (vendor_id);
+CREATE INDEX IF NOT EXISTS idx_expenses_customer ON expenses (customer_id);
+CREATE INDEX IF NOT EXISTS idx_payments_received_customer_date ON payments_received (customer_id, payment_date);
+CREATE INDEX IF NOT EXISTS idx_payments_made_vendor_date ON payments_made (vendor_id, payment_date);
+
+-- ─── Production and stock ────────────────────────────────────────────────────
+CREATE INDEX IF NOT EXISTS idx_inventory_movement_material_date ON inventory_movement (raw_material_id, movement_date);
+-- Finalize issues are looked up by reference prefix ("FORMULATION_FINALIZE #...")
+CREATE INDEX IF NOT EXISTS idx_inventory_movement_type_ref ON inventory_movement (type, reference text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_pelleting_batch_status ON pelleting_batch (status);
+CREATE INDEX IF NOT EXISTS idx_pelleting_batch_formulation ON pelleting_batch (formulation_id);
+CREATE INDEX IF NOT EXISTS idx_formulation_status ON formulation (status);
+
+-- ─── Substring searches: LOWER(col) LIKE '%term%' ────────────────────────────
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_customers_name_trgm ON customers USING gin (lower(customer_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_company_trgm ON customers USING gin (lower(company_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_vendors_name_trgm ON vendors USING gin (lower(vendor_display_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_vendors_company_trgm ON vendors USING gin (lower(company_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_invoices_number_trgm ON invoices USING gin (lower(invoice_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_invoices_customer_name_trgm ON invoices USING gin (lower(customer_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_bills_number_trgm ON bills USING gin (lower(bill_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_raw_material_name_trgm ON raw_material USING gin (lower(name) gin_trgm_ops);
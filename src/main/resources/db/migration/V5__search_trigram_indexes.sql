@@ -0,0 +1,34 @@
+-- Trigram indexes for the remaining searched columns, so every substring and
+-- similarity search (unified /api/search and the per-module /search
+-- endpoints) is answered from an index instead of a sequential scan.
+
+-- ─── Unified search ─────────────────────────────────────────────────────────
+CREATE INDEX IF NOT EXISTS idx_customers_email_trgm ON customers USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_phone_trgm ON customers USING gin (lower(phone) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_gst_trgm ON customers USING gin (lower(gst_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_vendors_email_trgm ON vendors USING gin (lower(vendor_email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_vendors_phone_trgm ON vendors USING gin (lower(vendor_phone) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_vendors_gst_trgm ON vendors USING gin (lower(gst_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_invoices_order_number_trgm ON invoices USING gin (lower(order_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_bills_reference_trgm ON bills USING gin (lower(reference_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_bills_order_number_trgm ON bills USING gin (lower(order_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_raw_material_supplier_trgm ON raw_material USING gin (lower(supplier) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_formulation_name_trgm ON formulation USING gin (lower(name) gin_trgm_ops);
+
+-- ─── Per-module /search endpoints ───────────────────────────────────────────
+CREATE INDEX IF NOT EXISTS idx_expenses_account_trgm ON expenses USING gin (lower(expense_account) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_expenses_reference_trgm ON expenses USING gin (lower(reference_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_expenses_vendor_name_trgm ON expenses USING gin (lower(vendor_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_expenses_customer_name_trgm ON expenses USING gin (lower(customer_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_payments_made_number_trgm ON payments_made USING gin (lower(payment_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_payments_made_reference_trgm ON payments_made USING gin (lower(reference_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_payments_received_number_trgm ON payments_received USING gin (lower(payment_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_payments_received_reference_trgm ON payments_received USING gin (lower(reference_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_number_trgm ON purchase_orders USING gin (lower(purchase_order_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_reference_trgm ON purchase_orders USING gin (lower(reference_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_quotes_number_trgm ON quotes USING gin (lower(quote_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_quotes_reference_trgm ON quotes USING gin (lower(reference_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sales_orders_number_trgm ON sales_orders USING gin (lower(sales_order_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sales_orders_reference_trgm ON sales_orders USING gin (lower(reference_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sales_receipts_number_trgm ON sales_receipts USING gin (lower(sales_receipt_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sales_receipts_reference_trgm ON sales_receipts USING gin (lower(reference_number) gin_trgm_ops);
@@ -0,0 +1,13 @@
+-- Derived data a migration cannot compute in SQL is rebuilt by the
+-- application: a migration inserts the backfill's name here and
+-- DataBackfillRunner runs it once on the next start, before serving requests.
+create table data_backfills (
+    name varchar(100) not null,
+    requested_at timestamp(6) not null default now(),
+    completed_at timestamp(6),
+    primary key (name)
+);
+
+-- vendor_balances / payable_due_buckets start empty (V2); seed them from the
+-- existing bills and payments made.
+insert into data_backfills (name) values ('payables-projection');
@@ -0,0 +1,3 @@
+-- Expenses and payments made recorded before the general ledger existed have
+-- no journal entries; post them (see DataBackfillRunner).
+insert into data_backfills (name) values ('ledger-expenses'), ('ledger-payments-made');
@@ -0,0 +1,5 @@
+-- Bills, invoices, payments received and sales receipts recorded before the
+-- general ledger existed have no journal entries; post them (see
+-- DataBackfillRunner).
+insert into data_backfills (name)
+values ('ledger-bills'), ('ledger-invoices'), ('ledger-payments-received'), ('ledger-sales-receipts');
@@ -0,0 +1,7 @@
+-- Open receivables move into the daily rollups, dated by invoice. The
+-- column starts at zero; the 'daily-rollups' backfill then recomputes every
+-- rollup from the source documents (see DataBackfillRunner).
+alter table daily_rollups add column open_receivables numeric(17,2) not null default 0;
+
+insert into data_backfills (name)
+values ('daily-rollups');
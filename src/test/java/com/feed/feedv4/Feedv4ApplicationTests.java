@@ -1,10 +1,10 @@
 package com.feed.feedv4;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
+import org.junit.jupiter.api.condition.EnabledIf;
 
-@SpringBootTest
-class Feedv4ApplicationTests {
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class Feedv4ApplicationTests extends PostgresIntegrationTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,152 @@
+package com.feed.feedv4;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts prepared statements, addBatch() and executeBatch() calls per
+ * statement kind and table ("insert into invoice_items", "select raw_material")
+ * on the application DataSource. Hibernate statistics count statements but
+ * not batches; this is what shows that lines really went out batched.
+ * Tests pull it in with {@code @Import(JdbcBatchCounter.Config.class)}.
+ */
+public final class JdbcBatchCounter {
+
+    private static final Pattern WRITE = Pattern.compile("^(insert into|update|delete from) (\\w+)");
+    private static final Pattern READ = Pattern.compile("^select .*? from (\\w+)");
+
+    private static final Map<String, AtomicInteger> PREPARED = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> ADDED = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> EXECUTED = new ConcurrentHashMap<>();
+
+    private JdbcBatchCounter() {
+    }
+
+    public static void reset() {
+        PREPARED.clear();
+        ADDED.clear();
+        EXECUTED.clear();
+    }
+
+    public static int prepared(String key) {
+        return count(PREPARED, key);
+    }
+
+    public static int added(String key) {
+        return count(ADDED, key);
+    }
+
+    public static int executed(String key) {
+        return count(EXECUTED, key);
+    }
+
+    /** Everything prepared since the last reset, for assertion messages. */
+    public static Map<String, AtomicInteger> preparedByKey() {
+        return Map.copyOf(PREPARED);
+    }
+
+    private static int count(Map<String, AtomicInteger> counts, String key) {
+        AtomicInteger n = counts.get(key);
+        return n == null ? 0 : n.get();
+    }
+
+    static String keyOf(String sql) {
+        String text = sql.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        Matcher m = WRITE.matcher(text);
+        if (m.find()) return m.group(1) + " " + m.group(2);
+        m = READ.matcher(text);
+        return m.find() ? "select " + m.group(1) : "other";
+    }
+
+    // ─── PROXIES ──────────────────────────────────────────────────────────────
+
+    static final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection target) {
+            return (Connection) Proxy.newProxyInstance(JdbcBatchCounter.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                        String key = keyOf((String) args[0]);
+                        PREPARED.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                        return counting(ps, key);
+                    }
+                    return result;
+                });
+        }
+
+        private static PreparedStatement counting(PreparedStatement target, String key) {
+            return (PreparedStatement) Proxy.newProxyInstance(JdbcBatchCounter.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("addBatch") && method.getParameterCount() == 0) {
+                        ADDED.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                    } else if (method.getName().equals("executeBatch")) {
+                        EXECUTED.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return invoke(target, method, args);
+                });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        /** Ordered, so it wraps the raw pool before the admission gate wraps the result. */
+        @Bean
+        static BeanPostProcessor jdbcBatchCounterPostProcessor() {
+            return new OrderedPostProcessor();
+        }
+    }
+
+    static final class OrderedPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource ds && "dataSource".equals(beanName) ? new CountingDataSource(ds) : bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
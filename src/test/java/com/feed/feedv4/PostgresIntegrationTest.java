@@ -0,0 +1,41 @@
+package com.feed.feedv4;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Boots the full application against the shared test database, migrated
+ * by Flyway exactly like production. Each concrete test class carries
+ * {@code @EnabledIf("com.feed.feedv4.TestDatabase#available")} itself, since
+ * JUnit does not inherit execution conditions from a superclass.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    public static final String DATABASE = "feedv4_test";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        properties(TestDatabase.database(DATABASE)).forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    /** Settings for running the application against {@code url}; also used to boot it by hand. */
+    public static Map<String, Object> properties(String url) {
+        Map<String, Object> props = new LinkedHashMap<>();
+        props.put("spring.datasource.url", url);
+        props.put("spring.datasource.username", TestDatabase.username());
+        props.put("spring.datasource.password", TestDatabase.password());
+        props.put("spring.datasource.hikari.data-source-properties.ssl", "false");
+        props.put("spring.datasource.hikari.data-source-properties.sslmode", "disable");
+        props.put("jwt.secret", "test-secret-test-secret-test-secret-test-secret-0123456789");
+        props.put("spring.jpa.show-sql", "false");
+        props.put("logging.level.org.hibernate.SQL", "INFO");
+        props.put("logging.level.org.springframework.jdbc.datasource", "INFO");
+        props.put("logging.level.com.zaxxer.hikari", "INFO");
+        return props;
+    }
+}
@@ -0,0 +1,98 @@
+package com.feed.feedv4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.feed.feedv4.service.DailyRollupService;
+
+/**
+ * Upgrade path of a production database: one built by ddl-auto=update,
+ * holding data and no Flyway history, must be baselined at V1, receive
+ * every later migration and then pass Hibernate's schema validation.
+ */
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class SchemaMigrationTest {
+
+    private static final String DATABASE = "feedv4_migration";
+
+    @Test
+    void databaseBuiltBeforeMigrationsIsBaselinedAndMigrated() {
+        String url = TestDatabase.recreate(DATABASE);
+        DataSource legacy = new DriverManagerDataSource(url, TestDatabase.username(), TestDatabase.password());
+        new ResourceDatabasePopulator(
+            new ClassPathResource("db/migration/V1__baseline_schema.sql"),
+            new ClassPathResource("db/legacy_data.sql")).execute(legacy);
+
+        String[] args = PostgresIntegrationTest.properties(url).entrySet().stream()
+            .map(e -> "--" + e.getKey() + "=" + e.getValue())
+            .toArray(String[]::new);
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(Feedv4Application.class)
+                .properties("server.port=0")
+                .run(args)) {
+            assertThat(app.getEnvironment().getProperty("spring.jpa.hibernate.ddl-auto")).isEqualTo("validate");
+
+            MigrationInfo[] applied = app.getBean(Flyway.class).info().applied();
+            assertThat(applied[0].getType().isBaseline()).isTrue();
+            assertThat(applied[0].getVersion().getVersion()).isEqualTo("1");
+            assertThat(Arrays.stream(applied).skip(1))
+                .isNotEmpty()
+                .allSatisfy(m -> assertThat(m.getState()).isEqualTo(MigrationState.SUCCESS));
+            assertThat(app.getBean(Flyway.class).info().pending()).isEmpty();
+
+            // pooled sequences continue past the ids the IDENTITY columns handed out
+            JdbcTemplate jdbc = new JdbcTemplate(legacy);
+            assertThat(jdbc.queryForObject("select nextval('invoice_items_seq')", Long.class)).isGreaterThan(7L);
+            // invoice numbers keep the INV-<epoch millis> shape and start past the clock
+            assertThat(jdbc.queryForObject("select nextval('invoice_number_seq')", Long.class))
+                .isGreaterThan(System.currentTimeMillis() - 3_600_000L);
+
+            // requested backfills ran before startup finished
+            assertThat(jdbc.queryForObject("select count(*) from data_backfills where completed_at is null", Long.class))
+                .isZero();
+            assertThat(jdbc.queryForMap("select payables, unused_credits, open_bills from vendor_balances where vendor_id = 1"))
+                .containsEntry("payables", new BigDecimal("300.00"))
+                .containsEntry("unused_credits", new BigDecimal("50.00"))
+                .containsEntry("open_bills", 1);
+            assertThat(jdbc.queryForObject(
+                "select outstanding from payable_due_buckets where vendor_id = 1 and due_date = date '2024-03-31'",
+                BigDecimal.class)).isEqualByComparingTo("300.00");
+
+            // documents from before the ledger are posted, and the books balance
+            assertThat(jdbc.queryForList("select source_type from journal_entries order by source_type", String.class))
+                .containsExactly("BILL", "EXPENSE", "INVOICE", "PAYMENT_MADE", "PAYMENT_RECEIVED", "SALES_RECEIPT");
+            assertThat(jdbc.queryForObject(
+                "select sum(debit_total) - sum(credit_total) from ledger_accounts", BigDecimal.class)).isZero();
+            assertThat(jdbc.queryForObject(
+                "select debit_total from ledger_accounts where account_name = 'Utilities'", BigDecimal.class))
+                .isEqualByComparingTo("100.00");
+            assertThat(jdbc.queryForObject(
+                "select debit_total - credit_total from ledger_accounts where account_name = 'Accounts Receivable'",
+                BigDecimal.class)).isEqualByComparingTo("600.00");
+
+            // daily rollups are seeded, receivables included
+            assertThat(jdbc.queryForObject(
+                "select receipts from daily_rollups where rollup_date = date '2024-03-15'", BigDecimal.class))
+                .isEqualByComparingTo("400.00");
+            assertThat(jdbc.queryForObject(
+                "select open_receivables from daily_rollups where rollup_date = date '2024-03-01'", BigDecimal.class))
+                .isEqualByComparingTo("600.00");
+            assertThat(app.getBean(DailyRollupService.class).getOpenReceivables()).isEqualByComparingTo("600.00");
+        }
+    }
+}
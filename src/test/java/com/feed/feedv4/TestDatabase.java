@@ -0,0 +1,80 @@
+package com.feed.feedv4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * PostgreSQL server shared by the integration tests: a Testcontainers
+ * instance, or an existing server when -Dtest.database.url (or
+ * TEST_DATABASE_URL) points at one, e.g. on a runner without Docker.
+ * Each test database is created on first use.
+ */
+public final class TestDatabase {
+
+    private static final String EXTERNAL_URL = setting("test.database.url", "TEST_DATABASE_URL", null);
+    private static final String EXTERNAL_USER = setting("test.database.username", "TEST_DATABASE_USERNAME", "postgres");
+    private static final String EXTERNAL_PASSWORD = setting("test.database.password", "TEST_DATABASE_PASSWORD", "postgres");
+
+    private static final Map<String, String> CREATED = new ConcurrentHashMap<>();
+    private static PostgreSQLContainer<?> container;
+
+    private TestDatabase() {
+    }
+
+    /** Used by {@code @EnabledIf}: tests are skipped when there is neither Docker nor an external server. */
+    public static boolean available() {
+        return EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    public static String username() {
+        return EXTERNAL_URL != null ? EXTERNAL_USER : server().getUsername();
+    }
+
+    public static String password() {
+        return EXTERNAL_URL != null ? EXTERNAL_PASSWORD : server().getPassword();
+    }
+
+    /** JDBC URL of {@code name}, created on first call and reused afterwards. */
+    public static String database(String name) {
+        return CREATED.computeIfAbsent(name, n -> recreate(n));
+    }
+
+    /** Drops and creates {@code name}; for tests that need an empty database. */
+    public static synchronized String recreate(String name) {
+        try (Connection con = DriverManager.getConnection(adminUrl(), username(), password());
+             Statement st = con.createStatement()) {
+            st.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+            st.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + name, e);
+        }
+        String admin = adminUrl();
+        int query = admin.indexOf('?');
+        String base = query < 0 ? admin : admin.substring(0, query);
+        return base.substring(0, base.lastIndexOf('/') + 1) + name + (query < 0 ? "" : admin.substring(query));
+    }
+
+    private static String adminUrl() {
+        return EXTERNAL_URL != null ? EXTERNAL_URL : server().getJdbcUrl();
+    }
+
+    private static synchronized PostgreSQLContainer<?> server() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    private static String setting(String property, String env, String fallback) {
+        String value = System.getProperty(property, System.getenv(env));
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
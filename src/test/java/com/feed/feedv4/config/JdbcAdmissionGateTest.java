@@ -0,0 +1,39 @@
+package com.feed.feedv4.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class JdbcAdmissionGateTest {
+
+    @Test
+    void nestedConnectionsAreAdmittedButCounted() throws Exception {
+        JdbcAdmissionGate gate = new JdbcAdmissionGate(1, 1, 50);
+
+        JdbcAdmissionGate.Permit outer = gate.acquire();
+        JdbcAdmissionGate.Permit nested = gate.acquire();
+        assertThat(gate.snapshot().inUse()).isEqualTo(2);
+        assertThat(gate.snapshot().nestedInUse()).isEqualTo(1);
+
+        // Another thread has to wait for both connections, not just the outer one
+        outer.close();
+        assertThatThrownBy(() -> CompletableFuture.supplyAsync(() -> {
+            try (JdbcAdmissionGate.Permit p = gate.acquire()) {
+                return p;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }).join()).hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+
+        nested.close();
+        assertThat(gate.snapshot().inUse()).isZero();
+        assertThat(gate.snapshot().nestedInUse()).isZero();
+        try (JdbcAdmissionGate.Permit again = gate.acquire()) {
+            assertThat(gate.snapshot().inUse()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.feed.feedv4.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.feed.feedv4.PostgresIntegrationTest;
+import com.feed.feedv4.TestDatabase;
+import com.feed.feedv4.model.User;
+import com.feed.feedv4.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Boots with the test database doubling as the replica (a server that is
+ * not in recovery reports zero lag) and checks where transactions go.
+ */
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class ReadReplicaRoutingTest extends PostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.jdbc-url", () -> TestDatabase.database(DATABASE));
+        registry.add("app.datasource.replica.username", TestDatabase::username);
+        registry.add("app.datasource.replica.password", TestDatabase::password);
+        registry.add("app.datasource.replica.maximum-pool-size", () -> "3");
+        // One lag check at start-up, so the monitor holds no replica connection during the tests
+        registry.add("app.datasource.routing.check-interval-ms", () -> "60000");
+    }
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    @Qualifier("replicaAdmissionGate")
+    private JdbcAdmissionGate replicaGate;
+
+    @Autowired
+    private JdbcAdmissionGate primaryGate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @BeforeEach
+    void replicaUp() throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (!monitor.replicaUsable() && Instant.now().isBefore(deadline)) Thread.sleep(50);
+        assertThat(monitor.replicaUsable()).isTrue();
+        // Start-up (migrations, backfills) wrote on this thread and pinned it
+        ReadWriteRoutingDataSource.unpin();
+    }
+
+    @Test
+    void eachPoolHasItsOwnGate() {
+        assertThat(replicaGate).isNotSameAs(primaryGate);
+        assertThat(replicaGate.snapshot().permits()).isEqualTo(3);
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnTheReplicaAndWritesPinThePrimary() {
+        assertThat(replicaConnectionsDuring(true)).isEqualTo(1);
+        assertThat(replicaConnectionsDuring(false)).isZero();
+        // The write pinned this thread, as a request that wrote would be
+        assertThat(replicaConnectionsDuring(true)).isZero();
+    }
+
+    @Test
+    void replicaReadsBypassTheSecondLevelAndQueryCaches() {
+        String email = "replica-" + System.nanoTime() + "@example.com";
+        User user = new User();
+        user.setEmail(email);
+        user.setFullName("Replica Reader");
+        user.setPassword("x");
+        long id = userRepository.save(user).getId();
+        ReadWriteRoutingDataSource.unpin();
+        emf.getCache().evict(User.class);
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Supplier<Optional<User>> find = () -> readOnly.execute(status -> userRepository.findByEmail(email));
+
+        long queryPuts = stats.getQueryCachePutCount();
+        assertThat(find.get()).isPresent();
+        assertThat(emf.getCache().contains(User.class, id)).isFalse();
+        assertThat(stats.getQueryCachePutCount()).isEqualTo(queryPuts);
+
+        ReadWriteRoutingDataSource.pinPrimary();
+        assertThat(find.get()).isPresent();
+        assertThat(emf.getCache().contains(User.class, id)).isTrue();
+        assertThat(stats.getQueryCachePutCount()).isGreaterThan(queryPuts);
+    }
+
+    private int replicaConnectionsDuring(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> {
+            jdbc.queryForObject("SELECT 1", Integer.class);
+            return replicaGate.snapshot().inUse();
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.feed.feedv4.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.feed.feedv4.config.ReadWriteRoutingDataSource.Target;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = new SimpleDriverDataSource();
+    private final DataSource replica = new SimpleDriverDataSource();
+    private final StubMonitor monitor = new StubMonitor();
+    private final Routing routing = new Routing(primary, replica, monitor);
+
+    @AfterEach
+    void reset() {
+        TransactionSynchronizationManager.clear();
+        ReadWriteRoutingDataSource.unpin();
+        ReadWriteRoutingDataSource.restoreTarget(null);
+        monitor.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaWhileItKeepsUp() {
+        inTransaction(true);
+        assertThat(routing.target()).isSameAs(replica);
+
+        monitor.usable = false;
+        assertThat(routing.target()).isSameAs(primary);
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkUseThePrimary() {
+        assertThat(routing.target()).isSameAs(primary);
+
+        inTransaction(false);
+        assertThat(routing.target()).isSameAs(primary);
+    }
+
+    @Test
+    void aWriteKeepsLaterReadsOfTheThreadOnThePrimary() {
+        inTransaction(false);
+        routing.target();
+
+        inTransaction(true);
+        assertThat(routing.target()).isSameAs(primary);
+    }
+
+    @Test
+    void pinnedThreadsReadFromThePrimary() {
+        ReadWriteRoutingDataSource.pinPrimary();
+        inTransaction(true);
+        assertThat(routing.target()).isSameAs(primary);
+    }
+
+    @Test
+    void targetBoundAtBeginWinsOverALaterLagChange() {
+        inTransaction(true);
+        ReadWriteRoutingDataSource.bindTarget(routing.targetFor(true, true));
+
+        monitor.usable = false;
+        assertThat(routing.target()).isSameAs(replica);
+
+        // A binding left behind outside a transaction is not used
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertThat(routing.target()).isSameAs(primary);
+    }
+
+    @Test
+    void nestedBindingsRestoreTheOuterTarget() {
+        Target outer = ReadWriteRoutingDataSource.bindTarget(Target.REPLICA);
+        Target inner = ReadWriteRoutingDataSource.bindTarget(Target.PRIMARY);
+        inTransaction(true);
+        assertThat(routing.target()).isSameAs(primary);
+
+        ReadWriteRoutingDataSource.restoreTarget(inner);
+        assertThat(routing.target()).isSameAs(replica);
+        ReadWriteRoutingDataSource.restoreTarget(outer);
+        assertThat(outer).isNull();
+    }
+
+    private static void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static class Routing extends ReadWriteRoutingDataSource {
+        Routing(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+            super(primary, replica, monitor);
+        }
+
+        DataSource target() {
+            return determineTargetDataSource();
+        }
+    }
+
+    private static class StubMonitor extends ReplicaLagMonitor {
+        volatile boolean usable = true;
+
+        StubMonitor() {
+            super(new SimpleDriverDataSource(), 1000, 60000);
+        }
+
+        @Override
+        public boolean replicaUsable() {
+            return usable;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.feed.feedv4.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.feed.feedv4.PostgresIntegrationTest;
+
+@AutoConfigureMockMvc
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class KeysetPageControllerTest extends PostgresIntegrationTest {
+
+
+    @Autowired
+    private MockMvc mvc;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/bills", "/api/customers", "/api/expenses", "/api/invoices", "/api/purchase-orders",
+        "/api/quotes", "/api/sales-orders", "/api/sales-receipts", "/api/vendors"
+    })
+    void firstPageIsServed(String list) throws Exception {
+        mvc.perform(get(list + "/page").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items").isArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "not-a-cursor", "eyJzIjoiaWQifQ", "%%%" })
+    void malformedCursorIsABadRequest(String cursor) throws Exception {
+        mvc.perform(get("/api/customers/page").param("cursor", cursor))
+            .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "-password", "limit=abc" })
+    void unknownSortOrLimitIsABadRequest(String bad) throws Exception {
+        String[] kv = bad.contains("=") ? bad.split("=") : new String[] {"sort", bad};
+        mvc.perform(get("/api/vendors/page").param(kv[0], kv[1]))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,182 @@
+package com.feed.feedv4.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import com.feed.feedv4.JdbcBatchCounter;
+import com.feed.feedv4.PostgresIntegrationTest;
+import com.feed.feedv4.dto.FormulationSaveRequest;
+import com.feed.feedv4.dto.InvoiceDTO;
+import com.feed.feedv4.dto.InvoiceItemDTO;
+import com.feed.feedv4.model.Formulation;
+import com.feed.feedv4.model.FormulationIngredient;
+import com.feed.feedv4.model.InvoiceStatus;
+import com.feed.feedv4.model.RawMaterial;
+import com.feed.feedv4.repository.FormulationRepository;
+import com.feed.feedv4.repository.RawMaterialRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Statement and batch counts for the write paths that carry many lines:
+ * line rows must go out as JDBC batches (pooled sequences, batch_size 50),
+ * not one round trip per line.
+ */
+@Import(JdbcBatchCounter.Config.class)
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class JdbcBatchingTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private FormulationService formulationService;
+
+    @Autowired
+    private FormulationRepository formulationRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void fiftyLineInvoiceWritesItsLinesInOneBatch() {
+        InvoiceDTO dto = InvoiceDTO.builder()
+            .customerId(1L)
+            .customerName("Batch Test Farms")
+            .invoiceDate(LocalDate.now())
+            .status(InvoiceStatus.SENT)
+            .subtotal(new BigDecimal("5000.00"))
+            .tax(BigDecimal.ZERO)
+            .shippingCharges(BigDecimal.ZERO)
+            .total(new BigDecimal("5000.00"))
+            .items(IntStream.range(0, 50)
+                .mapToObj(i -> InvoiceItemDTO.builder()
+                    .itemName("Layer mash " + i)
+                    .quantity(BigDecimal.ONE)
+                    .rate(new BigDecimal("100.00"))
+                    .tax(BigDecimal.ZERO)
+                    .amount(new BigDecimal("100.00"))
+                    .sequence(i)
+                    .build())
+                .toList())
+            .build();
+
+        reset();
+        invoiceService.createInvoice(dto);
+
+        assertThat(JdbcBatchCounter.added("insert into invoice_items")).isEqualTo(50);
+        assertThat(JdbcBatchCounter.executed("insert into invoice_items")).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isGreaterThanOrEqualTo(51);
+        // header, item id block, batched items, ledger posting and rollup upkeep
+        assertThat(statistics.getPrepareStatementCount())
+            .as("statements: %s", JdbcBatchCounter.preparedByKey())
+            .isLessThanOrEqualTo(MAX_INVOICE_STATEMENTS);
+    }
+
+    @Test
+    void thirtyIngredientFormulationWritesItsLinesInOneBatch() {
+        List<RawMaterial> materials = materials(30);
+        FormulationSaveRequest request = new FormulationSaveRequest();
+        request.name = "Batch test broiler starter";
+        request.batchSize = 1000;
+        request.ingredients = new ArrayList<>();
+        for (RawMaterial rm : materials) {
+            FormulationSaveRequest.IngredientDTO in = new FormulationSaveRequest.IngredientDTO();
+            in.materialId = rm.getId();
+            in.percentage = 100.0 / materials.size();
+            request.ingredients.add(in);
+        }
+
+        entityManagerFactory.getCache().evictAll();
+        reset();
+        Formulation saved = formulationService.createFromEngine(request);
+
+        assertThat(saved.getIngredients()).hasSize(30);
+        // the 30 materials are resolved by one multi-load, not one select each
+        assertThat(JdbcBatchCounter.prepared("select raw_material")).isEqualTo(1);
+        assertThat(JdbcBatchCounter.added("insert into formulation_ingredient")).isEqualTo(30);
+        assertThat(JdbcBatchCounter.executed("insert into formulation_ingredient")).isEqualTo(1);
+        assertThat(JdbcBatchCounter.executed("insert into formulation_revision_lines")).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount())
+            .as("statements: %s", JdbcBatchCounter.preparedByKey())
+            .isLessThanOrEqualTo(MAX_FORMULATION_STATEMENTS);
+    }
+
+    @Test
+    void ingredientEditUpdatesOnlyChangedLinesInOneBatch() {
+        List<RawMaterial> materials = materials(30);
+        Formulation formulation = new Formulation();
+        formulation.setName("Batch test grower");
+        formulation.setBatchSize(1000);
+        formulation.setStatus("Draft");
+        formulation.setIngredients(new ArrayList<>());
+        for (RawMaterial rm : materials) {
+            FormulationIngredient fi = new FormulationIngredient();
+            fi.setRawMaterial(rm);
+            fi.setRawMaterialName(rm.getName());
+            fi.setQuantityKg(1000.0 / materials.size());
+            formulation.getIngredients().add(fi);
+        }
+        Long id = formulationService.save(formulation).getId();
+
+        Formulation edit = formulationRepository.findFullById(id).orElseThrow();
+        edit.setTags(null);
+        edit.getIngredients().get(0).setQuantityKg(50);
+        edit.getIngredients().get(1).setQuantityKg(10);
+        edit.getIngredients().get(2).setQuantityKg(7);
+
+        reset();
+        formulationService.update(id, edit);
+
+        assertThat(JdbcBatchCounter.added("update formulation_ingredient")).isEqualTo(3);
+        assertThat(JdbcBatchCounter.executed("update formulation_ingredient")).isEqualTo(1);
+        assertThat(JdbcBatchCounter.prepared("insert into formulation_ingredient")).isZero();
+        assertThat(JdbcBatchCounter.prepared("delete from formulation_ingredient")).isZero();
+    }
+
+    /** Upper bounds with a little headroom over what the paths issue today. */
+    private static final int MAX_INVOICE_STATEMENTS = 20;
+    private static final int MAX_FORMULATION_STATEMENTS = 10;
+
+    private List<RawMaterial> materials(int count) {
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RawMaterial rm = new RawMaterial();
+            rm.setName("Batch test material " + System.nanoTime() + "-" + i);
+            rm.setCostPerKg(10.0 + i);
+            rm.setWeightedAvgCost(10.0 + i);
+            rm.setInStockKg(1000.0);
+            materials.add(rm);
+        }
+        return rawMaterialRepository.saveAll(materials);
+    }
+
+    private void reset() {
+        statistics.clear();
+        JdbcBatchCounter.reset();
+    }
+}
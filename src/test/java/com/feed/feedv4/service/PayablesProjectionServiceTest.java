@@ -0,0 +1,82 @@
+package com.feed.feedv4.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.feed.feedv4.PostgresIntegrationTest;
+import com.feed.feedv4.model.BillPayment;
+import com.feed.feedv4.model.PaymentMade;
+import com.feed.feedv4.model.VendorBalance;
+import com.feed.feedv4.repository.PayableDueBucketRepository;
+import com.feed.feedv4.service.PayablesProjectionService.BillContribution;
+import com.feed.feedv4.service.PayablesProjectionService.CreditContribution;
+
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class PayablesProjectionServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PayablesProjectionService projectionService;
+
+    @Autowired
+    private PayableDueBucketRepository bucketRepository;
+
+    @Test
+    void concurrentFirstBillsOfAVendorAreBothCounted() throws Exception {
+        long vendorId = 900_000 + System.nanoTime() % 100_000;
+        LocalDate due = LocalDate.of(2030, 1, 31);
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(writers)) {
+            for (int i = 0; i < writers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    projectionService.billChanged(null, new BillContribution(vendorId, due, new BigDecimal("10.00")));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : results) f.get();
+        }
+
+        VendorBalance balance = projectionService.getVendorBalance(vendorId);
+        assertThat(balance.getPayables()).isEqualByComparingTo("80.00");
+        assertThat(balance.getOpenBills()).isEqualTo(writers);
+        assertThat(bucketRepository.findOpenDueBetween(due, due))
+            .singleElement()
+            .satisfies(b -> {
+                assertThat(b.getOutstanding()).isEqualByComparingTo("80.00");
+                assertThat(b.getBillCount()).isEqualTo(writers);
+            });
+    }
+
+    @Test
+    void creditContributionDoesNotTouchThePayment() {
+        PaymentMade payment = new PaymentMade();
+        payment.setVendorId(1L);
+        payment.setStatus(PaymentMade.PaymentStatus.PAID);
+        payment.setPaymentMade(new BigDecimal("250.00"));
+        payment.setBankCharges(new BigDecimal("5.00"));
+        payment.setAmountPaid(new BigDecimal("1.00"));
+        payment.setAmountInExcess(new BigDecimal("2.00"));
+        BillPayment allocation = new BillPayment();
+        allocation.setPaymentAmount(new BigDecimal("200.00"));
+        payment.getBillPayments().add(allocation);
+
+        assertThat(CreditContribution.of(payment).excess()).isEqualByComparingTo("45.00");
+        assertThat(payment.getAmountPaid()).isEqualByComparingTo("1.00");
+        assertThat(payment.getAmountInExcess()).isEqualByComparingTo("2.00");
+    }
+}
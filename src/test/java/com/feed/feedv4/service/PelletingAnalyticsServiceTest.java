@@ -0,0 +1,64 @@
+package com.feed.feedv4.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.feed.feedv4.PostgresIntegrationTest;
+import com.feed.feedv4.dto.PelletingStatsDTO;
+import com.feed.feedv4.model.PelletingBatch;
+import com.feed.feedv4.model.PelletingStat.Scope;
+
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class PelletingAnalyticsServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PelletingAnalyticsService analyticsService;
+
+    @Test
+    void concurrentFirstBatchesOfAMachineAreAllCounted() throws Exception {
+        String machine = "Mill " + System.nanoTime();
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(writers)) {
+            for (int i = 0; i < writers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    analyticsService.batchCompleted(completedBatch(machine));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : results) f.get();
+        }
+
+        PelletingStatsDTO stats = analyticsService.get(Scope.MACHINE, machine);
+        assertThat(stats.getBatches()).isEqualTo(writers);
+        assertThat(stats.getLabel()).isEqualTo(machine);
+        assertThat(stats.getCycleTimeDistribution().stream().mapToInt(PelletingStatsDTO.Bucket::getCount).sum())
+            .isEqualTo(writers);
+    }
+
+    private static PelletingBatch completedBatch(String machine) {
+        PelletingBatch batch = new PelletingBatch();
+        batch.setMachineUsed(machine);
+        batch.setStatus("Completed");
+        batch.setTargetQuantityKg(1000);
+        batch.setActualYieldKg(980);
+        batch.setTotalWastageKg(20);
+        batch.setStartTime(LocalDateTime.of(2030, 1, 1, 8, 0));
+        batch.setEndTime(LocalDateTime.of(2030, 1, 1, 9, 0));
+        return batch;
+    }
+}
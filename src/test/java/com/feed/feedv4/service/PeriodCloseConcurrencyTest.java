@@ -0,0 +1,136 @@
+package com.feed.feedv4.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.feed.feedv4.PostgresIntegrationTest;
+import com.feed.feedv4.dto.JournalEntryDTO;
+import com.feed.feedv4.model.JournalEntry;
+import com.feed.feedv4.model.LedgerAccount.AccountType;
+import com.feed.feedv4.repository.PeriodBalanceRepository;
+import com.feed.feedv4.service.JournalService.PostingLine;
+
+/**
+ * A posting and a period close racing for the same month: whichever takes
+ * the period lock first finishes before the other reads the ledger.
+ */
+@EnabledIf("com.feed.feedv4.TestDatabase#available")
+class PeriodCloseConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2001, 1);
+
+    @Autowired
+    private FinancialReportService reportService;
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private PeriodBalanceRepository periodBalanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final String cash = "Close Race Cash " + System.nanoTime();
+    private final long sourceId = 900_000_000 + System.nanoTime() % 1_000_000;
+
+    @AfterEach
+    void reopen() {
+        jdbc.update("DELETE FROM period_balances WHERE period_start = ?", MONTH.atDay(1));
+        jdbc.update("DELETE FROM accounting_periods WHERE period_start = ?", MONTH.atDay(1));
+    }
+
+    @Test
+    void closeWaitsForAPostingInFlightAndIncludesIt() throws Exception {
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+            Future<?> posting = pool.submit(() -> inTransaction(() -> {
+                post(MONTH.atDay(15));
+                posted.countDown();
+                await(commit);
+            }));
+            posted.await();
+            Future<?> close = pool.submit(() -> reportService.closePeriod(MONTH, "test"));
+
+            assertThatThrownBy(() -> close.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            commit.countDown();
+            posting.get();
+            close.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(periodBalanceRepository.findByPeriodStart(MONTH.atDay(1)))
+            .filteredOn(pb -> pb.getAccountName().equals(cash))
+            .singleElement()
+            .satisfies(pb -> assertThat(pb.getPeriodDebit()).isEqualByComparingTo("10.00"));
+    }
+
+    @Test
+    void postingWaitsForACloseInFlightAndMovesPastIt() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+            Future<?> close = pool.submit(() -> inTransaction(() -> {
+                reportService.closePeriod(MONTH, "test");
+                closed.countDown();
+                await(commit);
+            }));
+            closed.await();
+            Future<?> posting = pool.submit(() -> post(MONTH.atDay(20)));
+
+            assertThatThrownBy(() -> posting.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            commit.countDown();
+            close.get();
+            posting.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(journalService.getEntriesForSource(JournalEntry.SourceType.EXPENSE, sourceId))
+            .singleElement()
+            .extracting(JournalEntryDTO::getEntryDate)
+            .isEqualTo(MONTH.plusMonths(1).atDay(1));
+        assertThat(periodBalanceRepository.findByPeriodStart(MONTH.atDay(1)))
+            .noneMatch(pb -> pb.getAccountName().equals(cash));
+    }
+
+    private void post(LocalDate date) {
+        BigDecimal amount = new BigDecimal("10.00");
+        journalService.repost(JournalEntry.SourceType.EXPENSE, sourceId, date, "Close race", List.of(
+            PostingLine.debit(cash, AccountType.ASSET, amount),
+            PostingLine.credit("Close Race Sales", AccountType.INCOME, amount)));
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.feed.feedv4.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.feed.feedv4.model.ChangeoverRule;
+import com.feed.feedv4.service.ProductionSimulator.Job;
+import com.feed.feedv4.service.ProductionSimulator.Machine;
+import com.feed.feedv4.service.ProductionSimulator.Receipt;
+import com.feed.feedv4.service.ProductionSimulator.Status;
+
+class ProductionSimulatorTest {
+
+    /** Events per second the engine has to sustain for interactive what-if runs. */
+    private static final double TARGET_EVENTS_PER_SECOND = 100_000;
+
+    private static final ChangeoverTable CHANGEOVERS = new ChangeoverTable(List.of(
+        ChangeoverRule.builder().fromSpecies("Poultry").toSpecies("Swine").minutes(90).build(),
+        ChangeoverRule.builder().fromSpecies("Swine").toSpecies("Poultry").minutes(120).build()), 60, 15);
+
+    @Test
+    void runsQueuedBatchesBackToBackWithChangeovers() {
+        List<Machine> machines = List.of(new Machine("Mill 1", 1000, 0.0, false, null, null));
+        List<Job> jobs = List.of(
+            new Job(1L, "Poultry", 1000, 0, new int[0], new double[0]),
+            new Job(2L, "Swine", 500, 0, new int[0], new double[0]));
+
+        ProductionSimulator.Result r = ProductionSimulator.run(new ProductionSimulator.Input(
+            machines, jobs, new double[0], List.of(), CHANGEOVERS, 24 * 60, 0, null, null, 0));
+
+        assertThat(r.status()).containsExactly(Status.COMPLETED, Status.COMPLETED);
+        assertThat(r.end()[0]).isEqualTo(60.0);
+        assertThat(r.changeover()[1]).isEqualTo(90);
+        assertThat(r.end()[1]).isEqualTo(60.0 + 90 + 30);
+        assertThat(r.events()).isEqualTo(2);
+    }
+
+    @Test
+    void waitsForMaterialUntilItIsReceived() {
+        List<Machine> machines = List.of(new Machine("Mill 1", 1000, 0.0, false, null, null));
+        List<Job> jobs = List.of(new Job(1L, "Poultry", 1000, -1, new int[] {0}, new double[] {0.5}));
+
+        ProductionSimulator.Result r = ProductionSimulator.run(new ProductionSimulator.Input(
+            machines, jobs, new double[] {100}, List.of(new Receipt(0, 400, 30)), CHANGEOVERS,
+            24 * 60, 0, null, null, 0));
+
+        assertThat(r.status()[0]).isEqualTo(Status.COMPLETED);
+        assertThat(r.start()[0]).isEqualTo(30.0);
+        assertThat(r.stockEnd()[0]).isEqualTo(0.0);
+        assertThat(r.shortageAt()[0]).isEqualTo(0.0);
+    }
+
+    @Test
+    void sustainsTheTargetEventRate() {
+        ProductionSimulator.Input input = largePlant(new Random(42));
+
+        // Warm up the JIT, then keep the best of a few timed runs
+        for (int i = 0; i < 3; i++) ProductionSimulator.run(input);
+        double best = 0;
+        long events = 0;
+        for (int i = 0; i < 5; i++) {
+            long t0 = System.nanoTime();
+            ProductionSimulator.Result r = ProductionSimulator.run(input);
+            double seconds = (System.nanoTime() - t0) / 1e9;
+            events = r.events();
+            best = Math.max(best, events / seconds);
+        }
+
+        assertThat(events).isGreaterThan(100_000);
+        assertThat(best).isGreaterThanOrEqualTo(TARGET_EVENTS_PER_SECOND);
+    }
+
+    /** 20 mills, 100k batches over 12 profiles, 6 materials with weekly receipts and two shifts. */
+    private static ProductionSimulator.Input largePlant(Random rnd) {
+        int machineCount = 20;
+        List<Machine> machines = new ArrayList<>();
+        for (int m = 0; m < machineCount; m++) {
+            machines.add(new Machine("Mill " + (m + 1), 2000 + rnd.nextInt(4000), 0.0, false, null, null));
+        }
+
+        String[] species = {"Poultry", "Swine", "Cattle"};
+        int materialCount = 6;
+        List<Job> jobs = new ArrayList<>();
+        for (int j = 0; j < 100_000; j++) {
+            long profile = rnd.nextInt(12);
+            int machine = rnd.nextInt(4) == 0 ? rnd.nextInt(machineCount) : -1;
+            int a = rnd.nextInt(materialCount);
+            int b = (a + 1 + rnd.nextInt(materialCount - 1)) % materialCount;
+            jobs.add(new Job(profile, species[(int) (profile % species.length)], 500 + rnd.nextInt(4500), machine,
+                new int[] {a, b}, new double[] {0.6, 0.4}));
+        }
+
+        double[] stock = new double[materialCount];
+        Arrays.fill(stock, 5_000_000);
+        List<Receipt> receipts = new ArrayList<>();
+        for (int week = 1; week <= 500; week++) {
+            for (int mat = 0; mat < materialCount; mat++) {
+                receipts.add(new Receipt(mat, 2_000_000, week * 7 * 24 * 60.0));
+            }
+        }
+        return new ProductionSimulator.Input(machines, jobs, stock, receipts, CHANGEOVERS,
+            10 * 365 * 24 * 60.0, 8 * 60, 6 * 60, 22 * 60, 15);
+    }
+}
@@ -0,0 +1,65 @@
+-- Rows as the application wrote them before the Flyway migrations existed:
+-- ids come from the IDENTITY columns and none of the V2+ tables are filled.
+
+insert into customers (id, customer_name, email, currency, payment_terms, status, created_at, updated_at)
+values (1, 'Legacy Farms', 'farms@example.com', 'LKR', 30, 'ACTIVE',
+        timestamp '2024-03-01 10:00:00', timestamp '2024-03-01 10:00:00');
+
+insert into invoices (id, invoice_number, customer_id, customer_name, invoice_date, due_date, status,
+                      payment_status, subtotal, tax, shipping_charges, total, amount_paid, balance_due, created_at)
+values (1, 'INV-LEGACY-1', 1, 'Legacy Farms', date '2024-03-01', date '2024-03-31', 'PARTIALLY_PAID',
+        'PARTIALLY_PAID', 1000.00, 0.00, 0.00, 1000.00, 400.00, 600.00, timestamp '2024-03-01 10:00:00');
+
+insert into invoice_items (id, invoice_id, item_name, quantity, rate, tax, amount, sequence)
+values (7, 1, 'Layer mash', 10.00, 100.00, 0.00, 1000.00, 0);
+
+insert into vendors (id, vendor_display_name, company_name, vendor_email, vendor_phone, currency, payment_terms,
+                     gst_treatment, status, created_at, updated_at)
+values (1, 'Legacy Mills', 'Legacy Mills Ltd', 'mills@example.com', '0110000000', 'LKR', '30',
+        'REGISTERED', 'ACTIVE', timestamp '2024-03-01 10:00:00', timestamp '2024-03-01 10:00:00');
+
+insert into bills (id, bill_number, vendor_id, bill_date, due_date, payment_terms, accounts_payable, status,
+                   subtotal, discount, discount_type, tax, tax_inclusive, total, amount_paid, balance_due,
+                   created_at, updated_at)
+values (1, 'BILL-LEGACY-1', 1, date '2024-03-01', date '2024-03-31', 'NET_30', 'ACCOUNTS_PAYABLE', 'PARTIALLY_PAID',
+        500.00, 0.00, 'AMOUNT', 0.00, false, 500.00, 200.00, 300.00,
+        timestamp '2024-03-01 10:00:00', timestamp '2024-03-01 10:00:00');
+
+insert into bill_items (id, bill_id, item_details, account, quantity, rate, tax_rate, amount, sequence)
+values (3, 1, 'Maize', 'Raw Materials', 5.00, 100.00, 0.00, 500.00, 0);
+
+-- pays 200 of the bill and leaves 50 unused
+insert into payments_made (id, payment_number, vendor_id, payment_date, payment_mode, paid_through_account_id, status,
+                           payment_made, bank_charges, amount_paid, amount_used, amount_refunded, amount_in_excess,
+                           created_at, updated_at)
+values (1, 'PM-LEGACY-1', 1, date '2024-03-10', 'BANK_TRANSFER', 1, 'PAID',
+        250.00, 0.00, 200.00, 200.00, 0.00, 50.00,
+        timestamp '2024-03-10 10:00:00', timestamp '2024-03-10 10:00:00');
+
+insert into bill_payments (id, payment_made_id, bill_id, payment_date, payment_amount, created_at)
+values (1, 1, 1, date '2024-03-10', 200.00, timestamp '2024-03-10 10:00:00');
+
+insert into expenses (id, date, expense_account, paid_through, amount, tax, tax_inclusive, net_amount, status,
+                      created_at, updated_at)
+values (1, date '2024-03-05', 'Utilities', 'Cash on Hand', 100.00, 0.00, false, 100.00, 'PAID',
+        timestamp '2024-03-05 10:00:00', timestamp '2024-03-05 10:00:00');
+
+-- 400 applied to the invoice; the voided payment must not reach the ledger
+insert into payments_received (id, payment_number, customer_id, payment_date, payment_mode, type, deposit_to, status,
+                               amount_received, bank_charges, tax_deducted, tax_amount, amount_used, unused_amount,
+                               created_at, updated_at)
+values (1, 'PR-LEGACY-1', 1, date '2024-03-15', 'BANK_TRANSFER', 'INVOICE_PAYMENT', 'Primary Bank Account - BOC',
+        'COMPLETED', 400.00, 0.00, false, 0.00, 400.00, 0.00,
+        timestamp '2024-03-15 10:00:00', timestamp '2024-03-15 10:00:00'),
+       (2, 'PR-LEGACY-2', 1, date '2024-03-16', 'CASH', 'ADVANCE_PAYMENT', 'Cash on Hand',
+        'VOID', 75.00, 0.00, false, 0.00, 0.00, 75.00,
+        timestamp '2024-03-16 10:00:00', timestamp '2024-03-16 10:00:00');
+
+insert into invoice_payments (id, payment_received_id, invoice_id, payment_date, payment_amount, invoice_balance_due,
+                              created_at)
+values (1, 1, 1, date '2024-03-15', 400.00, 600.00, timestamp '2024-03-15 10:00:00');
+
+insert into sales_receipts (id, sales_receipt_number, customer_id, receipt_date, payment_mode, status,
+                            subtotal, shipping_charges, total, created_at, updated_at)
+values (1, 'SR-LEGACY-1', 1, date '2024-03-20', 'CASH', 'COMPLETED', 150.00, 0.00, 150.00,
+        timestamp '2024-03-20 10:00:00', timestamp '2024-03-20 10:00:00');